@@ -0,0 +1,85 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.util.TimeUtil;
+import com.alibaba.csp.sentinel.util.clock.Clock;
+import com.alibaba.csp.sentinel.util.clock.NanoTimeClock;
+import com.alibaba.csp.sentinel.util.clock.SystemClock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the cost of reading time from the tick-thread state machine of {@link TimeUtil}
+ * against the thread-free clocks.
+ *
+ * @since 1.8.8
+ */
+@Warmup(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ClockBenchmark {
+
+    private final TimeUtil tick = TimeUtil.instance();
+    private final Clock nano = new NanoTimeClock();
+    private final Clock system = SystemClock.INSTANCE;
+
+    @Benchmark
+    @Threads(1)
+    public long testTickStateMachine() {
+        return tick.getTime();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long testNanoTimeClock() {
+        return nano.currentTimeMillis();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long testSystemClock() {
+        return system.currentTimeMillis();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long testTickStateMachine8Threads() {
+        return tick.getTime();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long testNanoTimeClock8Threads() {
+        return nano.currentTimeMillis();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long testSystemClock8Threads() {
+        return system.currentTimeMillis();
+    }
+}
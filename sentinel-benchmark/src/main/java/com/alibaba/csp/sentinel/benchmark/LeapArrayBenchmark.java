@@ -0,0 +1,101 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.slots.statistic.metric.BucketLeapArray;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for bucket rotation of {@link BucketLeapArray}. Buckets are kept short so that
+ * window boundaries are crossed frequently, and the sampled latency percentiles reflect
+ * the contention when many threads hit a deprecated bucket at the same time.
+ *
+ * @since 1.8.8
+ */
+@Warmup(iterations = 5)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class LeapArrayBenchmark {
+
+    @Param({"10", "100"})
+    private int windowLengthInMs;
+
+    private BucketLeapArray leapArray;
+
+    @Setup
+    public void prepare() {
+        leapArray = new BucketLeapArray(2, windowLengthInMs * 2);
+    }
+
+    private void addPass() {
+        leapArray.currentWindow().value().addPass(1);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testSingleThreadRotation() {
+        addPass();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public void test2ThreadsRotation() {
+        addPass();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void test4ThreadsRotation() {
+        addPass();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void test8ThreadsRotation() {
+        addPass();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void test16ThreadsRotation() {
+        addPass();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void test32ThreadsRotation() {
+        addPass();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void test64ThreadsRotation() {
+        addPass();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.slots.statistic.data.MetricBucket;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for contended increments on a shared {@link MetricBucket} with different storage types.
+ *
+ * @since 1.8.8
+ */
+@Warmup(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MetricBucketBenchmark {
+
+    @Param({SentinelConfig.BUCKET_TYPE_ADDER, SentinelConfig.BUCKET_TYPE_ARRAY,
+        SentinelConfig.BUCKET_TYPE_PADDED_ARRAY})
+    private String bucketType;
+
+    private MetricBucket bucket;
+
+    @Setup
+    public void prepare() {
+        bucket = new MetricBucket(bucketType);
+    }
+
+    private void record() {
+        bucket.addPass(1);
+        bucket.addSuccess(1);
+        bucket.addRT(5);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testSingleThreadRecord() {
+        record();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void test4ThreadsRecord() {
+        record();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void test16ThreadsRecord() {
+        record();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long test16ThreadsRecordAndRead() {
+        record();
+        return bucket.pass();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.ResourceHandle;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares entering a resource by name (as {@link SentinelEntryBenchmark} does) against entering through a
+ * pre-resolved {@link ResourceHandle}, without any business logic so that only the entry overhead is measured.
+ * Run with {@code -prof gc} to compare the allocation rate per operation.
+ *
+ * @since 1.8.8
+ */
+@Warmup(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ResourceHandleBenchmark {
+
+    private static final String RESOURCE_NAME = "benchmark-handle";
+
+    private final ResourceHandle handle = SphU.handle(RESOURCE_NAME, EntryType.IN);
+
+    @Setup
+    public void enterContext() {
+        // Keep a context during the benchmark, so that the default context isn't created for each entry.
+        ContextUtil.enter("benchmark-handle-context");
+    }
+
+    @TearDown
+    public void exitContext() {
+        ContextUtil.exit();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testEntryByName() {
+        Entry e0 = null;
+        try {
+            e0 = SphU.entry(RESOURCE_NAME, EntryType.IN);
+        } catch (BlockException e) {
+        } finally {
+            if (e0 != null) {
+                e0.exit();
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void testEntryByHandle() {
+        Entry e0 = null;
+        try {
+            e0 = handle.entry();
+        } catch (BlockException e) {
+        } finally {
+            if (e0 != null) {
+                e0.exit();
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void test4ThreadsEntryByName() {
+        testEntryByName();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void test4ThreadsEntryByHandle() {
+        testEntryByHandle();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.slots.block.flow.tokenbucket.CasTokenBucket;
+import com.alibaba.csp.sentinel.slots.block.flow.tokenbucket.DefaultTokenBucket;
+import com.alibaba.csp.sentinel.slots.block.flow.tokenbucket.StrictTokenBucket;
+import com.alibaba.csp.sentinel.slots.block.flow.tokenbucket.TokenBucket;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Contention of the token buckets, shared by all benchmark threads. The rate is high enough that
+ * both the pass and the reject paths are exercised.
+ *
+ * @since 1.8.8
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TokenBucketBenchmark {
+
+    private static final long TOKENS_PER_SECOND = 1_000_000;
+
+    @Param({"default", "strict", "cas"})
+    private String bucketType;
+
+    private TokenBucket bucket;
+
+    @Setup
+    public void setUp() {
+        switch (bucketType) {
+            case "default":
+                bucket = new DefaultTokenBucket(TOKENS_PER_SECOND, TOKENS_PER_SECOND, true, 1000);
+                break;
+            case "strict":
+                bucket = new StrictTokenBucket(TOKENS_PER_SECOND, TOKENS_PER_SECOND, true, 1000);
+                break;
+            case "cas":
+            default:
+                bucket = new CasTokenBucket(TOKENS_PER_SECOND, TOKENS_PER_SECOND, true, 1000);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean testTryConsume() {
+        return bucket.tryConsume(1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean test4ThreadsTryConsume() {
+        return bucket.tryConsume(1);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean test16ThreadsTryConsume() {
+        return bucket.tryConsume(1);
+    }
+}
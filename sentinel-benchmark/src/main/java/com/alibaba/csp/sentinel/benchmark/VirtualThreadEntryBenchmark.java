@@ -0,0 +1,118 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs 100k concurrent tasks through {@link SphU#entry(String, EntryType)}, each in its own virtual thread
+ * (on JDK 21+, falling back to a pool of platform threads on older JDKs). Tasks either enter the default
+ * context on their own, or inherit the context of the submitting thread via {@link ContextUtil#wrap(Runnable)}.
+ *
+ * @since 1.8.8
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class VirtualThreadEntryBenchmark {
+
+    private static final int TASK_COUNT = 100_000;
+    private static final int FALLBACK_POOL_SIZE = 256;
+
+    @Param({"false", "true"})
+    private boolean propagateContext;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        executor = newVirtualThreadExecutor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void testConcurrentEntries() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(TASK_COUNT);
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                Entry e0 = null;
+                try {
+                    e0 = SphU.entry("benchmark-virtual-thread", EntryType.IN);
+                    // Yield so that the tasks hold their entries concurrently.
+                    Thread.yield();
+                } catch (BlockException e) {
+                } finally {
+                    if (e0 != null) {
+                        e0.exit();
+                    }
+                    latch.countDown();
+                }
+            }
+        };
+        if (propagateContext) {
+            ContextUtil.enter("benchmark-virtual-thread-context");
+            try {
+                for (int i = 0; i < TASK_COUNT; i++) {
+                    executor.execute(ContextUtil.wrap(task));
+                }
+            } finally {
+                ContextUtil.exit();
+            }
+        } else {
+            for (int i = 0; i < TASK_COUNT; i++) {
+                executor.execute(task);
+            }
+        }
+        latch.await();
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (Exception ex) {
+            // Virtual threads are not available before JDK 21.
+            return Executors.newFixedThreadPool(FALLBACK_POOL_SIZE);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.node.StatisticNode;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.WarmUpController;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.WarmUpRateLimiterController;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Overhead of the warm-up controllers, either in cold start (the stored tokens are above the warning line,
+ * so that the warning QPS is looked up on each call) or in steady state (the stored tokens are drained).
+ * The node reports fixed QPS, so that only the controllers are measured.
+ *
+ * @since 1.8.8
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class WarmUpControllerBenchmark {
+
+    private static final double COUNT = 10000;
+
+    @Param({"cold", "steady"})
+    private String phase;
+
+    private FixedQpsNode node;
+    private WarmUpController warmUpController;
+    private WarmUpRateLimiterController rateLimiterController;
+
+    @Setup
+    public void setUp() {
+        // No passed requests in previous second keeps the bucket full, while a large amount drains it.
+        double previousPassQps = "cold".equals(phase) ? 0 : COUNT * 100;
+        node = new FixedQpsNode(COUNT / 10, previousPassQps);
+        warmUpController = new WarmUpController(COUNT, 10, 3);
+        // Never wait in queue, so that the rejected requests are measured in the same way.
+        rateLimiterController = new WarmUpRateLimiterController(COUNT, 10, 0, 3);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean testCanPass() {
+        return warmUpController.canPass(node, 1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean test4ThreadsCanPass() {
+        return warmUpController.canPass(node, 1);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long testTryReserve() {
+        return rateLimiterController.tryReserve(node, 1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long test4ThreadsTryReserve() {
+        return rateLimiterController.tryReserve(node, 1);
+    }
+
+    private static class FixedQpsNode extends StatisticNode {
+
+        private final double passQps;
+        private final double previousPassQps;
+
+        FixedQpsNode(double passQps, double previousPassQps) {
+            this.passQps = passQps;
+            this.previousPassQps = previousPassQps;
+        }
+
+        @Override
+        public double passQps() {
+            return passQps;
+        }
+
+        @Override
+        public double previousPassQps() {
+            return previousPassQps;
+        }
+    }
+}
@@ -16,8 +16,12 @@
 package com.alibaba.csp.sentinel.cluster.client;
 
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
 
+import com.alibaba.csp.sentinel.cluster.AsyncTokenService;
 import com.alibaba.csp.sentinel.cluster.ClusterConstants;
 import com.alibaba.csp.sentinel.cluster.ClusterErrorMessages;
 import com.alibaba.csp.sentinel.cluster.ClusterTransportClient;
@@ -42,7 +46,7 @@ import com.alibaba.csp.sentinel.util.StringUtil;
  * @author Eric Zhao
  * @since 1.4.0
  */
-public class DefaultClusterTokenClient implements ClusterTokenClient {
+public class DefaultClusterTokenClient implements ClusterTokenClient, AsyncTokenService {
 
     private ClusterTransportClient transportClient;
     private TokenServerDescriptor serverDescriptor;
@@ -164,6 +168,32 @@ public class DefaultClusterTokenClient implements ClusterTokenClient {
         }
     }
 
+    @Override
+    public CompletionStage<TokenResult> requestTokenAsync(Long flowId, int acquireCount, boolean prioritized) {
+        if (!(transportClient instanceof NettyTransportClient)) {
+            return CompletableFuture.completedFuture(requestToken(flowId, acquireCount, prioritized));
+        }
+        if (notValidRequest(flowId, acquireCount)) {
+            return CompletableFuture.completedFuture(badRequest());
+        }
+        FlowRequestData data = new FlowRequestData().setCount(acquireCount)
+            .setFlowId(flowId).setPriority(prioritized);
+        ClusterRequest<FlowRequestData> request = new ClusterRequest<>(ClusterConstants.MSG_TYPE_FLOW, data);
+        return ((NettyTransportClient)transportClient).sendRequestAsync(request)
+            .handle(new BiFunction<ClusterResponse, Throwable, TokenResult>() {
+                @Override
+                public TokenResult apply(ClusterResponse response, Throwable ex) {
+                    if (ex != null) {
+                        ClusterClientStatLogUtil.log(ex.getMessage());
+                        return new TokenResult(TokenResultStatus.FAIL);
+                    }
+                    TokenResult result = toTokenResult(response);
+                    logForResult(result);
+                    return result;
+                }
+            });
+    }
+
     @Override
     public TokenResult requestParamToken(Long flowId, int acquireCount, Collection<Object> params) {
         if (notValidRequest(flowId, acquireCount) || params == null || params.isEmpty()) {
@@ -210,6 +240,10 @@ public class DefaultClusterTokenClient implements ClusterTokenClient {
             return clientFail();
         }
         ClusterResponse response = transportClient.sendRequest(request);
+        return toTokenResult(response);
+    }
+
+    private TokenResult toTokenResult(ClusterResponse response) {
         TokenResult result = new TokenResult(response.getStatus());
         if (response.getData() != null) {
             FlowTokenResponseData responseData = (FlowTokenResponseData)response.getData();
@@ -16,6 +16,7 @@
 package com.alibaba.csp.sentinel.cluster.client;
 
 import java.util.AbstractMap.SimpleEntry;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -51,6 +52,7 @@ import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 import io.netty.handler.codec.LengthFieldPrepender;
 import io.netty.util.concurrent.GenericFutureListener;
+import io.netty.util.concurrent.ScheduledFuture;
 
 /**
  * Netty transport client implementation for Sentinel cluster transport.
@@ -245,27 +247,63 @@ public class NettyTransportClient implements ClusterTransportClient {
         return next;
     }
 
-    /*public CompletableFuture<ClusterResponse> sendRequestAsync(ClusterRequest request) {
-        // Uncomment this when min target JDK is 1.8.
+    /**
+     * Send request to remote server without waiting for the response.
+     *
+     * @param request Sentinel cluster request
+     * @return response from remote server, which completes exceptionally if the request fails or times out
+     * @since 1.8.8
+     */
+    public CompletableFuture<ClusterResponse> sendRequestAsync(ClusterRequest request) {
+        final CompletableFuture<ClusterResponse> future = new CompletableFuture<>();
+        if (!isReady()) {
+            future.completeExceptionally(new SentinelClusterException(ClusterErrorMessages.CLIENT_NOT_READY));
+            return future;
+        }
         if (!validRequest(request)) {
-            return CompletableFuture.failedFuture(new IllegalArgumentException("Bad request"));
+            future.completeExceptionally(new SentinelClusterException(ClusterErrorMessages.BAD_REQUEST));
+            return future;
         }
-        int xid = getCurrentId();
+        final int xid = getCurrentId();
         request.setId(xid);
 
-        CompletableFuture<ClusterResponse> future = new CompletableFuture<>();
-        channel.writeAndFlush(request)
-            .addListener(f -> {
-                if (f.isSuccess()) {
-                    future.complete(someResult);
-                } else if (f.cause() != null) {
-                    future.completeExceptionally(f.cause());
-                } else {
-                    future.cancel(false);
+        final ChannelPromise promise = channel.newPromise();
+        TokenClientPromiseHolder.putPromise(xid, promise);
+        final ScheduledFuture<?> timeoutFuture = channel.eventLoop().schedule(new Runnable() {
+            @Override
+            public void run() {
+                promise.tryFailure(new SentinelClusterException(ClusterErrorMessages.REQUEST_TIME_OUT));
+            }
+        }, ClusterClientConfigManager.getRequestTimeout(), TimeUnit.MILLISECONDS);
+        promise.addListener(new GenericFutureListener<ChannelFuture>() {
+            @Override
+            public void operationComplete(ChannelFuture f) {
+                timeoutFuture.cancel(false);
+                try {
+                    SimpleEntry<ChannelPromise, ClusterResponse> entry = TokenClientPromiseHolder.getEntry(xid);
+                    if (f.isSuccess() && entry != null && entry.getValue() != null) {
+                        future.complete(entry.getValue());
+                    } else if (f.cause() != null) {
+                        future.completeExceptionally(f.cause());
+                    } else {
+                        future.completeExceptionally(
+                            new SentinelClusterException(ClusterErrorMessages.UNEXPECTED_STATUS));
+                    }
+                } finally {
+                    TokenClientPromiseHolder.remove(xid);
                 }
-            });
+            }
+        });
+        channel.writeAndFlush(request).addListener(new GenericFutureListener<ChannelFuture>() {
+            @Override
+            public void operationComplete(ChannelFuture f) {
+                if (!f.isSuccess()) {
+                    promise.tryFailure(f.cause());
+                }
+            }
+        });
         return future;
-    }*/
+    }
 
     private static final int MIN_ID = 1;
     private static final int MAX_ID = 999_999_999;
@@ -54,8 +54,8 @@ public final class TokenClientPromiseHolder {
                 return false;
             }
             entry.setValue(response);
-            promise.setSuccess();
-            return true;
+            // The promise may have failed meanwhile (e.g. timeout of asynchronous requests).
+            return promise.trySuccess();
         }
         return false;
     }
@@ -54,6 +54,12 @@ public final class Constants {
      */
     public final static String SYSTEM_LOAD_RESOURCE_NAME = "__system_load__";
 
+    /**
+     * Virtual resource identifiers for cpu pressure and cpu throttled ratio statistics (since 1.8.8).
+     */
+    public final static String CPU_PRESSURE_RESOURCE_NAME = "__cpu_pressure__";
+    public final static String CPU_THROTTLED_RESOURCE_NAME = "__cpu_throttled__";
+
     /**
      * Global ROOT statistic node that represents the universal parent node.
      */
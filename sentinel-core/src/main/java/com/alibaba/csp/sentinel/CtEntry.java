@@ -41,6 +41,15 @@ class CtEntry extends Entry {
     protected Context context;
     protected LinkedList<BiConsumer<Context, Entry>> exitHandlers;
 
+    /**
+     * Whether the entry is created by {@link CtEntryPool} and can be recycled on exit.
+     */
+    boolean recyclable = false;
+    /**
+     * Whether the entry is currently in the pool of a thread.
+     */
+    boolean inPool = false;
+
     CtEntry(ResourceWrapper resourceWrapper, ProcessorSlot<Object> chain, Context context) {
         this(resourceWrapper, chain, context, 1, OBJECTS0);
     }
@@ -53,6 +62,21 @@ class CtEntry extends Entry {
         setUpEntryFor(context);
     }
 
+    /**
+     * Reset a recycled entry for a new invocation in given context.
+     */
+    void reset(ResourceWrapper resourceWrapper, ProcessorSlot<Object> chain, Context context, int count,
+               Object[] args) {
+        super.reset(resourceWrapper, count, args);
+        this.chain = chain;
+        this.context = context;
+        this.parent = null;
+        this.child = null;
+        this.exitHandlers = null;
+
+        setUpEntryFor(context);
+    }
+
     private void setUpEntryFor(Context context) {
         // The entry should not be associated to NullContext.
         if (context instanceof NullContext) {
@@ -100,8 +124,10 @@ class CtEntry extends Entry {
                 // Clean previous call stack.
                 CtEntry e = (CtEntry) context.getCurEntry();
                 while (e != null) {
+                    // The entry may be recycled on exit, so keep the parent first.
+                    CtEntry parent = (CtEntry) e.parent;
                     e.exit(count, args);
-                    e = (CtEntry) e.parent;
+                    e = parent;
                 }
                 String errorMessage = String.format("The order of entry exit can't be paired with the order of entry"
                         + ", current entry in context: <%s>, but expected: <%s>", curEntryNameInContext,
@@ -128,6 +154,7 @@ class CtEntry extends Entry {
                 }
                 // Clean the reference of context in current entry to avoid duplicate exit.
                 clearEntryContext();
+                CtEntryPool.release(this);
             }
         }
     }
@@ -136,6 +163,17 @@ class CtEntry extends Entry {
         this.context = null;
     }
 
+    /**
+     * Drop the references of the entry before it's kept in the pool for reuse.
+     */
+    void clearForReuse() {
+        this.chain = null;
+        this.parent = null;
+        this.child = null;
+        this.exitHandlers = null;
+        this.args = OBJECTS0;
+    }
+
     @Override
     public void whenTerminate(BiConsumer<Context, Entry> handler) {
         if (this.exitHandlers == null) {
@@ -146,6 +184,8 @@ class CtEntry extends Entry {
 
     @Override
     protected Entry trueExit(int count, Object... args) throws ErrorEntryFreeException {
+        // The entry may be recycled on exit, so keep the parent first.
+        Entry parent = this.parent;
         exitForContext(context, count, args);
 
         return parent;
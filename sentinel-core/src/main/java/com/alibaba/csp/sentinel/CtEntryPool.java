@@ -0,0 +1,116 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+
+/**
+ * <p>Per-thread pool of {@link CtEntry}, enabled by {@link SentinelConfig#ENTRY_POOL_ENABLED}.</p>
+ * <p>
+ * Entries are taken from the pool of current thread on entry, and put back into the pool of the exiting
+ * thread once they have exited normally. Each thread keeps at most {@link #MAX_POOLED_PER_THREAD} entries,
+ * which covers the usual depth of nested entries. Async entries are never pooled.
+ * </p>
+ * <p>
+ * Note that a pooled entry may be reused by any later invocation of the thread as soon as it has exited,
+ * so it must not be referenced after exit (e.g. calling {@code exit()} twice, or tracing an exception on an
+ * exited entry).
+ * </p>
+ *
+ * @since 1.8.8
+ */
+final class CtEntryPool {
+
+    static final int MAX_POOLED_PER_THREAD = 16;
+
+    private static volatile boolean enabled = SentinelConfig.entryPoolEnabled();
+
+    private static final ThreadLocal<Pool> POOL = new ThreadLocal<Pool>() {
+        @Override
+        protected Pool initialValue() {
+            return new Pool();
+        }
+    };
+
+    static CtEntry newEntry(ResourceWrapper resourceWrapper, ProcessorSlot<Object> chain, Context context, int count,
+                            Object[] args) {
+        if (!enabled) {
+            return new CtEntry(resourceWrapper, chain, context, count, args);
+        }
+        CtEntry entry = POOL.get().poll();
+        if (entry != null) {
+            entry.reset(resourceWrapper, chain, context, count, args);
+            return entry;
+        }
+        entry = new CtEntry(resourceWrapper, chain, context, count, args);
+        entry.recyclable = true;
+        return entry;
+    }
+
+    static void release(CtEntry entry) {
+        if (!enabled || !entry.recyclable || entry.inPool) {
+            return;
+        }
+        entry.clearForReuse();
+        POOL.get().offer(entry);
+    }
+
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Only for internal test.
+     */
+    static void setEnabled(boolean enabled) {
+        CtEntryPool.enabled = enabled;
+    }
+
+    /**
+     * Only for internal test.
+     */
+    static int pooledSize() {
+        return POOL.get().size;
+    }
+
+    private static final class Pool {
+
+        private final CtEntry[] entries = new CtEntry[MAX_POOLED_PER_THREAD];
+        private int size = 0;
+
+        CtEntry poll() {
+            if (size == 0) {
+                return null;
+            }
+            CtEntry entry = entries[--size];
+            entries[size] = null;
+            entry.inPool = false;
+            return entry;
+        }
+
+        void offer(CtEntry entry) {
+            if (size < entries.length) {
+                entry.inPool = true;
+                entries[size++] = entry;
+            }
+        }
+    }
+
+    private CtEntryPool() {}
+}
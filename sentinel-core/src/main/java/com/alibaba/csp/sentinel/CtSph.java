@@ -16,10 +16,18 @@
 package com.alibaba.csp.sentinel;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.Map;
-
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.context.ContextUtil;
 import com.alibaba.csp.sentinel.context.NullContext;
@@ -27,10 +35,13 @@ import com.alibaba.csp.sentinel.slotchain.MethodResourceWrapper;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlotChain;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
-import com.alibaba.csp.sentinel.slotchain.SlotChainProvider;
+import com.alibaba.csp.sentinel.slotchain.SlotChainRegistry;
 import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.block.Rule;
+import com.alibaba.csp.sentinel.slots.block.flow.ClusterFlowTokens;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowSlot;
+import com.alibaba.csp.sentinel.slots.block.flow.QueueingWait;
 
 /**
  * {@inheritDoc}
@@ -48,10 +59,12 @@ public class CtSph implements Sph {
      * Same resource({@link ResourceWrapper#equals(Object)}) will share the same
      * {@link ProcessorSlotChain}, no matter in which {@link Context}.
      */
-    private static volatile Map<ResourceWrapper, ProcessorSlotChain> chainMap
-        = new HashMap<ResourceWrapper, ProcessorSlotChain>();
+    private static final SlotChainRegistry chainRegistry = new SlotChainRegistry(
+        SentinelConfig.slotChainMaxSize(), SentinelConfig.slotChainIdleTtlMs(), SentinelConfig.slotChainLruEnabled());
 
-    private static final Object LOCK = new Object();
+    static {
+        chainRegistry.startEviction();
+    }
 
     private AsyncEntry asyncEntryWithNoChain(ResourceWrapper resourceWrapper, Context context) {
         AsyncEntry entry = new AsyncEntry(resourceWrapper, null, context);
@@ -79,7 +92,8 @@ public class CtSph implements Sph {
             return asyncEntryWithNoChain(resourceWrapper, context);
         }
 
-        ProcessorSlot<Object> chain = lookProcessChain(resourceWrapper);
+        // The chain is kept from eviction until it has been entered.
+        ProcessorSlotChain chain = chainRegistry.acquire(resourceWrapper);
 
         // Means processor cache size exceeds {@link Constants.MAX_SLOT_CHAIN_SIZE}, so no rule checking will be done.
         if (chain == null) {
@@ -105,6 +119,8 @@ public class CtSph implements Sph {
             RecordLog.warn("Sentinel unexpected exception in asyncEntryInternal", e1);
 
             asyncEntry.cleanCurrentEntryInLocal();
+        } finally {
+            chainRegistry.release(chain);
         }
         return asyncEntry;
     }
@@ -114,6 +130,87 @@ public class CtSph implements Sph {
         return asyncEntryWithPriorityInternal(resourceWrapper, count, false, args);
     }
 
+    private CompletionStage<AsyncEntry> asyncEntryAsyncInternal(final ResourceWrapper resourceWrapper,
+                                                                final int count, final boolean prioritized,
+                                                                final Object... args) {
+        final CompletableFuture<AsyncEntry> future = new CompletableFuture<>();
+        Context context = ContextUtil.getContext();
+        if (context == null) {
+            // Using default context.
+            context = InternalContextUtil.internalEnter(Constants.CONTEXT_DEFAULT_NAME);
+        }
+        if (context instanceof NullContext || !Constants.ON) {
+            // No rule checking will be done, so there's no token to wait for.
+            completeAsyncEntry(future, resourceWrapper, count, prioritized, null, args);
+            return future;
+        }
+
+        if (ClusterFlowTokens.hasClusterRules(resourceWrapper.getName())) {
+            ProcessorSlotChain chain = chainRegistry.getOrCreate(resourceWrapper);
+            if (chain == null || chain.mayBlockBefore(FlowSlot.class, resourceWrapper)) {
+                // Tokens requested ahead would be consumed even if the entry is blocked by earlier slots, so let
+                // the flow slot request them once the earlier slots have passed, in a Sentinel thread.
+                AsyncEntryExecutorHolder.EXECUTOR.execute(ContextUtil.wrap(new Runnable() {
+                    @Override
+                    public void run() {
+                        completeAsyncEntry(future, resourceWrapper, count, prioritized, null, args);
+                    }
+                }));
+                return future;
+            }
+        }
+        final CompletableFuture<ClusterFlowTokens> tokens = ClusterFlowTokens.requestAsync(
+            resourceWrapper.getName(), count, prioritized).toCompletableFuture();
+        if (tokens.isDone()) {
+            completeAsyncEntry(future, resourceWrapper, count, prioritized, tokens.join(), args);
+            return future;
+        }
+        // The slot chain runs in a Sentinel thread, in a context inheriting current one. It must not run in
+        // the thread that receives the tokens (e.g. an I/O event loop), as slots may block.
+        final Runnable task = ContextUtil.wrap(new Runnable() {
+            @Override
+            public void run() {
+                completeAsyncEntry(future, resourceWrapper, count, prioritized, tokens.join(), args);
+            }
+        });
+        tokens.thenRunAsync(task, AsyncEntryExecutorHolder.EXECUTOR);
+        return future;
+    }
+
+    private void completeAsyncEntry(final CompletableFuture<AsyncEntry> future, ResourceWrapper resourceWrapper,
+                                    int count, boolean prioritized, ClusterFlowTokens tokens, Object... args) {
+        Context context = ContextUtil.getContext();
+        boolean deferQueueing = context != null && !(context instanceof NullContext);
+        boolean previousDeferQueueing = deferQueueing && context.isDeferQueueing();
+        ClusterFlowTokens previousTokens = tokens == null ? null : ClusterFlowTokens.replace(tokens);
+        if (deferQueueing) {
+            context.setDeferQueueing(true);
+        }
+        try {
+            final AsyncEntry entry = asyncEntryWithPriorityInternal(resourceWrapper, count, prioritized, args);
+            long delayNanos = entry.getQueueingDelayNanos();
+            if (delayNanos <= 0) {
+                future.complete(entry);
+            } else {
+                QueueingWait.delayScheduler().schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        future.complete(entry);
+                    }
+                }, delayNanos, TimeUnit.NANOSECONDS);
+            }
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        } finally {
+            if (deferQueueing) {
+                context.setDeferQueueing(previousDeferQueueing);
+            }
+            if (tokens != null) {
+                ClusterFlowTokens.replace(previousTokens);
+            }
+        }
+    }
+
     private Entry entryWithPriority(ResourceWrapper resourceWrapper, int count, boolean prioritized, Object... args)
         throws BlockException {
         // 获取当前执行上下文
@@ -133,8 +230,8 @@ public class CtSph implements Sph {
         if (!Constants.ON) {
             return new CtEntry(resourceWrapper, null, context);
         }
-        // 查找与资源对应的处理链（规则检查逻辑）
-        ProcessorSlot<Object> chain = lookProcessChain(resourceWrapper);
+        // 查找与资源对应的处理链（规则检查逻辑），在进入处理链之前不会被淘汰
+        ProcessorSlotChain chain = chainRegistry.acquire(resourceWrapper);
 
         /*
          * Means amount of resources (slot chain) exceeds {@link Constants.MAX_SLOT_CHAIN_SIZE},
@@ -144,7 +241,7 @@ public class CtSph implements Sph {
             return new CtEntry(resourceWrapper, null, context);
         }
         // 创建入口对象，包括资源信息、处理链、上下文等
-        Entry e = new CtEntry(resourceWrapper, chain, context, count, args);
+        Entry e = CtEntryPool.newEntry(resourceWrapper, chain, context, count, args);
         try {
             // 责任链调用
             chain.entry(context, resourceWrapper, null, count, prioritized, args);
@@ -154,6 +251,48 @@ public class CtSph implements Sph {
         } catch (Throwable e1) {
             // This should not happen, unless there are errors existing in Sentinel internal.
             RecordLog.info("Sentinel unexpected exception", e1);
+        } finally {
+            chainRegistry.release(chain);
+        }
+        return e;
+    }
+
+    private Entry entryWithHandle(ResourceHandle handle, Context context, int count, boolean prioritized,
+                                  Object... args) throws BlockException {
+        ResourceWrapper resourceWrapper = handle.getResourceWrapper();
+        ResourceHandle.Resolved resolved = handle.getResolved();
+        // The chain is kept from eviction until it has been entered, resolve it again if it's evicted meanwhile.
+        while (resolved == null || !chainRegistry.retain(resolved.chain, resolved.version)) {
+            // Read the version first, so that the chain is resolved again if it's evicted meanwhile.
+            int version = chainRegistry.version();
+            ProcessorSlotChain chain = chainRegistry.getOrCreate(resourceWrapper);
+            if (chain == null) {
+                return new CtEntry(resourceWrapper, null, context);
+            }
+            resolved = new ResourceHandle.Resolved(version, chain, null, null);
+            handle.setResolved(resolved);
+        }
+
+        Entry e = CtEntryPool.newEntry(resourceWrapper, resolved.chain, context, count, args);
+        // The node selector slot picks up the cached node instead of looking it up by context name.
+        DefaultNode node = resolved.nodeOf(context.getName());
+        if (node != null) {
+            e.setCurNode(node);
+        }
+        try {
+            resolved.chain.entry(context, resourceWrapper, null, count, prioritized, args);
+        } catch (BlockException e1) {
+            e.exit(count, args);
+            throw e1;
+        } catch (Throwable e1) {
+            // This should not happen, unless there are errors existing in Sentinel internal.
+            RecordLog.info("Sentinel unexpected exception", e1);
+        } finally {
+            chainRegistry.release(resolved.chain);
+        }
+        if (node == null && e.getCurNode() instanceof DefaultNode) {
+            handle.setResolved(new ResourceHandle.Resolved(resolved.version, resolved.chain, context.getName(),
+                (DefaultNode)e.getCurNode()));
         }
         return e;
     }
@@ -186,34 +325,15 @@ public class CtSph implements Sph {
      * {@link ProcessorSlotChain} globally, no matter in which {@link Context}.<p/>
      *
      * <p>
-     * Note that total {@link ProcessorSlot} count must not exceed {@link Constants#MAX_SLOT_CHAIN_SIZE},
-     * otherwise null will return.
+     * Note that total {@link ProcessorSlot} count must not exceed {@link SentinelConfig#slotChainMaxSize()},
+     * otherwise null will return (unless slot chains can be evicted, see {@link SlotChainRegistry}).
      * </p>
      *
      * @param resourceWrapper target resource
      * @return {@link ProcessorSlotChain} of the resource
      */
     ProcessorSlot<Object> lookProcessChain(ResourceWrapper resourceWrapper) {
-        ProcessorSlotChain chain = chainMap.get(resourceWrapper);
-        if (chain == null) {
-            synchronized (LOCK) {
-                chain = chainMap.get(resourceWrapper);
-                if (chain == null) {
-                    // Entry size limit.
-                    if (chainMap.size() >= Constants.MAX_SLOT_CHAIN_SIZE) {
-                        return null;
-                    }
-
-                    chain = SlotChainProvider.newSlotChain();
-                    Map<ResourceWrapper, ProcessorSlotChain> newMap = new HashMap<ResourceWrapper, ProcessorSlotChain>(
-                        chainMap.size() + 1);
-                    newMap.putAll(chainMap);
-                    newMap.put(resourceWrapper, chain);
-                    chainMap = newMap;
-                }
-            }
-        }
-        return chain;
+        return chainRegistry.getOrCreate(resourceWrapper);
     }
 
     /**
@@ -223,7 +343,7 @@ public class CtSph implements Sph {
      * @since 0.2.0
      */
     public static int entrySize() {
-        return chainMap.size();
+        return chainRegistry.size();
     }
 
     /**
@@ -232,7 +352,7 @@ public class CtSph implements Sph {
      * @since 0.2.0
      */
     static void resetChainMap() {
-        chainMap.clear();
+        chainRegistry.clear();
     }
 
     /**
@@ -241,7 +361,7 @@ public class CtSph implements Sph {
      * @since 0.2.0
      */
     static Map<ResourceWrapper, ProcessorSlotChain> getChainMap() {
-        return chainMap;
+        return chainRegistry.getChainMap();
     }
 
     /**
@@ -323,10 +443,16 @@ public class CtSph implements Sph {
         return asyncEntryInternal(resource, count, args);
     }
 
+    @Override
+    public CompletionStage<AsyncEntry> asyncEntryAsync(String name, EntryType type, int count, Object... args) {
+        StringResourceWrapper resource = new StringResourceWrapper(name, type);
+        return asyncEntryAsyncInternal(resource, count, false, args);
+    }
+
     @Override
     public Entry entryWithPriority(String name, EntryType type, int count, boolean prioritized) throws BlockException {
         StringResourceWrapper resource = new StringResourceWrapper(name, type);
-        return entryWithPriority(resource, count, prioritized);
+        return entryWithPriority(resource, count, prioritized, OBJECTS0);
     }
 
     @Override
@@ -355,4 +481,37 @@ public class CtSph implements Sph {
         StringResourceWrapper resource = new StringResourceWrapper(name, entryType, resourceType);
         return asyncEntryWithPriorityInternal(resource, count, prioritized, args);
     }
+
+    @Override
+    public Entry entryWithHandle(ResourceHandle handle, int count, boolean prioritized, Object... args)
+        throws BlockException {
+        Context context = ContextUtil.getContext();
+        if (context instanceof NullContext) {
+            // The {@link NullContext} indicates that the amount of context has exceeded the threshold,
+            // so here init the entry only. No rule checking will be done.
+            return new CtEntry(handle.getResourceWrapper(), null, context);
+        }
+        if (context == null) {
+            // Using default context.
+            context = InternalContextUtil.internalEnter(Constants.CONTEXT_DEFAULT_NAME);
+        }
+        // Global switch is close, no rule checking will do.
+        if (!Constants.ON) {
+            return new CtEntry(handle.getResourceWrapper(), null, context);
+        }
+        return entryWithHandle(handle, context, count, prioritized, args);
+    }
+
+    /**
+     * Executor of the slot chains of asynchronous entries (see {@link SphU#asyncEntryAsync(String)}). When the
+     * queue is full, the slot chain runs in the submitting thread instead, like a synchronous entry.
+     */
+    private static final class AsyncEntryExecutorHolder {
+        private static final int QUEUE_CAPACITY = 4096;
+
+        private static final ExecutorService EXECUTOR = new ThreadPoolExecutor(
+            Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().availableProcessors(),
+            0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(QUEUE_CAPACITY),
+            new NamedThreadFactory("sentinel-async-entry-task", true), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
 }
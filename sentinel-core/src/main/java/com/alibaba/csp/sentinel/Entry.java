@@ -55,7 +55,7 @@ public abstract class Entry implements AutoCloseable {
 
     protected static final Object[] OBJECTS0 = new Object[0];
 
-    private final long createTimestamp;
+    private long createTimestamp;
     private long completeTimestamp;
 
     private Node curNode;
@@ -66,12 +66,23 @@ public abstract class Entry implements AutoCloseable {
 
     private Throwable error;
     private BlockException blockError;
+    /**
+     * Time the invocation should wait in queue before proceeding, when queueing is deferred
+     * (see {@link Context#setDeferQueueing(boolean)}).
+     */
+    private long queueingDelayNanos;
+    /**
+     * Slots skipped for this entry, taken when entering the slot chain so that the exit goes
+     * through the same slots even if rules change in between (see {@link com.alibaba.csp.sentinel.slotchain.ActiveSlots}).
+     */
+    private long inactiveSlots;
+    private boolean inactiveSlotsTaken;
 
-    protected final ResourceWrapper resourceWrapper;
+    protected ResourceWrapper resourceWrapper;
 
-    protected final int count;
+    protected int count;
 
-    protected final Object[] args;
+    protected Object[] args;
 
     public Entry(ResourceWrapper resourceWrapper) {
         this(resourceWrapper, 1, OBJECTS0);
@@ -84,6 +95,24 @@ public abstract class Entry implements AutoCloseable {
         this.args = args;
     }
 
+    /**
+     * Reset the entry for a new invocation, so that it can be reused (see {@link CtEntryPool}).
+     */
+    void reset(ResourceWrapper resourceWrapper, int count, Object[] args) {
+        this.resourceWrapper = resourceWrapper;
+        this.createTimestamp = TimeUtil.currentTimeMillis();
+        this.completeTimestamp = 0;
+        this.count = count;
+        this.args = args;
+        this.curNode = null;
+        this.originNode = null;
+        this.error = null;
+        this.blockError = null;
+        this.queueingDelayNanos = 0;
+        this.inactiveSlots = 0;
+        this.inactiveSlotsTaken = false;
+    }
+
     public ResourceWrapper getResourceWrapper() {
         return resourceWrapper;
     }
@@ -189,6 +218,58 @@ public abstract class Entry implements AutoCloseable {
         this.originNode = originNode;
     }
 
+    /**
+     * Get the time to wait before the invocation proceeds. It's always 0 unless queueing
+     * is deferred by {@link Context#setDeferQueueing(boolean)}.
+     *
+     * @return queueing delay in nanoseconds
+     * @since 1.8.8
+     */
+    public long getQueueingDelayNanos() {
+        return queueingDelayNanos;
+    }
+
+    /**
+     * Add time to wait before the invocation proceeds, used when queueing is deferred.
+     *
+     * @param delayNanos queueing delay in nanoseconds
+     * @since 1.8.8
+     */
+    public void addQueueingDelayNanos(long delayNanos) {
+        this.queueingDelayNanos += delayNanos;
+    }
+
+    /**
+     * Whether the inactive slots have been taken when entering the slot chain.
+     *
+     * @return true if {@link #getInactiveSlots()} is available
+     * @since 1.8.8
+     */
+    public boolean isInactiveSlotsTaken() {
+        return inactiveSlotsTaken;
+    }
+
+    /**
+     * Get the mask of slots skipped when entering the slot chain.
+     *
+     * @return mask of inactive slots
+     * @since 1.8.8
+     */
+    public long getInactiveSlots() {
+        return inactiveSlots;
+    }
+
+    /**
+     * Keep the mask of slots skipped when entering the slot chain, which is used again on exit.
+     *
+     * @param inactiveSlots mask of inactive slots
+     * @since 1.8.8
+     */
+    public void setInactiveSlots(long inactiveSlots) {
+        this.inactiveSlots = inactiveSlots;
+        this.inactiveSlotsTaken = true;
+    }
+
     /**
      * Like {@code CompletableFuture} since JDK 8, it guarantees specified handler
      * is invoked when this entry terminated (exited), no matter it's blocked or permitted.
@@ -0,0 +1,147 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.slotchain.ProcessorSlotChain;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+
+/**
+ * <p>A pre-resolved resource, which is obtained once (e.g. kept in a static field) and used to enter the
+ * resource repeatedly:</p>
+ *
+ * <pre>
+ * private static final ResourceHandle HANDLE = SphU.handle("abc", EntryType.IN);
+ *
+ * Entry entry = null;
+ * try {
+ *     entry = HANDLE.entry();
+ *     // Your business logic here.
+ * } catch (BlockException ex) {
+ *     // Handle rejected request.
+ * } finally {
+ *     if (entry != null) {
+ *         entry.exit();
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>
+ * Entering through a handle behaves the same as {@link SphU#entry(String, EntryType)}, but the resource
+ * wrapper is created only once, and the slot chain and the {@link DefaultNode} of the most recently used
+ * context are cached in the handle, so that they are not looked up on each entry.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+public final class ResourceHandle {
+
+    private static final Object[] OBJECTS0 = new Object[0];
+
+    private final ResourceWrapper resourceWrapper;
+
+    private volatile Resolved resolved;
+
+    ResourceHandle(String name, int resourceType, EntryType entryType) {
+        AssertUtil.notNull(name, "resource name cannot be null");
+        AssertUtil.notNull(entryType, "entry type cannot be null");
+        this.resourceWrapper = new StringResourceWrapper(name, entryType, resourceType);
+    }
+
+    /**
+     * Record statistics and perform rule checking for the resource.
+     *
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     */
+    public Entry entry() throws BlockException {
+        return Env.sph.entryWithHandle(this, 1, false, OBJECTS0);
+    }
+
+    /**
+     * Record statistics and perform rule checking for the resource.
+     *
+     * @param batchCount the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     */
+    public Entry entry(int batchCount) throws BlockException {
+        return Env.sph.entryWithHandle(this, batchCount, false, OBJECTS0);
+    }
+
+    /**
+     * Record statistics and perform rule checking for the resource.
+     *
+     * @param batchCount the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args       args for parameter flow control or customized slots
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met (e.g. metric exceeded the threshold of any rules)
+     */
+    public Entry entry(int batchCount, Object... args) throws BlockException {
+        return Env.sph.entryWithHandle(this, batchCount, false, args);
+    }
+
+    public ResourceWrapper getResourceWrapper() {
+        return resourceWrapper;
+    }
+
+    public String getName() {
+        return resourceWrapper.getName();
+    }
+
+    Resolved getResolved() {
+        return resolved;
+    }
+
+    void setResolved(Resolved resolved) {
+        this.resolved = resolved;
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceHandle{" +
+            "name='" + resourceWrapper.getName() + '\'' +
+            ", entryType=" + resourceWrapper.getEntryType() +
+            ", resourceType=" + resourceWrapper.getResourceType() +
+            '}';
+    }
+
+    /**
+     * Slot chain of the resource under given version of the slot chain registry, and the node of the
+     * resource in the most recently used context.
+     */
+    static final class Resolved {
+
+        final int version;
+        final ProcessorSlotChain chain;
+        final String contextName;
+        final DefaultNode node;
+
+        Resolved(int version, ProcessorSlotChain chain, String contextName, DefaultNode node) {
+            this.version = version;
+            this.chain = chain;
+            this.contextName = contextName;
+            this.node = node;
+        }
+
+        DefaultNode nodeOf(String contextName) {
+            return node != null && this.contextName.equals(contextName) ? node : null;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package com.alibaba.csp.sentinel;
 
 import java.lang.reflect.Method;
+import java.util.concurrent.CompletionStage;
 
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.system.SystemRule;
@@ -161,6 +162,23 @@ public interface Sph extends SphResourceTypeSupport {
      */
     AsyncEntry asyncEntry(String name, EntryType trafficType, int batchCount, Object... args) throws BlockException;
 
+    /**
+     * Create a protected asynchronous resource without blocking the caller. Tokens of cluster mode flow rules
+     * are requested ahead of the slot chain, and queueing (e.g. rate limiter flow rules) is deferred rather than
+     * blocking the thread (see {@link com.alibaba.csp.sentinel.context.Context#setDeferQueueing(boolean)}).
+     *
+     * @param name        the unique name for the protected resource
+     * @param trafficType the traffic type (inbound, outbound or internal). This is used
+     *                    to mark whether it can be blocked when the system is unstable,
+     *                    only inbound traffic could be blocked by {@link SystemRule}
+     * @param batchCount  the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args        args for parameter flow control or customized slots
+     * @return the asynchronous entry, which completes once the entry has passed and the queueing delay (if any)
+     * has elapsed, or completes exceptionally with {@link BlockException} if the block criteria is met
+     * @since 1.8.8
+     */
+    CompletionStage<AsyncEntry> asyncEntryAsync(String name, EntryType trafficType, int batchCount, Object... args);
+
     /**
      * Create a protected resource with priority.
      *
@@ -193,4 +211,18 @@ public interface Sph extends SphResourceTypeSupport {
      */
     Entry entryWithPriority(String name, EntryType trafficType, int batchCount, boolean prioritized, Object... args)
         throws BlockException;
+
+    /**
+     * Record statistics and perform rule checking for the pre-resolved resource.
+     *
+     * @param handle      the pre-resolved resource
+     * @param batchCount  the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param prioritized whether the entry is prioritized
+     * @param args        args for parameter flow control or customized slots
+     * @return the {@link Entry} of this invocation (used for mark the invocation complete and get context data)
+     * @throws BlockException if the block criteria is met
+     * @since 1.8.8
+     */
+    Entry entryWithHandle(ResourceHandle handle, int batchCount, boolean prioritized, Object... args)
+        throws BlockException;
 }
@@ -16,6 +16,7 @@
 package com.alibaba.csp.sentinel;
 
 import java.lang.reflect.Method;
+import java.util.concurrent.CompletionStage;
 
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.block.Rule;
@@ -252,6 +253,65 @@ public class SphU {
         return Env.sph.asyncEntry(name, trafficType, batchCount, args);
     }
 
+    /**
+     * Record statistics and check all rules of the resource that indicates an async invocation, without blocking
+     * current thread. Tokens of cluster mode flow rules are requested asynchronously, and the queueing time of
+     * rate limiter flow rules is awaited by the returned stage instead of current thread. If the tokens are not
+     * available right away, the rules are checked in a Sentinel thread once the tokens arrive.
+     * <p>
+     * Tokens are only requested ahead if no slot before the flow slot (e.g. authority, system or degrade rules)
+     * may block the entry, as the tokens would be consumed on the token server even if the entry is blocked.
+     * Otherwise the rules are checked in a Sentinel thread, where the flow slot requests the tokens once the
+     * earlier slots have passed. When the Sentinel threads are saturated, the rules are checked in the thread
+     * that submits them (current thread or the thread receiving the tokens), like a synchronous entry.
+     * </p>
+     *
+     * @param name the unique name of the protected resource
+     * @return the async entry, which completes exceptionally with {@link BlockException} if the block criteria
+     * is met (e.g. metric exceeded the threshold of any rules)
+     * @since 1.8.8
+     */
+    public static CompletionStage<AsyncEntry> asyncEntryAsync(String name) {
+        return Env.sph.asyncEntryAsync(name, EntryType.OUT, 1, OBJECTS0);
+    }
+
+    /**
+     * Record statistics and check all rules of the resource that indicates an async invocation, without blocking
+     * current thread.
+     *
+     * @param name        the unique name for the protected resource
+     * @param trafficType the traffic type (inbound, outbound or internal). This is used
+     *                    to mark whether it can be blocked when the system is unstable,
+     *                    only inbound traffic could be blocked by {@link SystemRule}
+     * @return the async entry, which completes exceptionally with {@link BlockException} if the block criteria
+     * is met (e.g. metric exceeded the threshold of any rules)
+     * @see #asyncEntryAsync(String)
+     * @since 1.8.8
+     */
+    public static CompletionStage<AsyncEntry> asyncEntryAsync(String name, EntryType trafficType) {
+        return Env.sph.asyncEntryAsync(name, trafficType, 1, OBJECTS0);
+    }
+
+    /**
+     * Record statistics and check all rules of the resource that indicates an async invocation, without blocking
+     * current thread.
+     *
+     * @param name        the unique name for the protected resource
+     * @param trafficType the traffic type (inbound, outbound or internal). This is used
+     *                    to mark whether it can be blocked when the system is unstable,
+     *                    only inbound traffic could be blocked by {@link SystemRule}
+     * @param batchCount  the amount of calls within the invocation (e.g. batchCount=2 means request for 2 tokens)
+     * @param args        args for parameter flow control
+     * @return the async entry, which completes exceptionally with {@link BlockException} if the block criteria
+     * is met (e.g. metric exceeded the threshold of any rules)
+     * @see #asyncEntryAsync(String)
+     * @since 1.8.8
+     */
+    public static CompletionStage<AsyncEntry> asyncEntryAsync(String name, EntryType trafficType, int batchCount,
+                                                              Object... args) {
+        return Env.sph.asyncEntryAsync(name, trafficType, batchCount, args);
+    }
+
     /**
      * Record statistics and perform rule checking for the given resource. The entry is prioritized.
      *
@@ -365,4 +425,47 @@ public class SphU {
                                         Object[] args) throws BlockException {
         return Env.sph.asyncEntryWithType(name, resourceType, trafficType, batchCount, false, args);
     }
+
+    /**
+     * Get a pre-resolved handle of the given resource, which can be entered repeatedly without looking up
+     * the resource each time. The handle is expected to be obtained once and kept (e.g. in a static field).
+     *
+     * @param name the unique name for the protected resource
+     * @return the handle of the resource
+     * @since 1.8.8
+     */
+    public static ResourceHandle handle(String name) {
+        return new ResourceHandle(name, ResourceTypeConstants.COMMON, EntryType.OUT);
+    }
+
+    /**
+     * Get a pre-resolved handle of the given resource, which can be entered repeatedly without looking up
+     * the resource each time. The handle is expected to be obtained once and kept (e.g. in a static field).
+     *
+     * @param name        the unique name for the protected resource
+     * @param trafficType the traffic type (inbound, outbound or internal). This is used
+     *                    to mark whether it can be blocked when the system is unstable,
+     *                    only inbound traffic could be blocked by {@link SystemRule}
+     * @return the handle of the resource
+     * @since 1.8.8
+     */
+    public static ResourceHandle handle(String name, EntryType trafficType) {
+        return new ResourceHandle(name, ResourceTypeConstants.COMMON, trafficType);
+    }
+
+    /**
+     * Get a pre-resolved handle of the given resource, which can be entered repeatedly without looking up
+     * the resource each time. The handle is expected to be obtained once and kept (e.g. in a static field).
+     *
+     * @param name         the unique name for the protected resource
+     * @param resourceType classification of the resource (e.g. Web or RPC)
+     * @param trafficType  the traffic type (inbound, outbound or internal). This is used
+     *                     to mark whether it can be blocked when the system is unstable,
+     *                     only inbound traffic could be blocked by {@link SystemRule}
+     * @return the handle of the resource
+     * @since 1.8.8
+     */
+    public static ResourceHandle handle(String name, int resourceType, EntryType trafficType) {
+        return new ResourceHandle(name, resourceType, trafficType);
+    }
 }
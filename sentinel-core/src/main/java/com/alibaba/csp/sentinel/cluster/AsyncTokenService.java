@@ -0,0 +1,38 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Token service that can request tokens without blocking the caller.
+ *
+ * @since 1.8.8
+ */
+public interface AsyncTokenService extends TokenService {
+
+    /**
+     * Request tokens from remote token server asynchronously. The result completes when the server
+     * answers or the request fails (e.g. timeout), in which case a {@link TokenResultStatus#FAIL}
+     * result is expected rather than an exceptional completion.
+     *
+     * @param ruleId the unique rule ID
+     * @param acquireCount token count to acquire
+     * @param prioritized whether the request is prioritized
+     * @return result of the token request
+     */
+    CompletionStage<TokenResult> requestTokenAsync(Long ruleId, int acquireCount, boolean prioritized);
+}
@@ -15,6 +15,7 @@
  */
 package com.alibaba.csp.sentinel.config;
 
+import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.StringUtil;
@@ -61,6 +62,71 @@ public final class SentinelConfig {
     public static final String STATISTIC_MAX_RT = "csp.sentinel.statistic.max.rt";
     public static final String SPI_CLASSLOADER = "csp.sentinel.spi.classloader";
     public static final String METRIC_FLUSH_INTERVAL = "csp.sentinel.metric.flush.interval";
+    public static final String STATISTIC_BUCKET_TYPE = "csp.sentinel.statistic.bucket.type";
+    public static final String STATISTIC_RUNNING_SUM = "csp.sentinel.statistic.running.sum";
+    public static final String STATISTIC_MINUTE_LAZY = "csp.sentinel.statistic.minute.lazy";
+    public static final String STATISTIC_RT_HISTOGRAM = "csp.sentinel.statistic.rt.histogram";
+    public static final String CLOCK_TYPE = "csp.sentinel.clock.type";
+    public static final String SLOT_CHAIN_MAX_SIZE = "csp.sentinel.slot.chain.max.size";
+    public static final String SLOT_CHAIN_IDLE_TTL = "csp.sentinel.slot.chain.idle.ttl";
+    public static final String SLOT_CHAIN_LRU_ENABLED = "csp.sentinel.slot.chain.lru.enabled";
+    public static final String ENTRY_POOL_ENABLED = "csp.sentinel.entry.pool.enabled";
+    public static final String SYSTEM_METRICS_TYPE = "csp.sentinel.system.metrics.type";
+    public static final String SYSTEM_STATUS_INTERVAL = "csp.sentinel.system.status.interval";
+    public static final String SYSTEM_STATUS_SMOOTHING = "csp.sentinel.system.status.smoothing";
+
+    /**
+     * Metric bucket backed by one {@code LongAdder} per metric event (the default).
+     *
+     * @since 1.8.8
+     */
+    public static final String BUCKET_TYPE_ADDER = "adder";
+    /**
+     * Metric bucket backed by a single contiguous atomic {@code long} array.
+     *
+     * @since 1.8.8
+     */
+    public static final String BUCKET_TYPE_ARRAY = "array";
+    /**
+     * Metric bucket backed by a single atomic {@code long} array, with each counter
+     * padded to its own cache line.
+     *
+     * @since 1.8.8
+     */
+    public static final String BUCKET_TYPE_PADDED_ARRAY = "padded_array";
+
+    /**
+     * Clock that caches the time in a daemon thread under heavy load (the default).
+     *
+     * @since 1.8.8
+     */
+    public static final String CLOCK_TYPE_TICK = "tick";
+    /**
+     * Clock derived from {@code System.nanoTime()} without any background thread.
+     *
+     * @since 1.8.8
+     */
+    public static final String CLOCK_TYPE_NANO = "nano";
+    /**
+     * Clock that reads {@code System.currentTimeMillis()} directly.
+     *
+     * @since 1.8.8
+     */
+    public static final String CLOCK_TYPE_SYSTEM = "system";
+
+    /**
+     * System metrics from JMX {@code OperatingSystemMXBean} (the default).
+     *
+     * @since 1.8.8
+     */
+    public static final String SYSTEM_METRICS_TYPE_JMX = "jmx";
+    /**
+     * System metrics from Linux cgroup v2 and PSI (pressure stall information), falling back to JMX
+     * for the metrics unavailable.
+     *
+     * @since 1.8.8
+     */
+    public static final String SYSTEM_METRICS_TYPE_CGROUP = "cgroup";
 
     public static final String DEFAULT_CHARSET = "UTF-8";
     public static final long DEFAULT_SINGLE_METRIC_FILE_SIZE = 1024 * 1024 * 50;
@@ -68,6 +134,11 @@ public final class SentinelConfig {
     public static final int DEFAULT_COLD_FACTOR = 3;
     public static final int DEFAULT_STATISTIC_MAX_RT = 5000;
     public static final long DEFAULT_METRIC_FLUSH_INTERVAL = 1L;
+    public static final String DEFAULT_STATISTIC_BUCKET_TYPE = BUCKET_TYPE_ADDER;
+    public static final String DEFAULT_CLOCK_TYPE = CLOCK_TYPE_TICK;
+    public static final String DEFAULT_SYSTEM_METRICS_TYPE = SYSTEM_METRICS_TYPE_JMX;
+    public static final long DEFAULT_SYSTEM_STATUS_INTERVAL = 1000;
+    public static final long MIN_SYSTEM_STATUS_INTERVAL = 10;
 
     static {
         try {
@@ -259,6 +330,245 @@ public final class SentinelConfig {
         }
     }
 
+    /**
+     * Get the storage type of statistic metric buckets. Only effective for buckets created
+     * after the value is resolved, so it should be set on startup.
+     *
+     * @return one of {@link #BUCKET_TYPE_ADDER}, {@link #BUCKET_TYPE_ARRAY} and {@link #BUCKET_TYPE_PADDED_ARRAY}
+     * @since 1.8.8
+     */
+    public static String statisticBucketType() {
+        String v = props.get(STATISTIC_BUCKET_TYPE);
+        if (StringUtil.isBlank(v)) {
+            return DEFAULT_STATISTIC_BUCKET_TYPE;
+        }
+        v = v.trim();
+        if (BUCKET_TYPE_ADDER.equalsIgnoreCase(v)) {
+            return BUCKET_TYPE_ADDER;
+        }
+        if (BUCKET_TYPE_ARRAY.equalsIgnoreCase(v)) {
+            return BUCKET_TYPE_ARRAY;
+        }
+        if (BUCKET_TYPE_PADDED_ARRAY.equalsIgnoreCase(v)) {
+            return BUCKET_TYPE_PADDED_ARRAY;
+        }
+        RecordLog.warn("[SentinelConfig] Invalid statistic bucket type: {}, using the default value instead: "
+            + DEFAULT_STATISTIC_BUCKET_TYPE, v);
+        return DEFAULT_STATISTIC_BUCKET_TYPE;
+    }
+
+    /**
+     * Whether second-level statistics of nodes are read in running-sum mode, which makes reading QPS
+     * of the sliding window constant time regardless of the sample count.
+     *
+     * @return whether the running-sum mode is enabled, false by default
+     * @since 1.8.8
+     */
+    public static boolean statisticRunningSumEnabled() {
+        return Boolean.parseBoolean(props.get(STATISTIC_RUNNING_SUM));
+    }
+
+    /**
+     * Whether minute-level statistics of nodes other than {@code ClusterNode} are allocated lazily
+     * on the first minute-level read (e.g. {@code totalRequest()}), which saves memory for the
+     * nodes per context and per origin that are never read at minute granularity.
+     * <p>
+     * Note that requests recorded before the first minute-level read of a node are not counted in its
+     * minute-level statistics, so the first minute-level reads (and the per-second metric logs) of such
+     * a node under-report until it has been read for a minute. Minute-level reads of {@code ClusterNode}
+     * (e.g. those of the dashboard) are not affected.
+     * </p>
+     *
+     * @return whether lazy minute-level statistics is enabled, false by default
+     * @since 1.8.8
+     */
+    public static boolean statisticMinuteLazyEnabled() {
+        return Boolean.parseBoolean(props.get(STATISTIC_MINUTE_LAZY));
+    }
+
+    /**
+     * Whether statistic metric buckets keep a histogram of response time, which enables RT percentiles
+     * of nodes and in the metric log. Each bucket takes about 600 extra bytes with the default max RT.
+     *
+     * @return whether RT histogram is enabled, false by default
+     * @since 1.8.8
+     */
+    public static boolean statisticRtHistogramEnabled() {
+        return Boolean.parseBoolean(props.get(STATISTIC_RT_HISTOGRAM));
+    }
+
+    /**
+     * Whether entries are recycled through a per-thread pool on exit, which saves the allocation of an entry
+     * for each invocation. When enabled, an entry must not be used in any way after it has exited.
+     *
+     * @return whether entry pooling is enabled, false by default
+     * @since 1.8.8
+     */
+    public static boolean entryPoolEnabled() {
+        return Boolean.parseBoolean(props.get(ENTRY_POOL_ENABLED));
+    }
+
+    /**
+     * Get the type of clock used by {@link com.alibaba.csp.sentinel.util.TimeUtil}. It's resolved once
+     * when the clock is first used, so it should be set on startup.
+     *
+     * @return one of {@link #CLOCK_TYPE_TICK}, {@link #CLOCK_TYPE_NANO} and {@link #CLOCK_TYPE_SYSTEM}
+     * @since 1.8.8
+     */
+    public static String clockType() {
+        String v = props.get(CLOCK_TYPE);
+        if (StringUtil.isBlank(v)) {
+            return DEFAULT_CLOCK_TYPE;
+        }
+        v = v.trim();
+        if (CLOCK_TYPE_TICK.equalsIgnoreCase(v)) {
+            return CLOCK_TYPE_TICK;
+        }
+        if (CLOCK_TYPE_NANO.equalsIgnoreCase(v)) {
+            return CLOCK_TYPE_NANO;
+        }
+        if (CLOCK_TYPE_SYSTEM.equalsIgnoreCase(v)) {
+            return CLOCK_TYPE_SYSTEM;
+        }
+        RecordLog.warn("[SentinelConfig] Invalid clock type: {}, using the default value instead: "
+            + DEFAULT_CLOCK_TYPE, v);
+        return DEFAULT_CLOCK_TYPE;
+    }
+
+    /**
+     * Get the type of system metrics used by system rules. It's resolved once when
+     * {@link com.alibaba.csp.sentinel.slots.system.SystemRuleManager} is initialized.
+     *
+     * @return one of {@link #SYSTEM_METRICS_TYPE_JMX} and {@link #SYSTEM_METRICS_TYPE_CGROUP}
+     * @since 1.8.8
+     */
+    public static String systemMetricsType() {
+        String v = props.get(SYSTEM_METRICS_TYPE);
+        if (StringUtil.isBlank(v)) {
+            return DEFAULT_SYSTEM_METRICS_TYPE;
+        }
+        v = v.trim();
+        if (SYSTEM_METRICS_TYPE_JMX.equalsIgnoreCase(v)) {
+            return SYSTEM_METRICS_TYPE_JMX;
+        }
+        if (SYSTEM_METRICS_TYPE_CGROUP.equalsIgnoreCase(v)) {
+            return SYSTEM_METRICS_TYPE_CGROUP;
+        }
+        RecordLog.warn("[SentinelConfig] Invalid system metrics type: {}, using the default value instead: "
+            + DEFAULT_SYSTEM_METRICS_TYPE, v);
+        return DEFAULT_SYSTEM_METRICS_TYPE;
+    }
+
+    /**
+     * Get the interval (in milliseconds) of sampling the system status for system rules, e.g. 50 to 100 ms
+     * to react to short spikes of CPU usage. It's resolved once when
+     * {@link com.alibaba.csp.sentinel.slots.system.SystemRuleManager} is initialized.
+     *
+     * @return interval of sampling the system status in milliseconds, 1000 by default
+     * @since 1.8.8
+     */
+    public static long systemStatusIntervalMs() {
+        String v = props.get(SYSTEM_STATUS_INTERVAL);
+        if (StringUtil.isBlank(v)) {
+            return DEFAULT_SYSTEM_STATUS_INTERVAL;
+        }
+        try {
+            long interval = Long.parseLong(v.trim());
+            if (interval < MIN_SYSTEM_STATUS_INTERVAL) {
+                RecordLog.warn("[SentinelConfig] Invalid system status interval: {}, using the default value instead: "
+                    + DEFAULT_SYSTEM_STATUS_INTERVAL, v);
+                return DEFAULT_SYSTEM_STATUS_INTERVAL;
+            }
+            return interval;
+        } catch (Throwable throwable) {
+            RecordLog.warn("[SentinelConfig] Parse system status interval fail, use default value: "
+                + DEFAULT_SYSTEM_STATUS_INTERVAL, throwable);
+            return DEFAULT_SYSTEM_STATUS_INTERVAL;
+        }
+    }
+
+    /**
+     * Get the time constant (in milliseconds) of the EWMA smoothing of the sampled system status. A sample
+     * weighs {@code 1 - exp(-interval / smoothing)}, so that the signals change at the same pace regardless of
+     * the sampling interval. Smoothing is disabled by default.
+     *
+     * @return time constant of the smoothing in milliseconds, or a non-positive value if disabled
+     * @since 1.8.8
+     */
+    public static long systemStatusSmoothingMs() {
+        String v = props.get(SYSTEM_STATUS_SMOOTHING);
+        if (StringUtil.isBlank(v)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(v.trim());
+        } catch (Throwable throwable) {
+            RecordLog.warn("[SentinelConfig] Parse system status smoothing fail, smoothing is disabled: " + v,
+                throwable);
+            return 0;
+        }
+    }
+
+    /**
+     * Get the max amount of slot chains (i.e. resources with rule checking).
+     *
+     * @return max amount of slot chains
+     * @since 1.8.8
+     */
+    public static int slotChainMaxSize() {
+        String v = props.get(SLOT_CHAIN_MAX_SIZE);
+        if (StringUtil.isBlank(v)) {
+            return Constants.MAX_SLOT_CHAIN_SIZE;
+        }
+        try {
+            int size = Integer.parseInt(v.trim());
+            if (size <= 0) {
+                RecordLog.warn("[SentinelConfig] Invalid slot chain max size: {}, using the default value instead: "
+                    + Constants.MAX_SLOT_CHAIN_SIZE, v);
+                return Constants.MAX_SLOT_CHAIN_SIZE;
+            }
+            return size;
+        } catch (Throwable throwable) {
+            RecordLog.warn("[SentinelConfig] Parse slot chain max size fail, use default value: "
+                + Constants.MAX_SLOT_CHAIN_SIZE, throwable);
+            return Constants.MAX_SLOT_CHAIN_SIZE;
+        }
+    }
+
+    /**
+     * Get the idle time (in milliseconds) after which the slot chain of a resource, together with its
+     * statistic nodes, is evicted. Eviction is disabled by default.
+     *
+     * @return idle TTL of slot chains in milliseconds, or a non-positive value if eviction is disabled
+     * @since 1.8.8
+     */
+    public static long slotChainIdleTtlMs() {
+        String v = props.get(SLOT_CHAIN_IDLE_TTL);
+        if (StringUtil.isBlank(v)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(v.trim());
+        } catch (Throwable throwable) {
+            RecordLog.warn("[SentinelConfig] Parse slot chain idle TTL fail, eviction is disabled: " + v, throwable);
+            return 0;
+        }
+    }
+
+    /**
+     * Whether the least recently active slot chains are evicted once the amount of slot chains reaches
+     * {@link #slotChainMaxSize()}. Eviction runs in a background task triggered by the first resource that
+     * finds no room, so requests of that resource go without rule checking until room is made. Disabled by
+     * default, in which case new resources get no slot chain while the registry is full (unless idle
+     * eviction makes room, see {@link #slotChainIdleTtlMs()}).
+     *
+     * @return true if LRU eviction of slot chains is enabled
+     * @since 1.8.8
+     */
+    public static boolean slotChainLruEnabled() {
+        return Boolean.parseBoolean(props.get(SLOT_CHAIN_LRU_ENABLED));
+    }
+
     /**
      * Function for resolving project name. The order is elaborated below:
      *
@@ -21,6 +21,7 @@ import com.alibaba.csp.sentinel.SphU;
 import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.node.EntranceNode;
 import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slotchain.ActiveSlots;
 import com.alibaba.csp.sentinel.slots.nodeselector.NodeSelectorSlot;
 
 /**
@@ -78,6 +79,16 @@ public class Context {
 
     private final boolean async;
 
+    /**
+     * Slots to skip in the slot chain being processed, see {@link ActiveSlots}.
+     */
+    private long inactiveSlots;
+
+    /**
+     * Whether queueing rules should record the waiting time to current entry instead of blocking the thread.
+     */
+    private boolean deferQueueing;
+
     /**
      * Create a new async context.
      *
@@ -135,6 +146,51 @@ public class Context {
         return this;
     }
 
+    /**
+     * @return mask of the slots to skip in the slot chain being processed
+     * @since 1.8.8
+     */
+    public long getInactiveSlots() {
+        return inactiveSlots;
+    }
+
+    /**
+     * Set the slots to skip. It's maintained by the slot chain, and restored when the chain returns.
+     *
+     * @param inactiveSlots mask of the slots to skip
+     * @return this context
+     * @since 1.8.8
+     */
+    public Context setInactiveSlots(long inactiveSlots) {
+        this.inactiveSlots = inactiveSlots;
+        return this;
+    }
+
+    /**
+     * @return whether queueing is deferred to the caller
+     * @since 1.8.8
+     */
+    public boolean isDeferQueueing() {
+        return deferQueueing;
+    }
+
+    /**
+     * <p>Set whether queueing should be deferred to the caller.</p>
+     * <p>
+     * When deferred, rules that queue requests (e.g. rate limiter flow rules) will not block current thread,
+     * but add the time to wait to {@link Entry#getQueueingDelayNanos()} of the current entry, so that
+     * non-blocking callers (e.g. reactive adapters) can delay the invocation on their own.
+     * </p>
+     *
+     * @param deferQueueing whether to defer queueing
+     * @return this context
+     * @since 1.8.8
+     */
+    public Context setDeferQueueing(boolean deferQueueing) {
+        this.deferQueueing = deferQueueing;
+        return this;
+    }
+
     public double getOriginTotalQps() {
         return getOriginNode() == null ? 0 : getOriginNode().totalQps();
     }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.context;
+
+/**
+ * <p>Carrier of the current {@link Context}, which is used by {@link ContextUtil} to keep the context of current
+ * invocation chain.</p>
+ * <p>
+ * The carrier is loaded once via SPI when {@link ContextUtil} is initialized, and the thread-local carrier
+ * ({@link ThreadLocalContextCarrier}) is used by default. Alternative carriers (e.g. one based on
+ * {@code ScopedValue} of newer JDKs, falling back to a thread-local when no value is bound) can be provided
+ * in {@code META-INF/services/com.alibaba.csp.sentinel.context.ContextCarrier}. Whatever the carrier is, the
+ * context is mutated by entries of current invocation chain, so it must never be visible to other threads
+ * at the same time. To run tasks in other threads, see {@link ContextUtil#wrap(Runnable)}.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+public interface ContextCarrier {
+
+    /**
+     * @return the context of current invocation chain, or null if absent
+     */
+    Context get();
+
+    /**
+     * Set the context of current invocation chain.
+     *
+     * @param context the context, not null
+     */
+    void set(Context context);
+
+    /**
+     * Remove the context of current invocation chain.
+     */
+    void remove();
+}
@@ -17,6 +17,8 @@ package com.alibaba.csp.sentinel.context;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.alibaba.csp.sentinel.Constants;
@@ -29,6 +31,8 @@ import com.alibaba.csp.sentinel.node.EntranceNode;
 import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
 import com.alibaba.csp.sentinel.slots.nodeselector.NodeSelectorSlot;
+import com.alibaba.csp.sentinel.spi.SpiLoader;
+import com.alibaba.csp.sentinel.util.AssertUtil;
 
 /**
  * Utility class to get or create {@link Context} in current thread.
@@ -45,9 +49,9 @@ import com.alibaba.csp.sentinel.slots.nodeselector.NodeSelectorSlot;
 public class ContextUtil {
 
     /**
-     * Store the context in ThreadLocal for easy access.
+     * Store the context in ThreadLocal (by default) for easy access.
      */
-    private static ThreadLocal<Context> contextHolder = new ThreadLocal<>();
+    private static final ContextCarrier contextHolder = loadContextCarrier();
 
     /**
      * Holds all {@link EntranceNode}. Each {@link EntranceNode} is associated with a distinct context name.
@@ -62,6 +66,20 @@ public class ContextUtil {
         initDefaultContext();
     }
 
+    private static ContextCarrier loadContextCarrier() {
+        ContextCarrier carrier = null;
+        try {
+            carrier = SpiLoader.of(ContextCarrier.class).loadFirstInstanceOrDefault();
+        } catch (Throwable t) {
+            RecordLog.warn("[ContextUtil] Failed to load context carrier, using ThreadLocal instead", t);
+        }
+        if (carrier == null) {
+            carrier = new ThreadLocalContextCarrier();
+        }
+        RecordLog.info("[ContextUtil] Context carrier resolved: {}", carrier.getClass().getCanonicalName());
+        return carrier;
+    }
+
     private static void initDefaultContext() {
         String defaultContextName = Constants.CONTEXT_DEFAULT_NAME;
         EntranceNode node = new EntranceNode(new StringResourceWrapper(defaultContextName, EntryType.IN), null);
@@ -200,7 +218,7 @@ public class ContextUtil {
     public static void exit() {
         Context context = contextHolder.get();
         if (context != null && context.getCurEntry() == null) {
-            contextHolder.set(null);
+            contextHolder.remove();
         }
     }
 
@@ -278,4 +296,88 @@ public class ContextUtil {
             replaceContext(curContext);
         }
     }
+
+    /**
+     * <p>Wrap the task so that it runs in a context that inherits current context, wherever it runs
+     * (e.g. in an executor, or forked as a subtask of structured concurrency).</p>
+     * <p>
+     * The task runs in a new context with the same name, entrance node and origin as the current context
+     * (at the time of wrapping), so that entries inside the task are accounted to the same invocation chain.
+     * Entries of the task are tracked in the new context rather than in current context, so that the entries
+     * exited by the task never affect the entries of current thread, no matter when the task runs. The context
+     * of the executing thread is restored after the task.
+     * </p>
+     *
+     * @param task the task
+     * @return the wrapped task, or the task itself if there's no context in current thread
+     * @since 1.8.8
+     */
+    public static Runnable wrap(final Runnable task) {
+        AssertUtil.notNull(task, "task cannot be null");
+        final Context parent = contextHolder.get();
+        if (parent == null) {
+            return task;
+        }
+        return new Runnable() {
+            @Override
+            public void run() {
+                runOnContext(childOf(parent), task);
+            }
+        };
+    }
+
+    /**
+     * Wrap the task so that it runs in a context that inherits current context, wherever it runs.
+     * See {@link #wrap(Runnable)}.
+     *
+     * @param task the task
+     * @param <V>  type of the result
+     * @return the wrapped task, or the task itself if there's no context in current thread
+     * @since 1.8.8
+     */
+    public static <V> Callable<V> wrap(final Callable<V> task) {
+        AssertUtil.notNull(task, "task cannot be null");
+        final Context parent = contextHolder.get();
+        if (parent == null) {
+            return task;
+        }
+        return new Callable<V>() {
+            @Override
+            public V call() throws Exception {
+                Context curContext = replaceContext(childOf(parent));
+                try {
+                    return task.call();
+                } finally {
+                    replaceContext(curContext);
+                }
+            }
+        };
+    }
+
+    /**
+     * Wrap the executor so that each task submitted to it runs in a context that inherits the context of
+     * the submitting thread. See {@link #wrap(Runnable)}.
+     *
+     * @param executor the executor
+     * @return the wrapped executor
+     * @since 1.8.8
+     */
+    public static Executor wrap(final Executor executor) {
+        AssertUtil.notNull(executor, "executor cannot be null");
+        return new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                executor.execute(wrap(command));
+            }
+        };
+    }
+
+    private static Context childOf(Context parent) {
+        if (parent instanceof NullContext) {
+            return parent;
+        }
+        Context context = new Context(parent.getEntranceNode(), parent.getName());
+        context.setOrigin(parent.getOrigin());
+        return context;
+    }
 }
@@ -52,6 +52,8 @@ public class ClusterNode extends StatisticNode {
     }
 
     public ClusterNode(String name, int resourceType) {
+        // Minute-level statistics of cluster nodes are always eagerly allocated for the metric log.
+        super(false);
         AssertUtil.notEmpty(name, "name cannot be empty");
         this.name = name;
         this.resourceType = resourceType;
@@ -115,6 +115,28 @@ public class DefaultNode extends StatisticNode {
         }
     }
 
+    /**
+     * Remove a child node from current node.
+     *
+     * @param node the child node
+     * @return whether the node was a child of current node
+     * @since 1.8.8
+     */
+    public boolean removeChild(Node node) {
+        if (node == null || !childList.contains(node)) {
+            return false;
+        }
+        synchronized (this) {
+            if (!childList.contains(node)) {
+                return false;
+            }
+            Set<Node> newSet = new HashSet<>(childList);
+            newSet.remove(node);
+            childList = newSet;
+            return true;
+        }
+    }
+
     /**
      * Reset the child node list.
      */
@@ -124,6 +124,19 @@ public interface Node extends OccupySupport, DebugSupport {
      */
     double minRt();
 
+    /**
+     * Get the response time at given percentile in the second-level sliding window.
+     * Only available when RT histogram is enabled, see
+     * {@link com.alibaba.csp.sentinel.config.SentinelConfig#STATISTIC_RT_HISTOGRAM}.
+     *
+     * @param percentile percentile in {@code (0, 100]}, e.g. 99.9
+     * @return the response time at given percentile, or 0 if unavailable
+     * @since 1.8.8
+     */
+    default double percentileRt(double percentile) {
+        return 0;
+    }
+
     /**
      * Get current active thread count.
      *
@@ -131,6 +144,17 @@ public interface Node extends OccupySupport, DebugSupport {
      */
     int curThreadNum();
 
+    /**
+     * Get the concurrency limit computed by the flow rule of adaptive concurrency grade
+     * ({@link com.alibaba.csp.sentinel.slots.block.RuleConstant#FLOW_GRADE_ADAPTIVE_CONCURRENCY}) on this node.
+     *
+     * @return current concurrency limit, or 0 if the node is not limited by adaptive concurrency
+     * @since 1.8.8
+     */
+    default int concurrencyLimit() {
+        return 0;
+    }
+
     /**
      * Get last second block QPS.
      */
@@ -196,6 +220,15 @@ public interface Node extends OccupySupport, DebugSupport {
      */
     void decreaseThreadNum();
 
+    /**
+     * Update the concurrency limit computed by the flow rule of adaptive concurrency grade.
+     * Nodes that don't keep the limit ignore it.
+     *
+     * @param limit current concurrency limit, or 0 if the node is no longer limited
+     * @since 1.8.8
+     */
+    default void setConcurrencyLimit(int limit) {}
+
     /**
      * Reset the internal counter. Reset is needed when {@link IntervalProperty#INTERVAL} or
      * {@link SampleCountProperty#SAMPLE_COUNT} is changed.
@@ -18,8 +18,10 @@ package com.alibaba.csp.sentinel.node;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.atomic.LongAdder;
 
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.node.metric.MetricNode;
 import com.alibaba.csp.sentinel.slots.statistic.metric.ArrayMetric;
 import com.alibaba.csp.sentinel.slots.statistic.metric.Metric;
@@ -123,16 +125,20 @@ public class StatisticNode implements Node {
      * 秒级统计指标，用于记录最近INTERVAL毫秒内的统计信息。
      * 秒级的滑动时间窗口（时间窗口单位500ms）
      */
-    private transient volatile Metric rollingCounterInSecond = new ArrayMetric(SampleCountProperty.SAMPLE_COUNT,
-        IntervalProperty.INTERVAL);
+    private transient volatile Metric rollingCounterInSecond = newSecondLevelMetric();
 
     /**
      * Holds statistics of the recent 60 seconds. The windowLengthInMs is deliberately set to 1000 milliseconds,
      * meaning each bucket per second, in this way we can get accurate statistics of each second.
+     * It might be allocated lazily on the first minute-level read (since 1.8.8),
+     * see {@link SentinelConfig#STATISTIC_MINUTE_LAZY}.
      * 分钟级统计指标，用于记录最近60秒内的统计信息。
      * 分钟级的滑动时间窗口（时间窗口单位1s）
      */
-    private transient Metric rollingCounterInMinute = new ArrayMetric(60, 60 * 1000, false);
+    private transient volatile Metric rollingCounterInMinute;
+
+    private static final AtomicReferenceFieldUpdater<StatisticNode, Metric> MINUTE_COUNTER_UPDATER
+        = AtomicReferenceFieldUpdater.newUpdater(StatisticNode.class, Metric.class, "rollingCounterInMinute");
 
     /**
      * The counter for thread count.
@@ -140,12 +146,50 @@ public class StatisticNode implements Node {
      */
     private LongAdder curThreadNum = new LongAdder();
 
+    /**
+     * The concurrency limit computed by adaptive concurrency flow rule, 0 if none.
+     */
+    private volatile int concurrencyLimit;
+
     /**
      * The last timestamp when metrics were fetched.
      * 上次获取统计指标的时间戳
      */
     private long lastFetchTime = -1;
 
+    public StatisticNode() {
+        this(SentinelConfig.statisticMinuteLazyEnabled());
+    }
+
+    /**
+     * @param lazyMinuteStatistics whether to allocate the minute-level statistics on the first minute-level read.
+     *                             Until then, data will not be recorded into minute-level statistics.
+     * @since 1.8.8
+     */
+    protected StatisticNode(boolean lazyMinuteStatistics) {
+        if (!lazyMinuteStatistics) {
+            this.rollingCounterInMinute = newMinuteLevelMetric();
+        }
+    }
+
+    private static Metric newMinuteLevelMetric() {
+        return new ArrayMetric(60, 60 * 1000, false);
+    }
+
+    /**
+     * Get the minute-level statistics for reading, which will be allocated if absent.
+     *
+     * @return the minute-level statistics
+     */
+    private Metric minuteCounter() {
+        Metric counter = rollingCounterInMinute;
+        if (counter == null) {
+            MINUTE_COUNTER_UPDATER.compareAndSet(this, null, newMinuteLevelMetric());
+            counter = rollingCounterInMinute;
+        }
+        return counter;
+    }
+
     @Override
     public Map<Long, MetricNode> metrics() {
         // The fetch operation is thread-safe under a single-thread scheduler pool.
@@ -153,7 +197,7 @@ public class StatisticNode implements Node {
         long currentTime = TimeUtil.currentTimeMillis();
         currentTime = currentTime - currentTime % 1000;
         Map<Long, MetricNode> metrics = new ConcurrentHashMap<>();
-        List<MetricNode> nodesOfEverySecond = rollingCounterInMinute.details();
+        List<MetricNode> nodesOfEverySecond = minuteCounter().details();
         long newLastFetchTime = lastFetchTime;
         // Iterate metrics of all resources, filter valid metrics (not-empty and up-to-date).
         // 遍历所有节点，筛选出有效的时间段内的节点
@@ -176,7 +220,7 @@ public class StatisticNode implements Node {
      */
     @Override
     public List<MetricNode> rawMetricsInMin(Predicate<Long> timePredicate) {
-        return rollingCounterInMinute.detailsOnCondition(timePredicate);
+        return minuteCounter().detailsOnCondition(timePredicate);
     }
 
     /**
@@ -206,7 +250,12 @@ public class StatisticNode implements Node {
      */
     @Override
     public void reset() {
-        rollingCounterInSecond = new ArrayMetric(SampleCountProperty.SAMPLE_COUNT, IntervalProperty.INTERVAL);
+        rollingCounterInSecond = newSecondLevelMetric();
+    }
+
+    private static Metric newSecondLevelMetric() {
+        return new ArrayMetric(SampleCountProperty.SAMPLE_COUNT, IntervalProperty.INTERVAL, true,
+            SentinelConfig.statisticRunningSumEnabled());
     }
 
     /**
@@ -216,7 +265,7 @@ public class StatisticNode implements Node {
      */
     @Override
     public long totalRequest() {
-        return rollingCounterInMinute.pass() + rollingCounterInMinute.block();
+        return minuteCounter().pass() + minuteCounter().block();
     }
 
     /**
@@ -226,7 +275,7 @@ public class StatisticNode implements Node {
      */
     @Override
     public long blockRequest() {
-        return rollingCounterInMinute.block();
+        return minuteCounter().block();
     }
 
     /**
@@ -246,7 +295,7 @@ public class StatisticNode implements Node {
      */
     @Override
     public double previousBlockQps() {
-        return this.rollingCounterInMinute.previousWindowBlock();
+        return minuteCounter().previousWindowBlock();
     }
 
     /**
@@ -256,7 +305,7 @@ public class StatisticNode implements Node {
      */
     @Override
     public double previousPassQps() {
-        return this.rollingCounterInMinute.previousWindowPass();
+        return minuteCounter().previousWindowPass();
     }
 
     /**
@@ -276,7 +325,7 @@ public class StatisticNode implements Node {
      */
     @Override
     public long totalSuccess() {
-        return rollingCounterInMinute.success();
+        return minuteCounter().success();
     }
 
     /**
@@ -296,7 +345,7 @@ public class StatisticNode implements Node {
      */
     @Override
     public long totalException() {
-        return rollingCounterInMinute.exception();
+        return minuteCounter().exception();
     }
 
     /**
@@ -318,7 +367,7 @@ public class StatisticNode implements Node {
      */
     @Override
     public long totalPass() {
-        return rollingCounterInMinute.pass();
+        return minuteCounter().pass();
     }
 
     /**
@@ -377,6 +426,11 @@ public class StatisticNode implements Node {
         return rollingCounterInSecond.minRt();
     }
 
+    @Override
+    public double percentileRt(double percentile) {
+        return rollingCounterInSecond.percentileRt(percentile);
+    }
+
     /**
      * 获取当前线程数。
      *
@@ -387,6 +441,20 @@ public class StatisticNode implements Node {
         return (int)curThreadNum.sum();
     }
 
+    @Override
+    public int concurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    @Override
+    public void setConcurrencyLimit(int limit) {
+        this.concurrencyLimit = limit;
+        Metric minuteCounter = rollingCounterInMinute;
+        if (minuteCounter != null) {
+            minuteCounter.setConcurrencyLimit(limit);
+        }
+    }
+
     /**
      * 增加通过请求数。
      *
@@ -395,7 +463,10 @@ public class StatisticNode implements Node {
     @Override
     public void addPassRequest(int count) {
         rollingCounterInSecond.addPass(count);
-        rollingCounterInMinute.addPass(count);
+        Metric minuteCounter = rollingCounterInMinute;
+        if (minuteCounter != null) {
+            minuteCounter.addPass(count);
+        }
     }
 
     /**
@@ -409,8 +480,11 @@ public class StatisticNode implements Node {
         rollingCounterInSecond.addSuccess(successCount);
         rollingCounterInSecond.addRT(rt);
 
-        rollingCounterInMinute.addSuccess(successCount);
-        rollingCounterInMinute.addRT(rt);
+        Metric minuteCounter = rollingCounterInMinute;
+        if (minuteCounter != null) {
+            minuteCounter.addSuccess(successCount);
+            minuteCounter.addRT(rt);
+        }
     }
 
     /**
@@ -421,7 +495,10 @@ public class StatisticNode implements Node {
     @Override
     public void increaseBlockQps(int count) {
         rollingCounterInSecond.addBlock(count);
-        rollingCounterInMinute.addBlock(count);
+        Metric minuteCounter = rollingCounterInMinute;
+        if (minuteCounter != null) {
+            minuteCounter.addBlock(count);
+        }
     }
 
     /**
@@ -432,7 +509,10 @@ public class StatisticNode implements Node {
     @Override
     public void increaseExceptionQps(int count) {
         rollingCounterInSecond.addException(count);
-        rollingCounterInMinute.addException(count);
+        Metric minuteCounter = rollingCounterInMinute;
+        if (minuteCounter != null) {
+            minuteCounter.addException(count);
+        }
     }
 
     /**
@@ -530,7 +610,10 @@ public class StatisticNode implements Node {
      */
     @Override
     public void addOccupiedPass(int acquireCount) {
-        rollingCounterInMinute.addOccupiedPass(acquireCount);
-        rollingCounterInMinute.addPass(acquireCount);
+        Metric minuteCounter = rollingCounterInMinute;
+        if (minuteCounter != null) {
+            minuteCounter.addOccupiedPass(acquireCount);
+            minuteCounter.addPass(acquireCount);
+        }
     }
 }
@@ -49,6 +49,21 @@ public class MetricNode {
      * @since 1.7.0
      */
     private int concurrency;
+    /**
+     * Percentiles of response time, only available when RT histogram is enabled.
+     *
+     * @since 1.8.8
+     */
+    private long p50Rt;
+    private long p90Rt;
+    private long p99Rt;
+    private long p999Rt;
+    /**
+     * Concurrency limit computed by adaptive concurrency flow rule, 0 if none.
+     *
+     * @since 1.8.8
+     */
+    private int concurrencyLimit;
 
     public long getTimestamp() {
         return timestamp;
@@ -132,6 +147,80 @@ public class MetricNode {
         return this;
     }
 
+    public long getP50Rt() {
+        return p50Rt;
+    }
+
+    public MetricNode setP50Rt(long p50Rt) {
+        this.p50Rt = p50Rt;
+        return this;
+    }
+
+    public long getP90Rt() {
+        return p90Rt;
+    }
+
+    public MetricNode setP90Rt(long p90Rt) {
+        this.p90Rt = p90Rt;
+        return this;
+    }
+
+    public long getP99Rt() {
+        return p99Rt;
+    }
+
+    public MetricNode setP99Rt(long p99Rt) {
+        this.p99Rt = p99Rt;
+        return this;
+    }
+
+    public long getP999Rt() {
+        return p999Rt;
+    }
+
+    public MetricNode setP999Rt(long p999Rt) {
+        this.p999Rt = p999Rt;
+        return this;
+    }
+
+    public int getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public MetricNode setConcurrencyLimit(int concurrencyLimit) {
+        this.concurrencyLimit = concurrencyLimit;
+        return this;
+    }
+
+    private boolean hasRtPercentiles() {
+        return p50Rt > 0 || p90Rt > 0 || p99Rt > 0 || p999Rt > 0;
+    }
+
+    private void appendOptionalFields(StringBuilder sb) {
+        // The fields are positional, so the RT percentiles are kept (as 0) if only the concurrency limit is present.
+        if (hasRtPercentiles() || concurrencyLimit > 0) {
+            sb.append("|").append(p50Rt);
+            sb.append("|").append(p90Rt);
+            sb.append("|").append(p99Rt);
+            sb.append("|").append(p999Rt);
+        }
+        if (concurrencyLimit > 0) {
+            sb.append("|").append(concurrencyLimit);
+        }
+    }
+
+    private void parseOptionalFields(String[] strs, int offset) {
+        if (strs.length >= offset + 4) {
+            setP50Rt(Long.parseLong(strs[offset]));
+            setP90Rt(Long.parseLong(strs[offset + 1]));
+            setP99Rt(Long.parseLong(strs[offset + 2]));
+            setP999Rt(Long.parseLong(strs[offset + 3]));
+        }
+        if (strs.length >= offset + 5) {
+            setConcurrencyLimit(Integer.parseInt(strs[offset + 4]));
+        }
+    }
+
     @Override
     public String toString() {
         return "MetricNode{" +
@@ -145,6 +234,11 @@ public class MetricNode {
             ", rt=" + rt +
             ", concurrency=" + concurrency +
             ", occupiedPassQps=" + occupiedPassQps +
+            ", p50Rt=" + p50Rt +
+            ", p90Rt=" + p90Rt +
+            ", p99Rt=" + p99Rt +
+            ", p999Rt=" + p999Rt +
+            ", concurrencyLimit=" + concurrencyLimit +
             '}';
     }
 
@@ -152,8 +246,10 @@ public class MetricNode {
      * To formatting string. All "|" in {@link #resource} will be replaced with
      * "_", format is: <br/>
      * <code>
-     * timestamp|resource|passQps|blockQps|successQps|exceptionQps|rt|occupiedPassQps
+     * timestamp|resource|passQps|blockQps|successQps|exceptionQps|rt|occupiedPassQps|concurrency|classification
      * </code>
+     * followed by {@code |p50Rt|p90Rt|p99Rt|p999Rt} if RT percentiles are present, and {@code |concurrencyLimit}
+     * if the concurrency limit is present (since 1.8.8).
      *
      * @return string format of this.
      */
@@ -170,6 +266,7 @@ public class MetricNode {
         sb.append(occupiedPassQps).append("|");
         sb.append(concurrency).append("|");
         sb.append(classification);
+        appendOptionalFields(sb);
         return sb.toString();
     }
 
@@ -195,9 +292,10 @@ public class MetricNode {
         if (strs.length >= 9) {
             node.setConcurrency(Integer.parseInt(strs[8]));
         }
-        if (strs.length == 10) {
+        if (strs.length >= 10) {
             node.setClassification(Integer.parseInt(strs[9]));
         }
+        node.parseOptionalFields(strs, 10);
         return node;
     }
 
@@ -205,8 +303,10 @@ public class MetricNode {
      * To formatting string. All "|" in {@link MetricNode#resource} will be
      * replaced with "_", format is: <br/>
      * <code>
-     * timestamp|yyyy-MM-dd HH:mm:ss|resource|passQps|blockQps|successQps|exceptionQps|rt|occupiedPassQps\n
+     * timestamp|yyyy-MM-dd HH:mm:ss|resource|passQps|blockQps|successQps|exceptionQps|rt|occupiedPassQps|concurrency|classification\n
      * </code>
+     * with {@code |p50Rt|p90Rt|p99Rt|p999Rt} before the line break if RT percentiles are present, and
+     * {@code |concurrencyLimit} if the concurrency limit is present (since 1.8.8).
      *
      * @return string format of this.
      */
@@ -226,6 +326,7 @@ public class MetricNode {
         sb.append(getOccupiedPassQps()).append("|");
         sb.append(concurrency).append("|");
         sb.append(classification);
+        appendOptionalFields(sb);
         sb.append('\n');
         return sb.toString();
     }
@@ -253,9 +354,10 @@ public class MetricNode {
         if (strs.length >= 10) {
             node.setConcurrency(Integer.parseInt(strs[9]));
         }
-        if (strs.length == 11) {
+        if (strs.length >= 11) {
             node.setClassification(Integer.parseInt(strs[10]));
         }
+        node.parseOptionalFields(strs, 11);
         return node;
     }
 
@@ -25,9 +25,15 @@ public abstract class AbstractLinkedProcessorSlot<T> implements ProcessorSlot<T>
 
     private AbstractLinkedProcessorSlot<?> next = null;
 
+    /**
+     * Bit of the slot in the inactive slots mask of {@link Context}, or 0 if the slot is never skipped.
+     */
+    final long slotBit = ActiveSlots.bitOf(this);
+
     @Override
     public void fireEntry(Context context, ResourceWrapper resourceWrapper, Object obj, int count, boolean prioritized, Object... args)
         throws Throwable {
+        AbstractLinkedProcessorSlot<?> next = nextActive(context);
         if (next != null) {
             next.transformEntry(context, resourceWrapper, obj, count, prioritized, args);
         }
@@ -42,11 +48,27 @@ public abstract class AbstractLinkedProcessorSlot<T> implements ProcessorSlot<T>
 
     @Override
     public void fireExit(Context context, ResourceWrapper resourceWrapper, int count, Object... args) {
+        AbstractLinkedProcessorSlot<?> next = nextActive(context);
         if (next != null) {
             next.exit(context, resourceWrapper, count, args);
         }
     }
 
+    /**
+     * Get the next slot that is not skipped for the resource being processed, see {@link ActiveSlots}.
+     */
+    private AbstractLinkedProcessorSlot<?> nextActive(Context context) {
+        AbstractLinkedProcessorSlot<?> slot = this.next;
+        if (context == null) {
+            return slot;
+        }
+        long inactiveSlots = context.getInactiveSlots();
+        while (slot != null && (slot.slotBit & inactiveSlots) != 0) {
+            slot = slot.next;
+        }
+        return slot;
+    }
+
     public AbstractLinkedProcessorSlot<?> getNext() {
         return next;
     }
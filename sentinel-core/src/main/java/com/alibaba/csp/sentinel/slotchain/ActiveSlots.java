@@ -0,0 +1,91 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slotchain;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.csp.sentinel.log.RecordLog;
+
+/**
+ * <p>Bookkeeping of the "active slots" bitmap of slot chains.</p>
+ * <p>
+ * Each {@link SkippableSlot} class is assigned a bit (slots are mostly singletons shared by all the chains,
+ * so the bit identifies the slot in any chain). A chain caches the bits of the slots that are inactive for its
+ * resource, and the slots skip them while passing the entry down the chain. The cache is keyed by a global
+ * version, which is increased by {@link #invalidate()} when rules change.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+public final class ActiveSlots {
+
+    private static final AtomicInteger VERSION = new AtomicInteger();
+
+    private static final Map<Class<?>, Long> SLOT_BITS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_BIT = new AtomicInteger();
+
+    /**
+     * Get current version of the rules that skippable slots depend on.
+     *
+     * @return current version
+     */
+    public static int version() {
+        return VERSION.get();
+    }
+
+    /**
+     * Notify all the slot chains to re-evaluate their active slots on next entry.
+     */
+    public static void invalidate() {
+        VERSION.incrementAndGet();
+    }
+
+    /**
+     * Get the bit of given slot. Slots that are not skippable, or beyond the 64 distinct skippable
+     * slot classes, get 0 and are never skipped.
+     *
+     * @param slot the slot
+     * @return the bit of the slot, or 0 if the slot cannot be skipped
+     */
+    static long bitOf(AbstractLinkedProcessorSlot<?> slot) {
+        if (!(slot instanceof SkippableSlot)) {
+            return 0;
+        }
+        Class<?> clazz = slot.getClass();
+        Long bit = SLOT_BITS.get(clazz);
+        if (bit == null) {
+            synchronized (SLOT_BITS) {
+                bit = SLOT_BITS.get(clazz);
+                if (bit == null) {
+                    int index = NEXT_BIT.getAndIncrement();
+                    if (index >= Long.SIZE) {
+                        RecordLog.warn("[ActiveSlots] Too many skippable slots, {} will never be skipped",
+                            clazz.getName());
+                        bit = 0L;
+                    } else {
+                        bit = 1L << index;
+                    }
+                    SLOT_BITS.put(clazz, bit);
+                }
+            }
+        }
+        return bit;
+    }
+
+    private ActiveSlots() {}
+}
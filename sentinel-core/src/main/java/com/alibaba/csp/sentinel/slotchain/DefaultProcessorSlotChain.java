@@ -15,7 +15,13 @@
  */
 package com.alibaba.csp.sentinel.slotchain;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.Entry;
 import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.util.TimeUtil;
 
 /**
  * @author qinan.qn
@@ -39,6 +45,11 @@ public class DefaultProcessorSlotChain extends ProcessorSlotChain {
     };
     AbstractLinkedProcessorSlot<?> end = first;
 
+    /**
+     * Inactive slots of the resource of this chain, evaluated lazily for each {@link ActiveSlots#version()}.
+     */
+    private volatile InactiveSlots inactiveSlots = new InactiveSlots(ActiveSlots.version() - 1, 0);
+
     @Override
     public void addFirst(AbstractLinkedProcessorSlot<?> protocolProcessor) {
         protocolProcessor.setNext(first.getNext());
@@ -72,12 +83,138 @@ public class DefaultProcessorSlotChain extends ProcessorSlotChain {
     @Override
     public void entry(Context context, ResourceWrapper resourceWrapper, Object t, int count, boolean prioritized, Object... args)
         throws Throwable {
-        first.transformEntry(context, resourceWrapper, t, count, prioritized, args);
+        Entry entry = context == null ? null : context.getCurEntry();
+        markActive(entry == null ? TimeUtil.currentTimeMillis() : entry.getCreateTimestamp());
+        if (context == null) {
+            first.transformEntry(context, resourceWrapper, t, count, prioritized, args);
+            return;
+        }
+        // Entries of other resources may be nested in slots with the same context.
+        long outer = context.getInactiveSlots();
+        long inactive = getInactiveSlots(resourceWrapper);
+        // Keep the mask on the entry, so that the exit skips exactly the slots skipped here.
+        if (entry != null && entry.getResourceWrapper() == resourceWrapper) {
+            entry.setInactiveSlots(inactive);
+        }
+        context.setInactiveSlots(inactive);
+        try {
+            first.transformEntry(context, resourceWrapper, t, count, prioritized, args);
+        } finally {
+            context.setInactiveSlots(outer);
+        }
     }
 
     @Override
     public void exit(Context context, ResourceWrapper resourceWrapper, int count, Object... args) {
-        first.exit(context, resourceWrapper, count, args);
+        if (context == null) {
+            first.exit(context, resourceWrapper, count, args);
+            return;
+        }
+        long outer = context.getInactiveSlots();
+        Entry entry = context.getCurEntry();
+        if (entry != null && entry.getResourceWrapper() == resourceWrapper && entry.isInactiveSlotsTaken()) {
+            context.setInactiveSlots(entry.getInactiveSlots());
+        } else {
+            context.setInactiveSlots(getInactiveSlots(resourceWrapper));
+        }
+        try {
+            first.exit(context, resourceWrapper, count, args);
+        } finally {
+            context.setInactiveSlots(outer);
+        }
+    }
+
+    /**
+     * Get the mask of slots that have nothing to do for the resource under current rules.
+     *
+     * @param resourceWrapper resource of this chain
+     * @return mask of inactive slots
+     * @since 1.8.8
+     */
+    long getInactiveSlots(ResourceWrapper resourceWrapper) {
+        InactiveSlots cached = this.inactiveSlots;
+        int version = ActiveSlots.version();
+        if (cached.version == version) {
+            return cached.mask;
+        }
+        // Rules may change during the evaluation, in which case the version moves on and we'll evaluate again.
+        cached = new InactiveSlots(version, evaluateInactiveSlots(resourceWrapper));
+        this.inactiveSlots = cached;
+        return cached.mask;
+    }
+
+    /**
+     * Check whether any slot of the chain has rules specific to the resource (see {@link SkippableSlot#hasRules}).
+     *
+     * @param resourceWrapper resource of this chain
+     * @return true if the resource has rules
+     * @since 1.8.8
+     */
+    boolean hasRules(ResourceWrapper resourceWrapper) {
+        for (AbstractLinkedProcessorSlot<?> slot = first.getNext(); slot != null; slot = slot.getNext()) {
+            if (slot instanceof SkippableSlot && ((SkippableSlot)slot).hasRules(resourceWrapper)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean mayBlockBefore(Class<?> slotClass, ResourceWrapper resourceWrapper) {
+        long inactive = getInactiveSlots(resourceWrapper);
+        for (AbstractLinkedProcessorSlot<?> slot = first.getNext(); slot != null; slot = slot.getNext()) {
+            if (slotClass.isInstance(slot)) {
+                return false;
+            }
+            if (slot instanceof SkippableSlot && (inactive & slot.slotBit) == 0
+                && ((SkippableSlot)slot).mayBlock()) {
+                return true;
+            }
+        }
+        return true;
+    }
+
+    private long evaluateInactiveSlots(ResourceWrapper resourceWrapper) {
+        List<AbstractLinkedProcessorSlot<?>> slots = new ArrayList<>();
+        for (AbstractLinkedProcessorSlot<?> slot = first.getNext(); slot != null; slot = slot.getNext()) {
+            slots.add(slot);
+        }
+        long inactive = 0;
+        long active = 0;
+        boolean blockingDownstream = false;
+        for (int i = slots.size() - 1; i >= 0; i--) {
+            AbstractLinkedProcessorSlot<?> slot = slots.get(i);
+            if (!(slot instanceof SkippableSlot)) {
+                blockingDownstream = true;
+                continue;
+            }
+            SkippableSlot skippable = (SkippableSlot) slot;
+            boolean isActive = true;
+            try {
+                isActive = skippable.isActive(resourceWrapper, blockingDownstream);
+            } catch (Throwable e) {
+                RecordLog.warn("[DefaultProcessorSlotChain] Failed to check whether slot is active: "
+                    + slot.getClass().getName(), e);
+            }
+            if (isActive) {
+                active |= slot.slotBit;
+                blockingDownstream |= skippable.mayBlock();
+            } else {
+                inactive |= slot.slotBit;
+            }
+        }
+        // Never skip a slot class that is active elsewhere in the chain.
+        return inactive & ~active;
+    }
+
+    private static final class InactiveSlots {
+        private final int version;
+        private final long mask;
+
+        InactiveSlots(int version, long mask) {
+            this.version = version;
+            this.mask = mask;
+        }
     }
 
 }
@@ -15,6 +15,8 @@
  */
 package com.alibaba.csp.sentinel.slotchain;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
 /**
  * Link all processor slots as a chain.
  *
@@ -22,6 +24,20 @@ package com.alibaba.csp.sentinel.slotchain;
  */
 public abstract class ProcessorSlotChain extends AbstractLinkedProcessorSlot<Object> {
 
+    /**
+     * Time of the latest entry through this chain, used to find idle chains (see {@link SlotChainRegistry}).
+     */
+    private volatile long lastActiveTime;
+
+    private static final AtomicIntegerFieldUpdater<ProcessorSlotChain> IN_USE_UPDATER
+        = AtomicIntegerFieldUpdater.newUpdater(ProcessorSlotChain.class, "inUse");
+
+    /**
+     * Amount of callers that have picked up this chain and not yet finished entering it, so that the chain is
+     * not evicted under them (see {@link SlotChainRegistry#acquire(ResourceWrapper)}).
+     */
+    private volatile int inUse;
+
     /**
      * Add a processor to the head of this slot chain.
      *
@@ -35,4 +51,52 @@ public abstract class ProcessorSlotChain extends AbstractLinkedProcessorSlot<Obj
      * @param protocolProcessor processor to be added.
      */
     public abstract void addLast(AbstractLinkedProcessorSlot<?> protocolProcessor);
+
+    /**
+     * Get the time of the latest activity of this chain.
+     *
+     * @return the time in milliseconds
+     * @since 1.8.8
+     */
+    public long getLastActiveTime() {
+        return lastActiveTime;
+    }
+
+    /**
+     * Record activity of this chain. The time is only written when it moves forward, so that
+     * a hot chain is written at most once per millisecond.
+     *
+     * @param timeMillis the time in milliseconds
+     * @since 1.8.8
+     */
+    public void markActive(long timeMillis) {
+        if (timeMillis > lastActiveTime) {
+            lastActiveTime = timeMillis;
+        }
+    }
+
+    /**
+     * Check whether any slot before the first slot of given class may block entries of the resource under
+     * current rules. Only {@link SkippableSlot}s are taken into account.
+     *
+     * @param slotClass       class of the slot
+     * @param resourceWrapper resource of this chain
+     * @return true if any slot before may block entries, or if there's no slot of given class in the chain
+     * @since 1.8.8
+     */
+    public boolean mayBlockBefore(Class<?> slotClass, ResourceWrapper resourceWrapper) {
+        return true;
+    }
+
+    void retain() {
+        IN_USE_UPDATER.incrementAndGet(this);
+    }
+
+    void release() {
+        IN_USE_UPDATER.decrementAndGet(this);
+    }
+
+    boolean isInUse() {
+        return inUse > 0;
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slotchain;
+
+/**
+ * <p>A slot that can be skipped by the slot chain of a resource when it has nothing to do for the resource.</p>
+ * <p>
+ * The result of {@link #isActive(ResourceWrapper, boolean)} is cached by each {@link DefaultProcessorSlotChain}
+ * and only evaluated again after {@link ActiveSlots#invalidate()}, so rule managers must invalidate the cache
+ * whenever the rules that the slot depends on change. Slots that don't implement this interface are never skipped,
+ * and are considered to be able to block entries.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+public interface SkippableSlot {
+
+    /**
+     * Whether the slot has anything to do for entries of provided resource under current rules.
+     *
+     * @param resourceWrapper    resource of the slot chain
+     * @param blockingDownstream whether any active slot after this one may block entries of the resource
+     * @return whether the slot should be invoked
+     */
+    boolean isActive(ResourceWrapper resourceWrapper, boolean blockingDownstream);
+
+    /**
+     * @return whether the slot itself may block entries (i.e. throw
+     * {@link com.alibaba.csp.sentinel.slots.block.BlockException}) when active
+     */
+    boolean mayBlock();
+
+    /**
+     * Whether there are rules specific to provided resource in this slot. The slot chain of such a resource
+     * is never evicted as idle (see {@link SlotChainRegistry}), so that its statistics are kept.
+     *
+     * @param resourceWrapper resource of the slot chain
+     * @return whether the resource has rules in this slot
+     */
+    default boolean hasRules(ResourceWrapper resourceWrapper) {
+        return mayBlock() && isActive(resourceWrapper, false);
+    }
+}
@@ -0,0 +1,433 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slotchain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
+import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * <p>Registry of the {@link ProcessorSlotChain} of each resource.</p>
+ * <p>
+ * Chains are kept in a concurrent map, so creating the chain of a new resource doesn't copy the existing ones.
+ * When the amount of chains reaches the max size, no chain is created for new resources (i.e. no rule checking
+ * will be done for them). Room can be made for new resources in two ways, both by a background task, so that
+ * the entry path never scans the chains:
+ * <ul>
+ *     <li>Idle eviction: if enabled with a positive idle TTL, the task periodically evicts the chains of
+ *     resources that have had no request for the idle TTL.</li>
+ *     <li>LRU eviction: if enabled, the task is triggered once the registry is full, and evicts the least
+ *     recently active chains (a tenth of the max size at once). Requests of the new resource go without
+ *     rule checking until the task has made room.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Activity is stamped on the chain by each entry (see {@link ProcessorSlotChain#markActive(long)}), and is also
+ * sampled from the minute-level statistics of the {@link ClusterNode} by the eviction task. Evicting a resource
+ * also releases its {@link ClusterNode} and its {@link DefaultNode}s in the invocation tree. Chains picked up by
+ * callers that have not finished entering them (see {@link #acquire(ResourceWrapper)}), resources in process
+ * (with threads inside) and resources that have rules of their own are never evicted, so that the statistics
+ * the rules depend on are kept.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+public class SlotChainRegistry {
+
+    private static final long MIN_EVICTION_INTERVAL_MS = 1000;
+    private static final long MAX_EVICTION_INTERVAL_MS = 60 * 1000;
+    private static final int LRU_EVICTION_DIVISOR = 10;
+
+    /**
+     * Same resource({@link ResourceWrapper#equals(Object)}) will share the same
+     * {@link ProcessorSlotChain}, no matter in which context.
+     */
+    private final ConcurrentHashMap<ResourceWrapper, ProcessorSlotChain> chainMap = new ConcurrentHashMap<>();
+
+    /**
+     * Guards the creation and the eviction of chains, so that the max size is never exceeded.
+     */
+    private final Object lock = new Object();
+
+    private final int maxSize;
+    private final long idleTtlMs;
+    private final boolean lruEnabled;
+
+    /**
+     * Whether an LRU eviction has been triggered and not yet run.
+     */
+    private final AtomicBoolean lruEvictionPending = new AtomicBoolean();
+
+    /**
+     * Increased whenever chains are removed, so that chains cached outside the registry can be validated.
+     */
+    private final AtomicInteger version = new AtomicInteger();
+
+    private volatile ScheduledExecutorService evictionScheduler;
+
+    public SlotChainRegistry(int maxSize, long idleTtlMs) {
+        this(maxSize, idleTtlMs, false);
+    }
+
+    public SlotChainRegistry(int maxSize, long idleTtlMs, boolean lruEnabled) {
+        this.maxSize = maxSize;
+        this.idleTtlMs = idleTtlMs;
+        this.lruEnabled = lruEnabled;
+    }
+
+    /**
+     * Get the slot chain of the resource, or create one if absent.
+     *
+     * @param resourceWrapper the resource
+     * @return the slot chain, or null if the amount of chains exceeds the max size
+     */
+    public ProcessorSlotChain getOrCreate(ResourceWrapper resourceWrapper) {
+        ProcessorSlotChain chain = chainMap.get(resourceWrapper);
+        if (chain == null) {
+            synchronized (lock) {
+                chain = chainMap.get(resourceWrapper);
+                if (chain == null) {
+                    // Entry size limit.
+                    if (chainMap.size() >= maxSize) {
+                        triggerLruEviction();
+                        return null;
+                    }
+                    chain = SlotChainProvider.newSlotChain();
+                    chain.markActive(TimeUtil.currentTimeMillis());
+                    chainMap.put(resourceWrapper, chain);
+                }
+            }
+        }
+        return chain;
+    }
+
+    /**
+     * Get the slot chain of the resource like {@link #getOrCreate(ResourceWrapper)}, and mark it in use until
+     * {@link #release(ProcessorSlotChain)}, so that it can't be evicted before the caller has entered it (from
+     * then on, the resource is in process).
+     *
+     * @param resourceWrapper the resource
+     * @return the slot chain, or null if the amount of chains exceeds the max size
+     */
+    public ProcessorSlotChain acquire(ResourceWrapper resourceWrapper) {
+        while (true) {
+            int version = version();
+            ProcessorSlotChain chain = getOrCreate(resourceWrapper);
+            if (chain == null || retain(chain, version)) {
+                return chain;
+            }
+        }
+    }
+
+    /**
+     * Mark the chain obtained under given version in use, if it has not been evicted since.
+     *
+     * @param chain   the slot chain
+     * @param version version of the registry when the chain was obtained
+     * @return true if the chain is marked in use, or false if it may have been evicted and should be obtained again
+     */
+    public boolean retain(ProcessorSlotChain chain, int version) {
+        if (!isEvictable()) {
+            return version() == version;
+        }
+        chain.retain();
+        // Eviction changes the version before checking whether the chain is in use, so either the eviction
+        // sees the chain in use, or the version change is seen here.
+        if (version() == version) {
+            return true;
+        }
+        chain.release();
+        return false;
+    }
+
+    /**
+     * Release the chain marked in use by {@link #acquire(ResourceWrapper)} or {@link #retain(ProcessorSlotChain, int)}.
+     *
+     * @param chain the slot chain, may be null
+     */
+    public void release(ProcessorSlotChain chain) {
+        if (chain != null && isEvictable()) {
+            chain.release();
+        }
+    }
+
+    public int size() {
+        return chainMap.size();
+    }
+
+    /**
+     * Get the live map of slot chains. Only for internal test.
+     *
+     * @return the map of slot chains
+     */
+    public Map<ResourceWrapper, ProcessorSlotChain> getChainMap() {
+        return chainMap;
+    }
+
+    /**
+     * Get current version of the registry. The version changes whenever any chain is removed, so a chain
+     * obtained under the same version is still the chain of its resource.
+     *
+     * @return current version
+     */
+    public int version() {
+        return version.get();
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            chainMap.clear();
+            version.incrementAndGet();
+        }
+    }
+
+    public boolean isEvictionEnabled() {
+        return idleTtlMs > 0;
+    }
+
+    public boolean isLruEnabled() {
+        return lruEnabled;
+    }
+
+    private boolean isEvictable() {
+        return idleTtlMs > 0 || lruEnabled;
+    }
+
+    /**
+     * Start the background task that evicts idle chains, if idle or LRU eviction is enabled.
+     */
+    public synchronized void startEviction() {
+        if (!isEvictable() || evictionScheduler != null) {
+            return;
+        }
+        @SuppressWarnings("PMD.ThreadPoolCreationRule")
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            new NamedThreadFactory("sentinel-slot-chain-eviction-task", true));
+        if (isEvictionEnabled()) {
+            long interval = Math.min(Math.max(idleTtlMs / 2, MIN_EVICTION_INTERVAL_MS), MAX_EVICTION_INTERVAL_MS);
+            scheduler.scheduleAtFixedRate(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        evictIdle(TimeUtil.currentTimeMillis());
+                    } catch (Throwable e) {
+                        RecordLog.warn("[SlotChainRegistry] Failed to evict idle slot chains", e);
+                    }
+                }
+            }, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        evictionScheduler = scheduler;
+        RecordLog.info("[SlotChainRegistry] Slot chain eviction started, ttl={}ms, lru={}, maxSize={}",
+            idleTtlMs, lruEnabled, maxSize);
+    }
+
+    /**
+     * Trigger the LRU eviction in the background task, unless it's already pending.
+     */
+    private void triggerLruEviction() {
+        final ScheduledExecutorService scheduler = evictionScheduler;
+        if (!lruEnabled || scheduler == null || !lruEvictionPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            scheduler.execute(new Runnable() {
+                @Override
+                public void run() {
+                    lruEvictionPending.set(false);
+                    try {
+                        evictLeastRecentlyActive();
+                    } catch (Throwable e) {
+                        RecordLog.warn("[SlotChainRegistry] Failed to evict least recently active slot chains", e);
+                    }
+                }
+            });
+        } catch (Throwable e) {
+            lruEvictionPending.set(false);
+            RecordLog.warn("[SlotChainRegistry] Failed to trigger LRU eviction of slot chains", e);
+        }
+    }
+
+    /**
+     * Evict the least recently active chains (a tenth of the max size), skipping the ones that can't be
+     * evicted. Nothing happens if LRU eviction is disabled.
+     *
+     * @return amount of evicted resources
+     */
+    public int evictLeastRecentlyActive() {
+        if (!lruEnabled) {
+            return 0;
+        }
+        List<Candidate> candidates = new ArrayList<>(chainMap.size());
+        for (Map.Entry<ResourceWrapper, ProcessorSlotChain> e : chainMap.entrySet()) {
+            ProcessorSlotChain chain = e.getValue();
+            if (!chain.isInUse() && !isInProcess(e.getKey()) && !hasRules(e.getKey(), chain)) {
+                // Take the time aside, as it may change while sorting.
+                candidates.add(new Candidate(e.getKey(), chain.getLastActiveTime()));
+            }
+        }
+        Collections.sort(candidates, new Comparator<Candidate>() {
+            @Override
+            public int compare(Candidate c1, Candidate c2) {
+                return Long.compare(c1.lastActiveTime, c2.lastActiveTime);
+            }
+        });
+        int target = Math.max(1, maxSize / LRU_EVICTION_DIVISOR);
+        int evicted = 0;
+        for (int i = 0; i < candidates.size() && evicted < target; i++) {
+            if (evict(candidates.get(i).resourceWrapper)) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Refresh the activity of all resources, and evict the ones that have been idle for the TTL.
+     * Nothing happens if eviction is disabled.
+     *
+     * @param now current time in milliseconds
+     * @return amount of evicted resources
+     */
+    public int evictIdle(long now) {
+        if (!isEvictionEnabled()) {
+            return 0;
+        }
+        int evicted = 0;
+        for (Map.Entry<ResourceWrapper, ProcessorSlotChain> e : chainMap.entrySet()) {
+            ResourceWrapper resourceWrapper = e.getKey();
+            ProcessorSlotChain chain = e.getValue();
+            if (chain.isInUse() || isActive(resourceWrapper)) {
+                chain.markActive(now);
+                continue;
+            }
+            if (now - chain.getLastActiveTime() >= idleTtlMs && !hasRules(resourceWrapper, chain)
+                && evict(resourceWrapper)) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Evict the slot chain of given resource, and release its statistic nodes.
+     *
+     * @param resourceWrapper the resource
+     * @return whether the slot chain has been evicted
+     */
+    public boolean evict(ResourceWrapper resourceWrapper) {
+        synchronized (lock) {
+            ProcessorSlotChain chain = chainMap.get(resourceWrapper);
+            if (chain == null || chain.isInUse() || isInProcess(resourceWrapper)) {
+                return false;
+            }
+            long lastActiveTime = chain.getLastActiveTime();
+            chainMap.remove(resourceWrapper);
+            // Callers that have picked up the chain check the version after marking it in use,
+            // so change the version before checking whether it's in use (see retain).
+            version.incrementAndGet();
+            // A caller may have picked up the chain right before it's removed, keep the chain for it then.
+            // No new chain of the resource could be created meanwhile, as creation holds the lock.
+            if (chain.isInUse() || chain.getLastActiveTime() != lastActiveTime || isInProcess(resourceWrapper)) {
+                chainMap.put(resourceWrapper, chain);
+                return false;
+            }
+            ClusterBuilderSlot.removeClusterNode(resourceWrapper);
+            removeDefaultNodes(Constants.ROOT, resourceWrapper,
+                Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>()));
+        }
+        RecordLog.info("[SlotChainRegistry] Slot chain of resource evicted: {}", resourceWrapper.getName());
+        return true;
+    }
+
+    /**
+     * Chains of unknown types are assumed to have rules, as there's no way to tell.
+     */
+    private static boolean hasRules(ResourceWrapper resourceWrapper, ProcessorSlotChain chain) {
+        if (!(chain instanceof DefaultProcessorSlotChain)) {
+            return true;
+        }
+        try {
+            return ((DefaultProcessorSlotChain)chain).hasRules(resourceWrapper);
+        } catch (Throwable e) {
+            RecordLog.warn("[SlotChainRegistry] Failed to check rules of resource: " + resourceWrapper.getName(), e);
+            return true;
+        }
+    }
+
+    private boolean isActive(ResourceWrapper resourceWrapper) {
+        ClusterNode node = ClusterBuilderSlot.getClusterNodeMap().get(resourceWrapper);
+        return node != null && (node.curThreadNum() > 0 || node.totalRequest() > 0);
+    }
+
+    private boolean isInProcess(ResourceWrapper resourceWrapper) {
+        ClusterNode node = ClusterBuilderSlot.getClusterNodeMap().get(resourceWrapper);
+        return node != null && node.curThreadNum() > 0;
+    }
+
+    /**
+     * Remove the nodes of given resource from the invocation tree. Children of a removed node are
+     * moved to its parent, so that they're still reachable from the tree.
+     */
+    private static void removeDefaultNodes(DefaultNode parent, ResourceWrapper resourceWrapper, Set<Node> visited) {
+        if (!visited.add(parent)) {
+            return;
+        }
+        for (Node child : parent.getChildList()) {
+            if (!(child instanceof DefaultNode)) {
+                continue;
+            }
+            DefaultNode node = (DefaultNode)child;
+            if (resourceWrapper.equals(node.getId())) {
+                for (Node grandChild : node.getChildList()) {
+                    parent.addChild(grandChild);
+                }
+                parent.removeChild(node);
+                removeDefaultNodes(parent, resourceWrapper, visited);
+                return;
+            }
+            removeDefaultNodes(node, resourceWrapper, visited);
+        }
+    }
+
+    private static final class Candidate {
+        private final ResourceWrapper resourceWrapper;
+        private final long lastActiveTime;
+
+        Candidate(ResourceWrapper resourceWrapper, long lastActiveTime) {
+            this.resourceWrapper = resourceWrapper;
+            this.lastActiveTime = lastActiveTime;
+        }
+    }
+}
@@ -25,6 +25,12 @@ public final class RuleConstant {
 
     public static final int FLOW_GRADE_THREAD = 0;
     public static final int FLOW_GRADE_QPS = 1;
+    /**
+     * Flow control by concurrency, with the limit adjusted automatically according to the response time.
+     *
+     * @since 1.8.8
+     */
+    public static final int FLOW_GRADE_ADAPTIVE_CONCURRENCY = 2;
 
     public static final int DEGRADE_GRADE_RT = 0;
     /**
@@ -35,6 +41,12 @@ public final class RuleConstant {
      * Degrade by biz exception count in the last 60 seconds.
      */
     public static final int DEGRADE_GRADE_EXCEPTION_COUNT = 2;
+    /**
+     * Degrade by the percentile (e.g. p99) of response time in the statistic interval.
+     *
+     * @since 1.8.8
+     */
+    public static final int DEGRADE_GRADE_RT_PERCENTILE = 3;
 
     public static final int DEGRADE_DEFAULT_SLOW_REQUEST_AMOUNT = 5;
     public static final int DEGRADE_DEFAULT_MIN_REQUEST_AMOUNT = 5;
@@ -50,6 +62,10 @@ public final class RuleConstant {
     public static final int CONTROL_BEHAVIOR_WARM_UP = 1;
     public static final int CONTROL_BEHAVIOR_RATE_LIMITER = 2;
     public static final int CONTROL_BEHAVIOR_WARM_UP_RATE_LIMITER = 3;
+    /**
+     * @since 1.8.8
+     */
+    public static final int CONTROL_BEHAVIOR_TOKEN_BUCKET = 4;
 
     public static final int DEFAULT_BLOCK_STRATEGY = 0;
     public static final int TRY_AGAIN_BLOCK_STRATEGY = 1;
@@ -15,6 +15,7 @@
  */
 package com.alibaba.csp.sentinel.slots.block;
 
+import com.alibaba.csp.sentinel.slotchain.ActiveSlots;
 import com.alibaba.csp.sentinel.util.function.Function;
 import com.alibaba.csp.sentinel.util.function.Predicate;
 
@@ -77,6 +78,8 @@ public class RuleManager<R> {
         }
         // rebuild regex cache rules
         setRules(regexRules, simpleRules);
+        // let slot chains re-evaluate whether their rule slots are active
+        ActiveSlots.invalidate();
     }
 
     /**
@@ -0,0 +1,158 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.authority;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * <p>Immutable matcher of request origins, compiled from the {@code limitApp} of an {@link AuthorityRule}.</p>
+ * <p>
+ * The {@code limitApp} is a comma-separated list of origins. Listed origins are matched exactly through a hash set.
+ * If pattern matching is enabled on the rule (see {@link AuthorityRule#isPatternMatch()}), an item ending with
+ * {@code *} (e.g. {@code app-*}) also matches all the origins with the prefix, and a single {@code *} matches any
+ * origin. Prefixes are held in a trie, so that matching costs O(length of origin) regardless of the amount of
+ * listed origins. Matching is allocation-free.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+final class AuthorityMatcher {
+
+    private static final char WILDCARD = '*';
+
+    private final String limitApp;
+    private final boolean patternMatch;
+    private final Set<String> origins;
+    /**
+     * Root of the prefix trie, or null if no prefix pattern.
+     */
+    private final TrieNode prefixes;
+
+    private AuthorityMatcher(String limitApp, boolean patternMatch, Set<String> origins, TrieNode prefixes) {
+        this.limitApp = limitApp;
+        this.patternMatch = patternMatch;
+        this.origins = origins;
+        this.prefixes = prefixes;
+    }
+
+    static AuthorityMatcher compile(String limitApp, boolean patternMatch) {
+        Set<String> origins = new HashSet<>();
+        TrieBuilder prefixes = null;
+        for (String app : limitApp.split(",")) {
+            if (app.isEmpty()) {
+                continue;
+            }
+            origins.add(app);
+            if (patternMatch && app.charAt(app.length() - 1) == WILDCARD) {
+                if (prefixes == null) {
+                    prefixes = new TrieBuilder();
+                }
+                prefixes.add(app, app.length() - 1);
+            }
+        }
+        return new AuthorityMatcher(limitApp, patternMatch, origins, prefixes == null ? null : prefixes.build());
+    }
+
+    /**
+     * @param limitApp     the {@code limitApp} of a rule
+     * @param patternMatch whether pattern matching is enabled on the rule
+     * @return whether the matcher is compiled from given {@code limitApp} and mode
+     */
+    boolean isCompiledFrom(String limitApp, boolean patternMatch) {
+        // Identity check is enough for the rule holding the matcher, and it's cheap.
+        return this.limitApp == limitApp && this.patternMatch == patternMatch;
+    }
+
+    boolean matches(String origin) {
+        if (origins.contains(origin)) {
+            return true;
+        }
+        TrieNode node = prefixes;
+        if (node == null) {
+            return false;
+        }
+        for (int i = 0; ; i++) {
+            if (node.terminal) {
+                return true;
+            }
+            if (i == origin.length()) {
+                return false;
+            }
+            node = node.child(origin.charAt(i));
+            if (node == null) {
+                return false;
+            }
+        }
+    }
+
+    private static final class TrieNode {
+        private final boolean terminal;
+        /**
+         * Sorted keys of the children, for binary search.
+         */
+        private final char[] keys;
+        private final TrieNode[] children;
+
+        TrieNode(boolean terminal, char[] keys, TrieNode[] children) {
+            this.terminal = terminal;
+            this.keys = keys;
+            this.children = children;
+        }
+
+        TrieNode child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+
+    private static final class TrieBuilder {
+        private boolean terminal;
+        private final TreeMap<Character, TrieBuilder> children = new TreeMap<>();
+
+        void add(String prefix, int length) {
+            TrieBuilder node = this;
+            for (int i = 0; i < length && !node.terminal; i++) {
+                TrieBuilder child = node.children.get(prefix.charAt(i));
+                if (child == null) {
+                    child = new TrieBuilder();
+                    node.children.put(prefix.charAt(i), child);
+                }
+                node = child;
+            }
+            // A shorter prefix covers all the longer ones.
+            node.terminal = true;
+        }
+
+        TrieNode build() {
+            if (terminal) {
+                return new TrieNode(true, new char[0], new TrieNode[0]);
+            }
+            char[] keys = new char[children.size()];
+            TrieNode[] nodes = new TrieNode[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, TrieBuilder> entry : children.entrySet()) {
+                keys[i] = entry.getKey();
+                nodes[i] = entry.getValue().build();
+                i++;
+            }
+            return new TrieNode(false, keys, nodes);
+        }
+    }
+}
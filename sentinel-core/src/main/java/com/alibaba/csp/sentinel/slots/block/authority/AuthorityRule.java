@@ -30,6 +30,19 @@ public class AuthorityRule extends AbstractRule {
      */
     private int strategy = RuleConstant.AUTHORITY_WHITE;
 
+    /**
+     * Whether items of the limitApp ending with {@code *} match origins by prefix (and a single {@code *} matches
+     * any origin). Disabled by default, so that all the items are matched exactly.
+     *
+     * @since 1.8.8
+     */
+    private boolean patternMatch = false;
+
+    /**
+     * Matcher compiled from the limitApp.
+     */
+    private transient volatile AuthorityMatcher compiledMatcher;
+
     public int getStrategy() {
         return strategy;
     }
@@ -39,6 +52,23 @@ public class AuthorityRule extends AbstractRule {
         return this;
     }
 
+    public boolean isPatternMatch() {
+        return patternMatch;
+    }
+
+    public AuthorityRule setPatternMatch(boolean patternMatch) {
+        this.patternMatch = patternMatch;
+        return this;
+    }
+
+    AuthorityMatcher compiledMatcher() {
+        return compiledMatcher;
+    }
+
+    void compiledMatcher(AuthorityMatcher compiledMatcher) {
+        this.compiledMatcher = compiledMatcher;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) { return true; }
@@ -47,13 +77,15 @@ public class AuthorityRule extends AbstractRule {
 
         AuthorityRule rule = (AuthorityRule)o;
 
-        return strategy == rule.strategy;
+        if (strategy != rule.strategy) { return false; }
+        return patternMatch == rule.patternMatch;
     }
 
     @Override
     public int hashCode() {
         int result = super.hashCode();
         result = 31 * result + strategy;
+        result = 31 * result + (patternMatch ? 1 : 0);
         return result;
     }
 
@@ -63,6 +95,7 @@ public class AuthorityRule extends AbstractRule {
             "resource=" + getResource() +
             ", limitApp=" + getLimitApp() +
             ", strategy=" + strategy +
+            ", patternMatch=" + patternMatch +
             "} ";
     }
 }
@@ -35,22 +35,7 @@ final class AuthorityRuleChecker {
             return true;
         }
 
-        // Do exact match with origin name.
-        int pos = rule.getLimitApp().indexOf(requester);
-        boolean contain = pos > -1;
-
-        if (contain) {
-            boolean exactlyMatch = false;
-            String[] appArray = rule.getLimitApp().split(",");
-            for (String app : appArray) {
-                if (requester.equals(app)) {
-                    exactlyMatch = true;
-                    break;
-                }
-            }
-
-            contain = exactlyMatch;
-        }
+        boolean contain = matcherOf(rule).matches(requester);
 
         int strategy = rule.getStrategy();
         if (strategy == RuleConstant.AUTHORITY_BLACK && contain) {
@@ -64,5 +49,24 @@ final class AuthorityRuleChecker {
         return true;
     }
 
+    /**
+     * Get the matcher compiled from the limitApp of given rule, which is compiled again if the limitApp or
+     * the pattern match mode is changed.
+     *
+     * @param rule valid authority rule
+     * @return the compiled matcher
+     * @since 1.8.8
+     */
+    static AuthorityMatcher matcherOf(AuthorityRule rule) {
+        String limitApp = rule.getLimitApp();
+        AuthorityMatcher matcher = rule.compiledMatcher();
+        boolean patternMatch = rule.isPatternMatch();
+        if (matcher == null || !matcher.isCompiledFrom(limitApp, patternMatch)) {
+            matcher = AuthorityMatcher.compile(limitApp, patternMatch);
+            rule.compiledMatcher(matcher);
+        }
+        return matcher;
+    }
+
     private AuthorityRuleChecker() {}
 }
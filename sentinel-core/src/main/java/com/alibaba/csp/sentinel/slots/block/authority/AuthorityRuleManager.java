@@ -115,6 +115,8 @@ public final class AuthorityRuleManager {
                 if (StringUtil.isBlank(rule.getLimitApp())) {
                     rule.setLimitApp(RuleConstant.LIMIT_APP_DEFAULT);
                 }
+                // Compile the matcher of origins ahead of checking.
+                AuthorityRuleChecker.matcherOf(rule);
 
                 String identity = rule.getResource();
                 List<AuthorityRule> ruleSet = newRuleMap.get(identity);
@@ -23,6 +23,7 @@ import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.SkippableSlot;
 import com.alibaba.csp.sentinel.spi.Spi;
 
 /**
@@ -32,7 +33,7 @@ import com.alibaba.csp.sentinel.spi.Spi;
  * @author Eric Zhao
  */
 @Spi(order = Constants.ORDER_AUTHORITY_SLOT)
-public class AuthoritySlot extends AbstractLinkedProcessorSlot<DefaultNode> {
+public class AuthoritySlot extends AbstractLinkedProcessorSlot<DefaultNode> implements SkippableSlot {
 
     @Override
     public void entry(Context context, ResourceWrapper resourceWrapper, DefaultNode node, int count, boolean prioritized, Object... args)
@@ -59,4 +60,14 @@ public class AuthoritySlot extends AbstractLinkedProcessorSlot<DefaultNode> {
             }
         }
     }
+
+    @Override
+    public boolean isActive(ResourceWrapper resourceWrapper, boolean blockingDownstream) {
+        return AuthorityRuleManager.hasConfig(resourceWrapper.getName());
+    }
+
+    @Override
+    public boolean mayBlock() {
+        return true;
+    }
 }
@@ -19,10 +19,12 @@ import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
 import com.alibaba.csp.sentinel.property.PropertyListener;
 import com.alibaba.csp.sentinel.property.SentinelProperty;
+import com.alibaba.csp.sentinel.slotchain.ActiveSlots;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.CircuitBreaker;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.ExceptionCircuitBreaker;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.ResponseTimeCircuitBreaker;
+import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.ResponseTimePercentileCircuitBreaker;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.StringUtil;
 
@@ -76,6 +78,18 @@ public final class DefaultCircuitBreakerRuleManager {
         }
     }
 
+    /**
+     * Whether default circuit breaker rules apply to given resource.
+     *
+     * @param resourceName resource name
+     * @return true if there are default rules and the resource is not excluded
+     * @since 1.8.8
+     */
+    static boolean hasDefaultRules(String resourceName) {
+        Set<DegradeRule> rules = DefaultCircuitBreakerRuleManager.rules;
+        return rules != null && !rules.isEmpty() && !excludedResource.contains(resourceName);
+    }
+
     static List<CircuitBreaker> getDefaultCircuitBreakers(String resourceName) {
         if (rules == null || rules.isEmpty()) {
             return null;
@@ -102,6 +116,7 @@ public final class DefaultCircuitBreakerRuleManager {
             return;
         }
         excludedResource.add(resourceName);
+        ActiveSlots.invalidate();
     }
 
     public static void removeExcludedResource(String resourceName) {
@@ -109,10 +124,12 @@ public final class DefaultCircuitBreakerRuleManager {
             return;
         }
         excludedResource.remove(resourceName);
+        ActiveSlots.invalidate();
     }
 
     public static void clearExcludedResource() {
         excludedResource.clear();
+        ActiveSlots.invalidate();
     }
 
     /**
@@ -150,6 +167,8 @@ public final class DefaultCircuitBreakerRuleManager {
             case RuleConstant.DEGRADE_GRADE_EXCEPTION_RATIO:
             case RuleConstant.DEGRADE_GRADE_EXCEPTION_COUNT:
                 return new ExceptionCircuitBreaker(rule);
+            case RuleConstant.DEGRADE_GRADE_RT_PERCENTILE:
+                return new ResponseTimePercentileCircuitBreaker(rule);
             default:
                 return null;
         }
@@ -216,6 +235,7 @@ public final class DefaultCircuitBreakerRuleManager {
         @Override
         public void configUpdate(List<DegradeRule> conf) {
             reloadFrom(conf);
+            ActiveSlots.invalidate();
             RecordLog.info("[DefaultCircuitBreakerRuleManager] Default circuit breaker rules has been updated to: {}",
                 rules);
         }
@@ -223,6 +243,7 @@ public final class DefaultCircuitBreakerRuleManager {
         @Override
         public void configLoad(List<DegradeRule> conf) {
             reloadFrom(conf);
+            ActiveSlots.invalidate();
             RecordLog.info("[DefaultCircuitBreakerRuleManager] Default circuit breaker rules loaded: {}", rules);
         }
     }
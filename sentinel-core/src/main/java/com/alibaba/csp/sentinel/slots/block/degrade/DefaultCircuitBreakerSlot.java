@@ -22,6 +22,7 @@ import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.SkippableSlot;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.CircuitBreaker;
 import com.alibaba.csp.sentinel.spi.Spi;
@@ -35,7 +36,7 @@ import java.util.List;
  * @since 2.0.0
  */
 @Spi(order = Constants.ORDER_DEFAULT_CIRCUIT_BREAKER_SLOT)
-public class DefaultCircuitBreakerSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
+public class DefaultCircuitBreakerSlot extends AbstractLinkedProcessorSlot<DefaultNode> implements SkippableSlot {
 
     @Override
     public void entry(Context context, ResourceWrapper resourceWrapper, DefaultNode node, int count,
@@ -93,4 +94,21 @@ public class DefaultCircuitBreakerSlot extends AbstractLinkedProcessorSlot<Defau
 
         fireExit(context, r, count, args);
     }
+
+    @Override
+    public boolean isActive(ResourceWrapper resourceWrapper, boolean blockingDownstream) {
+        return !DegradeRuleManager.hasConfig(resourceWrapper.getName())
+            && DefaultCircuitBreakerRuleManager.hasDefaultRules(resourceWrapper.getName());
+    }
+
+    @Override
+    public boolean mayBlock() {
+        return true;
+    }
+
+    @Override
+    public boolean hasRules(ResourceWrapper resourceWrapper) {
+        // Default rules apply to all the resources, and their circuit breakers are kept by the rule manager.
+        return false;
+    }
 }
@@ -40,6 +40,11 @@ import java.util.Objects;
  * success qps exceeds the threshold, access to the resource will be blocked in
  * the coming window.
  * </li>
+ * <li>
+ * RT percentile ({@code DEGRADE_GRADE_RT_PERCENTILE}): When the percentile of response time (e.g. p99,
+ * see 'rtPercentile') in the statistic interval exceeds the threshold ('count', in milliseconds),
+ * access to the resource will be blocked in the coming window.
+ * </li>
  * </ul>
  *
  * @author jialiang.linjl
@@ -54,7 +59,7 @@ public class DegradeRule extends AbstractRule {
     }
 
     /**
-     * Circuit breaking strategy (0: average RT, 1: exception ratio, 2: exception count).
+     * Circuit breaking strategy (0: average RT, 1: exception ratio, 2: exception count, 3: RT percentile).
      */
     private int grade = RuleConstant.DEGRADE_GRADE_RT;
 
@@ -64,6 +69,7 @@ public class DegradeRule extends AbstractRule {
      *     <li>In average RT mode, it means the maximum response time(RT) in milliseconds.</li>
      *     <li>In exception ratio mode, it means exception ratio which between 0.0 and 1.0.</li>
      *     <li>In exception count mode, it means exception count</li>
+     *     <li>In RT percentile mode, it means the maximum response time(RT) of the percentile in milliseconds.</li>
      * <ul/>
      */
     private double count;
@@ -95,6 +101,30 @@ public class DegradeRule extends AbstractRule {
      */
     private int statIntervalMs = 1000;
 
+    /**
+     * The percentile of response time (in {@code (0, 100]}, e.g. 99 for p99) in RT percentile mode.
+     *
+     * @since 1.8.8
+     */
+    private double rtPercentile = 99.0d;
+
+    /**
+     * Number of steps to recover from half-open state. In step {@code k} of {@code n}, {@code k/n} of the
+     * requests are permitted, and the circuit breaker closes after the last step, or opens again as soon as
+     * the requests in a step exceed the threshold. 0 means the result of a single probe request decides
+     * whether the circuit breaker closes or opens again.
+     *
+     * @since 1.8.8
+     */
+    private int recoverySteps = 0;
+
+    /**
+     * Duration (in milliseconds) of each step of half-open recovery.
+     *
+     * @since 1.8.8
+     */
+    private int recoveryStepIntervalMs = 1000;
+
     public int getGrade() {
         return grade;
     }
@@ -149,6 +179,33 @@ public class DegradeRule extends AbstractRule {
         return this;
     }
 
+    public double getRtPercentile() {
+        return rtPercentile;
+    }
+
+    public DegradeRule setRtPercentile(double rtPercentile) {
+        this.rtPercentile = rtPercentile;
+        return this;
+    }
+
+    public int getRecoverySteps() {
+        return recoverySteps;
+    }
+
+    public DegradeRule setRecoverySteps(int recoverySteps) {
+        this.recoverySteps = recoverySteps;
+        return this;
+    }
+
+    public int getRecoveryStepIntervalMs() {
+        return recoveryStepIntervalMs;
+    }
+
+    public DegradeRule setRecoveryStepIntervalMs(int recoveryStepIntervalMs) {
+        this.recoveryStepIntervalMs = recoveryStepIntervalMs;
+        return this;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) { return true; }
@@ -160,13 +217,16 @@ public class DegradeRule extends AbstractRule {
             grade == rule.grade &&
             minRequestAmount == rule.minRequestAmount &&
             Double.compare(rule.slowRatioThreshold, slowRatioThreshold) == 0 &&
-            statIntervalMs == rule.statIntervalMs;
+            statIntervalMs == rule.statIntervalMs &&
+            Double.compare(rule.rtPercentile, rtPercentile) == 0 &&
+            recoverySteps == rule.recoverySteps &&
+            recoveryStepIntervalMs == rule.recoveryStepIntervalMs;
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(super.hashCode(), count, timeWindow, grade, minRequestAmount,
-            slowRatioThreshold, statIntervalMs);
+            slowRatioThreshold, statIntervalMs, rtPercentile, recoverySteps, recoveryStepIntervalMs);
     }
 
     @Override
@@ -180,6 +240,9 @@ public class DegradeRule extends AbstractRule {
             ", minRequestAmount=" + minRequestAmount +
             ", slowRatioThreshold=" + slowRatioThreshold +
             ", statIntervalMs=" + statIntervalMs +
+            ", rtPercentile=" + rtPercentile +
+            ", recoverySteps=" + recoverySteps +
+            ", recoveryStepIntervalMs=" + recoveryStepIntervalMs +
             '}';
     }
 }
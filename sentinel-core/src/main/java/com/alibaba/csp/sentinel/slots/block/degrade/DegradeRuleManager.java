@@ -32,6 +32,7 @@ import com.alibaba.csp.sentinel.slots.block.RuleManager;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.CircuitBreaker;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.ExceptionCircuitBreaker;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.ResponseTimeCircuitBreaker;
+import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.ResponseTimePercentileCircuitBreaker;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.StringUtil;
 
@@ -169,6 +170,8 @@ public final class DegradeRuleManager {
             case RuleConstant.DEGRADE_GRADE_EXCEPTION_RATIO:
             case RuleConstant.DEGRADE_GRADE_EXCEPTION_COUNT:
                 return new ExceptionCircuitBreaker(rule);
+            case RuleConstant.DEGRADE_GRADE_RT_PERCENTILE:
+                return new ResponseTimePercentileCircuitBreaker(rule);
             default:
                 return null;
         }
@@ -183,6 +186,9 @@ public final class DegradeRuleManager {
         if (rule.getMinRequestAmount() <= 0 || rule.getStatIntervalMs() <= 0) {
             return false;
         }
+        if (rule.getRecoverySteps() < 0 || (rule.getRecoverySteps() > 0 && rule.getRecoveryStepIntervalMs() <= 0)) {
+            return false;
+        }
         if (!RuleManager.checkRegexResourceField(rule)) {
             return false;
         }
@@ -193,6 +199,8 @@ public final class DegradeRuleManager {
                 return rule.getCount() <= 1;
             case RuleConstant.DEGRADE_GRADE_EXCEPTION_COUNT:
                 return true;
+            case RuleConstant.DEGRADE_GRADE_RT_PERCENTILE:
+                return rule.getRtPercentile() > 0 && rule.getRtPercentile() <= 100;
             default:
                 return false;
         }
@@ -24,6 +24,7 @@ import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.SkippableSlot;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.CircuitBreaker;
 import com.alibaba.csp.sentinel.spi.Spi;
@@ -35,7 +36,7 @@ import com.alibaba.csp.sentinel.spi.Spi;
  * @author Eric Zhao
  */
 @Spi(order = Constants.ORDER_DEGRADE_SLOT)
-public class DegradeSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
+public class DegradeSlot extends AbstractLinkedProcessorSlot<DefaultNode> implements SkippableSlot {
 
     @Override
     public void entry(Context context, ResourceWrapper resourceWrapper, DefaultNode node, int count,
@@ -102,4 +103,14 @@ public class DegradeSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
 
         fireExit(context, r, count, args);
     }
+
+    @Override
+    public boolean isActive(ResourceWrapper resourceWrapper, boolean blockingDownstream) {
+        return DegradeRuleManager.hasConfig(resourceWrapper.getName());
+    }
+
+    @Override
+    public boolean mayBlock() {
+        return true;
+    }
 }
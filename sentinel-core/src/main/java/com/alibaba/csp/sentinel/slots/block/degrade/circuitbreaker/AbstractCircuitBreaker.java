@@ -15,6 +15,8 @@
  */
 package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
 
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import com.alibaba.csp.sentinel.Entry;
@@ -42,6 +44,16 @@ public abstract class AbstractCircuitBreaker implements CircuitBreaker {
     //下一次重试的时间戳
     protected volatile long nextRetryTimestamp;
 
+    /**
+     * Number of steps to recover from half-open state, 0 means recovering by a single probe request.
+     */
+    protected final int recoverySteps;
+    private final int recoveryStepIntervalMs;
+    /**
+     * Current step of stepped recovery, which is only valid in half-open state.
+     */
+    private final AtomicReference<RecoveryStep> recoveryStep = new AtomicReference<>();
+
     public AbstractCircuitBreaker(DegradeRule rule) {
         this(rule, EventObserverRegistry.getInstance());
     }
@@ -54,6 +66,8 @@ public abstract class AbstractCircuitBreaker implements CircuitBreaker {
         this.observerRegistry = observerRegistry;
         this.rule = rule;
         this.recoveryTimeoutMs = rule.getTimeWindow() * 1000;
+        this.recoverySteps = rule.getRecoverySteps();
+        this.recoveryStepIntervalMs = rule.getRecoveryStepIntervalMs();
     }
 
     @Override
@@ -80,9 +94,95 @@ public abstract class AbstractCircuitBreaker implements CircuitBreaker {
             // 对于半开放状态，允许探测请求。
             return retryTimeoutArrived() && fromOpenToHalfOpen(context);
         }
+        if (isSteppedRecovery()) {
+            return tryPassInRecovery();
+        }
         return false;
     }
 
+    /**
+     * Whether the circuit breaker recovers from half-open state in steps, with a growing share of
+     * requests permitted in each step (see {@link DegradeRule#getRecoverySteps()}).
+     *
+     * @return whether the circuit breaker recovers in steps
+     * @since 1.8.8
+     */
+    protected boolean isSteppedRecovery() {
+        return recoverySteps > 0;
+    }
+
+    private boolean tryPassInRecovery() {
+        RecoveryStep step = advanceRecoveryIfNeeded(TimeUtil.currentTimeMillis());
+        if (step == null) {
+            return currentState.get() == State.CLOSED;
+        }
+        return step.step >= recoverySteps || ThreadLocalRandom.current().nextInt(recoverySteps) < step.step;
+    }
+
+    /**
+     * Record the result of a request completed in half-open state during stepped recovery. The circuit
+     * breaker opens again as soon as the failures of current step exceed the threshold.
+     *
+     * @param failed whether the request failed (e.g. slow or with error)
+     * @since 1.8.8
+     */
+    protected void onRecoveryRequestComplete(boolean failed) {
+        RecoveryStep step = recoveryStep.get();
+        if (step == null) {
+            return;
+        }
+        long failedCount = failed ? step.failedCount.incrementAndGet() : step.failedCount.get();
+        long totalCount = step.totalCount.incrementAndGet();
+        if (totalCount >= rule.getMinRequestAmount() && recoveryThresholdExceeded(failedCount, totalCount)) {
+            fromHalfOpenToOpen(failedCount * 1.0d / totalCount);
+            return;
+        }
+        advanceRecoveryIfNeeded(TimeUtil.currentTimeMillis());
+    }
+
+    /**
+     * Check whether the failed requests of a recovery step exceed the threshold of the circuit breaker.
+     * By default, any failed request exceeds the threshold.
+     *
+     * @param failedCount failed requests in the step
+     * @param totalCount  completed requests in the step (positive)
+     * @return whether the circuit breaker should open again
+     * @since 1.8.8
+     */
+    protected boolean recoveryThresholdExceeded(long failedCount, long totalCount) {
+        return failedCount > 0;
+    }
+
+    /**
+     * Move to the next step if current step is over, and close the circuit breaker after the last step.
+     *
+     * @return current step, or null if the circuit breaker is no longer in half-open state
+     */
+    private RecoveryStep advanceRecoveryIfNeeded(long currentTime) {
+        RecoveryStep step = recoveryStep.get();
+        if (currentState.get() != State.HALF_OPEN || step == null) {
+            return null;
+        }
+        if (currentTime - step.startTime < recoveryStepIntervalMs) {
+            return step;
+        }
+        long failedCount = step.failedCount.get();
+        long totalCount = step.totalCount.get();
+        if (totalCount > 0 && recoveryThresholdExceeded(failedCount, totalCount)) {
+            fromHalfOpenToOpen(failedCount * 1.0d / totalCount);
+            return null;
+        }
+        if (step.step >= recoverySteps) {
+            fromHalfOpenToClose();
+            return null;
+        }
+        RecoveryStep next = new RecoveryStep(step.step + 1, currentTime);
+        if (recoveryStep.compareAndSet(step, next)) {
+            return next;
+        }
+        return recoveryStep.get();
+    }
+
     /**
      * Reset the statistic data.
      */
@@ -110,9 +210,23 @@ public abstract class AbstractCircuitBreaker implements CircuitBreaker {
 
     // 从OPEN状态转换到HALF_OPEN状态
     protected boolean fromOpenToHalfOpen(Context context) {
+        if (isSteppedRecovery()) {
+            // The step is set before the state changes, so that it is always valid in half-open state.
+            // It is read before the state check and replaced by CAS, so a thread that saw the open state
+            // too late cannot reset the step of a recovery already in progress.
+            RecoveryStep prevStep = recoveryStep.get();
+            if (currentState.get() != State.OPEN
+                || !recoveryStep.compareAndSet(prevStep, new RecoveryStep(1, TimeUtil.currentTimeMillis()))) {
+                return false;
+            }
+        }
         if (currentState.compareAndSet(State.OPEN, State.HALF_OPEN)) {
             // 通知观察者状态已从开启变更为半开启
             notifyObservers(State.OPEN, State.HALF_OPEN, null);
+            if (isSteppedRecovery()) {
+                // Blocked requests are not counted in stepped recovery.
+                return true;
+            }
 
             // 获取当前的入口对象
             Entry entry = context.getCurEntry();
@@ -196,4 +310,16 @@ public abstract class AbstractCircuitBreaker implements CircuitBreaker {
                 break;
         }
     }
+
+    private static final class RecoveryStep {
+        private final int step;
+        private final long startTime;
+        private final AtomicLong failedCount = new AtomicLong();
+        private final AtomicLong totalCount = new AtomicLong();
+
+        RecoveryStep(int step, long startTime) {
+            this.step = step;
+            this.startTime = startTime;
+        }
+    }
 }
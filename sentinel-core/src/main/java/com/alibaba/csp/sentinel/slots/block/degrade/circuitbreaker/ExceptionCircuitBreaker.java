@@ -15,8 +15,7 @@
  */
 package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
 
-import java.util.List;
-import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.alibaba.csp.sentinel.Entry;
 import com.alibaba.csp.sentinel.context.Context;
@@ -38,6 +37,10 @@ public class ExceptionCircuitBreaker extends AbstractCircuitBreaker {
     private final int minRequestAmount;
     private final double threshold;
 
+    /**
+     * Sliding counter with only one bucket, which holds the totals of current statistic window,
+     * so that the totals are maintained incrementally on request completion.
+     */
     private final LeapArray<SimpleErrorCounter> stat;
 
     public ExceptionCircuitBreaker(DegradeRule rule) {
@@ -50,6 +53,7 @@ public class ExceptionCircuitBreaker extends AbstractCircuitBreaker {
         boolean modeOk = strategy == DEGRADE_GRADE_EXCEPTION_RATIO || strategy == DEGRADE_GRADE_EXCEPTION_COUNT;
         AssertUtil.isTrue(modeOk, "rule strategy should be error-ratio or error-count");
         AssertUtil.notNull(stat, "stat cannot be null");
+        AssertUtil.isTrue(stat.getSampleCount() == 1, "stat should have only one bucket");
         this.minRequestAmount = rule.getMinRequestAmount();
         this.threshold = rule.getCount();
         this.stat = stat;
@@ -82,14 +86,12 @@ public class ExceptionCircuitBreaker extends AbstractCircuitBreaker {
         // 获取当前统计窗口的错误计数器。
         SimpleErrorCounter counter = stat.currentWindow().value();
         // 如果存在错误，增加错误计数。
-        if (error != null) {
-            counter.getErrorCount().add(1);
-        }
+        long errCount = error != null ? counter.getErrorCount().incrementAndGet() : counter.getErrorCount().get();
         // 无论是否存在错误，都增加总请求计数。
-        counter.getTotalCount().add(1);
+        long totalCount = counter.getTotalCount().incrementAndGet();
 
         // 处理错误阈值超过时的状态变化。
-        handleStateChangeWhenThresholdExceeded(error);
+        handleStateChangeWhenThresholdExceeded(error, errCount, totalCount);
     }
 
     /**
@@ -99,15 +101,21 @@ public class ExceptionCircuitBreaker extends AbstractCircuitBreaker {
      * 如果当前状态是HALF_OPEN，它会根据当前请求是否失败来决定是切换回CLOSED还是回到OPEN状态。
      * 对于其他状态，它计算错误率或错误数量，并根据阈值决定是否切换到OPEN状态。
      *
-     * @param error 在当前请求中抛出的异常，用于在状态为HALF_OPEN时确定状态转换。
+     * @param error      在当前请求中抛出的异常，用于在状态为HALF_OPEN时确定状态转换。
+     * @param errCount   当前统计窗口的错误数量
+     * @param totalCount 当前统计窗口的请求数量
      */
-    private void handleStateChangeWhenThresholdExceeded(Throwable error) {
+    private void handleStateChangeWhenThresholdExceeded(Throwable error, long errCount, long totalCount) {
         // 如果当前状态是OPEN，不处理状态变化
         if (currentState.get() == State.OPEN) {
             return;
         }
         // 如果当前状态是HALF_OPEN
         if (currentState.get() == State.HALF_OPEN) {
+            if (isSteppedRecovery()) {
+                onRecoveryRequestComplete(error != null);
+                return;
+            }
             // In detecting request
             // 如果没有错误，切换到CLOSED状态
             // 在检测请求
@@ -120,14 +128,6 @@ public class ExceptionCircuitBreaker extends AbstractCircuitBreaker {
             }
             return;
         }
-        // 获取所有错误计数器以计算总错误数和请求数量
-        List<SimpleErrorCounter> counters = stat.values();
-        long errCount = 0;
-        long totalCount = 0;
-        for (SimpleErrorCounter counter : counters) {
-            errCount += counter.errorCount.sum();
-            totalCount += counter.totalCount.sum();
-        }
         // 如果总请求数量未达到最小要求，不处理状态变化
         if (totalCount < minRequestAmount) {
             return;
@@ -145,26 +145,34 @@ public class ExceptionCircuitBreaker extends AbstractCircuitBreaker {
         }
     }
 
+    @Override
+    protected boolean recoveryThresholdExceeded(long failedCount, long totalCount) {
+        if (strategy == DEGRADE_GRADE_EXCEPTION_RATIO) {
+            return failedCount * 1.0d / totalCount > threshold;
+        }
+        return failedCount > threshold;
+    }
+
     static class SimpleErrorCounter {
-        private LongAdder errorCount;
-        private LongAdder totalCount;
+        private final AtomicLong errorCount;
+        private final AtomicLong totalCount;
 
         public SimpleErrorCounter() {
-            this.errorCount = new LongAdder();
-            this.totalCount = new LongAdder();
+            this.errorCount = new AtomicLong();
+            this.totalCount = new AtomicLong();
         }
 
-        public LongAdder getErrorCount() {
+        public AtomicLong getErrorCount() {
             return errorCount;
         }
 
-        public LongAdder getTotalCount() {
+        public AtomicLong getTotalCount() {
             return totalCount;
         }
 
         public SimpleErrorCounter reset() {
-            errorCount.reset();
-            totalCount.reset();
+            errorCount.set(0);
+            totalCount.set(0);
             return this;
         }
 
@@ -15,8 +15,7 @@
  */
 package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
 
-import java.util.List;
-import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.alibaba.csp.sentinel.Entry;
 import com.alibaba.csp.sentinel.context.Context;
@@ -39,6 +38,10 @@ public class ResponseTimeCircuitBreaker extends AbstractCircuitBreaker {
     private final double maxSlowRequestRatio;
     private final int minRequestAmount;
 
+    /**
+     * Sliding counter with only one bucket, which holds the totals of current statistic window,
+     * so that the totals are maintained incrementally on request completion.
+     */
     private final LeapArray<SlowRequestCounter> slidingCounter;
 
     public ResponseTimeCircuitBreaker(DegradeRule rule) {
@@ -49,6 +52,7 @@ public class ResponseTimeCircuitBreaker extends AbstractCircuitBreaker {
         super(rule);
         AssertUtil.isTrue(rule.getGrade() == RuleConstant.DEGRADE_GRADE_RT, "rule metric type should be RT");
         AssertUtil.notNull(stat, "stat cannot be null");
+        AssertUtil.isTrue(stat.getSampleCount() == 1, "stat should have only one bucket");
         this.maxAllowedRt = Math.round(rule.getCount());
         this.maxSlowRequestRatio = rule.getSlowRatioThreshold();
         this.minRequestAmount = rule.getMinRequestAmount();
@@ -73,22 +77,23 @@ public class ResponseTimeCircuitBreaker extends AbstractCircuitBreaker {
             completeTime = TimeUtil.currentTimeMillis();
         }
         long rt = completeTime - entry.getCreateTimestamp();
-        if (rt > maxAllowedRt) {
-            counter.slowCount.add(1);
-        }
-        counter.totalCount.add(1);
+        long slowCount = rt > maxAllowedRt ? counter.slowCount.incrementAndGet() : counter.slowCount.get();
+        long totalCount = counter.totalCount.incrementAndGet();
 
-        handleStateChangeWhenThresholdExceeded(rt);
+        handleStateChangeWhenThresholdExceeded(rt, slowCount, totalCount);
     }
 
-    private void handleStateChangeWhenThresholdExceeded(long rt) {
+    private void handleStateChangeWhenThresholdExceeded(long rt, long slowCount, long totalCount) {
         if (currentState.get() == State.OPEN) {
             return;
         }
         
         if (currentState.get() == State.HALF_OPEN) {
+            if (isSteppedRecovery()) {
+                onRecoveryRequestComplete(rt > maxAllowedRt);
+                return;
+            }
             // In detecting request
-            // TODO: improve logic for half-open recovery
             if (rt > maxAllowedRt) {
                 fromHalfOpenToOpen(1.0d);
             } else {
@@ -97,46 +102,48 @@ public class ResponseTimeCircuitBreaker extends AbstractCircuitBreaker {
             return;
         }
 
-        List<SlowRequestCounter> counters = slidingCounter.values();
-        long slowCount = 0;
-        long totalCount = 0;
-        for (SlowRequestCounter counter : counters) {
-            slowCount += counter.slowCount.sum();
-            totalCount += counter.totalCount.sum();
-        }
         if (totalCount < minRequestAmount) {
             return;
         }
+        if (slowRatioExceeded(slowCount, totalCount)) {
+            transformToOpen(slowCount * 1.0d / totalCount);
+        }
+    }
+
+    private boolean slowRatioExceeded(long slowCount, long totalCount) {
         double currentRatio = slowCount * 1.0d / totalCount;
         if (currentRatio > maxSlowRequestRatio) {
-            transformToOpen(currentRatio);
-        }
-        if (Double.compare(currentRatio, maxSlowRequestRatio) == 0 &&
-                Double.compare(maxSlowRequestRatio, SLOW_REQUEST_RATIO_MAX_VALUE) == 0) {
-            transformToOpen(currentRatio);
+            return true;
         }
+        return Double.compare(currentRatio, maxSlowRequestRatio) == 0 &&
+            Double.compare(maxSlowRequestRatio, SLOW_REQUEST_RATIO_MAX_VALUE) == 0;
+    }
+
+    @Override
+    protected boolean recoveryThresholdExceeded(long failedCount, long totalCount) {
+        return slowRatioExceeded(failedCount, totalCount);
     }
 
     static class SlowRequestCounter {
-        private LongAdder slowCount;
-        private LongAdder totalCount;
+        private final AtomicLong slowCount;
+        private final AtomicLong totalCount;
 
         public SlowRequestCounter() {
-            this.slowCount = new LongAdder();
-            this.totalCount = new LongAdder();
+            this.slowCount = new AtomicLong();
+            this.totalCount = new AtomicLong();
         }
 
-        public LongAdder getSlowCount() {
+        public AtomicLong getSlowCount() {
             return slowCount;
         }
 
-        public LongAdder getTotalCount() {
+        public AtomicLong getTotalCount() {
             return totalCount;
         }
 
         public SlowRequestCounter reset() {
-            slowCount.reset();
-            totalCount.reset();
+            slowCount.set(0);
+            totalCount.set(0);
             return this;
         }
 
@@ -0,0 +1,191 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
+import com.alibaba.csp.sentinel.slots.statistic.base.LeapArray;
+import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
+import com.alibaba.csp.sentinel.slots.statistic.data.RtHistogram;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * <p>
+ * Circuit breaker that opens when the percentile of response time (e.g. p99) in the statistic interval
+ * exceeds the threshold.
+ * </p>
+ * <p>
+ * The response time of the interval is recorded into a fixed-memory {@link RtHistogram}. As the percentile
+ * exceeds the threshold if and only if fewer requests than the rank of the percentile are within the threshold,
+ * the check on request completion only compares the incrementally maintained counts, and the histogram is
+ * queried only when the circuit breaker opens, for the percentile value notified to the observers.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+public class ResponseTimePercentileCircuitBreaker extends AbstractCircuitBreaker {
+
+    private final long maxAllowedRt;
+    private final double percentile;
+    private final int minRequestAmount;
+
+    /**
+     * Sliding counter with only one bucket, which holds the totals of current statistic window.
+     */
+    private final LeapArray<PercentileCounter> slidingCounter;
+
+    public ResponseTimePercentileCircuitBreaker(DegradeRule rule) {
+        this(rule, new PercentileLeapArray(1, rule.getStatIntervalMs()));
+    }
+
+    ResponseTimePercentileCircuitBreaker(DegradeRule rule, LeapArray<PercentileCounter> stat) {
+        super(rule);
+        AssertUtil.isTrue(rule.getGrade() == RuleConstant.DEGRADE_GRADE_RT_PERCENTILE,
+            "rule metric type should be RT percentile");
+        AssertUtil.notNull(stat, "stat cannot be null");
+        AssertUtil.isTrue(stat.getSampleCount() == 1, "stat should have only one bucket");
+        this.maxAllowedRt = Math.round(rule.getCount());
+        this.percentile = rule.getRtPercentile();
+        this.minRequestAmount = rule.getMinRequestAmount();
+        this.slidingCounter = stat;
+    }
+
+    @Override
+    public void resetStat() {
+        // Reset current bucket (bucket count = 1).
+        slidingCounter.currentWindow().value().reset();
+    }
+
+    @Override
+    public void onRequestComplete(Context context) {
+        PercentileCounter counter = slidingCounter.currentWindow().value();
+        Entry entry = context.getCurEntry();
+        if (entry == null) {
+            return;
+        }
+        long completeTime = entry.getCompleteTimestamp();
+        if (completeTime <= 0) {
+            completeTime = TimeUtil.currentTimeMillis();
+        }
+        long rt = completeTime - entry.getCreateTimestamp();
+        counter.histogram.record(rt);
+        long slowCount = rt > maxAllowedRt ? counter.slowCount.incrementAndGet() : counter.slowCount.get();
+        long totalCount = counter.totalCount.incrementAndGet();
+
+        handleStateChangeWhenThresholdExceeded(rt, slowCount, totalCount, counter);
+    }
+
+    private void handleStateChangeWhenThresholdExceeded(long rt, long slowCount, long totalCount,
+                                                        PercentileCounter counter) {
+        if (currentState.get() == State.OPEN) {
+            return;
+        }
+
+        if (currentState.get() == State.HALF_OPEN) {
+            if (isSteppedRecovery()) {
+                onRecoveryRequestComplete(rt > maxAllowedRt);
+                return;
+            }
+            // In detecting request
+            if (rt > maxAllowedRt) {
+                fromHalfOpenToOpen(rt);
+            } else {
+                fromHalfOpenToClose();
+            }
+            return;
+        }
+
+        if (totalCount < minRequestAmount) {
+            return;
+        }
+        if (percentileExceeded(slowCount, totalCount)) {
+            transformToOpen(counter.histogram.valueAtPercentile(percentile));
+        }
+    }
+
+    private boolean percentileExceeded(long slowCount, long totalCount) {
+        long rank = Math.max(1, (long)Math.ceil(percentile / 100 * totalCount));
+        return totalCount - slowCount < rank;
+    }
+
+    @Override
+    protected boolean recoveryThresholdExceeded(long failedCount, long totalCount) {
+        return percentileExceeded(failedCount, totalCount);
+    }
+
+    static class PercentileCounter {
+        private final RtHistogram histogram;
+        private final AtomicLong slowCount;
+        private final AtomicLong totalCount;
+
+        public PercentileCounter() {
+            this.histogram = new RtHistogram();
+            this.slowCount = new AtomicLong();
+            this.totalCount = new AtomicLong();
+        }
+
+        public RtHistogram getHistogram() {
+            return histogram;
+        }
+
+        public AtomicLong getSlowCount() {
+            return slowCount;
+        }
+
+        public AtomicLong getTotalCount() {
+            return totalCount;
+        }
+
+        public PercentileCounter reset() {
+            histogram.reset();
+            slowCount.set(0);
+            totalCount.set(0);
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return "PercentileCounter{" +
+                "slowCount=" + slowCount +
+                ", totalCount=" + totalCount +
+                '}';
+        }
+    }
+
+    static class PercentileLeapArray extends LeapArray<PercentileCounter> {
+
+        public PercentileLeapArray(int sampleCount, int intervalInMs) {
+            super(sampleCount, intervalInMs);
+        }
+
+        @Override
+        public PercentileCounter newEmptyBucket(long timeMillis) {
+            return new PercentileCounter();
+        }
+
+        @Override
+        protected WindowWrap<PercentileCounter> resetWindowTo(WindowWrap<PercentileCounter> w, long startTime) {
+            w.resetTo(startTime);
+            w.value().reset();
+            return w;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+import com.alibaba.csp.sentinel.cluster.AsyncTokenService;
+import com.alibaba.csp.sentinel.cluster.TokenResult;
+import com.alibaba.csp.sentinel.cluster.TokenResultStatus;
+import com.alibaba.csp.sentinel.cluster.TokenService;
+import com.alibaba.csp.sentinel.log.RecordLog;
+
+/**
+ * <p>Tokens of cluster mode flow rules requested ahead of the slot chain, so that an asynchronous entry
+ * (see {@code SphU#asyncEntryAsync}) does not block its caller while waiting for the token server.</p>
+ * <p>
+ * The results are bound to the thread running the slot chain by {@link #replace(ClusterFlowTokens)},
+ * and {@link FlowRuleChecker} applies them instead of requesting the token service again. Tokens should only
+ * be requested ahead if no slot before the flow slot may block the entry, as the tokens are acquired even
+ * if the entry is blocked later by such a slot.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+public final class ClusterFlowTokens {
+
+    private static final ClusterFlowTokens NONE = new ClusterFlowTokens(Collections.<Long, TokenResult>emptyMap());
+
+    private static final ThreadLocal<ClusterFlowTokens> CURRENT = new ThreadLocal<>();
+
+    private final Map<Long, TokenResult> results;
+
+    private ClusterFlowTokens(Map<Long, TokenResult> results) {
+        this.results = results;
+    }
+
+    /**
+     * Request tokens for all cluster mode flow rules of the resource. Tokens are requested asynchronously
+     * if the token service supports it (see {@link AsyncTokenService}).
+     *
+     * @param resource     resource name
+     * @param acquireCount count to acquire
+     * @param prioritized  whether the request is prioritized
+     * @return the token results, which never completes exceptionally
+     */
+    public static CompletionStage<ClusterFlowTokens> requestAsync(String resource, int acquireCount,
+                                                                  boolean prioritized) {
+        List<FlowRule> rules = FlowRuleManager.getFlowRules(resource);
+        if (rules == null || rules.isEmpty()) {
+            return CompletableFuture.completedFuture(NONE);
+        }
+        TokenService service = null;
+        final List<Long> flowIds = new ArrayList<>();
+        final List<CompletableFuture<TokenResult>> futures = new ArrayList<>();
+        for (FlowRule rule : rules) {
+            if (!rule.isClusterMode() || rule.getLimitApp() == null) {
+                continue;
+            }
+            if (service == null) {
+                service = FlowRuleChecker.pickClusterService();
+                if (service == null) {
+                    // Cluster flow control is not available, the checker will fall back on its own.
+                    return CompletableFuture.completedFuture(NONE);
+                }
+            }
+            long flowId = rule.getClusterConfig().getFlowId();
+            flowIds.add(flowId);
+            futures.add(requestToken(service, flowId, acquireCount, prioritized));
+        }
+        if (futures.isEmpty()) {
+            return CompletableFuture.completedFuture(NONE);
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+            .thenApply(new Function<Void, ClusterFlowTokens>() {
+                @Override
+                public ClusterFlowTokens apply(Void v) {
+                    Map<Long, TokenResult> results = new HashMap<>(futures.size());
+                    for (int i = 0; i < futures.size(); i++) {
+                        results.put(flowIds.get(i), futures.get(i).join());
+                    }
+                    return new ClusterFlowTokens(results);
+                }
+            });
+    }
+
+    /**
+     * Check whether the resource has any cluster mode flow rule, i.e. whether the flow slot may request
+     * the token service.
+     *
+     * @param resource resource name
+     * @return true if the resource has cluster mode flow rules
+     */
+    public static boolean hasClusterRules(String resource) {
+        List<FlowRule> rules = FlowRuleManager.getFlowRules(resource);
+        if (rules == null) {
+            return false;
+        }
+        for (FlowRule rule : rules) {
+            if (rule.isClusterMode() && rule.getLimitApp() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static CompletableFuture<TokenResult> requestToken(TokenService service, long flowId, int acquireCount,
+                                                               boolean prioritized) {
+        try {
+            if (service instanceof AsyncTokenService) {
+                return ((AsyncTokenService)service).requestTokenAsync(flowId, acquireCount, prioritized)
+                    .toCompletableFuture()
+                    .exceptionally(new Function<Throwable, TokenResult>() {
+                        @Override
+                        public TokenResult apply(Throwable ex) {
+                            RecordLog.warn("[ClusterFlowTokens] Request cluster token unexpected failed", ex);
+                            return new TokenResult(TokenResultStatus.FAIL);
+                        }
+                    });
+            }
+            // e.g. the embedded token server, which answers without network round trip.
+            return CompletableFuture.completedFuture(service.requestToken(flowId, acquireCount, prioritized));
+        } catch (Throwable ex) {
+            RecordLog.warn("[ClusterFlowTokens] Request cluster token unexpected failed", ex);
+            return CompletableFuture.completedFuture(new TokenResult(TokenResultStatus.FAIL));
+        }
+    }
+
+    /**
+     * Bind the tokens to current thread.
+     *
+     * @param tokens tokens to bind, or null to unbind
+     * @return tokens previously bound to current thread
+     */
+    public static ClusterFlowTokens replace(ClusterFlowTokens tokens) {
+        ClusterFlowTokens previous = CURRENT.get();
+        if (tokens == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(tokens);
+        }
+        return previous;
+    }
+
+    /**
+     * Get the token result of given flow requested ahead in current thread.
+     *
+     * @param flowId cluster flow ID
+     * @return the token result, or null if not requested ahead
+     */
+    static TokenResult current(long flowId) {
+        ClusterFlowTokens tokens = CURRENT.get();
+        return tokens == null ? null : tokens.results.get(flowId);
+    }
+
+    /**
+     * Only for internal test.
+     */
+    static ClusterFlowTokens of(Map<Long, TokenResult> results) {
+        return new ClusterFlowTokens(results);
+    }
+
+    public boolean isEmpty() {
+        return results.isEmpty();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow;
+
+/**
+ * <p>Quota of a flow rule over a longer horizon than a second, e.g. 20000 per minute (intervalMs = 60000).</p>
+ * <p>
+ * Invocations are counted in a sliding window of {@code sampleCount} buckets over {@code intervalMs},
+ * so the buckets of long horizons are coarse (e.g. 6 minutes for an hour with the default sample count)
+ * and the memory cost of a quota doesn't grow with its horizon. A bucket is only dropped when all of it is
+ * older than {@code intervalMs}, so that the quota is never exceeded within any span of {@code intervalMs}.
+ * Thus the quota is actually enforced over {@code intervalMs} plus up to one bucket, e.g. between 60 and
+ * 66 minutes for an hourly quota with the default sample count.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+public class FlowQuota {
+
+    public static final int DEFAULT_SAMPLE_COUNT = 10;
+
+    /**
+     * Max count of invocations in the horizon.
+     */
+    private double count;
+
+    /**
+     * Length of the horizon in milliseconds.
+     */
+    private int intervalMs;
+
+    /**
+     * Number of buckets in the horizon. The interval should be divisible by it.
+     */
+    private int sampleCount = DEFAULT_SAMPLE_COUNT;
+
+    public FlowQuota() {}
+
+    public FlowQuota(double count, int intervalMs) {
+        this.count = count;
+        this.intervalMs = intervalMs;
+    }
+
+    public double getCount() {
+        return count;
+    }
+
+    public FlowQuota setCount(double count) {
+        this.count = count;
+        return this;
+    }
+
+    public int getIntervalMs() {
+        return intervalMs;
+    }
+
+    public FlowQuota setIntervalMs(int intervalMs) {
+        this.intervalMs = intervalMs;
+        return this;
+    }
+
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    public FlowQuota setSampleCount(int sampleCount) {
+        this.sampleCount = sampleCount;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) { return true; }
+        if (o == null || getClass() != o.getClass()) { return false; }
+
+        FlowQuota quota = (FlowQuota)o;
+
+        if (Double.compare(quota.count, count) != 0) { return false; }
+        if (intervalMs != quota.intervalMs) { return false; }
+        return sampleCount == quota.sampleCount;
+    }
+
+    @Override
+    public int hashCode() {
+        int result;
+        long temp;
+        temp = Double.doubleToLongBits(count);
+        result = (int)(temp ^ (temp >>> 32));
+        result = 31 * result + intervalMs;
+        result = 31 * result + sampleCount;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "FlowQuota{" +
+            "count=" + count +
+            ", intervalMs=" + intervalMs +
+            ", sampleCount=" + sampleCount +
+            '}';
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow;
+
+/**
+ * Blocked by one of the quotas of a flow rule (see {@link FlowRule#getQuotas()}).
+ *
+ * @since 1.8.8
+ */
+public class FlowQuotaException extends FlowException {
+
+    private final FlowQuota quota;
+
+    public FlowQuotaException(String ruleLimitApp, FlowRule rule, FlowQuota quota) {
+        super(ruleLimitApp, rule);
+        this.quota = quota;
+    }
+
+    /**
+     * Get the exceeded quota. The per second threshold of the rule ({@link FlowRule#getCount()}) is reported
+     * as a quota of 1000 ms.
+     *
+     * @return the exceeded quota
+     */
+    public FlowQuota getQuota() {
+        return quota;
+    }
+}
@@ -15,6 +15,9 @@
  */
 package com.alibaba.csp.sentinel.slots.block.flow;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.alibaba.csp.sentinel.slots.block.AbstractRule;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 
@@ -47,12 +50,12 @@ public class FlowRule extends AbstractRule {
     }
 
     /**
-     * The threshold type of flow control (0: thread count, 1: QPS).
+     * The threshold type of flow control (0: thread count, 1: QPS, 2: adaptive concurrency).
      */
     private int grade = RuleConstant.FLOW_GRADE_QPS;
 
     /**
-     * Flow control threshold count.
+     * Flow control threshold count. In adaptive concurrency grade, it's the initial concurrency limit.
      */
     private double count;
 
@@ -72,7 +75,7 @@ public class FlowRule extends AbstractRule {
 
     /**
      * Rate limiter control behavior.
-     * 0. default(reject directly), 1. warm up, 2. rate limiter, 3. warm up + rate limiter
+     * 0. default(reject directly), 1. warm up, 2. rate limiter, 3. warm up + rate limiter, 4. token bucket
      */
     private int controlBehavior = RuleConstant.CONTROL_BEHAVIOR_DEFAULT;
 
@@ -83,6 +86,31 @@ public class FlowRule extends AbstractRule {
      */
     private int maxQueueingTimeMs = 500;
 
+    /**
+     * Max tokens saved up in token bucket behavior, i.e. the max burst. 0 means the tokens of one second.
+     * The bucket belongs to the rule and is consumed by the invocations checked against it, so token bucket
+     * behavior can't be combined with {@link RuleConstant#STRATEGY_RELATE}.
+     */
+    private int burstCapacity;
+
+    /**
+     * Quotas over longer horizons than a second (e.g. per minute or per hour), checked together with the
+     * per second threshold ({@link #count}) in QPS grade.
+     */
+    private List<FlowQuota> quotas;
+
+    /**
+     * Lower and upper bounds of the concurrency limit in adaptive concurrency grade.
+     */
+    private int minConcurrency = 1;
+    private int maxConcurrency = 200;
+
+    /**
+     * Weight of the newly computed concurrency limit in adaptive concurrency grade, in {@code (0, 1]}.
+     * The smaller, the smoother the limit changes.
+     */
+    private double concurrencySmoothing = 0.2;
+
     private boolean clusterMode;
     /**
      * Flow rule config for cluster mode.
@@ -94,6 +122,12 @@ public class FlowRule extends AbstractRule {
      */
     private TrafficShapingController controller;
 
+    /**
+     * Copy of the rule taken when the controller is set, so that the controller is only reused on reload
+     * if the rule is still the same as when the controller was generated, even if it's changed in place.
+     */
+    private transient FlowRule raterConfig;
+
     public int getControlBehavior() {
         return controlBehavior;
     }
@@ -112,8 +146,84 @@ public class FlowRule extends AbstractRule {
         return this;
     }
 
+    /**
+     * @since 1.8.8
+     */
+    public int getBurstCapacity() {
+        return burstCapacity;
+    }
+
+    /**
+     * @since 1.8.8
+     */
+    public FlowRule setBurstCapacity(int burstCapacity) {
+        this.burstCapacity = burstCapacity;
+        return this;
+    }
+
+    /**
+     * @since 1.8.8
+     */
+    public List<FlowQuota> getQuotas() {
+        return quotas;
+    }
+
+    /**
+     * @since 1.8.8
+     */
+    public FlowRule setQuotas(List<FlowQuota> quotas) {
+        this.quotas = quotas;
+        return this;
+    }
+
+    /**
+     * @since 1.8.8
+     */
+    public int getMinConcurrency() {
+        return minConcurrency;
+    }
+
+    /**
+     * @since 1.8.8
+     */
+    public FlowRule setMinConcurrency(int minConcurrency) {
+        this.minConcurrency = minConcurrency;
+        return this;
+    }
+
+    /**
+     * @since 1.8.8
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @since 1.8.8
+     */
+    public FlowRule setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * @since 1.8.8
+     */
+    public double getConcurrencySmoothing() {
+        return concurrencySmoothing;
+    }
+
+    /**
+     * @since 1.8.8
+     */
+    public FlowRule setConcurrencySmoothing(double concurrencySmoothing) {
+        this.concurrencySmoothing = concurrencySmoothing;
+        return this;
+    }
+
     FlowRule setRater(TrafficShapingController rater) {
         this.controller = rater;
+        this.raterConfig = rater == null ? null : copyConfig();
         return this;
     }
 
@@ -121,6 +231,43 @@ public class FlowRule extends AbstractRule {
         return controller;
     }
 
+    /**
+     * @return copy of the rule that the controller is generated from, or null if no controller
+     * @since 1.8.8
+     */
+    FlowRule getRaterConfig() {
+        return raterConfig;
+    }
+
+    private FlowRule copyConfig() {
+        FlowRule copy = new FlowRule(getResource());
+        copy.setId(getId());
+        copy.setLimitApp(getLimitApp());
+        copy.setRegex(isRegex());
+        copy.grade = grade;
+        copy.count = count;
+        copy.strategy = strategy;
+        copy.refResource = refResource;
+        copy.controlBehavior = controlBehavior;
+        copy.warmUpPeriodSec = warmUpPeriodSec;
+        copy.maxQueueingTimeMs = maxQueueingTimeMs;
+        copy.burstCapacity = burstCapacity;
+        if (quotas != null) {
+            copy.quotas = new ArrayList<>(quotas.size());
+            for (FlowQuota quota : quotas) {
+                copy.quotas.add(quota == null ? null : new FlowQuota(quota.getCount(), quota.getIntervalMs())
+                    .setSampleCount(quota.getSampleCount()));
+            }
+        }
+        copy.minConcurrency = minConcurrency;
+        copy.maxConcurrency = maxConcurrency;
+        copy.concurrencySmoothing = concurrencySmoothing;
+        copy.clusterMode = clusterMode;
+        // The cluster config is not used by the local controller.
+        copy.clusterConfig = clusterConfig;
+        return copy;
+    }
+
     public int getWarmUpPeriodSec() {
         return warmUpPeriodSec;
     }
@@ -198,6 +345,11 @@ public class FlowRule extends AbstractRule {
         if (controlBehavior != rule.controlBehavior) { return false; }
         if (warmUpPeriodSec != rule.warmUpPeriodSec) { return false; }
         if (maxQueueingTimeMs != rule.maxQueueingTimeMs) { return false; }
+        if (burstCapacity != rule.burstCapacity) { return false; }
+        if (quotas != null ? !quotas.equals(rule.quotas) : rule.quotas != null) { return false; }
+        if (minConcurrency != rule.minConcurrency) { return false; }
+        if (maxConcurrency != rule.maxConcurrency) { return false; }
+        if (Double.compare(rule.concurrencySmoothing, concurrencySmoothing) != 0) { return false; }
         if (clusterMode != rule.clusterMode) { return false; }
         if (refResource != null ? !refResource.equals(rule.refResource) : rule.refResource != null) { return false; }
         return clusterConfig != null ? clusterConfig.equals(rule.clusterConfig) : rule.clusterConfig == null;
@@ -215,6 +367,12 @@ public class FlowRule extends AbstractRule {
         result = 31 * result + controlBehavior;
         result = 31 * result + warmUpPeriodSec;
         result = 31 * result + maxQueueingTimeMs;
+        result = 31 * result + burstCapacity;
+        result = 31 * result + (quotas != null ? quotas.hashCode() : 0);
+        result = 31 * result + minConcurrency;
+        result = 31 * result + maxConcurrency;
+        temp = Double.doubleToLongBits(concurrencySmoothing);
+        result = 31 * result + (int)(temp ^ (temp >>> 32));
         result = 31 * result + (clusterMode ? 1 : 0);
         result = 31 * result + (clusterConfig != null ? clusterConfig.hashCode() : 0);
         return result;
@@ -232,6 +390,11 @@ public class FlowRule extends AbstractRule {
             ", controlBehavior=" + controlBehavior +
             ", warmUpPeriodSec=" + warmUpPeriodSec +
             ", maxQueueingTimeMs=" + maxQueueingTimeMs +
+            ", burstCapacity=" + burstCapacity +
+            ", quotas=" + quotas +
+            ", minConcurrency=" + minConcurrency +
+            ", maxConcurrency=" + maxConcurrency +
+            ", concurrencySmoothing=" + concurrencySmoothing +
             ", clusterMode=" + clusterMode +
             ", clusterConfig=" + clusterConfig +
             ", controller=" + controller +
@@ -16,6 +16,7 @@
 package com.alibaba.csp.sentinel.slots.block.flow;
 
 import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 
 import com.alibaba.csp.sentinel.cluster.ClusterStateManager;
 import com.alibaba.csp.sentinel.cluster.server.EmbeddedClusterTokenServerProvider;
@@ -30,6 +31,7 @@ import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.MultiQuotaController;
 import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
 import com.alibaba.csp.sentinel.util.StringUtil;
 import com.alibaba.csp.sentinel.util.function.Function;
@@ -47,15 +49,31 @@ public class FlowRuleChecker {
             return;
         }
         Collection<FlowRule> rules = ruleProvider.apply(resource.getName());
+        if (rules instanceof FlowRuleIndex) {
+            // Only check the rules that may apply to the origin.
+            rules = ((FlowRuleIndex)rules).rulesFor(context.getOrigin());
+        }
         if (rules != null) {
             for (FlowRule rule : rules) {
                 if (!canPassCheck(rule, context, node, count, prioritized)) {
-                    throw new FlowException(rule.getLimitApp(), rule);
+                    throw newFlowException(rule, count);
                 }
             }
         }
     }
 
+    private static FlowException newFlowException(FlowRule rule, int acquireCount) {
+        TrafficShapingController rater = rule.getRater();
+        if (rater instanceof MultiQuotaController) {
+            // Find out the exceeded horizon, only on the block path.
+            FlowQuota quota = ((MultiQuotaController)rater).exceededQuota(acquireCount);
+            if (quota != null) {
+                return new FlowQuotaException(rule.getLimitApp(), rule, quota);
+            }
+        }
+        return new FlowException(rule.getLimitApp(), rule);
+    }
+
     public boolean canPassCheck(/*@NonNull*/ FlowRule rule, Context context, DefaultNode node,
                                                     int acquireCount) {
         return canPassCheck(rule, context, node, acquireCount, false);
@@ -181,12 +199,16 @@ public class FlowRuleChecker {
     private static boolean passClusterCheck(FlowRule rule, Context context, DefaultNode node, int acquireCount,
                                             boolean prioritized) {
         try {
-            TokenService clusterService = pickClusterService();
-            if (clusterService == null) {
-                return fallbackToLocalOrPass(rule, context, node, acquireCount, prioritized);
-            }
             long flowId = rule.getClusterConfig().getFlowId();
-            TokenResult result = clusterService.requestToken(flowId, acquireCount, prioritized);
+            // The token may have been requested ahead by an asynchronous entry.
+            TokenResult result = ClusterFlowTokens.current(flowId);
+            if (result == null) {
+                TokenService clusterService = pickClusterService();
+                if (clusterService == null) {
+                    return fallbackToLocalOrPass(rule, context, node, acquireCount, prioritized);
+                }
+                result = clusterService.requestToken(flowId, acquireCount, prioritized);
+            }
             return applyTokenResult(result, rule, context, node, acquireCount, prioritized);
             // If client is absent, then fallback to local mode.
         } catch (Throwable ex) {
@@ -207,7 +229,7 @@ public class FlowRuleChecker {
         }
     }
 
-    private static TokenService pickClusterService() {
+    static TokenService pickClusterService() {
         if (ClusterStateManager.isClient()) {
             return TokenClientProvider.getClient();
         }
@@ -225,6 +247,9 @@ public class FlowRuleChecker {
                 return true;
             case TokenResultStatus.SHOULD_WAIT:
                 // Wait for next tick.
+                if (QueueingWait.defer(TimeUnit.MILLISECONDS.toNanos(result.getWaitInMs()))) {
+                    return true;
+                }
                 try {
                     Thread.sleep(result.getWaitInMs());
                 } catch (InterruptedException e) {
@@ -0,0 +1,123 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.util.StringUtil;
+
+/**
+ * <p>Flow rules of a resource, compiled into buckets by the origin of requests.</p>
+ * <p>
+ * The bucket of an origin only contains the rules that may apply to the origin (see
+ * {@link FlowRuleChecker#selectNodeByRequesterAndStrategy}): rules of the specific origin and {@code default}
+ * rules for origins with specific rules, {@code default} and {@code other} rules for other origins, and only
+ * {@code default} rules for empty origin. Cluster rules are included in all the buckets, as the token is
+ * requested regardless of the origin. The rules in each bucket keep their order in all the rules.
+ * </p>
+ * <p>The index is immutable, and rebuilt by {@link FlowRuleManager} when rules change.</p>
+ *
+ * @since 1.8.8
+ */
+final class FlowRuleIndex extends AbstractList<FlowRule> {
+
+    static final FlowRuleIndex EMPTY = new FlowRuleIndex(Collections.<FlowRule>emptyList());
+
+    private final List<FlowRule> rules;
+    private final Set<String> limitApps;
+    private final Map<String, List<FlowRule>> originRules;
+    private final List<FlowRule> emptyOriginRules;
+    private final List<FlowRule> otherOriginRules;
+
+    FlowRuleIndex(List<FlowRule> rules) {
+        this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+        Set<String> limitApps = new HashSet<>();
+        for (FlowRule rule : rules) {
+            if (rule.getLimitApp() != null) {
+                limitApps.add(rule.getLimitApp());
+            }
+        }
+        Map<String, List<FlowRule>> originRules = new HashMap<>(limitApps.size());
+        for (String limitApp : limitApps) {
+            originRules.put(limitApp, rulesOf(rules, limitApp, false));
+        }
+        this.limitApps = limitApps;
+        this.originRules = originRules;
+        this.emptyOriginRules = rulesOf(rules, null, false);
+        this.otherOriginRules = rulesOf(rules, null, true);
+    }
+
+    private static List<FlowRule> rulesOf(List<FlowRule> rules, String origin, boolean otherOrigin) {
+        List<FlowRule> result = new ArrayList<>();
+        for (FlowRule rule : rules) {
+            String limitApp = rule.getLimitApp();
+            if (limitApp == null) {
+                // Never checked.
+                continue;
+            }
+            if (rule.isClusterMode()
+                || (limitApp.equals(origin) && !RuleConstant.LIMIT_APP_DEFAULT.equals(origin)
+                    && !RuleConstant.LIMIT_APP_OTHER.equals(origin))
+                || RuleConstant.LIMIT_APP_DEFAULT.equals(limitApp)
+                || (otherOrigin && RuleConstant.LIMIT_APP_OTHER.equals(limitApp))) {
+                result.add(rule);
+            }
+        }
+        return result.isEmpty() ? Collections.<FlowRule>emptyList() : Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Get the rules that may apply to requests from given origin.
+     *
+     * @param origin origin of the request
+     * @return rules in the order of all the rules
+     */
+    List<FlowRule> rulesFor(String origin) {
+        if (StringUtil.isEmpty(origin)) {
+            return emptyOriginRules;
+        }
+        List<FlowRule> result = originRules.get(origin);
+        return result != null ? result : otherOriginRules;
+    }
+
+    /**
+     * Check whether given origin is matched by the {@code other} rules, i.e. no rule limits the origin specifically.
+     *
+     * @param origin origin of the request
+     * @return whether the origin is "other" origin
+     */
+    boolean isOtherOrigin(String origin) {
+        return !StringUtil.isEmpty(origin) && !limitApps.contains(origin);
+    }
+
+    @Override
+    public FlowRule get(int index) {
+        return rules.get(index);
+    }
+
+    @Override
+    public int size() {
+        return rules.size();
+    }
+}
@@ -22,14 +22,20 @@ import com.alibaba.csp.sentinel.node.metric.MetricTimerListener;
 import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
 import com.alibaba.csp.sentinel.property.PropertyListener;
 import com.alibaba.csp.sentinel.property.SentinelProperty;
+import com.alibaba.csp.sentinel.slotchain.ActiveSlots;
 import com.alibaba.csp.sentinel.slots.block.RuleManager;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.AdaptiveConcurrencyController;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.StringUtil;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -49,7 +55,12 @@ import java.util.concurrent.TimeUnit;
  */
 public class FlowRuleManager {
 
-    private static volatile RuleManager<FlowRule> flowRules = new RuleManager<>();
+    /**
+     * Loaded rules together with the rules of each resource compiled by origin,
+     * replaced as a whole when rules change.
+     */
+    private static volatile LoadedRules loadedRules = new LoadedRules(new RuleManager<FlowRule>(),
+        new ConcurrentHashMap<String, FlowRuleIndex>());
 
     private static final FlowPropertyListener LISTENER = new FlowPropertyListener();
     private static SentinelProperty<List<FlowRule>> currentProperty = new DynamicSentinelProperty<List<FlowRule>>();
@@ -106,7 +117,7 @@ public class FlowRuleManager {
      * @return a new copy of the rules.
      */
     public static List<FlowRule> getRules() {
-        return flowRules.getRules();
+        return loadedRules.flowRules.getRules();
     }
 
     /**
@@ -119,46 +130,124 @@ public class FlowRuleManager {
     }
 
     static List<FlowRule> getFlowRules(String resource) {
-        return flowRules.getRules(resource);
+        return loadedRules.flowRules.getRules(resource);
     }
 
-    public static boolean hasConfig(String resource) {
-        return flowRules.hasConfig(resource);
+    /**
+     * Get the rules of given resource, compiled by origin.
+     *
+     * @param resource resource name
+     * @return the compiled rules of the resource
+     * @since 1.8.8
+     */
+    static FlowRuleIndex getFlowRuleIndex(String resource) {
+        LoadedRules loaded = loadedRules;
+        Map<String, FlowRuleIndex> indexes = loaded.ruleIndexes;
+        FlowRuleIndex index = indexes.get(resource);
+        if (index != null) {
+            return index;
+        }
+        List<FlowRule> rules = loaded.flowRules.getRules(resource);
+        if (rules.isEmpty()) {
+            return FlowRuleIndex.EMPTY;
+        }
+        // e.g. resources matched by regex rules.
+        index = new FlowRuleIndex(rules);
+        indexes.put(resource, index);
+        return index;
     }
 
-    public static boolean isOtherOrigin(String origin, String resourceName) {
-        if (StringUtil.isEmpty(origin)) {
-            return false;
+    /**
+     * Build the rules and their indexes aside, then publish them at once, so that entries never see
+     * part of the new rules. Controllers of the rules that stay unchanged are kept.
+     */
+    private static Map<String, List<FlowRule>> reloadRules(List<FlowRule> list) {
+        List<FlowRule> previousRules = getRules();
+        Set<TrafficShapingController> previousRaters = Collections.newSetFromMap(
+            new IdentityHashMap<TrafficShapingController, Boolean>());
+        for (FlowRule rule : previousRules) {
+            if (rule.getRater() != null) {
+                previousRaters.add(rule.getRater());
+            }
         }
+        Map<String, List<FlowRule>> rules = FlowRuleUtil.rebuildFlowRuleMap(list, previousRules);
+        RuleManager<FlowRule> flowRules = new RuleManager<>();
+        flowRules.updateRules(rules);
+        Map<String, FlowRuleIndex> indexes = new ConcurrentHashMap<>();
+        for (Map.Entry<String, List<FlowRule>> entry : rules.entrySet()) {
+            if (hasSimpleRule(entry.getValue())) {
+                String resource = entry.getKey();
+                indexes.put(resource, new FlowRuleIndex(flowRules.getRules(resource)));
+            }
+        }
+        loadedRules = new LoadedRules(flowRules, indexes);
+        // Slot chains may have re-evaluated with the former rules before they were replaced.
+        ActiveSlots.invalidate();
+        releaseDroppedRaters(previousRaters, rules);
+        return rules;
+    }
 
-        List<FlowRule> rules = flowRules.getRules(resourceName);
+    /**
+     * Clear the state that the controllers of removed or changed rules have published on the nodes.
+     */
+    private static void releaseDroppedRaters(Set<TrafficShapingController> previousRaters,
+                                             Map<String, List<FlowRule>> rules) {
+        for (List<FlowRule> resourceRules : rules.values()) {
+            for (FlowRule rule : resourceRules) {
+                previousRaters.remove(rule.getRater());
+            }
+        }
+        for (TrafficShapingController rater : previousRaters) {
+            if (rater instanceof AdaptiveConcurrencyController) {
+                ((AdaptiveConcurrencyController)rater).release();
+            }
+        }
+    }
 
-        if (rules != null) {
-            for (FlowRule rule : rules) {
-                if (origin.equals(rule.getLimitApp())) {
-                    return false;
-                }
+    private static boolean hasSimpleRule(List<FlowRule> rules) {
+        for (FlowRule rule : rules) {
+            if (!rule.isRegex()) {
+                return true;
             }
         }
+        return false;
+    }
+
+    public static boolean hasConfig(String resource) {
+        return loadedRules.flowRules.hasConfig(resource);
+    }
 
-        return true;
+    public static boolean isOtherOrigin(String origin, String resourceName) {
+        if (StringUtil.isEmpty(origin)) {
+            return false;
+        }
+        return getFlowRuleIndex(resourceName).isOtherOrigin(origin);
     }
 
     private static final class FlowPropertyListener implements PropertyListener<List<FlowRule>> {
 
         @Override
         public synchronized void configUpdate(List<FlowRule> value) {
-            Map<String, List<FlowRule>> rules = FlowRuleUtil.buildFlowRuleMap(value);
-            flowRules.updateRules(rules);
+            Map<String, List<FlowRule>> rules = reloadRules(value);
             RecordLog.info("[FlowRuleManager] Flow rules received: {}", rules);
         }
 
         @Override
         public synchronized void configLoad(List<FlowRule> conf) {
-            Map<String, List<FlowRule>> rules = FlowRuleUtil.buildFlowRuleMap(conf);
-            flowRules.updateRules(rules);
+            Map<String, List<FlowRule>> rules = reloadRules(conf);
             RecordLog.info("[FlowRuleManager] Flow rules loaded: {}", rules);
         }
     }
 
+    private static final class LoadedRules {
+
+        private final RuleManager<FlowRule> flowRules;
+        private final Map<String, FlowRuleIndex> ruleIndexes;
+
+        private LoadedRules(RuleManager<FlowRule> flowRules, Map<String, FlowRuleIndex> ruleIndexes) {
+            this.flowRules = flowRules;
+            this.ruleIndexes = ruleIndexes;
+        }
+    }
+
 }
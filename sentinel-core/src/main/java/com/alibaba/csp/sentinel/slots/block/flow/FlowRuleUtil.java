@@ -19,8 +19,11 @@ import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.slots.block.ClusterRuleConstant;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.block.RuleManager;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.AdaptiveConcurrencyController;
 import com.alibaba.csp.sentinel.slots.block.flow.controller.DefaultController;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.MultiQuotaController;
 import com.alibaba.csp.sentinel.slots.block.flow.controller.ThrottlingController;
+import com.alibaba.csp.sentinel.slots.block.flow.controller.TokenBucketController;
 import com.alibaba.csp.sentinel.slots.block.flow.controller.WarmUpController;
 import com.alibaba.csp.sentinel.slots.block.flow.controller.WarmUpRateLimiterController;
 import com.alibaba.csp.sentinel.util.StringUtil;
@@ -83,6 +86,42 @@ public final class FlowRuleUtil {
      */
     public static <K> Map<K, List<FlowRule>> buildFlowRuleMap(List<FlowRule> list, Function<FlowRule, K> groupFunction,
                                                               Predicate<FlowRule> filter, boolean shouldSort) {
+        return buildFlowRuleMap(list, groupFunction, filter, shouldSort,
+            Collections.<FlowRule, TrafficShapingController>emptyMap());
+    }
+
+    /**
+     * <p>Build the flow rule map from raw list of flow rules, grouping by resource name.</p>
+     * <p>
+     * Different from {@link #buildFlowRuleMap(List)}, rules that are equal to one of the previous rules (as they
+     * were when their controllers were generated) keep the traffic shaping controller of the previous rule,
+     * so that the state of the controller
+     * (e.g. stored tokens of warm-up, latest passed time of throttling) survives the reload.
+     * Only new or changed rules get new controllers.
+     * </p>
+     *
+     * @param list          raw list of flow rules
+     * @param previousRules rules loaded previously, whose controllers can be reused
+     * @return constructed new flow rule map; empty map if list is null or empty, or no valid rules
+     * @since 1.8.8
+     */
+    public static Map<String, List<FlowRule>> rebuildFlowRuleMap(List<FlowRule> list,
+                                                                 Collection<FlowRule> previousRules) {
+        Map<FlowRule, TrafficShapingController> reusableRaters = new HashMap<>();
+        if (previousRules != null) {
+            for (FlowRule rule : previousRules) {
+                // Rules may have been changed in place after loaded, so match against the config of the controller.
+                if (rule.getRater() != null && rule.getRaterConfig() != null) {
+                    reusableRaters.put(rule.getRaterConfig(), rule.getRater());
+                }
+            }
+        }
+        return buildFlowRuleMap(list, extractResource, null, true, reusableRaters);
+    }
+
+    private static <K> Map<K, List<FlowRule>> buildFlowRuleMap(List<FlowRule> list, Function<FlowRule, K> groupFunction,
+                                                               Predicate<FlowRule> filter, boolean shouldSort,
+                                                               Map<FlowRule, TrafficShapingController> reusableRaters) {
         Map<K, List<FlowRule>> newRuleMap = new ConcurrentHashMap<>();
         if (list == null || list.isEmpty()) {
             return newRuleMap;
@@ -100,7 +139,10 @@ public final class FlowRuleUtil {
             if (StringUtil.isBlank(rule.getLimitApp())) {
                 rule.setLimitApp(RuleConstant.LIMIT_APP_DEFAULT);
             }
-            TrafficShapingController rater = generateRater(rule);
+            TrafficShapingController rater = reusableRaters.get(rule);
+            if (rater == null) {
+                rater = generateRater(rule);
+            }
             rule.setRater(rater);
 
             K key = groupFunction.apply(rule);
@@ -131,7 +173,14 @@ public final class FlowRuleUtil {
     }
 
     private static TrafficShapingController generateRater(/*@Valid*/ FlowRule rule) {
+        if (rule.getGrade() == RuleConstant.FLOW_GRADE_ADAPTIVE_CONCURRENCY) {
+            return new AdaptiveConcurrencyController(rule.getCount(), rule.getMinConcurrency(),
+                rule.getMaxConcurrency(), rule.getConcurrencySmoothing());
+        }
         if (rule.getGrade() == RuleConstant.FLOW_GRADE_QPS) {
+            if (hasQuotas(rule)) {
+                return new MultiQuotaController(rule.getCount(), rule.getQuotas());
+            }
             switch (rule.getControlBehavior()) {
                 case RuleConstant.CONTROL_BEHAVIOR_WARM_UP:
                     return new WarmUpController(rule.getCount(), rule.getWarmUpPeriodSec(),
@@ -141,6 +190,8 @@ public final class FlowRuleUtil {
                 case RuleConstant.CONTROL_BEHAVIOR_WARM_UP_RATE_LIMITER:
                     return new WarmUpRateLimiterController(rule.getCount(), rule.getWarmUpPeriodSec(),
                             rule.getMaxQueueingTimeMs(), ColdFactorProperty.coldFactor);
+                case RuleConstant.CONTROL_BEHAVIOR_TOKEN_BUCKET:
+                    return new TokenBucketController(rule.getCount(), rule.getBurstCapacity());
                 case RuleConstant.CONTROL_BEHAVIOR_DEFAULT:
                 default:
                     // Default mode or unknown mode: default traffic shaping controller (fast-reject).
@@ -176,9 +227,12 @@ public final class FlowRuleUtil {
         }
         if (rule.getGrade() == RuleConstant.FLOW_GRADE_QPS) {
             // Check strategy and control (shaping) behavior.
-            return checkClusterField(rule) && checkStrategyField(rule) && checkControlBehaviorField(rule);
+            return checkClusterField(rule) && checkStrategyField(rule) && checkControlBehaviorField(rule)
+                && checkQuotasField(rule);
         } else if (rule.getGrade() == RuleConstant.FLOW_GRADE_THREAD) {
-            return checkClusterConcurrentField(rule);
+            return !hasQuotas(rule) && checkClusterConcurrentField(rule);
+        } else if (rule.getGrade() == RuleConstant.FLOW_GRADE_ADAPTIVE_CONCURRENCY) {
+            return !hasQuotas(rule) && !rule.isClusterMode() && checkAdaptiveConcurrencyField(rule);
         } else {
             return false;
         }
@@ -259,11 +313,44 @@ public final class FlowRuleUtil {
                 return rule.getMaxQueueingTimeMs() > 0;
             case RuleConstant.CONTROL_BEHAVIOR_WARM_UP_RATE_LIMITER:
                 return rule.getWarmUpPeriodSec() > 0 && rule.getMaxQueueingTimeMs() > 0;
+            case RuleConstant.CONTROL_BEHAVIOR_TOKEN_BUCKET:
+                // The bucket never reads the node, so it can't react to the traffic of a related resource.
+                return rule.getBurstCapacity() >= 0 && rule.getStrategy() != RuleConstant.STRATEGY_RELATE;
             default:
                 return true;
         }
     }
 
+    private static boolean checkAdaptiveConcurrencyField(/*@NonNull*/ FlowRule rule) {
+        return rule.getMinConcurrency() > 0 && rule.getMaxConcurrency() >= rule.getMinConcurrency()
+            && rule.getConcurrencySmoothing() > 0 && rule.getConcurrencySmoothing() <= 1;
+    }
+
+    private static boolean hasQuotas(/*@NonNull*/ FlowRule rule) {
+        return rule.getQuotas() != null && !rule.getQuotas().isEmpty();
+    }
+
+    private static boolean checkQuotasField(/*@NonNull*/ FlowRule rule) {
+        if (!hasQuotas(rule)) {
+            return true;
+        }
+        // Quotas can't be combined with traffic shaping.
+        if (rule.getControlBehavior() != RuleConstant.CONTROL_BEHAVIOR_DEFAULT) {
+            return false;
+        }
+        // Quotas count the invocations checked against the rule, rather than the traffic of a related resource.
+        if (rule.getStrategy() == RuleConstant.STRATEGY_RELATE) {
+            return false;
+        }
+        for (FlowQuota quota : rule.getQuotas()) {
+            if (quota == null || quota.getCount() < 0 || quota.getIntervalMs() <= 0 || quota.getSampleCount() <= 0
+                || quota.getIntervalMs() % quota.getSampleCount() != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static final Function<FlowRule, String> extractResource = new Function<FlowRule, String>() {
         @Override
         public String apply(FlowRule rule) {
@@ -20,6 +20,7 @@ import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.SkippableSlot;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.spi.Spi;
 import com.alibaba.csp.sentinel.util.AssertUtil;
@@ -137,7 +138,7 @@ import java.util.Collection;
  * @author Eric Zhao
  */
 @Spi(order = Constants.ORDER_FLOW_SLOT)
-public class FlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
+public class FlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> implements SkippableSlot {
 
     private final FlowRuleChecker checker;
 
@@ -177,7 +178,17 @@ public class FlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
     private final Function<String, Collection<FlowRule>> ruleProvider = new Function<String, Collection<FlowRule>>() {
         @Override
         public Collection<FlowRule> apply(String resource) {
-            return FlowRuleManager.getFlowRules(resource);
+            return FlowRuleManager.getFlowRuleIndex(resource);
         }
     };
+
+    @Override
+    public boolean isActive(ResourceWrapper resourceWrapper, boolean blockingDownstream) {
+        return FlowRuleManager.hasConfig(resourceWrapper.getName());
+    }
+
+    @Override
+    public boolean mayBlock() {
+        return true;
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+
+/**
+ * Helper for flow controllers that queue requests, to hand the waiting time over to the caller
+ * when the current context defers queueing (see {@link Context#setDeferQueueing(boolean)}).
+ *
+ * @since 1.8.8
+ */
+public final class QueueingWait {
+
+    /**
+     * Record the waiting time to current entry if queueing is deferred by current context.
+     *
+     * @param waitNanos time to wait in nanoseconds
+     * @return true if the waiting time has been deferred to the caller, otherwise current thread should wait
+     */
+    public static boolean defer(long waitNanos) {
+        Context context = ContextUtil.getContext();
+        if (context == null || !context.isDeferQueueing()) {
+            return false;
+        }
+        Entry curEntry = context.getCurEntry();
+        if (curEntry == null) {
+            return false;
+        }
+        curEntry.addQueueingDelayNanos(waitNanos);
+        return true;
+    }
+
+    /**
+     * Get the shared scheduler to complete asynchronous requests after their queueing delay.
+     * The scheduler is created on first use.
+     *
+     * @return the delay scheduler
+     */
+    public static ScheduledExecutorService delayScheduler() {
+        return DelaySchedulerHolder.SCHEDULER;
+    }
+
+    private static final class DelaySchedulerHolder {
+        @SuppressWarnings("PMD.ThreadPoolCreationRule")
+        private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+            new NamedThreadFactory("sentinel-queueing-delay-task", true));
+    }
+
+    private QueueingWait() {}
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.csp.sentinel.node.IntervalProperty;
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.node.SampleCountProperty;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * <p>
+ * Concurrency limit of {@link RuleConstant#FLOW_GRADE_ADAPTIVE_CONCURRENCY}, adjusted according to the response
+ * time in the way of gradient (and Vegas) algorithms, instead of being fixed as in thread grade.
+ * </p>
+ * <p>
+ * Once per sliding window bucket, the gradient {@code noLoadRt * tolerance / avgRt} (bounded in [0.5, 1]) of the node
+ * is taken to scale the limit, which is then given a headroom of {@code sqrt(limit)} for probing, i.e.
+ * {@code newLimit = limit * gradient + sqrt(limit)}. When the response time is stable the limit grows, and when
+ * requests start to queue up (the average RT rises above the no-load RT) the limit shrinks. The new limit is
+ * smoothed with previous one and kept within the bounds of the rule. The limit doesn't grow when less than half of it
+ * is in use, so that it won't drift far from the real capacity under light load.
+ * </p>
+ * <p>
+ * The no-load RT is a long-lived baseline rather than the minimal RT of current window, which rises together with
+ * the average RT under sustained queueing. It follows a lower minimal RT at once, and drifts slowly towards a higher
+ * one, so that a real change of the service latency is eventually learned.
+ * </p>
+ * <p>
+ * The limit is updated by a single caller (who wins the CAS on the update time) without locking, while other
+ * callers go on with previous limit. The limit is published on the checked nodes (see {@link Node#concurrencyLimit()})
+ * until the controller is released by a rule reload.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+public class AdaptiveConcurrencyController implements TrafficShapingController {
+
+    /**
+     * The average RT may be up to 1.5 times the minimal RT before the limit starts to shrink.
+     */
+    static final double RT_TOLERANCE = 1.5;
+    static final double MIN_GRADIENT = 0.5;
+    /**
+     * Ratio by which the no-load RT moves towards a higher minimal RT on each update, i.e. it takes about
+     * 100 updates (50 seconds with default sliding window) to learn a higher service latency.
+     */
+    static final double NO_LOAD_RT_DRIFT = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+
+    private volatile double estimatedLimit;
+    private volatile double noLoadRt;
+    private final AtomicLong lastUpdateTime = new AtomicLong(TimeUtil.currentTimeMillis());
+
+    /**
+     * Nodes on which the limit has been published, which are cleared on release.
+     */
+    private final Set<Node> limitedNodes = Collections.newSetFromMap(new ConcurrentHashMap<Node, Boolean>());
+    private volatile boolean released = false;
+
+    public AdaptiveConcurrencyController(double initialLimit, int minLimit, int maxLimit, double smoothing) {
+        AssertUtil.assertTrue(minLimit > 0, "minLimit should be positive");
+        AssertUtil.assertTrue(maxLimit >= minLimit, "maxLimit should not be less than minLimit");
+        AssertUtil.assertTrue(smoothing > 0 && smoothing <= 1, "smoothing should be in (0, 1]");
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.estimatedLimit = bound(initialLimit);
+    }
+
+    @Override
+    public boolean canPass(Node node, int acquireCount) {
+        return canPass(node, acquireCount, false);
+    }
+
+    @Override
+    public boolean canPass(Node node, int acquireCount, boolean prioritized) {
+        int limit = currentLimit(node);
+        return node.curThreadNum() + acquireCount <= limit;
+    }
+
+    private int currentLimit(Node node) {
+        long currentTime = TimeUtil.currentTimeMillis();
+        long lastTime = lastUpdateTime.get();
+        if (currentTime - lastTime >= IntervalProperty.INTERVAL / SampleCountProperty.SAMPLE_COUNT
+            && lastUpdateTime.compareAndSet(lastTime, currentTime)) {
+            estimatedLimit = nextLimit(node, estimatedLimit);
+            int limit = (int)estimatedLimit;
+            // Record the limit in each bucket, so that the metric log gets the limit in effect every second.
+            publishLimit(node, limit);
+            return limit;
+        }
+        int limit = (int)estimatedLimit;
+        if (node.concurrencyLimit() != limit) {
+            publishLimit(node, limit);
+        }
+        return limit;
+    }
+
+    private void publishLimit(Node node, int limit) {
+        if (released) {
+            return;
+        }
+        node.setConcurrencyLimit(limit);
+        limitedNodes.add(node);
+    }
+
+    /**
+     * Stop publishing the limit and clear it on the nodes, when the rule is removed or replaced.
+     */
+    public void release() {
+        released = true;
+        for (Node node : limitedNodes) {
+            node.setConcurrencyLimit(0);
+        }
+        limitedNodes.clear();
+    }
+
+    private double nextLimit(Node node, double limit) {
+        if (node.successQps() <= 0) {
+            // No completed requests to learn from.
+            return limit;
+        }
+        // RT is recorded in milliseconds, so treat sub-millisecond RT as 1 ms.
+        double rt = Math.max(node.avgRt(), 1);
+        double baseline = updateNoLoadRt(Math.max(node.minRt(), 1));
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, RT_TOLERANCE * baseline / rt));
+        if (gradient >= 1.0 && node.curThreadNum() < limit / 2) {
+            // Not limited by current limit, so there's nothing to learn from the RT.
+            return limit;
+        }
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        return bound((1 - smoothing) * limit + smoothing * newLimit);
+    }
+
+    private double updateNoLoadRt(double minRt) {
+        double baseline = noLoadRt;
+        if (baseline <= 0 || minRt <= baseline) {
+            baseline = minRt;
+        } else {
+            baseline += (minRt - baseline) * NO_LOAD_RT_DRIFT;
+        }
+        noLoadRt = baseline;
+        return baseline;
+    }
+
+    private double bound(double limit) {
+        return Math.min(maxLimit, Math.max(minLimit, limit));
+    }
+
+    /**
+     * Only for internal test.
+     */
+    double getEstimatedLimit() {
+        return estimatedLimit;
+    }
+
+    /**
+     * Only for internal test.
+     */
+    double getNoLoadRt() {
+        return noLoadRt;
+    }
+}
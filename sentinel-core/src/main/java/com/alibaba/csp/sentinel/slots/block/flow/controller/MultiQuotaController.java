@@ -0,0 +1,150 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowQuota;
+import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
+import com.alibaba.csp.sentinel.slots.statistic.base.UnaryLeapArray;
+import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * <p>Traffic shaping controller that limits invocations over several horizons at once,
+ * e.g. 500 per second, 20000 per minute and 1000000 per hour.</p>
+ * <p>
+ * Each horizon has its own sliding window counter. The invocation is reserved in each horizon and checked
+ * against its quota, and the reservations are rolled back as soon as one of the quotas is exceeded, so that
+ * concurrent callers can never pass over a quota together (under contention, an invocation may be blocked by
+ * the reservation of another one that is rolled back afterwards). The counters belong to the rule rather than
+ * to the statistic node, so they count all invocations checked against the rule, regardless of the node
+ * (thus quotas can't be combined with {@link com.alibaba.csp.sentinel.slots.block.RuleConstant#STRATEGY_RELATE}).
+ * </p>
+ * <p>
+ * A bucket leaves the horizon only when all of it is older than the interval, so any span of the interval
+ * admits at most the quota. In other words, the quota is enforced over a horizon between the interval and the
+ * interval plus a bucket (see {@link FlowQuota}).
+ * </p>
+ *
+ * @since 1.8.8
+ */
+public class MultiQuotaController implements TrafficShapingController {
+
+    private static final int SECOND_INTERVAL_MS = 1000;
+
+    private final FlowQuota[] quotas;
+    private final QuotaCounter[] counters;
+
+    /**
+     * @param count  threshold per second
+     * @param quotas quotas over longer horizons
+     */
+    public MultiQuotaController(double count, List<FlowQuota> quotas) {
+        List<FlowQuota> all = new ArrayList<>(quotas.size() + 1);
+        all.add(new FlowQuota(count, SECOND_INTERVAL_MS));
+        all.addAll(quotas);
+        this.quotas = all.toArray(new FlowQuota[0]);
+        this.counters = new QuotaCounter[this.quotas.length];
+        for (int i = 0; i < this.quotas.length; i++) {
+            this.counters[i] = new QuotaCounter(this.quotas[i].getSampleCount(), this.quotas[i].getIntervalMs());
+        }
+    }
+
+    @Override
+    public boolean canPass(Node node, int acquireCount) {
+        return canPass(node, acquireCount, false);
+    }
+
+    @Override
+    public boolean canPass(Node node, int acquireCount, boolean prioritized) {
+        long now = TimeUtil.currentTimeMillis();
+        for (int i = 0; i < counters.length; i++) {
+            if (counters[i].addAndSum(now, acquireCount) > quotas[i].getCount()) {
+                // Roll back the reservations, including the one that exceeded.
+                for (int j = 0; j <= i; j++) {
+                    counters[j].add(now, -acquireCount);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find the quota that would be exceeded by given count.
+     *
+     * @param acquireCount count to acquire
+     * @return the first exceeded quota (horizons in ascending order as configured), or null if none
+     */
+    public FlowQuota exceededQuota(int acquireCount) {
+        return exceededQuota(TimeUtil.currentTimeMillis(), acquireCount);
+    }
+
+    private FlowQuota exceededQuota(long now, int acquireCount) {
+        for (int i = 0; i < counters.length; i++) {
+            if (counters[i].sum(now) + acquireCount > quotas[i].getCount()) {
+                return quotas[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the count of invocations in the horizon of given quota.
+     *
+     * @param index index of the quota, where 0 is the per second threshold
+     * @return count in the current horizon
+     */
+    public long currentCount(int index) {
+        return counters[index].sum(TimeUtil.currentTimeMillis());
+    }
+
+    private static final class QuotaCounter extends UnaryLeapArray {
+
+        /**
+         * One more bucket than the quota, so that the oldest bucket is kept until all of it leaves the horizon.
+         */
+        QuotaCounter(int sampleCount, int intervalInMs) {
+            super(sampleCount + 1, intervalInMs / sampleCount * (sampleCount + 1));
+        }
+
+        void add(long now, int count) {
+            currentWindow(now).value().add(count);
+        }
+
+        long addAndSum(long now, int count) {
+            add(now, count);
+            return sum(now);
+        }
+
+        long sum(long now) {
+            long sum = 0;
+            // Iterate the buckets in place, rather than collecting the valid ones. The buckets started within
+            // the quota interval plus a bucket are counted, so that the quota errs on the safe side.
+            for (int i = 0; i < array.length(); i++) {
+                WindowWrap<LongAdder> windowWrap = array.get(i);
+                if (windowWrap != null && now - windowWrap.windowStart() < intervalInMs) {
+                    sum += windowWrap.value().sum();
+                }
+            }
+            return sum;
+        }
+    }
+}
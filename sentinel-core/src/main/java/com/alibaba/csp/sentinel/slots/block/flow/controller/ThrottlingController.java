@@ -15,11 +15,15 @@
  */
 package com.alibaba.csp.sentinel.slots.block.flow.controller;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.LockSupport;
 
 import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slots.block.flow.QueueingWait;
 import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.TimeUtil;
@@ -35,6 +39,13 @@ public class ThrottlingController implements TrafficShapingController {
 
     private static final long MS_TO_NS_OFFSET = TimeUnit.MILLISECONDS.toNanos(1);
 
+    /**
+     * Returned by {@link #tryReserve(int)} when the request should be blocked.
+     *
+     * @since 1.8.8
+     */
+    public static final long REJECTED = -1;
+
     private final int maxQueueingTimeMs;
     private final int statDurationMs;
 
@@ -67,9 +78,9 @@ public class ThrottlingController implements TrafficShapingController {
         return canPass(node, acquireCount, false);
     }
 
-    private boolean checkPassUsingNanoSeconds(int acquireCount, double maxCountPerStat) {
+    private long reserveUsingNanoSeconds(int acquireCount, double maxCountPerStat) {
         final long maxQueueingTimeNs = maxQueueingTimeMs * MS_TO_NS_OFFSET;
-        long currentTime = System.nanoTime();
+        long currentTime = TimeUtil.nanoTime();
         // Calculate the interval between every two requests.
         final long costTimeNs = Math.round(1.0d * MS_TO_NS_OFFSET * statDurationMs * acquireCount / maxCountPerStat);
 
@@ -79,30 +90,27 @@ public class ThrottlingController implements TrafficShapingController {
         if (expectedTime <= currentTime) {
             // Contention may exist here, but it's okay.
             latestPassedTime.set(currentTime);
-            return true;
+            return 0;
         } else {
-            final long curNanos = System.nanoTime();
+            final long curNanos = TimeUtil.nanoTime();
             // Calculate the time to wait.
             long waitTime = costTimeNs + latestPassedTime.get() - curNanos;
             if (waitTime > maxQueueingTimeNs) {
-                return false;
+                return REJECTED;
             }
 
             long oldTime = latestPassedTime.addAndGet(costTimeNs);
             waitTime = oldTime - curNanos;
             if (waitTime > maxQueueingTimeNs) {
                 latestPassedTime.addAndGet(-costTimeNs);
-                return false;
+                return REJECTED;
             }
             // in race condition waitTime may <= 0
-            if (waitTime > 0) {
-                sleepNanos(waitTime);
-            }
-            return true;
+            return Math.max(waitTime, 0);
         }
     }
 
-    private boolean checkPassUsingCachedMs(int acquireCount, double maxCountPerStat) {
+    private long reserveUsingCachedMs(int acquireCount, double maxCountPerStat) {
         long currentTime = TimeUtil.currentTimeMillis();
         // Calculate the interval between every two requests.
         long costTime = Math.round(1.0d * statDurationMs * acquireCount / maxCountPerStat);
@@ -113,25 +121,22 @@ public class ThrottlingController implements TrafficShapingController {
         if (expectedTime <= currentTime) {
             // Contention may exist here, but it's okay.
             latestPassedTime.set(currentTime);
-            return true;
+            return 0;
         } else {
             // Calculate the time to wait.
             long waitTime = costTime + latestPassedTime.get() - TimeUtil.currentTimeMillis();
             if (waitTime > maxQueueingTimeMs) {
-                return false;
+                return REJECTED;
             }
 
             long oldTime = latestPassedTime.addAndGet(costTime);
             waitTime = oldTime - TimeUtil.currentTimeMillis();
             if (waitTime > maxQueueingTimeMs) {
                 latestPassedTime.addAndGet(-costTime);
-                return false;
+                return REJECTED;
             }
             // in race condition waitTime may <= 0
-            if (waitTime > 0) {
-                sleepMs(waitTime);
-            }
-            return true;
+            return Math.max(waitTime, 0);
         }
     }
 
@@ -147,10 +152,93 @@ public class ThrottlingController implements TrafficShapingController {
             return false;
         }
         if (useNanoSeconds) {
-            return checkPassUsingNanoSeconds(acquireCount, this.count);
+            long waitTime = reserveUsingNanoSeconds(acquireCount, this.count);
+            if (waitTime == REJECTED) {
+                return false;
+            }
+            if (waitTime > 0 && !QueueingWait.defer(waitTime)) {
+                sleepNanos(waitTime);
+            }
         } else {
-            return checkPassUsingCachedMs(acquireCount, this.count);
+            long waitTime = reserveUsingCachedMs(acquireCount, this.count);
+            if (waitTime == REJECTED) {
+                return false;
+            }
+            if (waitTime > 0 && !QueueingWait.defer(TimeUnit.MILLISECONDS.toNanos(waitTime))) {
+                sleepMs(waitTime);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * <p>Reserve a pass for given count without blocking current thread.</p>
+     * <p>
+     * The pass is accounted in the same way as {@link #canPass(Node, int)}, but instead of waiting in queue,
+     * the time to wait is returned, so that the caller can delay the request asynchronously. Note that the
+     * pass is reserved once this method returns a non-negative value, so the request should not be dropped.
+     * </p>
+     *
+     * @param acquireCount count to acquire
+     * @return time to wait in nanoseconds before the request proceeds (0 means no need to wait),
+     * or {@link #REJECTED} if the request should be blocked
+     * @since 1.8.8
+     */
+    public long tryReserve(int acquireCount) {
+        if (acquireCount <= 0) {
+            return 0;
+        }
+        if (count <= 0) {
+            return REJECTED;
         }
+        if (useNanoSeconds) {
+            return reserveUsingNanoSeconds(acquireCount, this.count);
+        }
+        long waitTime = reserveUsingCachedMs(acquireCount, this.count);
+        return waitTime == REJECTED ? REJECTED : TimeUnit.MILLISECONDS.toNanos(waitTime);
+    }
+
+    /**
+     * Acquire a pass for given count without blocking current thread, using a shared daemon scheduler
+     * to complete the result when it's time to proceed.
+     *
+     * @param acquireCount count to acquire
+     * @return result that completes with true when the request may proceed, or false (immediately)
+     * if the request should be blocked
+     * @see #acquireAsync(int, ScheduledExecutorService)
+     * @since 1.8.8
+     */
+    public CompletionStage<Boolean> acquireAsync(int acquireCount) {
+        return acquireAsync(acquireCount, QueueingWait.delayScheduler());
+    }
+
+    /**
+     * Acquire a pass for given count without blocking current thread. The result is completed in current
+     * thread if no need to wait, otherwise in provided scheduler (e.g. an event loop) when it's time to proceed.
+     *
+     * @param acquireCount count to acquire
+     * @param scheduler    scheduler to complete the result after the waiting time
+     * @return result that completes with true when the request may proceed, or false (immediately)
+     * if the request should be blocked
+     * @since 1.8.8
+     */
+    public CompletionStage<Boolean> acquireAsync(int acquireCount, ScheduledExecutorService scheduler) {
+        AssertUtil.notNull(scheduler, "scheduler cannot be null");
+        long waitTime = tryReserve(acquireCount);
+        if (waitTime == REJECTED) {
+            return CompletableFuture.completedFuture(false);
+        }
+        if (waitTime == 0) {
+            return CompletableFuture.completedFuture(true);
+        }
+        final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                future.complete(true);
+            }
+        }, waitTime, TimeUnit.NANOSECONDS);
+        return future;
     }
 
     private void sleepMs(long ms) {
@@ -0,0 +1,76 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
+import com.alibaba.csp.sentinel.slots.block.flow.tokenbucket.CasTokenBucket;
+
+/**
+ * <p>Token bucket traffic shaping controller. Tokens are produced at {@code count} per second,
+ * and at most {@code burstCapacity} tokens can be saved up, so that short bursts are allowed
+ * while the long-term rate never exceeds the threshold.</p>
+ * <p>
+ * The bucket belongs to the rule rather than to the statistic node, so it limits all invocations
+ * checked against the rule (e.g. invocations of given origin if the rule has a specific limitApp).
+ * </p>
+ *
+ * @since 1.8.8
+ */
+public class TokenBucketController implements TrafficShapingController {
+
+    private final double count;
+    private final CasTokenBucket bucket;
+
+    /**
+     * @param count         tokens produced per second
+     * @param burstCapacity max tokens saved up in the bucket, or 0 to use the tokens of one second
+     */
+    public TokenBucketController(double count, int burstCapacity) {
+        this.count = count;
+        if (count > 0) {
+            long capacity = burstCapacity > 0 ? burstCapacity : Math.max(1, (long)Math.ceil(count));
+            this.bucket = new CasTokenBucket(count, capacity, true);
+        } else {
+            this.bucket = null;
+        }
+    }
+
+    @Override
+    public boolean canPass(Node node, int acquireCount) {
+        return canPass(node, acquireCount, false);
+    }
+
+    @Override
+    public boolean canPass(Node node, int acquireCount, boolean prioritized) {
+        // Pass when acquire count is less or equal than 0.
+        if (acquireCount <= 0) {
+            return true;
+        }
+        if (bucket == null) {
+            return false;
+        }
+        return bucket.tryConsume(acquireCount);
+    }
+
+    public double getCount() {
+        return count;
+    }
+
+    CasTokenBucket getBucket() {
+        return bucket;
+    }
+}
@@ -63,12 +63,25 @@ import com.alibaba.csp.sentinel.slots.block.flow.TrafficShapingController;
  */
 public class WarmUpController implements TrafficShapingController {
 
+    /**
+     * Max size of the precomputed warning QPS curve, so that a large threshold or warm-up period
+     * won't result in a huge table.
+     */
+    static final int MAX_CURVE_SIZE = 4096;
+
     protected double count;
     private int coldFactor;
     protected int warningToken = 0;
     private int maxToken;
     protected double slope;
 
+    /**
+     * Warning QPS indexed by the stored tokens above the warning line (every {@code curveStep} tokens),
+     * precomputed when the rule is loaded.
+     */
+    private double[] warningQpsCurve;
+    private int curveStep;
+
     protected AtomicLong storedTokens = new AtomicLong(0);
     protected AtomicLong lastFilledTime = new AtomicLong(0);
 
@@ -103,6 +116,13 @@ public class WarmUpController implements TrafficShapingController {
         // - thresholdPermits);
         slope = (coldFactor - 1.0) / count / (maxToken - warningToken);
 
+        int aboveRange = Math.max(maxToken - warningToken, 0);
+        curveStep = Math.max(1, (aboveRange + MAX_CURVE_SIZE - 2) / (MAX_CURVE_SIZE - 1));
+        warningQpsCurve = new double[(aboveRange + curveStep - 1) / curveStep + 1];
+        for (int i = 0; i < warningQpsCurve.length; i++) {
+            // current interval = restToken*slope+1/count
+            warningQpsCurve[i] = Math.nextUp(1.0 / ((long)i * curveStep * slope + 1.0 / count));
+        }
     }
 
     @Override
@@ -112,20 +132,16 @@ public class WarmUpController implements TrafficShapingController {
 
     @Override
     public boolean canPass(Node node, int acquireCount, boolean prioritized) {
-        long passQps = (long) node.passQps();
+        syncToken(node);
 
-        long previousQps = (long) node.previousPassQps();
-        syncToken(previousQps);
+        long passQps = (long) node.passQps();
 
         // 开始计算它的斜率
         // 如果进入了警戒线，开始调整他的qps
         long restToken = storedTokens.get();
         if (restToken >= warningToken) {
-            long aboveToken = restToken - warningToken;
             // 消耗的速度要比warning快，但是要比慢
-            // current interval = restToken*slope+1/count
-            double warningQps = Math.nextUp(1.0 / (aboveToken * slope + 1.0 / count));
-            if (passQps + acquireCount <= warningQps) {
+            if (passQps + acquireCount <= warningQps(restToken - warningToken)) {
                 return true;
             }
         } else {
@@ -137,14 +153,49 @@ public class WarmUpController implements TrafficShapingController {
         return false;
     }
 
+    /**
+     * Get the warning QPS from the precomputed curve. If the curve is sampled (i.e. the range above
+     * the warning line is larger than {@link #MAX_CURVE_SIZE}), the next sample is taken so that
+     * the result never exceeds the exact value.
+     *
+     * @param aboveToken stored tokens above the warning line
+     * @return the allowed QPS for given tokens
+     * @since 1.8.8
+     */
+    protected double warningQps(long aboveToken) {
+        long index = (aboveToken + curveStep - 1) / curveStep;
+        return warningQpsCurve[(int)Math.min(index, warningQpsCurve.length - 1)];
+    }
+
+    /**
+     * Refill the stored tokens at most once per second. Unlike {@link #syncToken(long)}, the pass QPS of
+     * previous second is only read from the node when the refill is due.
+     *
+     * @param node the statistic node of the resource
+     * @since 1.8.8
+     */
+    protected void syncToken(Node node) {
+        long currentTime = currentSecond();
+        if (currentTime <= lastFilledTime.get()) {
+            return;
+        }
+        syncToken(currentTime, (long) node.previousPassQps());
+    }
+
     protected void syncToken(long passQps) {
-        long currentTime = TimeUtil.currentTimeMillis();
-        currentTime = currentTime - currentTime % 1000;
-        long oldLastFillTime = lastFilledTime.get();
-        if (currentTime <= oldLastFillTime) {
+        long currentTime = currentSecond();
+        if (currentTime <= lastFilledTime.get()) {
             return;
         }
+        syncToken(currentTime, passQps);
+    }
+
+    private static long currentSecond() {
+        long currentTime = TimeUtil.currentTimeMillis();
+        return currentTime - currentTime % 1000;
+    }
 
+    private void syncToken(long currentTime, long passQps) {
         long oldValue = storedTokens.get();
         long newValue = coolDownTokens(currentTime, passQps);
 
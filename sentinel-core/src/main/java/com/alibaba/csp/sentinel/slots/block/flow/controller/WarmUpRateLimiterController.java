@@ -15,9 +15,15 @@
  */
 package com.alibaba.csp.sentinel.slots.block.flow.controller;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slots.block.flow.QueueingWait;
+import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.TimeUtil;
 
 /**
@@ -41,48 +47,108 @@ public class WarmUpRateLimiterController extends WarmUpController {
 
     @Override
     public boolean canPass(Node node, int acquireCount, boolean prioritized) {
-        long previousQps = (long) node.previousPassQps();
-        syncToken(previousQps);
+        long waitTime = tryReserve(node, acquireCount);
+        if (waitTime == ThrottlingController.REJECTED) {
+            return false;
+        }
+        if (waitTime > 0 && !QueueingWait.defer(waitTime)) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitTime);
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * <p>Reserve a pass for given count without blocking current thread.</p>
+     * <p>
+     * The pass is accounted in the same way as {@link #canPass(Node, int)}, but instead of waiting in queue,
+     * the time to wait is returned, so that the caller can delay the request asynchronously. Note that the
+     * pass is reserved once this method returns a non-negative value, so the request should not be dropped.
+     * </p>
+     *
+     * @param node         the statistic node of the resource
+     * @param acquireCount count to acquire
+     * @return time to wait in nanoseconds before the request proceeds (0 means no need to wait),
+     * or {@link ThrottlingController#REJECTED} if the request should be blocked
+     * @since 1.8.8
+     */
+    public long tryReserve(Node node, int acquireCount) {
+        syncToken(node);
 
         long currentTime = TimeUtil.currentTimeMillis();
 
         long restToken = storedTokens.get();
-        long costTime = 0;
-        long expectedTime = 0;
+        long costTime;
         if (restToken >= warningToken) {
-            long aboveToken = restToken - warningToken;
-
-            // current interval = restToken*slope+1/count
-            double warmingQps = Math.nextUp(1.0 / (aboveToken * slope + 1.0 / count));
-            costTime = Math.round(1.0 * (acquireCount) / warmingQps * 1000);
+            costTime = Math.round(1.0 * (acquireCount) / warningQps(restToken - warningToken) * 1000);
         } else {
             costTime = Math.round(1.0 * (acquireCount) / count * 1000);
         }
-        expectedTime = costTime + latestPassedTime.get();
+        long expectedTime = costTime + latestPassedTime.get();
 
         if (expectedTime <= currentTime) {
             latestPassedTime.set(currentTime);
-            return true;
-        } else {
-            long waitTime = costTime + latestPassedTime.get() - currentTime;
-            if (waitTime > timeoutInMs) {
-                return false;
-            } else {
-                long oldTime = latestPassedTime.addAndGet(costTime);
-                try {
-                    waitTime = oldTime - TimeUtil.currentTimeMillis();
-                    if (waitTime > timeoutInMs) {
-                        latestPassedTime.addAndGet(-costTime);
-                        return false;
-                    }
-                    if (waitTime > 0) {
-                        Thread.sleep(waitTime);
-                    }
-                    return true;
-                } catch (InterruptedException e) {
-                }
-            }
+            return 0;
         }
-        return false;
+        long waitTime = costTime + latestPassedTime.get() - currentTime;
+        if (waitTime > timeoutInMs) {
+            return ThrottlingController.REJECTED;
+        }
+        long oldTime = latestPassedTime.addAndGet(costTime);
+        waitTime = oldTime - TimeUtil.currentTimeMillis();
+        if (waitTime > timeoutInMs) {
+            latestPassedTime.addAndGet(-costTime);
+            return ThrottlingController.REJECTED;
+        }
+        // in race condition waitTime may <= 0
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(waitTime, 0));
+    }
+
+    /**
+     * Acquire a pass for given count without blocking current thread, using a shared daemon scheduler
+     * to complete the result when it's time to proceed.
+     *
+     * @param node         the statistic node of the resource
+     * @param acquireCount count to acquire
+     * @return result that completes with true when the request may proceed, or false (immediately)
+     * if the request should be blocked
+     * @see #acquireAsync(Node, int, ScheduledExecutorService)
+     * @since 1.8.8
+     */
+    public CompletionStage<Boolean> acquireAsync(Node node, int acquireCount) {
+        return acquireAsync(node, acquireCount, QueueingWait.delayScheduler());
+    }
+
+    /**
+     * Acquire a pass for given count without blocking current thread. The result is completed in current
+     * thread if no need to wait, otherwise in provided scheduler (e.g. an event loop) when it's time to proceed.
+     *
+     * @param node         the statistic node of the resource
+     * @param acquireCount count to acquire
+     * @param scheduler    scheduler to complete the result after the waiting time
+     * @return result that completes with true when the request may proceed, or false (immediately)
+     * if the request should be blocked
+     * @since 1.8.8
+     */
+    public CompletionStage<Boolean> acquireAsync(Node node, int acquireCount, ScheduledExecutorService scheduler) {
+        AssertUtil.notNull(scheduler, "scheduler cannot be null");
+        long waitTime = tryReserve(node, acquireCount);
+        if (waitTime == ThrottlingController.REJECTED) {
+            return CompletableFuture.completedFuture(false);
+        }
+        if (waitTime == 0) {
+            return CompletableFuture.completedFuture(true);
+        }
+        final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                future.complete(true);
+            }
+        }, waitTime, TimeUnit.NANOSECONDS);
+        return future;
     }
 }
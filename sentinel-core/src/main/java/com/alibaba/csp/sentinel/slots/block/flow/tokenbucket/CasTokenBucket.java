@@ -0,0 +1,116 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.tokenbucket;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.csp.sentinel.util.AssertUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+/**
+ * <p>Lock-free token bucket, whose whole state is packed into a single {@link AtomicLong}.</p>
+ * <p>
+ * Instead of the token count and the time of next production, the bucket keeps the (monotonic) time in
+ * nanoseconds when it would run empty: the tokens available at {@code now} are
+ * {@code min(maxTokenNum, (now - emptyTime) / nanosPerToken)}. Consuming tokens moves the empty time forward,
+ * which is a single CAS, so the tokens are never over-consumed under contention and produced continuously
+ * rather than per interval.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+public class CasTokenBucket implements TokenBucket {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double nanosPerToken;
+    private final long maxTokenNum;
+    private final long capacityNanos;
+
+    /**
+     * The time when the bucket would run empty.
+     */
+    private final AtomicLong emptyTime;
+
+    public CasTokenBucket(long unitProduceNum, long maxTokenNum, long intervalInMs) {
+        this(unitProduceNum, maxTokenNum, false, intervalInMs);
+    }
+
+    public CasTokenBucket(long unitProduceNum, long maxTokenNum, boolean fullStart, long intervalInMs) {
+        this(1000.0d * unitProduceNum / intervalInMs, maxTokenNum, fullStart);
+        AssertUtil.isTrue(unitProduceNum > 0 && intervalInMs > 0, "Illegal unitProduceNum or intervalInMs");
+    }
+
+    /**
+     * @param tokensPerSecond number of tokens produced per second
+     * @param maxTokenNum     maximum number of tokens stored in the bucket (i.e. the max burst)
+     * @param fullStart       whether the bucket is full initially
+     */
+    public CasTokenBucket(double tokensPerSecond, long maxTokenNum, boolean fullStart) {
+        AssertUtil.isTrue(tokensPerSecond > 0, "Illegal tokensPerSecond");
+        AssertUtil.isTrue(maxTokenNum > 0, "Illegal maxTokenNum");
+        this.nanosPerToken = NANOS_PER_SECOND / tokensPerSecond;
+        this.maxTokenNum = maxTokenNum;
+        this.capacityNanos = costOf(maxTokenNum);
+        long now = TimeUtil.nanoTime();
+        this.emptyTime = new AtomicLong(fullStart ? now - capacityNanos : now);
+    }
+
+    @Override
+    public boolean tryConsume(long tokenNum) {
+        if (tokenNum <= 0) {
+            return true;
+        }
+        if (tokenNum > maxTokenNum) {
+            return false;
+        }
+        long cost = costOf(tokenNum);
+        long now = TimeUtil.nanoTime();
+        while (true) {
+            long current = emptyTime.get();
+            // Tokens beyond the capacity are dropped.
+            long next = Math.max(current, now - capacityNanos) + cost;
+            if (next - now > 0) {
+                return false;
+            }
+            if (emptyTime.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Tokens are derived from the state on demand, so there is nothing to refresh.
+     */
+    @Override
+    public void refreshCurrentTokenNum(long timestamp) {
+    }
+
+    public long getCurrentTokenNum() {
+        long now = TimeUtil.nanoTime();
+        long available = now - Math.max(emptyTime.get(), now - capacityNanos);
+        return (long)(available / nanosPerToken);
+    }
+
+    public long getMaxTokenNum() {
+        return maxTokenNum;
+    }
+
+    private long costOf(long tokenNum) {
+        return Math.round(tokenNum * nanosPerToken);
+    }
+}
@@ -15,8 +15,8 @@
  */
 package com.alibaba.csp.sentinel.slots.clusterbuilder;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.EntryType;
@@ -62,12 +62,11 @@ public class ClusterBuilderSlot extends AbstractLinkedProcessorSlot<DefaultNode>
      * in this map.
      * </p>
      * <p>
-     * The longer the application runs, the more stable this mapping will
-     * become. so we don't concurrent map but a lock. as this lock only happens
-     * at the very beginning while concurrent map will hold the lock all the time.
+     * Since 1.8.8 it's a concurrent map, so that creating the node of a new resource doesn't copy
+     * the whole map, and nodes of evicted resources can be removed (see {@link #removeClusterNode(ResourceWrapper)}).
      * </p>
      */
-    private static volatile Map<ResourceWrapper, ClusterNode> clusterNodeMap = new HashMap<>();
+    private static final Map<ResourceWrapper, ClusterNode> clusterNodeMap = new ConcurrentHashMap<>();
 
     private static final Object lock = new Object();
 
@@ -82,11 +81,7 @@ public class ClusterBuilderSlot extends AbstractLinkedProcessorSlot<DefaultNode>
                 if (clusterNode == null) {
                     // Create the cluster node.
                     clusterNode = new ClusterNode(resourceWrapper.getName(), resourceWrapper.getResourceType());
-                    HashMap<ResourceWrapper, ClusterNode> newMap = new HashMap<>(Math.max(clusterNodeMap.size(), 16));
-                    newMap.putAll(clusterNodeMap);
-                    newMap.put(node.getId(), clusterNode);
-
-                    clusterNodeMap = newMap;
+                    clusterNodeMap.put(node.getId(), clusterNode);
                 }
             }
         }
@@ -153,6 +148,20 @@ public class ClusterBuilderSlot extends AbstractLinkedProcessorSlot<DefaultNode>
         return clusterNodeMap;
     }
 
+    /**
+     * Remove the {@link ClusterNode} of provided resource, e.g. when the slot chain of the resource is evicted.
+     *
+     * @param resourceWrapper the resource
+     * @return the removed node, or null if absent
+     * @since 1.8.8
+     */
+    public static ClusterNode removeClusterNode(ResourceWrapper resourceWrapper) {
+        if (resourceWrapper == null) {
+            return null;
+        }
+        return clusterNodeMap.remove(resourceWrapper);
+    }
+
     /**
      * Reset all {@link ClusterNode}s. Reset is needed when {@link IntervalProperty#INTERVAL} or
      * {@link SampleCountProperty#SAMPLE_COUNT} is changed.
@@ -21,6 +21,7 @@ import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.SkippableSlot;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.spi.Spi;
 
@@ -29,7 +30,7 @@ import com.alibaba.csp.sentinel.spi.Spi;
  * to provide concrete logs for troubleshooting.
  */
 @Spi(order = Constants.ORDER_LOG_SLOT)
-public class LogSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
+public class LogSlot extends AbstractLinkedProcessorSlot<DefaultNode> implements SkippableSlot {
 
     @Override
     public void entry(Context context, ResourceWrapper resourceWrapper, DefaultNode obj, int count, boolean prioritized, Object... args)
@@ -53,4 +54,15 @@ public class LogSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
             RecordLog.warn("Unexpected entry exit exception", e);
         }
     }
+
+    @Override
+    public boolean isActive(ResourceWrapper resourceWrapper, boolean blockingDownstream) {
+        // Nothing to log if no slot after it could block.
+        return blockingDownstream;
+    }
+
+    @Override
+    public boolean mayBlock() {
+        return false;
+    }
 }
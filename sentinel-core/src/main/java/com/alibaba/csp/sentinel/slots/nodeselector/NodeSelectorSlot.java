@@ -21,6 +21,7 @@ import com.alibaba.csp.sentinel.context.ContextUtil;
 import com.alibaba.csp.sentinel.node.ClusterNode;
 import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.node.EntranceNode;
+import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.spi.Spi;
@@ -166,6 +167,12 @@ public class NodeSelectorSlot extends AbstractLinkedProcessorSlot<Object> {
          * 答案是所有具有相同资源名称的{@link DefaultNode}都共享一个
          * {@link ClusterNode}。详细信息请参见{@link ClusterBuilderSlot}。
          */
+        // The node may have been resolved in advance (e.g. entering through a ResourceHandle).
+        Node resolvedNode = context.getCurNode();
+        if (resolvedNode instanceof DefaultNode) {
+            fireEntry(context, resourceWrapper, (DefaultNode) resolvedNode, count, prioritized, args);
+            return;
+        }
         //根据上下文名称尝试从映射中获取对应的资源节点
         DefaultNode node = map.get(context.getName());
         if (node == null) {
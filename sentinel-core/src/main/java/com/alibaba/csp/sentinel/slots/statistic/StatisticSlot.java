@@ -15,7 +15,7 @@
  */
 package com.alibaba.csp.sentinel.slots.statistic;
 
-import java.util.Collection;
+import java.util.List;
 
 import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlotEntryCallback;
@@ -30,6 +30,7 @@ import com.alibaba.csp.sentinel.node.ClusterNode;
 import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.SkippableSlot;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 
 /**
@@ -49,7 +50,7 @@ import com.alibaba.csp.sentinel.slots.block.BlockException;
  * @author Eric Zhao
  */
 @Spi(order = Constants.ORDER_STATISTIC_SLOT)
-public class StatisticSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
+public class StatisticSlot extends AbstractLinkedProcessorSlot<DefaultNode> implements SkippableSlot {
 
     /**
      * 处理统计插槽的入口逻辑。
@@ -91,8 +92,10 @@ public class StatisticSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
             }
 
             // Handle pass event with registered entry callback handlers.
-            for (ProcessorSlotEntryCallback<DefaultNode> handler : StatisticSlotCallbackRegistry.getEntryCallbacks()) {
-                handler.onPass(context, resourceWrapper, node, count, args);
+            List<ProcessorSlotEntryCallback<DefaultNode>> entryCallbacks
+                = StatisticSlotCallbackRegistry.entryCallbackList();
+            for (int i = 0; i < entryCallbacks.size(); i++) {
+                entryCallbacks.get(i).onPass(context, resourceWrapper, node, count, args);
             }
         } catch (PriorityWaitException ex) {
             node.increaseThreadNum();
@@ -106,8 +109,10 @@ public class StatisticSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
                 Constants.ENTRY_NODE.increaseThreadNum();
             }
             // Handle pass event with registered entry callback handlers.
-            for (ProcessorSlotEntryCallback<DefaultNode> handler : StatisticSlotCallbackRegistry.getEntryCallbacks()) {
-                handler.onPass(context, resourceWrapper, node, count, args);
+            List<ProcessorSlotEntryCallback<DefaultNode>> entryCallbacks
+                = StatisticSlotCallbackRegistry.entryCallbackList();
+            for (int i = 0; i < entryCallbacks.size(); i++) {
+                entryCallbacks.get(i).onPass(context, resourceWrapper, node, count, args);
             }
         } catch (BlockException e) {
             // Blocked, set block exception to current entry.
@@ -181,9 +186,9 @@ public class StatisticSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
         // Handle exit event with registered exit callback handlers.
         // 触发所有注册的退出回调进行进一步处理。
         // 处理退出事件与注册的退出回调处理器。
-        Collection<ProcessorSlotExitCallback> exitCallbacks = StatisticSlotCallbackRegistry.getExitCallbacks();
-        for (ProcessorSlotExitCallback handler : exitCallbacks) {
-            handler.onExit(context, resourceWrapper, count, args);
+        List<ProcessorSlotExitCallback> exitCallbacks = StatisticSlotCallbackRegistry.exitCallbackList();
+        for (int i = 0; i < exitCallbacks.size(); i++) {
+            exitCallbacks.get(i).onExit(context, resourceWrapper, count, args);
         }
 
         // fix bug https://github.com/alibaba/Sentinel/issues/2374
@@ -201,4 +206,15 @@ public class StatisticSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
             node.increaseExceptionQps(batchCount);
         }
     }
+
+    @Override
+    public boolean isActive(ResourceWrapper resourceWrapper, boolean blockingDownstream) {
+        // Statistics are always collected.
+        return true;
+    }
+
+    @Override
+    public boolean mayBlock() {
+        return false;
+    }
 }
@@ -15,7 +15,10 @@
  */
 package com.alibaba.csp.sentinel.slots.statistic;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -43,42 +46,75 @@ public final class StatisticSlotCallbackRegistry {
     private static final Map<String, ProcessorSlotExitCallback> exitCallbackMap
         = new ConcurrentHashMap<String, ProcessorSlotExitCallback>();
 
-    public static void clearEntryCallback() {
+    /**
+     * Snapshots of the callbacks, which are iterated by index on each entry and exit, so that no iterator
+     * is allocated on the hot path. They're rebuilt whenever callbacks change.
+     */
+    private static volatile List<ProcessorSlotEntryCallback<DefaultNode>> entryCallbacks = Collections.emptyList();
+    private static volatile List<ProcessorSlotExitCallback> exitCallbacks = Collections.emptyList();
+
+    public static synchronized void clearEntryCallback() {
         entryCallbackMap.clear();
+        updateEntryCallbacks();
     }
 
-    public static void clearExitCallback() {
+    public static synchronized void clearExitCallback() {
         exitCallbackMap.clear();
+        updateExitCallbacks();
     }
 
-    public static void addEntryCallback(String key, ProcessorSlotEntryCallback<DefaultNode> callback) {
+    public static synchronized void addEntryCallback(String key, ProcessorSlotEntryCallback<DefaultNode> callback) {
         entryCallbackMap.put(key, callback);
+        updateEntryCallbacks();
     }
 
-    public static void addExitCallback(String key, ProcessorSlotExitCallback callback) {
+    public static synchronized void addExitCallback(String key, ProcessorSlotExitCallback callback) {
         exitCallbackMap.put(key, callback);
+        updateExitCallbacks();
     }
 
-    public static ProcessorSlotEntryCallback<DefaultNode> removeEntryCallback(String key) {
+    public static synchronized ProcessorSlotEntryCallback<DefaultNode> removeEntryCallback(String key) {
         if (key == null) {
             return null;
         }
-        return entryCallbackMap.remove(key);
+        ProcessorSlotEntryCallback<DefaultNode> callback = entryCallbackMap.remove(key);
+        updateEntryCallbacks();
+        return callback;
     }
 
-    public static ProcessorSlotExitCallback removeExitCallback(String key) {
+    public static synchronized ProcessorSlotExitCallback removeExitCallback(String key) {
         if (key == null) {
             return null;
         }
-        return exitCallbackMap.remove(key);
+        ProcessorSlotExitCallback callback = exitCallbackMap.remove(key);
+        updateExitCallbacks();
+        return callback;
     }
 
     public static Collection<ProcessorSlotEntryCallback<DefaultNode>> getEntryCallbacks() {
-        return entryCallbackMap.values();
+        return entryCallbacks;
     }
 
     public static Collection<ProcessorSlotExitCallback> getExitCallbacks() {
-        return exitCallbackMap.values();
+        return exitCallbacks;
+    }
+
+    static List<ProcessorSlotEntryCallback<DefaultNode>> entryCallbackList() {
+        return entryCallbacks;
+    }
+
+    static List<ProcessorSlotExitCallback> exitCallbackList() {
+        return exitCallbacks;
+    }
+
+    private static void updateEntryCallbacks() {
+        entryCallbacks = Collections.unmodifiableList(
+            new ArrayList<ProcessorSlotEntryCallback<DefaultNode>>(entryCallbackMap.values()));
+    }
+
+    private static void updateExitCallbacks() {
+        exitCallbacks = Collections.unmodifiableList(
+            new ArrayList<ProcessorSlotExitCallback>(exitCallbackMap.values()));
     }
 
     private StatisticSlotCallbackRegistry() {}
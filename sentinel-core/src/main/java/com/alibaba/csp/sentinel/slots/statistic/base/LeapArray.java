@@ -18,7 +18,6 @@ package com.alibaba.csp.sentinel.slots.statistic.base;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReferenceArray;
-import java.util.concurrent.locks.ReentrantLock;
 
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.TimeUtil;
@@ -55,11 +54,6 @@ public abstract class LeapArray<T> {
      */
     protected final AtomicReferenceArray<WindowWrap<T>> array;
 
-    /**
-     * The conditional (predicate) update lock is used only when current bucket is deprecated.
-     */
-    private final ReentrantLock updateLock = new ReentrantLock();
-
     /**
      * The total bucket count is: {@code sampleCount = intervalInMs / windowLengthInMs}.
      *
@@ -98,6 +92,11 @@ public abstract class LeapArray<T> {
 
     /**
      * Reset given bucket to provided start time and reset the value.
+     * <p>
+     * Since 1.8.8 the start time of the bucket has already been moved forward via CAS
+     * when this method is invoked, and only the thread that won the CAS invokes it.
+     * Other threads may already record data to the bucket during the reset.
+     * </p>
      *
      * @param startTime  the start time of the bucket in milliseconds
      * @param windowWrap current bucket
@@ -148,14 +147,17 @@ public abstract class LeapArray<T> {
          * 从循环数组中获取指定时间戳对应的窗口项，并根据窗口项的状态进行处理：
          * 1. 如果窗口项不存在，则创建一个新的窗口项并尝试使用CAS更新循环数组；
          * 2. 如果窗口项存在且起始时间匹配，则直接返回该窗口项；
-         * 3. 如果窗口项存在但起始时间不匹配（即窗口项已过期），则尝试获取更新锁，对窗口项进行重置。
+         * 3. 如果窗口项存在但起始时间不匹配（即窗口项已过期），则通过CAS推进窗口起始时间，成功的线程负责重置窗口项。
          */
         /*
          * Get bucket item at given time from the array.
          *
          * (1) Bucket is absent, then just create a new bucket and CAS update to circular array.
          * (2) Bucket is up-to-date, then just return the bucket.
-         * (3) Bucket is deprecated, then reset current bucket.
+         * (3) Bucket is deprecated, then CAS its start time forward and reset current bucket.
+         *
+         * No lock is held and no thread yields: losers of a CAS just re-read the slot,
+         * which has already been updated by the winner.
          */
         while (true) {
             WindowWrap<T> old = array.get(idx);
@@ -171,18 +173,16 @@ public abstract class LeapArray<T> {
                  *
                  * If the old bucket is absent, then we create a new bucket at {@code windowStart},
                  * then try to update circular array via a CAS operation. Only one thread can
-                 * succeed to update, while other threads yield its time slice.
+                 * succeed to update, while other threads retry and get the bucket created by the winner.
                  */
                 WindowWrap<T> window = new WindowWrap<T>(windowLengthInMs, windowStart, newEmptyBucket(timeMillis));
                 if (array.compareAndSet(idx, null, window)) {
                     // 更新成功，返回新创建的窗口项
                     // Successfully updated, return the created bucket.
                     return window;
-                } else {
-                    // 更新失败，线程让出CPU时间片，等待重试
-                    // Contention failed, the thread will yield its time slice to wait for bucket available.
-                    Thread.yield();
                 }
+                // 更新失败，说明其他线程已经创建了窗口项，直接重新读取
+                // Contention failed, which means the bucket has been created by another thread, so just re-read it.
             } else if (windowStart == old.windowStart()) {
                 /*
                  *     B0       B1      B2     B3      B4
@@ -209,26 +209,19 @@ public abstract class LeapArray<T> {
                  *
                  * If the start timestamp of old bucket is behind provided time, that means
                  * the bucket is deprecated. We have to reset the bucket to current {@code windowStart}.
-                 * Note that the reset and clean-up operations are hard to be atomic,
-                 * so we need a update lock to guarantee the correctness of bucket update.
-                 *
-                 * The update lock is conditional (tiny scope) and will take effect only when
-                 * bucket is deprecated, so in most cases it won't lead to performance loss.
+                 * The start timestamp of the bucket acts as its epoch: the only thread that
+                 * moves it forward via CAS will reset the bucket, while other threads will
+                 * find the bucket up-to-date when re-reading it. As the reset and clean-up
+                 * operations are not atomic, data recorded during the reset might be cleared,
+                 * which is the same tolerance as the former lock-based implementation.
                  */
-                // 窗口项存在但起始时间不匹配，尝试获取更新锁以重置窗口项
-                if (updateLock.tryLock()) {
-                    try {
-                        // 成功获取更新锁，重置窗口项并返回
-                        // Successfully get the update lock, now we reset the bucket.
-                        return resetWindowTo(old, windowStart);
-                    } finally {
-                        updateLock.unlock();
-                    }
-                } else {
-                    // 获取更新锁失败，线程让出CPU时间片，等待重试
-                    // Contention failed, the thread will yield its time slice to wait for bucket available.
-                    Thread.yield();
+                // 窗口项存在但起始时间不匹配，通过CAS推进窗口起始时间，成功的线程负责重置窗口项
+                long oldWindowStart = old.windowStart();
+                if (windowStart > oldWindowStart && old.compareAndSetWindowStart(oldWindowStart, windowStart)) {
+                    return resetWindowTo(old, windowStart);
                 }
+                // 更新失败，说明其他线程已经推进了窗口，直接重新读取
+                // Contention failed, the bucket has been moved forward by another thread, so just re-read it.
             } else if (windowStart < old.windowStart()) {
                 // 理论上这种情况不应该发生，如果发生了，则创建一个新的窗口项并返回
                 // Should not go through here, as the provided time is already behind.
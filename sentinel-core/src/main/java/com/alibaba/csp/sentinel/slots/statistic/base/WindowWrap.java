@@ -15,6 +15,8 @@
  */
 package com.alibaba.csp.sentinel.slots.statistic.base;
 
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
 /**
  * Wrapper entity class for a period of time window.
  *
@@ -24,15 +26,20 @@ package com.alibaba.csp.sentinel.slots.statistic.base;
  */
 public class WindowWrap<T> {
 
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<WindowWrap> WINDOW_START_UPDATER
+        = AtomicLongFieldUpdater.newUpdater(WindowWrap.class, "windowStart");
+
     /**
      * Time length of a single window bucket in milliseconds.
      */
     private final long windowLengthInMs;
 
     /**
-     * Start timestamp of the window in milliseconds.
+     * Start timestamp of the window in milliseconds. It also acts as the epoch of the bucket:
+     * the thread that moves it forward via CAS owns the reset of the bucket.
      */
-    private long windowStart;
+    private volatile long windowStart;
 
     /**
      * Statistic data.
@@ -77,6 +84,19 @@ public class WindowWrap<T> {
         return this;
     }
 
+    /**
+     * Atomically move the start timestamp of current bucket to provided time
+     * if it still equals to the expected start time.
+     *
+     * @param expectedStartTime the start time observed by the caller
+     * @param startTime         new start timestamp
+     * @return true if succeeded, which means the caller is responsible for resetting the bucket
+     * @since 1.8.8
+     */
+    public boolean compareAndSetWindowStart(long expectedStartTime, long startTime) {
+        return WINDOW_START_UPDATER.compareAndSet(this, expectedStartTime, startTime);
+    }
+
     /**
      * Check whether given timestamp is in current bucket.
      *
@@ -17,35 +17,105 @@ package com.alibaba.csp.sentinel.slots.statistic.data;
 
 import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.slots.statistic.MetricEvent;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Represents metrics data in a period of time span.
+ * <p>
+ * The counters are backed by one {@link LongAdder} per {@link MetricEvent} by default. Since 1.8.8,
+ * they could also be backed by a single contiguous {@link AtomicLongArray} (optionally with each
+ * counter padded to its own cache line) to reduce the footprint of statistics,
+ * see {@link SentinelConfig#STATISTIC_BUCKET_TYPE}.
+ * </p>
+ * <p>
+ * The bucket could also keep a {@link RtHistogram} for percentiles of response time (since 1.8.8),
+ * see {@link SentinelConfig#STATISTIC_RT_HISTOGRAM}.
+ * </p>
  *
  * @author jialiang.linjl
  * @author Eric Zhao
  */
 public class MetricBucket {
+
+    private static final MetricEvent[] EVENTS = MetricEvent.values();
+
+    /**
+     * Count of longs in a 64-byte cache line.
+     */
+    private static final int CACHE_LINE_LONGS = 8;
+
+    private static final String DEFAULT_BUCKET_TYPE = SentinelConfig.statisticBucketType();
+    private static final boolean DEFAULT_RT_HISTOGRAM = SentinelConfig.statisticRtHistogramEnabled();
+
     // 保存统计值
     private final LongAdder[] counters;
+    /**
+     * Counters for array-based buckets, the counter of event {@code e} is at
+     * {@code base + e.ordinal() * stride}.
+     */
+    private final AtomicLongArray compactCounters;
+    private final int base;
+    private final int stride;
+    private final RtHistogram rtHistogram;
     // 最小rt
     private volatile long minRt;
+    /**
+     * Latest concurrency limit of adaptive concurrency flow rules in the bucket, or 0 if not limited.
+     */
+    private volatile int concurrencyLimit;
 
     public MetricBucket() {
-        MetricEvent[] events = MetricEvent.values();
-        this.counters = new LongAdder[events.length];
-        for (MetricEvent event : events) {
-            counters[event.ordinal()] = new LongAdder();
+        this(DEFAULT_BUCKET_TYPE, DEFAULT_RT_HISTOGRAM);
+    }
+
+    /**
+     * @param bucketType storage type of the counters, see {@link SentinelConfig#STATISTIC_BUCKET_TYPE}
+     * @since 1.8.8
+     */
+    public MetricBucket(String bucketType) {
+        this(bucketType, DEFAULT_RT_HISTOGRAM);
+    }
+
+    /**
+     * @param bucketType  storage type of the counters, see {@link SentinelConfig#STATISTIC_BUCKET_TYPE}
+     * @param rtHistogram whether to keep the histogram of response time
+     * @since 1.8.8
+     */
+    public MetricBucket(String bucketType, boolean rtHistogram) {
+        this.rtHistogram = rtHistogram ? new RtHistogram() : null;
+        if (SentinelConfig.BUCKET_TYPE_ARRAY.equals(bucketType)) {
+            this.counters = null;
+            this.base = 0;
+            this.stride = 1;
+            this.compactCounters = new AtomicLongArray(EVENTS.length);
+        } else if (SentinelConfig.BUCKET_TYPE_PADDED_ARRAY.equals(bucketType)) {
+            this.counters = null;
+            // Leave a cache line on both ends so that the counters won't share lines with other objects.
+            this.base = CACHE_LINE_LONGS;
+            this.stride = CACHE_LINE_LONGS;
+            this.compactCounters = new AtomicLongArray((EVENTS.length + 2) * CACHE_LINE_LONGS);
+        } else {
+            this.counters = new LongAdder[EVENTS.length];
+            for (MetricEvent event : EVENTS) {
+                counters[event.ordinal()] = new LongAdder();
+            }
+            this.base = 0;
+            this.stride = 0;
+            this.compactCounters = null;
         }
         initMinRt();
     }
 
     public MetricBucket reset(MetricBucket bucket) {
-        for (MetricEvent event : MetricEvent.values()) {
-            counters[event.ordinal()].reset();
-            counters[event.ordinal()].add(bucket.get(event));
+        for (MetricEvent event : EVENTS) {
+            set(event, bucket.get(event));
+        }
+        if (rtHistogram != null) {
+            rtHistogram.reset();
         }
         initMinRt();
+        concurrencyLimit = 0;
         return this;
     }
 
@@ -59,19 +129,42 @@ public class MetricBucket {
      * @return new metric bucket in initial state
      */
     public MetricBucket reset() {
-        for (MetricEvent event : MetricEvent.values()) {
-            counters[event.ordinal()].reset();
+        for (MetricEvent event : EVENTS) {
+            set(event, 0);
+        }
+        if (rtHistogram != null) {
+            rtHistogram.reset();
         }
         initMinRt();
+        concurrencyLimit = 0;
         return this;
     }
 
+    private void set(MetricEvent event, long value) {
+        if (counters != null) {
+            LongAdder counter = counters[event.ordinal()];
+            counter.reset();
+            if (value != 0) {
+                counter.add(value);
+            }
+        } else {
+            compactCounters.set(base + event.ordinal() * stride, value);
+        }
+    }
+
     public long get(MetricEvent event) {
-        return counters[event.ordinal()].sum();
+        if (counters != null) {
+            return counters[event.ordinal()].sum();
+        }
+        return compactCounters.get(base + event.ordinal() * stride);
     }
 
     public MetricBucket add(MetricEvent event, long n) {
-        counters[event.ordinal()].add(n);
+        if (counters != null) {
+            counters[event.ordinal()].add(n);
+        } else {
+            compactCounters.getAndAdd(base + event.ordinal() * stride, n);
+        }
         return this;
     }
 
@@ -99,6 +192,30 @@ public class MetricBucket {
         return minRt;
     }
 
+    /**
+     * @return the histogram of response time, or null if absent
+     * @since 1.8.8
+     */
+    public RtHistogram rtHistogram() {
+        return rtHistogram;
+    }
+
+    /**
+     * @return the latest concurrency limit in the bucket, or 0 if not limited
+     * @since 1.8.8
+     */
+    public int concurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    /**
+     * @param concurrencyLimit current concurrency limit
+     * @since 1.8.8
+     */
+    public void setConcurrencyLimit(int concurrencyLimit) {
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
     public long success() {
         return get(MetricEvent.SUCCESS);
     }
@@ -125,6 +242,9 @@ public class MetricBucket {
 
     public void addRT(long rt) {
         add(MetricEvent.RT, rt);
+        if (rtHistogram != null) {
+            rtHistogram.record(rt);
+        }
 
         // Not thread-safe, but it's okay.
         if (rt < minRt) {
@@ -0,0 +1,157 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.data;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+
+/**
+ * <p>A fixed-memory log-linear (HDR-style) histogram of response time in milliseconds.</p>
+ * <p>
+ * Values below {@link #SUB_BUCKET_COUNT} are recorded exactly, and every power-of-two range above is split
+ * into {@link #SUB_BUCKET_COUNT} linear sub-buckets, so the relative error of the reported value is at most
+ * {@code 1 / SUB_BUCKET_COUNT}. Values larger than the max RT are recorded as the max RT
+ * (see {@link SentinelConfig#statisticMaxRt()}). Recording is allocation-free.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+public class RtHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private final long maxValue;
+    private final AtomicIntegerArray counts;
+
+    public RtHistogram() {
+        this(SentinelConfig.statisticMaxRt());
+    }
+
+    public RtHistogram(long maxValue) {
+        this.maxValue = Math.max(maxValue, 1);
+        this.counts = new AtomicIntegerArray(indexOf(this.maxValue) + 1);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int)Math.max(value, 0);
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (int)(((shift + 1) << SUB_BUCKET_BITS) + (value >>> shift) - SUB_BUCKET_COUNT);
+    }
+
+    /**
+     * Get the highest value that is recorded into the sub-bucket of given index.
+     *
+     * @param index index of the sub-bucket
+     * @return the highest equivalent value of the sub-bucket
+     */
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long lowest = (long)((index & (SUB_BUCKET_COUNT - 1)) + SUB_BUCKET_COUNT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    public void record(long rt) {
+        counts.incrementAndGet(indexOf(Math.min(rt, maxValue)));
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Get the value at given percentile of the recorded values.
+     *
+     * @param percentile percentile in {@code (0, 100]}, e.g. 99.9
+     * @return the value at given percentile, or 0 if no value is recorded
+     */
+    public long valueAtPercentile(double percentile) {
+        long count = count();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = rankOf(percentile, count);
+        long sum = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            sum += counts.get(i);
+            if (sum >= rank) {
+                return Math.min(highestValueOf(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    /**
+     * Get the value at given percentile of the values recorded in all the histograms of provided buckets.
+     * Buckets without histogram are ignored.
+     *
+     * @param buckets    metric buckets
+     * @param percentile percentile in {@code (0, 100]}, e.g. 99.9
+     * @return the value at given percentile, or 0 if no value is recorded
+     */
+    public static long valueAtPercentile(List<MetricBucket> buckets, double percentile) {
+        long count = 0;
+        int length = 0;
+        long maxValue = 0;
+        for (MetricBucket bucket : buckets) {
+            RtHistogram histogram = bucket.rtHistogram();
+            if (histogram != null) {
+                count += histogram.count();
+                length = Math.max(length, histogram.counts.length());
+                maxValue = Math.max(maxValue, histogram.maxValue);
+            }
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = rankOf(percentile, count);
+        long sum = 0;
+        for (int i = 0; i < length; i++) {
+            for (MetricBucket bucket : buckets) {
+                RtHistogram histogram = bucket.rtHistogram();
+                if (histogram != null && i < histogram.counts.length()) {
+                    sum += histogram.counts.get(i);
+                }
+            }
+            if (sum >= rank) {
+                return Math.min(highestValueOf(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    private static long rankOf(double percentile, long count) {
+        double p = Math.min(Math.max(percentile, 0), 100);
+        return Math.max(1, (long)Math.ceil(p / 100 * count));
+    }
+}
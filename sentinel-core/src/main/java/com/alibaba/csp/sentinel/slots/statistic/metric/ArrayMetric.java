@@ -23,12 +23,21 @@ import com.alibaba.csp.sentinel.node.metric.MetricNode;
 import com.alibaba.csp.sentinel.slots.statistic.MetricEvent;
 import com.alibaba.csp.sentinel.slots.statistic.base.LeapArray;
 import com.alibaba.csp.sentinel.slots.statistic.data.MetricBucket;
+import com.alibaba.csp.sentinel.slots.statistic.data.RtHistogram;
 import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
 import com.alibaba.csp.sentinel.slots.statistic.metric.occupy.OccupiableBucketLeapArray;
+import com.alibaba.csp.sentinel.util.TimeUtil;
 import com.alibaba.csp.sentinel.util.function.Predicate;
 
 /**
  * The basic metric class in Sentinel using a {@link BucketLeapArray} internal.
+ * <p>
+ * In running-sum mode (since 1.8.8), the aggregated values of the completed buckets in the sliding window
+ * are summarized once per bucket tick, so that reading the sum of the whole window only takes the summary
+ * plus the current bucket, without allocation or looping over the sample count. Data recorded into
+ * the previous bucket right after the tick (by the threads that got the bucket before the tick)
+ * may be missed by the summary of the window.
+ * </p>
  *
  * @author jialiang.linjl
  * @author Eric Zhao
@@ -43,6 +52,12 @@ public class ArrayMetric implements Metric {
      */
     private final LeapArray<MetricBucket> data;
 
+    private final boolean runningSum;
+    /**
+     * Summary of the completed buckets for the current bucket tick, only used in running-sum mode.
+     */
+    private volatile WindowSummary summary;
+
     /**
      * 构造函数，创建一个不支持占用的 ArrayMetric 实例。
      *
@@ -51,6 +66,7 @@ public class ArrayMetric implements Metric {
      */
     public ArrayMetric(int sampleCount, int intervalInMs) {
         this.data = new OccupiableBucketLeapArray(sampleCount, intervalInMs);
+        this.runningSum = false;
     }
 
 
@@ -62,18 +78,38 @@ public class ArrayMetric implements Metric {
      * @param enableOccupy 是否启用占用功能。
      */
     public ArrayMetric(int sampleCount, int intervalInMs, boolean enableOccupy) {
+        this(sampleCount, intervalInMs, enableOccupy, false);
+    }
+
+    /**
+     * @param sampleCount  bucket count of the sliding window
+     * @param intervalInMs the total time interval of the sliding window in milliseconds
+     * @param enableOccupy whether to enable occupying future buckets
+     * @param runningSum   whether to read the aggregated values in running-sum mode
+     * @since 1.8.8
+     */
+    public ArrayMetric(int sampleCount, int intervalInMs, boolean enableOccupy, boolean runningSum) {
         if (enableOccupy) {
             this.data = new OccupiableBucketLeapArray(sampleCount, intervalInMs);
         } else {
             this.data = new BucketLeapArray(sampleCount, intervalInMs);
         }
+        this.runningSum = runningSum;
     }
 
     /**
      * For unit test.
      */
     public ArrayMetric(LeapArray<MetricBucket> array) {
+        this(array, false);
+    }
+
+    /**
+     * For unit test.
+     */
+    public ArrayMetric(LeapArray<MetricBucket> array, boolean runningSum) {
         this.data = array;
+        this.runningSum = runningSum;
     }
 
     /**
@@ -83,6 +119,9 @@ public class ArrayMetric implements Metric {
      */
     @Override
     public long success() {
+        if (runningSum) {
+            return runningSum(MetricEvent.SUCCESS);
+        }
         data.currentWindow();
         long success = 0;
 
@@ -100,6 +139,10 @@ public class ArrayMetric implements Metric {
      */
     @Override
     public long maxSuccess() {
+        if (runningSum) {
+            WindowWrap<MetricBucket> current = data.currentWindow();
+            return Math.max(Math.max(summaryOf(current).maxSuccess, current.value().success()), 1);
+        }
         data.currentWindow();
         long success = 0;
 
@@ -119,6 +162,9 @@ public class ArrayMetric implements Metric {
      */
     @Override
     public long exception() {
+        if (runningSum) {
+            return runningSum(MetricEvent.EXCEPTION);
+        }
         data.currentWindow();
         long exception = 0;
         List<MetricBucket> list = data.values();
@@ -135,6 +181,9 @@ public class ArrayMetric implements Metric {
      */
     @Override
     public long block() {
+        if (runningSum) {
+            return runningSum(MetricEvent.BLOCK);
+        }
         data.currentWindow();
         long block = 0;
         List<MetricBucket> list = data.values();
@@ -151,6 +200,9 @@ public class ArrayMetric implements Metric {
      */
     @Override
     public long pass() {
+        if (runningSum) {
+            return runningSum(MetricEvent.PASS);
+        }
         data.currentWindow();
         long pass = 0;
         // 获取所有有效的窗口的 MetricBucket 列表
@@ -169,6 +221,9 @@ public class ArrayMetric implements Metric {
      */
     @Override
     public long occupiedPass() {
+        if (runningSum) {
+            return runningSum(MetricEvent.OCCUPIED_PASS);
+        }
         data.currentWindow();
         long pass = 0;
         List<MetricBucket> list = data.values();
@@ -185,6 +240,9 @@ public class ArrayMetric implements Metric {
      */
     @Override
     public long rt() {
+        if (runningSum) {
+            return runningSum(MetricEvent.RT);
+        }
         data.currentWindow();
         long rt = 0;
         List<MetricBucket> list = data.values();
@@ -201,6 +259,10 @@ public class ArrayMetric implements Metric {
      */
     @Override
     public long minRt() {
+        if (runningSum) {
+            WindowWrap<MetricBucket> current = data.currentWindow();
+            return Math.max(1, Math.min(summaryOf(current).minRt, current.value().minRt()));
+        }
         data.currentWindow();
         long rt = SentinelConfig.statisticMaxRt();
         List<MetricBucket> list = data.values();
@@ -213,6 +275,12 @@ public class ArrayMetric implements Metric {
         return Math.max(1, rt);
     }
 
+    @Override
+    public long percentileRt(double percentile) {
+        data.currentWindow();
+        return RtHistogram.valueAtPercentile(data.values(), percentile);
+    }
+
     /**
      * 获取所有窗口的详细指标数据列表。
      *
@@ -279,6 +347,14 @@ public class ArrayMetric implements Metric {
         }
         node.setTimestamp(wrap.windowStart());
         node.setOccupiedPassQps(wrap.value().occupiedPass());
+        node.setConcurrencyLimit(wrap.value().concurrencyLimit());
+        RtHistogram histogram = wrap.value().rtHistogram();
+        if (histogram != null) {
+            node.setP50Rt(histogram.valueAtPercentile(50));
+            node.setP90Rt(histogram.valueAtPercentile(90));
+            node.setP99Rt(histogram.valueAtPercentile(99));
+            node.setP999Rt(histogram.valueAtPercentile(99.9));
+        }
         return node;
     }
 
@@ -363,6 +439,16 @@ public class ArrayMetric implements Metric {
         wrap.value().addPass(count);
     }
 
+    /**
+     * 在当前窗口中记录自适应并发控制计算出的并发上限。
+     *
+     * @param limit 并发上限。
+     */
+    @Override
+    public void setConcurrencyLimit(int limit) {
+        data.currentWindow().value().setConcurrencyLimit(limit);
+    }
+
     /**
      * 在当前窗口中增加请求响应时间（RT）。
      *
@@ -381,7 +467,7 @@ public class ArrayMetric implements Metric {
      */
     @Override
     public void debug() {
-        data.debug(System.currentTimeMillis());
+        data.debug(TimeUtil.currentTimeMillis());
     }
 
     /**
@@ -440,6 +526,9 @@ public class ArrayMetric implements Metric {
      * @return total sum for event 所有窗口中该事件类型的总和。
      */
     public long getSum(MetricEvent event) {
+        if (runningSum) {
+            return runningSum(event);
+        }
         data.currentWindow();
         long sum = 0;
 
@@ -504,4 +593,57 @@ public class ArrayMetric implements Metric {
     public int getSampleCount() {
         return data.getSampleCount();
     }
+
+    private long runningSum(MetricEvent event) {
+        WindowWrap<MetricBucket> current = data.currentWindow();
+        return summaryOf(current).counters[event.ordinal()] + current.value().get(event);
+    }
+
+    /**
+     * Get the summary of completed buckets for the tick of provided current bucket.
+     * The summary will be rebuilt only once per bucket tick.
+     *
+     * @param current current bucket
+     * @return the summary of the completed buckets in the sliding window
+     */
+    private WindowSummary summaryOf(WindowWrap<MetricBucket> current) {
+        WindowSummary s = summary;
+        if (s == null || s.windowStart != current.windowStart()) {
+            s = new WindowSummary(current.windowStart(), data.list(current.windowStart()), current);
+            summary = s;
+        }
+        return s;
+    }
+
+    /**
+     * Immutable aggregated values of the completed (i.e. valid but not current) buckets.
+     */
+    private static final class WindowSummary {
+
+        private static final MetricEvent[] EVENTS = MetricEvent.values();
+
+        private final long windowStart;
+        private final long[] counters = new long[EVENTS.length];
+        private final long maxSuccess;
+        private final long minRt;
+
+        WindowSummary(long windowStart, List<WindowWrap<MetricBucket>> windows, WindowWrap<MetricBucket> current) {
+            this.windowStart = windowStart;
+            long maxSuccess = 0;
+            long minRt = SentinelConfig.statisticMaxRt();
+            for (WindowWrap<MetricBucket> window : windows) {
+                if (window == current) {
+                    continue;
+                }
+                MetricBucket bucket = window.value();
+                for (MetricEvent event : EVENTS) {
+                    counters[event.ordinal()] += bucket.get(event);
+                }
+                maxSuccess = Math.max(maxSuccess, bucket.success());
+                minRt = Math.min(minRt, bucket.minRt());
+            }
+            this.maxSuccess = maxSuccess;
+            this.minRt = minRt;
+        }
+    }
 }
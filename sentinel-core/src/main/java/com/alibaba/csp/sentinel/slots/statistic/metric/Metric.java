@@ -78,6 +78,25 @@ public interface Metric extends DebugSupport {
      */
     long minRt();
 
+    /**
+     * Get the RT at given percentile, which is only available when RT histogram is enabled.
+     *
+     * @param percentile percentile in {@code (0, 100]}, e.g. 99.9
+     * @return the RT at given percentile, or 0 if unavailable
+     * @since 1.8.8
+     */
+    default long percentileRt(double percentile) {
+        return 0;
+    }
+
+    /**
+     * Record the concurrency limit in effect in current bucket, see {@link com.alibaba.csp.sentinel.node.Node#concurrencyLimit()}.
+     *
+     * @param limit current concurrency limit
+     * @since 1.8.8
+     */
+    default void setConcurrencyLimit(int limit) {}
+
     /**
      * Get aggregated metric nodes of all resources.
      *
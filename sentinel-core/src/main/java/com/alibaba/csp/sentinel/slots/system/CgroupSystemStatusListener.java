@@ -0,0 +1,230 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.system;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+import com.sun.management.OperatingSystemMXBean;
+
+/**
+ * <p>
+ * System metrics of the container (or the process group) on Linux with cgroup v2, instead of the host-wide
+ * metrics from JMX:
+ * </p>
+ * <ul>
+ *     <li>CPU usage: {@code usage_usec} of {@code cpu.stat}, relative to the CPU quota in {@code cpu.max}
+ *     (or the available processors if there's no quota).</li>
+ *     <li>CPU throttled ratio: the ratio of enforcement periods in which the cgroup was throttled, i.e.
+ *     {@code nr_throttled / nr_periods} of {@code cpu.stat} since last sampling. Unlike {@code throttled_usec},
+ *     which is summed over the runqueues of all the CPUs, it stays a ratio with a quota of multiple cores.</li>
+ *     <li>CPU and memory pressure: {@code some avg10} of PSI (pressure stall information), read from
+ *     {@code cpu.pressure} and {@code memory.pressure} of the cgroup, or {@code /proc/pressure/cpu} and
+ *     {@code /proc/pressure/memory} if the cgroup doesn't provide them.</li>
+ * </ul>
+ * <p>
+ * The system load average is still read from JMX, and so is the CPU usage if cgroup v2 is unavailable
+ * (or {@code cpu.stat} can no longer be read).
+ * The cgroup of current process is resolved from {@code /proc/self/cgroup}, relative to the cgroup mount point.
+ * </p>
+ *
+ * @see com.alibaba.csp.sentinel.config.SentinelConfig#SYSTEM_METRICS_TYPE_CGROUP
+ * @since 1.8.8
+ */
+public class CgroupSystemStatusListener extends SystemStatusListener {
+
+    static final String DEFAULT_CGROUP_ROOT = "/sys/fs/cgroup";
+    static final String DEFAULT_PROC_ROOT = "/proc";
+
+    private final File cgroupDir;
+    private final File procDir;
+
+    /**
+     * Counters of last sampling, only accessed by the sampling thread.
+     */
+    private long lastSampleNanos = -1;
+    private long lastUsageUsec = -1;
+    private long lastPeriods = -1;
+    private long lastThrottledPeriods = -1;
+
+    private volatile double containerCpuUsage = -1;
+
+    public CgroupSystemStatusListener() {
+        this(DEFAULT_CGROUP_ROOT, DEFAULT_PROC_ROOT);
+    }
+
+    /**
+     * @param cgroupRoot the mount point of cgroup v2 hierarchy
+     * @param procRoot   the mount point of procfs
+     */
+    public CgroupSystemStatusListener(String cgroupRoot, String procRoot) {
+        this.procDir = new File(procRoot);
+        this.cgroupDir = resolveCgroupDir(new File(cgroupRoot), procDir);
+    }
+
+    @Override
+    public void run() {
+        try {
+            sample(TimeUtil.nanoTime());
+        } catch (Throwable e) {
+            RecordLog.warn("[CgroupSystemStatusListener] Failed to get system metrics from cgroup", e);
+            resetCpuStat();
+        }
+        super.run();
+    }
+
+    @Override
+    protected double computeCpuUsage(OperatingSystemMXBean osBean) {
+        double usage = containerCpuUsage;
+        return usage >= 0 ? usage : super.computeCpuUsage(osBean);
+    }
+
+    void sample(long currentNanos) throws IOException {
+        String cpuStat = readFile(new File(cgroupDir, "cpu.stat"));
+        if (cpuStat == null) {
+            // Stale readings must not keep driving the system rules.
+            resetCpuStat();
+        } else {
+            long usageUsec = parseKeyValue(cpuStat, "usage_usec");
+            long periods = parseKeyValue(cpuStat, "nr_periods");
+            long throttledPeriods = parseKeyValue(cpuStat, "nr_throttled");
+            if (lastSampleNanos >= 0 && currentNanos > lastSampleNanos) {
+                double elapsedUsec = (currentNanos - lastSampleNanos) / 1000.0;
+                if (usageUsec >= 0 && lastUsageUsec >= 0) {
+                    containerCpuUsage = Math.min(1.0, (usageUsec - lastUsageUsec) / elapsedUsec / cpuLimit());
+                }
+                if (periods >= 0 && lastPeriods >= 0 && throttledPeriods >= 0 && lastThrottledPeriods >= 0) {
+                    long deltaPeriods = periods - lastPeriods;
+                    // No enforcement period elapsed (e.g. no quota), so nothing was throttled.
+                    double ratio = deltaPeriods > 0
+                        ? Math.min(1.0, (double)(throttledPeriods - lastThrottledPeriods) / deltaPeriods) : 0;
+                    currentCpuThrottledRatio = smooth(currentCpuThrottledRatio, ratio);
+                }
+            }
+            lastSampleNanos = currentNanos;
+            lastUsageUsec = usageUsec;
+            lastPeriods = periods;
+            lastThrottledPeriods = throttledPeriods;
+        }
+
+        currentCpuPressure = readPressure("cpu");
+        currentMemoryPressure = readPressure("memory");
+    }
+
+    private void resetCpuStat() {
+        lastSampleNanos = -1;
+        lastUsageUsec = -1;
+        lastPeriods = -1;
+        lastThrottledPeriods = -1;
+        containerCpuUsage = -1;
+        currentCpuThrottledRatio = -1;
+    }
+
+    /**
+     * @return CPU limit of the cgroup in cores, i.e. {@code quota / period} in {@code cpu.max}
+     */
+    double cpuLimit() throws IOException {
+        String cpuMax = readFile(new File(cgroupDir, "cpu.max"));
+        if (cpuMax != null) {
+            String[] parts = cpuMax.trim().split("\\s+");
+            if (parts.length == 2 && !"max".equals(parts[0])) {
+                double quota = Double.parseDouble(parts[0]);
+                double period = Double.parseDouble(parts[1]);
+                if (quota > 0 && period > 0) {
+                    return quota / period;
+                }
+            }
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    private double readPressure(String resource) throws IOException {
+        String pressure = readFile(new File(cgroupDir, resource + ".pressure"));
+        if (pressure == null) {
+            pressure = readFile(new File(procDir, "pressure/" + resource));
+        }
+        return pressure == null ? -1 : parseSomeAvg10(pressure);
+    }
+
+    /**
+     * Parse the {@code avg10} (in percent) of the {@code some} line in PSI format, e.g.
+     * {@code some avg10=1.53 avg60=0.87 avg300=0.24 total=3148727}.
+     *
+     * @return the ratio between [0, 1], or -1 if absent
+     */
+    static double parseSomeAvg10(String pressure) {
+        for (String line : pressure.split("\n")) {
+            if (!line.startsWith("some ")) {
+                continue;
+            }
+            for (String field : line.split("\\s+")) {
+                if (field.startsWith("avg10=")) {
+                    return Double.parseDouble(field.substring("avg10=".length())) / 100;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parse the value of given key in flat keyed format (one {@code key value} per line), e.g. {@code cpu.stat}.
+     *
+     * @return the value, or -1 if absent
+     */
+    static long parseKeyValue(String content, String key) {
+        for (String line : content.split("\n")) {
+            String[] parts = line.trim().split("\\s+");
+            if (parts.length == 2 && key.equals(parts[0])) {
+                return Long.parseLong(parts[1]);
+            }
+        }
+        return -1;
+    }
+
+    static File resolveCgroupDir(File cgroupRoot, File procDir) {
+        try {
+            String cgroups = readFile(new File(procDir, "self/cgroup"));
+            if (cgroups != null) {
+                for (String line : cgroups.split("\n")) {
+                    // The only entry of cgroup v2 hierarchy is "0::$PATH".
+                    String path = line.startsWith("0::") ? line.substring(3).trim() : null;
+                    if (path != null && !path.isEmpty() && !"/".equals(path)) {
+                        File dir = new File(cgroupRoot, path);
+                        if (dir.isDirectory()) {
+                            return dir;
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            RecordLog.warn("[CgroupSystemStatusListener] Failed to resolve the cgroup of current process", e);
+        }
+        // e.g. in a cgroup namespace of the container, where the root is the cgroup of the container.
+        return cgroupRoot;
+    }
+
+    private static String readFile(File file) throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
@@ -45,6 +45,14 @@ public class SystemRule extends AbstractRule {
      * cpu usage, between [0, 1]
      */
     private double highestCpuUsage = -1;
+    /**
+     * cpu pressure (PSI), between [0, 1]
+     */
+    private double highestCpuPressure = -1;
+    /**
+     * ratio of cpu throttled time, between [0, 1]
+     */
+    private double highestCpuThrottledRatio = -1;
     private double qps = -1;
     private long avgRt = -1;
     private long maxThread = -1;
@@ -131,6 +139,59 @@ public class SystemRule extends AbstractRule {
         this.highestCpuUsage = highestCpuUsage;
     }
 
+    /**
+     * Get highest cpu pressure. Cpu pressure is between [0, 1]
+     *
+     * @return highest cpu pressure
+     * @since 1.8.8
+     */
+    public double getHighestCpuPressure() {
+        return highestCpuPressure;
+    }
+
+    /**
+     * <p>
+     * Set highest cpu pressure, i.e. the share of time in which some tasks are stalled waiting for CPU
+     * (the {@code some avg10} of Linux PSI), between [0, 1].
+     * </p>
+     * <p>
+     * Note that this parameter is only available with
+     * {@link com.alibaba.csp.sentinel.config.SentinelConfig#SYSTEM_METRICS_TYPE_CGROUP} on Linux 4.20+.
+     * </p>
+     *
+     * @param highestCpuPressure the value to set.
+     * @since 1.8.8
+     */
+    public void setHighestCpuPressure(double highestCpuPressure) {
+        this.highestCpuPressure = highestCpuPressure;
+    }
+
+    /**
+     * Get highest ratio of cpu throttled time. The ratio is between [0, 1]
+     *
+     * @return highest cpu throttled ratio
+     * @since 1.8.8
+     */
+    public double getHighestCpuThrottledRatio() {
+        return highestCpuThrottledRatio;
+    }
+
+    /**
+     * <p>
+     * Set highest ratio of time in which the container is throttled by its cpu quota, between [0, 1].
+     * </p>
+     * <p>
+     * Note that this parameter is only available with
+     * {@link com.alibaba.csp.sentinel.config.SentinelConfig#SYSTEM_METRICS_TYPE_CGROUP} on Linux with cgroup v2.
+     * </p>
+     *
+     * @param highestCpuThrottledRatio the value to set.
+     * @since 1.8.8
+     */
+    public void setHighestCpuThrottledRatio(double highestCpuThrottledRatio) {
+        this.highestCpuThrottledRatio = highestCpuThrottledRatio;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -151,6 +212,12 @@ public class SystemRule extends AbstractRule {
         if (Double.compare(that.highestCpuUsage, highestCpuUsage) != 0) {
             return false;
         }
+        if (Double.compare(that.highestCpuPressure, highestCpuPressure) != 0) {
+            return false;
+        }
+        if (Double.compare(that.highestCpuThrottledRatio, highestCpuThrottledRatio) != 0) {
+            return false;
+        }
 
         if (Double.compare(that.qps, qps) != 0) {
             return false;
@@ -172,6 +239,12 @@ public class SystemRule extends AbstractRule {
         temp = Double.doubleToLongBits(highestCpuUsage);
         result = 31 * result + (int)(temp ^ (temp >>> 32));
 
+        temp = Double.doubleToLongBits(highestCpuPressure);
+        result = 31 * result + (int)(temp ^ (temp >>> 32));
+
+        temp = Double.doubleToLongBits(highestCpuThrottledRatio);
+        result = 31 * result + (int)(temp ^ (temp >>> 32));
+
         temp = Double.doubleToLongBits(qps);
         result = 31 * result + (int)(temp ^ (temp >>> 32));
 
@@ -185,6 +258,8 @@ public class SystemRule extends AbstractRule {
         return "SystemRule{" +
             "highestSystemLoad=" + highestSystemLoad +
             ", highestCpuUsage=" + highestCpuUsage +
+            ", highestCpuPressure=" + highestCpuPressure +
+            ", highestCpuThrottledRatio=" + highestCpuThrottledRatio +
             ", qps=" + qps +
             ", avgRt=" + avgRt +
             ", maxThread=" + maxThread +
@@ -25,12 +25,15 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.EntryType;
 import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
 import com.alibaba.csp.sentinel.property.SentinelProperty;
 import com.alibaba.csp.sentinel.property.SimplePropertyListener;
+import com.alibaba.csp.sentinel.slotchain.ActiveSlots;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.util.AssertUtil;
 
 /**
  * <p>
@@ -70,6 +73,11 @@ public final class SystemRuleManager {
      * cpu usage, between [0, 1]
      */
     private static volatile double highestCpuUsage = Double.MAX_VALUE;
+    /**
+     * cpu pressure and cpu throttled ratio, between [0, 1]
+     */
+    private static volatile double highestCpuPressure = Double.MAX_VALUE;
+    private static volatile double highestCpuThrottledRatio = Double.MAX_VALUE;
     private static volatile double qps = Double.MAX_VALUE;
     private static volatile long maxRt = Long.MAX_VALUE;
     private static volatile long maxThread = Long.MAX_VALUE;
@@ -78,13 +86,19 @@ public final class SystemRuleManager {
      */
     private static volatile boolean highestSystemLoadIsSet = false;
     private static volatile boolean highestCpuUsageIsSet = false;
+    private static volatile boolean highestCpuPressureIsSet = false;
+    private static volatile boolean highestCpuThrottledRatioIsSet = false;
     private static volatile boolean qpsIsSet = false;
     private static volatile boolean maxRtIsSet = false;
     private static volatile boolean maxThreadIsSet = false;
 
     private static AtomicBoolean checkSystemStatus = new AtomicBoolean(false);
 
-    private static SystemStatusListener statusListener = null;
+    private static final long STATUS_INTERVAL_MS = SentinelConfig.systemStatusIntervalMs();
+    private static final double STATUS_SMOOTHING_FACTOR = smoothingFactor(STATUS_INTERVAL_MS,
+        SentinelConfig.systemStatusSmoothingMs());
+
+    private static volatile SystemStatusListener statusListener = null;
     private final static SystemPropertyListener listener = new SystemPropertyListener();
     private static SentinelProperty<List<SystemRule>> currentProperty = new DynamicSentinelProperty<List<SystemRule>>();
 
@@ -94,11 +108,64 @@ public final class SystemRuleManager {
 
     static {
         checkSystemStatus.set(false);
-        statusListener = new SystemStatusListener();
-        scheduler.scheduleAtFixedRate(statusListener, 0, 1, TimeUnit.SECONDS);
+        statusListener = newStatusListener();
+        scheduler.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                statusListener.run();
+            }
+        }, 0, STATUS_INTERVAL_MS, TimeUnit.MILLISECONDS);
         currentProperty.addListener(listener);
     }
 
+    private static SystemStatusListener newStatusListener() {
+        SystemStatusListener listener;
+        if (SentinelConfig.SYSTEM_METRICS_TYPE_CGROUP.equals(SentinelConfig.systemMetricsType())) {
+            RecordLog.info("[SystemRuleManager] Using system metrics from cgroup and PSI");
+            listener = new CgroupSystemStatusListener();
+        } else {
+            listener = new SystemStatusListener();
+        }
+        listener.setSmoothingFactor(STATUS_SMOOTHING_FACTOR);
+        return listener;
+    }
+
+    /**
+     * Weight of a new sample in EWMA smoothing with given sampling interval and time constant.
+     *
+     * @param intervalMs  sampling interval in milliseconds
+     * @param smoothingMs time constant of smoothing in milliseconds, non-positive value means no smoothing
+     * @return the weight in (0, 1]
+     */
+    static double smoothingFactor(long intervalMs, long smoothingMs) {
+        if (smoothingMs <= 0) {
+            return 1;
+        }
+        return 1 - Math.exp(-(double)intervalMs / smoothingMs);
+    }
+
+    /**
+     * Set the listener that samples system metrics (see {@link SentinelConfig#SYSTEM_STATUS_INTERVAL}),
+     * e.g. {@link CgroupSystemStatusListener} for metrics of the container. By default it's selected by
+     * {@link SentinelConfig#SYSTEM_METRICS_TYPE}. The smoothing factor of the listener is set as derived from
+     * {@link SentinelConfig#SYSTEM_STATUS_SMOOTHING}.
+     *
+     * @param listener the listener that samples system metrics
+     * @since 1.8.8
+     */
+    public static void setSystemStatusListener(SystemStatusListener listener) {
+        AssertUtil.notNull(listener, "listener cannot be null");
+        listener.setSmoothingFactor(STATUS_SMOOTHING_FACTOR);
+        statusListener = listener;
+    }
+
+    /**
+     * @since 1.8.8
+     */
+    public static SystemStatusListener getSystemStatusListener() {
+        return statusListener;
+    }
+
     /**
      * Listen to the {@link SentinelProperty} for {@link SystemRule}s. The property is the source
      * of {@link SystemRule}s. System rules can also be set by {@link #loadRules(List)} directly.
@@ -147,6 +214,18 @@ public final class SystemRuleManager {
             result.add(rule);
         }
 
+        if (highestCpuPressureIsSet) {
+            SystemRule rule = new SystemRule();
+            rule.setHighestCpuPressure(highestCpuPressure);
+            result.add(rule);
+        }
+
+        if (highestCpuThrottledRatioIsSet) {
+            SystemRule rule = new SystemRule();
+            rule.setHighestCpuThrottledRatio(highestCpuThrottledRatio);
+            result.add(rule);
+        }
+
         if (maxRtIsSet) {
             SystemRule rtRule = new SystemRule();
             rtRule.setAvgRt(maxRt);
@@ -197,15 +276,20 @@ public final class SystemRuleManager {
             RecordLog.info(String.format("[SystemRuleManager] Current system check status: %s, "
                     + "highestSystemLoad: %e, "
                     + "highestCpuUsage: %e, "
+                    + "highestCpuPressure: %e, "
+                    + "highestCpuThrottledRatio: %e, "
                     + "maxRt: %d, "
                     + "maxThread: %d, "
                     + "maxQps: %e",
                 checkSystemStatus.get(),
                 highestSystemLoad,
                 highestCpuUsage,
+                highestCpuPressure,
+                highestCpuThrottledRatio,
                 maxRt,
                 maxThread,
                 qps));
+            ActiveSlots.invalidate();
         }
 
         protected void restoreSetting() {
@@ -214,12 +298,16 @@ public final class SystemRuleManager {
             // should restore changes
             highestSystemLoad = Double.MAX_VALUE;
             highestCpuUsage = Double.MAX_VALUE;
+            highestCpuPressure = Double.MAX_VALUE;
+            highestCpuThrottledRatio = Double.MAX_VALUE;
             maxRt = Long.MAX_VALUE;
             maxThread = Long.MAX_VALUE;
             qps = Double.MAX_VALUE;
 
             highestSystemLoadIsSet = false;
             highestCpuUsageIsSet = false;
+            highestCpuPressureIsSet = false;
+            highestCpuThrottledRatioIsSet = false;
             maxRtIsSet = false;
             maxThreadIsSet = false;
             qpsIsSet = false;
@@ -239,6 +327,20 @@ public final class SystemRuleManager {
         return highestCpuUsage;
     }
 
+    /**
+     * @since 1.8.8
+     */
+    public static double getCpuPressureThreshold() {
+        return highestCpuPressure;
+    }
+
+    /**
+     * @since 1.8.8
+     */
+    public static double getCpuThrottledRatioThreshold() {
+        return highestCpuThrottledRatio;
+    }
+
     public static void loadSystemConf(SystemRule rule) {
         boolean checkStatus = false;
         // Check if it's valid.
@@ -260,6 +362,28 @@ public final class SystemRuleManager {
             }
         }
 
+        if (rule.getHighestCpuPressure() >= 0) {
+            if (rule.getHighestCpuPressure() > 1) {
+                RecordLog.warn(String.format("[SystemRuleManager] Ignoring invalid SystemRule: "
+                    + "highestCpuPressure %.3f > 1", rule.getHighestCpuPressure()));
+            } else {
+                highestCpuPressure = Math.min(highestCpuPressure, rule.getHighestCpuPressure());
+                highestCpuPressureIsSet = true;
+                checkStatus = true;
+            }
+        }
+
+        if (rule.getHighestCpuThrottledRatio() >= 0) {
+            if (rule.getHighestCpuThrottledRatio() > 1) {
+                RecordLog.warn(String.format("[SystemRuleManager] Ignoring invalid SystemRule: "
+                    + "highestCpuThrottledRatio %.3f > 1", rule.getHighestCpuThrottledRatio()));
+            } else {
+                highestCpuThrottledRatio = Math.min(highestCpuThrottledRatio, rule.getHighestCpuThrottledRatio());
+                highestCpuThrottledRatioIsSet = true;
+                checkStatus = true;
+            }
+        }
+
         if (rule.getAvgRt() >= 0) {
             maxRt = Math.min(maxRt, rule.getAvgRt());
             maxRtIsSet = true;
@@ -278,7 +402,7 @@ public final class SystemRuleManager {
         }
 
         checkSystemStatus.set(checkStatus);
-
+        ActiveSlots.invalidate();
     }
 
     /**
@@ -313,7 +437,10 @@ public final class SystemRuleManager {
             throw new SystemBlockException(resourceWrapper.getName(), "thread");
         }
 
-        double rt = Constants.ENTRY_NODE.avgRt();
+        // Use the smoothed RT of the sampler when smoothing is enabled, so that a single slow bucket won't block.
+        SystemStatusListener listener = statusListener;
+        double rt = listener.getSmoothingFactor() < 1 && listener.getAvgRt() >= 0
+            ? listener.getAvgRt() : Constants.ENTRY_NODE.avgRt();
         if (rt > maxRt) {
             throw new SystemBlockException(resourceWrapper.getName(), "rt");
         }
@@ -329,6 +456,14 @@ public final class SystemRuleManager {
         if (highestCpuUsageIsSet && getCurrentCpuUsage() > highestCpuUsage) {
             throw new SystemBlockException(resourceWrapper.getName(), "cpu");
         }
+
+        if (highestCpuPressureIsSet && getCurrentCpuPressure() > highestCpuPressure) {
+            throw new SystemBlockException(resourceWrapper.getName(), "cpuPressure");
+        }
+
+        if (highestCpuThrottledRatioIsSet && getCurrentCpuThrottledRatio() > highestCpuThrottledRatio) {
+            throw new SystemBlockException(resourceWrapper.getName(), "cpuThrottled");
+        }
     }
 
     private static boolean checkBbr(int currentThread) {
@@ -346,4 +481,43 @@ public final class SystemRuleManager {
     public static double getCurrentCpuUsage() {
         return statusListener.getCpuUsage();
     }
+
+    /**
+     * Get the (smoothed) average RT of inbound traffic sampled by the status listener.
+     *
+     * @since 1.8.8
+     */
+    public static double getCurrentAvgRt() {
+        return statusListener.getAvgRt();
+    }
+
+    /**
+     * Get the (smoothed) concurrency of inbound traffic sampled by the status listener.
+     *
+     * @since 1.8.8
+     */
+    public static double getCurrentConcurrency() {
+        return statusListener.getConcurrency();
+    }
+
+    /**
+     * @since 1.8.8
+     */
+    public static double getCurrentCpuPressure() {
+        return statusListener.getCpuPressure();
+    }
+
+    /**
+     * @since 1.8.8
+     */
+    public static double getCurrentMemoryPressure() {
+        return statusListener.getMemoryPressure();
+    }
+
+    /**
+     * @since 1.8.8
+     */
+    public static double getCurrentCpuThrottledRatio() {
+        return statusListener.getCpuThrottledRatio();
+    }
 }
@@ -21,6 +21,7 @@ import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.SkippableSlot;
 import com.alibaba.csp.sentinel.spi.Spi;
 
 /**
@@ -30,7 +31,7 @@ import com.alibaba.csp.sentinel.spi.Spi;
  * @author leyou
  */
 @Spi(order = Constants.ORDER_SYSTEM_SLOT)
-public class SystemSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
+public class SystemSlot extends AbstractLinkedProcessorSlot<DefaultNode> implements SkippableSlot {
 
     @Override
     public void entry(Context context, ResourceWrapper resourceWrapper, DefaultNode node, int count,
@@ -44,4 +45,19 @@ public class SystemSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
         fireExit(context, resourceWrapper, count, args);
     }
 
+    @Override
+    public boolean isActive(ResourceWrapper resourceWrapper, boolean blockingDownstream) {
+        return SystemRuleManager.getCheckSystemStatus();
+    }
+
+    @Override
+    public boolean mayBlock() {
+        return true;
+    }
+
+    @Override
+    public boolean hasRules(ResourceWrapper resourceWrapper) {
+        // System rules apply to all the inbound resources rather than to a specific one.
+        return false;
+    }
 }
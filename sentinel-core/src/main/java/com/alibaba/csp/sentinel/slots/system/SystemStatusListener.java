@@ -21,23 +21,65 @@ import java.util.concurrent.TimeUnit;
 
 import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.StringUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
 
 import com.sun.management.OperatingSystemMXBean;
 
 /**
+ * <p>
+ * Samples the system status for {@link SystemRuleManager}, which is scheduled once per second by default (see
+ * {@link com.alibaba.csp.sentinel.config.SentinelConfig#SYSTEM_STATUS_INTERVAL}). The samples of load, CPU usage,
+ * RT and concurrency of inbound traffic can be smoothed by EWMA (see {@link #setSmoothingFactor(double)}), so that
+ * a high sampling frequency reacts to short spikes without flapping.
+ * </p>
+ * <p>
+ * The signals are written by the sampling thread only and read from volatile fields without locking.
+ * </p>
+ *
  * @author jialiang.linjl
  */
 public class SystemStatusListener implements Runnable {
 
+    /**
+     * Write the system status log at most once per interval while the load exceeds the threshold.
+     */
+    static final long LOG_INTERVAL_MS = 1000;
+
     volatile double currentLoad = -1;
     volatile double currentCpuUsage = -1;
+    /**
+     * Average RT and concurrency of inbound traffic.
+     */
+    volatile double currentAvgRt = -1;
+    volatile double currentConcurrency = -1;
+    /**
+     * Metrics only available with cgroup v2 and PSI, see {@link CgroupSystemStatusListener}.
+     */
+    volatile double currentCpuPressure = -1;
+    volatile double currentMemoryPressure = -1;
+    volatile double currentCpuThrottledRatio = -1;
 
     volatile String reason = StringUtil.EMPTY;
 
     volatile long processCpuTime = 0;
     volatile long processUpTime = 0;
 
+    /**
+     * Weight of a new sample in EWMA smoothing, 1 means no smoothing.
+     */
+    private volatile double smoothingFactor = 1;
+
+    private OperatingSystemMXBean osBean;
+    private RuntimeMXBean runtimeBean;
+
+    /**
+     * Only accessed by the sampling thread.
+     */
+    private long lastLogTime = 0;
+    private final StringBuilder logBuilder = new StringBuilder(256);
+
     public double getSystemAverageLoad() {
         return currentLoad;
     }
@@ -46,55 +88,205 @@ public class SystemStatusListener implements Runnable {
         return currentCpuUsage;
     }
 
+    /**
+     * Get the average RT of inbound traffic.
+     *
+     * @return the average RT of inbound traffic, or a negative value if not sampled yet
+     * @since 1.8.8
+     */
+    public double getAvgRt() {
+        return currentAvgRt;
+    }
+
+    /**
+     * Get the concurrency (thread count) of inbound traffic.
+     *
+     * @return the concurrency of inbound traffic, or a negative value if not sampled yet
+     * @since 1.8.8
+     */
+    public double getConcurrency() {
+        return currentConcurrency;
+    }
+
+    /**
+     * Get the share of time in which some tasks are stalled on CPU, between [0, 1].
+     *
+     * @return current CPU pressure, or a negative value if unavailable
+     * @since 1.8.8
+     */
+    public double getCpuPressure() {
+        return currentCpuPressure;
+    }
+
+    /**
+     * Get the share of time in which some tasks are stalled on memory, between [0, 1].
+     *
+     * @return current memory pressure, or a negative value if unavailable
+     * @since 1.8.8
+     */
+    public double getMemoryPressure() {
+        return currentMemoryPressure;
+    }
+
+    /**
+     * Get the share of time in which the CPU of the container is throttled by its quota, between [0, 1].
+     *
+     * @return current CPU throttled ratio, or a negative value if unavailable
+     * @since 1.8.8
+     */
+    public double getCpuThrottledRatio() {
+        return currentCpuThrottledRatio;
+    }
+
+    /**
+     * @since 1.8.8
+     */
+    public double getSmoothingFactor() {
+        return smoothingFactor;
+    }
+
+    /**
+     * Set the weight of a new sample in EWMA smoothing of the signals, i.e.
+     * {@code value = value + smoothingFactor * (sample - value)}.
+     *
+     * @param smoothingFactor weight in {@code (0, 1]}, 1 means no smoothing
+     * @since 1.8.8
+     */
+    public void setSmoothingFactor(double smoothingFactor) {
+        AssertUtil.assertTrue(smoothingFactor > 0 && smoothingFactor <= 1, "smoothingFactor should be in (0, 1]");
+        this.smoothingFactor = smoothingFactor;
+    }
+
     @Override
     public void run() {
         try {
-            OperatingSystemMXBean osBean = ManagementFactory.getPlatformMXBean(OperatingSystemMXBean.class);
-            currentLoad = osBean.getSystemLoadAverage();
-
-            /*
-             * Java Doc copied from {@link OperatingSystemMXBean#getSystemCpuLoad()}:</br>
-             * Returns the "recent cpu usage" for the whole system. This value is a double in the [0.0,1.0] interval.
-             * A value of 0.0 means that all CPUs were idle during the recent period of time observed, while a value
-             * of 1.0 means that all CPUs were actively running 100% of the time during the recent period being
-             * observed. All values between 0.0 and 1.0 are possible depending of the activities going on in the
-             * system. If the system recent cpu usage is not available, the method returns a negative value.
-             */
-            double systemCpuUsage = osBean.getSystemCpuLoad();
-
-            // calculate process cpu usage to support application running in container environment
-            RuntimeMXBean runtimeBean = ManagementFactory.getPlatformMXBean(RuntimeMXBean.class);
-            long newProcessCpuTime = osBean.getProcessCpuTime();
-            long newProcessUpTime = runtimeBean.getUptime();
-            int cpuCores = osBean.getAvailableProcessors();
-            long processCpuTimeDiffInMs = TimeUnit.NANOSECONDS
-                    .toMillis(newProcessCpuTime - processCpuTime);
-            long processUpTimeDiffInMs = newProcessUpTime - processUpTime;
-            double processCpuUsage = (double) processCpuTimeDiffInMs / processUpTimeDiffInMs / cpuCores;
-            processCpuTime = newProcessCpuTime;
-            processUpTime = newProcessUpTime;
-
-            currentCpuUsage = Math.max(processCpuUsage, systemCpuUsage);
+            if (osBean == null) {
+                osBean = ManagementFactory.getPlatformMXBean(OperatingSystemMXBean.class);
+                runtimeBean = ManagementFactory.getPlatformMXBean(RuntimeMXBean.class);
+            }
+            currentLoad = smooth(currentLoad, osBean.getSystemLoadAverage());
+            currentCpuUsage = smooth(currentCpuUsage, computeCpuUsage(osBean));
+            currentAvgRt = smooth(currentAvgRt, Constants.ENTRY_NODE.avgRt());
+            currentConcurrency = smooth(currentConcurrency, Constants.ENTRY_NODE.curThreadNum());
 
             if (currentLoad > SystemRuleManager.getSystemLoadThreshold()) {
-                writeSystemStatusLog();
+                tryWriteSystemStatusLog(TimeUtil.currentTimeMillis());
             }
         } catch (Throwable e) {
             RecordLog.warn("[SystemStatusListener] Failed to get system metrics from JMX", e);
         }
     }
 
-    private void writeSystemStatusLog() {
-        StringBuilder sb = new StringBuilder();
+    /**
+     * Smooth given sample into previous value by EWMA. Negative values mean unavailable, which are not smoothed.
+     *
+     * @param previous previous value
+     * @param sample   new sample
+     * @return the smoothed value
+     * @since 1.8.8
+     */
+    protected double smooth(double previous, double sample) {
+        if (previous < 0 || sample < 0 || Double.isNaN(previous)) {
+            return sample;
+        }
+        return previous + smoothingFactor * (sample - previous);
+    }
+
+    /**
+     * Compute the CPU usage since last sampling.
+     *
+     * @param osBean the operating system MXBean
+     * @return CPU usage between [0, 1]
+     * @since 1.8.8
+     */
+    protected double computeCpuUsage(OperatingSystemMXBean osBean) {
+        /*
+         * Java Doc copied from {@link OperatingSystemMXBean#getSystemCpuLoad()}:</br>
+         * Returns the "recent cpu usage" for the whole system. This value is a double in the [0.0,1.0] interval.
+         * A value of 0.0 means that all CPUs were idle during the recent period of time observed, while a value
+         * of 1.0 means that all CPUs were actively running 100% of the time during the recent period being
+         * observed. All values between 0.0 and 1.0 are possible depending of the activities going on in the
+         * system. If the system recent cpu usage is not available, the method returns a negative value.
+         */
+        double systemCpuUsage = osBean.getSystemCpuLoad();
+
+        // calculate process cpu usage to support application running in container environment
+        if (runtimeBean == null) {
+            runtimeBean = ManagementFactory.getPlatformMXBean(RuntimeMXBean.class);
+        }
+        long newProcessUpTime = runtimeBean.getUptime();
+        long processUpTimeDiffInMs = newProcessUpTime - processUpTime;
+        if (processUpTimeDiffInMs <= 0) {
+            // Sampled more than once in a millisecond.
+            return systemCpuUsage;
+        }
+        long newProcessCpuTime = osBean.getProcessCpuTime();
+        int cpuCores = osBean.getAvailableProcessors();
+        // Computed in nanoseconds, so that it's still accurate with a short sampling interval.
+        double processCpuUsage = (double) (newProcessCpuTime - processCpuTime)
+                / TimeUnit.MILLISECONDS.toNanos(processUpTimeDiffInMs) / cpuCores;
+        processCpuTime = newProcessCpuTime;
+        processUpTime = newProcessUpTime;
+
+        return Math.max(processCpuUsage, systemCpuUsage);
+    }
+
+    /**
+     * Write the system status log if not written in last {@link #LOG_INTERVAL_MS}.
+     *
+     * @return whether the log is written
+     */
+    boolean tryWriteSystemStatusLog(long currentTime) {
+        if (currentTime - lastLogTime < LOG_INTERVAL_MS) {
+            return false;
+        }
+        lastLogTime = currentTime;
+
+        StringBuilder sb = logBuilder;
+        sb.setLength(0);
         sb.append("Load exceeds the threshold: ");
-        sb.append("load:").append(String.format("%.4f", currentLoad)).append("; ");
-        sb.append("cpuUsage:").append(String.format("%.4f", currentCpuUsage)).append("; ");
-        sb.append("qps:").append(String.format("%.4f", Constants.ENTRY_NODE.passQps())).append("; ");
-        sb.append("rt:").append(String.format("%.4f", Constants.ENTRY_NODE.avgRt())).append("; ");
-        sb.append("thread:").append(Constants.ENTRY_NODE.curThreadNum()).append("; ");
-        sb.append("success:").append(String.format("%.4f", Constants.ENTRY_NODE.successQps())).append("; ");
-        sb.append("minRt:").append(String.format("%.2f", Constants.ENTRY_NODE.minRt())).append("; ");
-        sb.append("maxSuccess:").append(String.format("%.2f", Constants.ENTRY_NODE.maxSuccessQps())).append("; ");
+        appendDecimal(sb.append("load:"), currentLoad, 4).append("; ");
+        appendDecimal(sb.append("cpuUsage:"), currentCpuUsage, 4).append("; ");
+        if (currentCpuPressure >= 0) {
+            appendDecimal(sb.append("cpuPressure:"), currentCpuPressure, 4).append("; ");
+            appendDecimal(sb.append("memoryPressure:"), currentMemoryPressure, 4).append("; ");
+        }
+        if (currentCpuThrottledRatio >= 0) {
+            appendDecimal(sb.append("cpuThrottled:"), currentCpuThrottledRatio, 4).append("; ");
+        }
+        appendDecimal(sb.append("qps:"), Constants.ENTRY_NODE.passQps(), 4).append("; ");
+        appendDecimal(sb.append("rt:"), currentAvgRt, 4).append("; ");
+        appendDecimal(sb.append("thread:"), currentConcurrency, 2).append("; ");
+        appendDecimal(sb.append("success:"), Constants.ENTRY_NODE.successQps(), 4).append("; ");
+        appendDecimal(sb.append("minRt:"), Constants.ENTRY_NODE.minRt(), 2).append("; ");
+        appendDecimal(sb.append("maxSuccess:"), Constants.ENTRY_NODE.maxSuccessQps(), 2).append("; ");
         RecordLog.info(sb.toString());
+        return true;
+    }
+
+    /**
+     * Append the value rounded to given decimal places, without formatting (e.g. {@code String.format}).
+     */
+    static StringBuilder appendDecimal(StringBuilder sb, double value, int scale) {
+        if (Double.isNaN(value) || Double.isInfinite(value) || Math.abs(value) >= Long.MAX_VALUE / 10000.0) {
+            return sb.append(value);
+        }
+        long factor = 1;
+        for (int i = 0; i < scale; i++) {
+            factor *= 10;
+        }
+        long scaled = Math.round(Math.abs(value) * factor);
+        if (value < 0 && scaled != 0) {
+            sb.append('-');
+        }
+        sb.append(scaled / factor);
+        if (scale > 0) {
+            sb.append('.');
+            long fraction = scaled % factor;
+            for (long digit = factor / 10; digit > 0; digit /= 10) {
+                sb.append((char)('0' + fraction / digit % 10));
+            }
+        }
+        return sb;
     }
 }
@@ -19,9 +19,13 @@ import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.LongAdder;
 
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.slots.statistic.base.LeapArray;
 import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
+import com.alibaba.csp.sentinel.util.clock.Clock;
+import com.alibaba.csp.sentinel.util.clock.NanoTimeClock;
+import com.alibaba.csp.sentinel.util.clock.SystemClock;
 import com.alibaba.csp.sentinel.util.function.Tuple2;
 
 /**
@@ -35,6 +39,12 @@ import com.alibaba.csp.sentinel.util.function.Tuple2;
  * </pre>
  * For detail design and proposals please goto
  * <a href="https://github.com/alibaba/Sentinel/issues/1702#issuecomment-692151160">https://github.com/alibaba/Sentinel/issues/1702</a>
+ * </p>
+ * <p>
+ * Since 1.8.8 the static methods delegate to a pluggable {@link Clock}, selected by
+ * {@link SentinelConfig#CLOCK_TYPE} or replaced with {@link #setClock(Clock)}. The tick thread
+ * above is only started when the default {@link SentinelConfig#CLOCK_TYPE_TICK} clock is used.
+ * </p>
  *
  * @author qinan.qn
  * @author jason
@@ -63,7 +73,7 @@ public final class TimeUtil implements Runnable {
         }
     }
 
-    private static TimeUtil INSTANCE;
+    private static volatile Clock clock;
 
     private volatile long currentTimeMillis;
     private volatile STATE state = STATE.IDLE;
@@ -76,7 +86,17 @@ public final class TimeUtil implements Runnable {
     private long lastCheck = 0;
 
     static {
-        INSTANCE = new TimeUtil();
+        clock = newClock(SentinelConfig.clockType());
+    }
+
+    private static Clock newClock(String type) {
+        if (SentinelConfig.CLOCK_TYPE_NANO.equals(type)) {
+            return new NanoTimeClock();
+        }
+        if (SentinelConfig.CLOCK_TYPE_SYSTEM.equals(type)) {
+            return SystemClock.INSTANCE;
+        }
+        return TickClock.INSTANCE;
     }
 
     public TimeUtil() {
@@ -216,10 +236,63 @@ public final class TimeUtil implements Runnable {
     }
 
     public static TimeUtil instance() {
-        return INSTANCE;
+        return TickHolder.INSTANCE;
     }
 
+    /**
+     * Current timestamp in milliseconds of the current clock.
+     *
+     * @return current time in milliseconds
+     */
     public static long currentTimeMillis() {
-        return INSTANCE.getTime();
+        return clock.currentTimeMillis();
+    }
+
+    /**
+     * Current monotonic time in nanoseconds of the current clock.
+     *
+     * @return current monotonic time in nanoseconds
+     * @since 1.8.8
+     */
+    public static long nanoTime() {
+        return clock.nanoTime();
+    }
+
+    /**
+     * @return the clock that all the time reads are delegated to
+     * @since 1.8.8
+     */
+    public static Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Replace the clock that all the time reads are delegated to, e.g. with a
+     * {@link com.alibaba.csp.sentinel.util.clock.ManualClock} in tests.
+     *
+     * @param newClock a valid clock
+     * @since 1.8.8
+     */
+    public static void setClock(Clock newClock) {
+        AssertUtil.notNull(newClock, "clock cannot be null");
+        clock = newClock;
+    }
+
+    private static class TickHolder {
+        private static final TimeUtil INSTANCE = new TimeUtil();
+    }
+
+    private static final class TickClock implements Clock {
+        private static final TickClock INSTANCE = new TickClock();
+
+        @Override
+        public long currentTimeMillis() {
+            return TickHolder.INSTANCE.getTime();
+        }
+
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
     }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.util.clock;
+
+/**
+ * <p>Source of time for statistics, slots and flow controllers.</p>
+ * <p>
+ * Sentinel reads time through {@link com.alibaba.csp.sentinel.util.TimeUtil}, which delegates to
+ * the current clock. Implementations must be thread-safe and should be cheap, as the clock is read
+ * several times on every entry.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+public interface Clock {
+
+    /**
+     * Current timestamp in milliseconds, comparable to {@link System#currentTimeMillis()}.
+     *
+     * @return current time in milliseconds
+     */
+    long currentTimeMillis();
+
+    /**
+     * Current value of a monotonic time source in nanoseconds. Like {@link System#nanoTime()},
+     * the value is only meaningful when compared with other values from the same clock.
+     *
+     * @return current monotonic time in nanoseconds
+     */
+    long nanoTime();
+}
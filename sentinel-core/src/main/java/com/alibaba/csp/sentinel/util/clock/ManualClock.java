@@ -0,0 +1,71 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.util.clock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deterministic clock which only moves when told to, mainly for tests. Milliseconds and nanoseconds
+ * of the clock always move together.
+ *
+ * @since 1.8.8
+ */
+public final class ManualClock implements Clock {
+
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong nanos;
+
+    public ManualClock() {
+        this(0);
+    }
+
+    public ManualClock(long currentTimeMillis) {
+        this.nanos = new AtomicLong(currentTimeMillis * NANOS_PER_MILLI);
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return Math.floorDiv(nanos.get(), NANOS_PER_MILLI);
+    }
+
+    @Override
+    public long nanoTime() {
+        return nanos.get();
+    }
+
+    public ManualClock setCurrentTimeMillis(long currentTimeMillis) {
+        nanos.set(currentTimeMillis * NANOS_PER_MILLI);
+        return this;
+    }
+
+    /**
+     * Move the clock forward (or backward with a negative duration).
+     *
+     * @param duration duration to move
+     * @param unit     time unit of the duration
+     * @return this clock
+     */
+    public ManualClock advance(long duration, TimeUnit unit) {
+        nanos.addAndGet(unit.toNanos(duration));
+        return this;
+    }
+
+    public ManualClock advanceMillis(long millis) {
+        return advance(millis, TimeUnit.MILLISECONDS);
+    }
+}
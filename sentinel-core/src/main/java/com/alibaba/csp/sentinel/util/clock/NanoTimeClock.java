@@ -0,0 +1,93 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.util.clock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>Clock that derives milliseconds from {@link System#nanoTime()}, without any background thread.</p>
+ * <p>
+ * The wall time is sampled together with {@code nanoTime} as an anchor, and each read only costs one
+ * {@code nanoTime} call plus a volatile read. The anchor is refreshed by the first reader after every
+ * {@code resyncInterval}, so the clock follows forward adjustments of the system time (e.g. NTP) like
+ * {@link System#currentTimeMillis()} does. If the system time is set backwards, the clock keeps
+ * advancing with {@code nanoTime} until the wall time catches up, so it never goes backwards.
+ * </p>
+ *
+ * @since 1.8.8
+ */
+public final class NanoTimeClock implements Clock {
+
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long DEFAULT_RESYNC_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final AtomicReferenceFieldUpdater<NanoTimeClock, Anchor> ANCHOR_UPDATER
+        = AtomicReferenceFieldUpdater.newUpdater(NanoTimeClock.class, Anchor.class, "anchor");
+
+    private final long resyncIntervalNanos;
+    private final LongSupplier wallClock;
+
+    private volatile Anchor anchor;
+
+    public NanoTimeClock() {
+        this(DEFAULT_RESYNC_INTERVAL_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    public NanoTimeClock(long resyncInterval, TimeUnit unit) {
+        this(resyncInterval, unit, System::currentTimeMillis);
+    }
+
+    NanoTimeClock(long resyncInterval, TimeUnit unit, LongSupplier wallClock) {
+        this.resyncIntervalNanos = Math.max(unit.toNanos(resyncInterval), NANOS_PER_MILLI);
+        this.wallClock = wallClock;
+        this.anchor = new Anchor(wallClock.getAsLong(), System.nanoTime());
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        long now = System.nanoTime();
+        Anchor a = this.anchor;
+        long elapsed = now - a.nanos;
+        if (elapsed >= resyncIntervalNanos) {
+            // Never resync to a wall time earlier than the one derived from the current anchor.
+            long millis = Math.max(wallClock.getAsLong(), a.millis + elapsed / NANOS_PER_MILLI);
+            if (ANCHOR_UPDATER.compareAndSet(this, a, new Anchor(millis, now))) {
+                return millis;
+            }
+            // Another reader has refreshed the anchor, derive the time from it.
+            a = this.anchor;
+            elapsed = now - a.nanos;
+        }
+        return a.millis + Math.max(elapsed, 0) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    private static final class Anchor {
+        private final long millis;
+        private final long nanos;
+
+        Anchor(long millis, long nanos) {
+            this.millis = millis;
+            this.nanos = nanos;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link CtEntryPool}.
+ */
+public class CtEntryPoolTest {
+
+    @Before
+    public void setUp() {
+        CtEntryPool.setEnabled(true);
+    }
+
+    @After
+    public void tearDown() {
+        CtEntryPool.setEnabled(false);
+        ContextUtil.exit();
+    }
+
+    @Test
+    public void testEntryRecycledOnExit() throws BlockException {
+        ContextUtil.enter("testEntryRecycledOnExit");
+        Entry e1 = SphU.entry("testEntryRecycledOnExit1");
+        e1.setError(new IllegalStateException());
+        assertNotNull(e1.getCurNode());
+        e1.exit();
+
+        Entry e2 = SphU.entry("testEntryRecycledOnExit2");
+        assertSame(e1, e2);
+        assertEquals("testEntryRecycledOnExit2", e2.getResourceWrapper().getName());
+        assertNull(e2.getError());
+        assertNull(((CtEntry)e2).parent);
+        assertSame(e2, ContextUtil.getContext().getCurEntry());
+
+        Entry child = SphU.entry("testEntryRecycledOnExit1");
+        assertNotSame(e2, child);
+        assertSame(e2, ((CtEntry)child).parent);
+        child.exit();
+        e2.exit();
+        assertNull(ContextUtil.getContext().getCurEntry());
+
+        // Duplicate exit of an entry in the pool has no effect.
+        int pooled = CtEntryPool.pooledSize();
+        e2.exit();
+        assertEquals(pooled, CtEntryPool.pooledSize());
+    }
+
+    @Test
+    public void testExitInWrongOrder() throws BlockException {
+        ContextUtil.enter("testExitInWrongOrder");
+        SphU.entry("testExitInWrongOrder1");
+        Entry middle = SphU.entry("testExitInWrongOrder2");
+        SphU.entry("testExitInWrongOrder3");
+        try {
+            middle.exit();
+            fail("Should have thrown ErrorEntryFreeException");
+        } catch (ErrorEntryFreeException ex) {
+            // All the entries of the call stack are exited, even though they're recycled on exit.
+            assertNull(ContextUtil.getContext().getCurEntry());
+            for (int i = 1; i <= 3; i++) {
+                ClusterNode node = ClusterBuilderSlot.getClusterNode("testExitInWrongOrder" + i);
+                assertEquals(0, node.curThreadNum());
+            }
+        }
+    }
+
+    @Test
+    public void testPoolSizeLimited() throws BlockException {
+        ContextUtil.enter("testPoolSizeLimited");
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < CtEntryPool.MAX_POOLED_PER_THREAD + 4; i++) {
+            entries.add(SphU.entry("testPoolSizeLimited"));
+        }
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            entries.get(i).exit();
+        }
+        assertEquals(CtEntryPool.MAX_POOLED_PER_THREAD, CtEntryPool.pooledSize());
+    }
+
+    @Test
+    public void testAsyncEntryNotPooled() throws BlockException {
+        ContextUtil.enter("testAsyncEntryNotPooled");
+        int pooled = CtEntryPool.pooledSize();
+        AsyncEntry entry = SphU.asyncEntry("testAsyncEntryNotPooled");
+        entry.exit();
+        assertEquals(pooled, CtEntryPool.pooledSize());
+    }
+
+    @Test
+    public void testEntryNotPooledWhenDisabled() throws BlockException {
+        CtEntryPool.setEnabled(false);
+        Entry e1 = SphU.entry("testEntryNotPooledWhenDisabled");
+        e1.exit();
+        Entry e2 = SphU.entry("testEntryNotPooledWhenDisabled");
+        e2.exit();
+        assertNotSame(e1, e2);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link ResourceHandle}.
+ */
+public class ResourceHandleTest {
+
+    @After
+    public void tearDown() {
+        FlowRuleManager.loadRules(new ArrayList<FlowRule>());
+    }
+
+    @Test
+    public void testEntryThroughHandle() throws BlockException {
+        String resourceName = "testEntryThroughHandle";
+        ResourceHandle handle = SphU.handle(resourceName, EntryType.IN);
+
+        Entry e1 = handle.entry();
+        DefaultNode node = (DefaultNode)e1.getCurNode();
+        assertNotNull(node);
+        assertEquals(resourceName, e1.getResourceWrapper().getName());
+        assertEquals(EntryType.IN, e1.getResourceWrapper().getEntryType());
+        assertEquals(Constants.CONTEXT_DEFAULT_NAME, ContextUtil.getContext().getName());
+        e1.exit();
+
+        // Same node for the same context, and same as entering by name.
+        Entry e2 = handle.entry();
+        assertSame(node, e2.getCurNode());
+        e2.exit();
+        Entry e3 = SphU.entry(resourceName, EntryType.IN);
+        assertSame(node, e3.getCurNode());
+        e3.exit();
+
+        ClusterNode clusterNode = ClusterBuilderSlot.getClusterNode(resourceName, EntryType.IN);
+        assertSame(clusterNode, node.getClusterNode());
+        assertEquals(3, clusterNode.totalRequest());
+    }
+
+    @Test
+    public void testEntryThroughHandleInDifferentContexts() throws BlockException {
+        String resourceName = "testEntryThroughHandleInDifferentContexts";
+        ResourceHandle handle = SphU.handle(resourceName);
+
+        ContextUtil.enter("handleContext1");
+        Entry e1 = handle.entry();
+        DefaultNode node1 = (DefaultNode)e1.getCurNode();
+        e1.exit();
+        ContextUtil.exit();
+
+        ContextUtil.enter("handleContext2");
+        Entry e2 = handle.entry();
+        DefaultNode node2 = (DefaultNode)e2.getCurNode();
+        e2.exit();
+        ContextUtil.exit();
+
+        assertNotSame(node1, node2);
+        assertSame(node1.getClusterNode(), node2.getClusterNode());
+
+        ContextUtil.enter("handleContext1");
+        Entry e3 = handle.entry();
+        assertSame(node1, e3.getCurNode());
+        e3.exit();
+        ContextUtil.exit();
+    }
+
+    @Test
+    public void testHandleBlocked() throws BlockException {
+        String resourceName = "testHandleBlocked";
+        ResourceHandle handle = SphU.handle(resourceName);
+        handle.entry().exit();
+
+        FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(resourceName).setCount(0)));
+        try {
+            handle.entry();
+            fail("should be blocked");
+        } catch (BlockException ex) {
+            // The default context is exited together with the blocked entry.
+            assertNull(ContextUtil.getContext());
+        }
+    }
+
+    @Test
+    public void testHandleAfterChainReset() throws BlockException {
+        String resourceName = "testHandleAfterChainReset";
+        ResourceHandle handle = SphU.handle(resourceName);
+        handle.entry().exit();
+        assertTrue(CtSph.getChainMap().containsKey(handle.getResourceWrapper()));
+
+        CtSph.resetChainMap();
+        Entry e = handle.entry();
+        assertTrue(CtSph.getChainMap().containsKey(handle.getResourceWrapper()));
+        e.exit();
+    }
+}
@@ -16,14 +16,40 @@
 package com.alibaba.csp.sentinel;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.junit.After;
 import org.junit.Test;
+import org.mockito.MockedStatic;
 
 import com.alibaba.csp.sentinel.util.StringUtil;
+import com.alibaba.csp.sentinel.cluster.AsyncTokenService;
+import com.alibaba.csp.sentinel.cluster.ClusterStateManager;
+import com.alibaba.csp.sentinel.cluster.TokenResult;
+import com.alibaba.csp.sentinel.cluster.TokenResultStatus;
+import com.alibaba.csp.sentinel.cluster.client.ClusterTokenClient;
+import com.alibaba.csp.sentinel.cluster.client.TokenClientProvider;
+import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.slotchain.ProcessorSlotEntryCallback;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.authority.AuthorityRule;
+import com.alibaba.csp.sentinel.slots.block.authority.AuthorityRuleManager;
+import com.alibaba.csp.sentinel.slots.block.flow.ClusterFlowConfig;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowException;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.slots.statistic.StatisticSlotCallbackRegistry;
 
 /**
  * Test cases for {@link SphU}.
@@ -167,4 +193,140 @@ public class SphUTest {
         // The number of success is automatically updated based on batchCount when exit
         assertEquals(batchCount, e.getCurNode().totalSuccess());
     }
+
+    @Test
+    public void testAsyncEntryAsyncPass() throws Exception {
+        CompletableFuture<AsyncEntry> future = SphU.asyncEntryAsync("testAsyncEntryAsyncPass")
+            .toCompletableFuture();
+        assertTrue(future.isDone());
+        AsyncEntry entry = future.get();
+        assertNotNull(entry.getAsyncContext());
+        // The async entry has been removed from current context.
+        assertNull(ContextUtil.getContext().getCurEntry());
+        entry.exit();
+        assertEquals(1, entry.getCurNode().totalSuccess());
+    }
+
+    @Test
+    public void testAsyncEntryAsyncBlocked() throws Exception {
+        String resourceName = "testAsyncEntryAsyncBlocked";
+        FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(resourceName).setCount(0)));
+
+        CompletableFuture<AsyncEntry> future = SphU.asyncEntryAsync(resourceName).toCompletableFuture();
+        assertTrue(future.isCompletedExceptionally());
+        try {
+            future.get();
+            fail("should be blocked");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof FlowException);
+        }
+        assertNull(ContextUtil.getContext());
+    }
+
+    @Test
+    public void testAsyncEntryAsyncQueueing() throws Exception {
+        String resourceName = "testAsyncEntryAsyncQueueing";
+        FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(resourceName).setCount(10)
+            .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_RATE_LIMITER).setMaxQueueingTimeMs(500)));
+
+        long start = System.nanoTime();
+        SphU.asyncEntryAsync(resourceName).toCompletableFuture().get().exit();
+        CompletableFuture<AsyncEntry> queued = SphU.asyncEntryAsync(resourceName).toCompletableFuture();
+        // The caller is not parked while the entry waits in queue.
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(50));
+        assertFalse(queued.isDone());
+        assertFalse(ContextUtil.getContext().isDeferQueueing());
+
+        AsyncEntry entry = queued.get(1, TimeUnit.SECONDS);
+        assertTrue(entry.getQueueingDelayNanos() > 0);
+        entry.exit();
+    }
+
+    @Test
+    public void testAsyncEntryAsyncWithPendingClusterToken() throws Exception {
+        final String resourceName = "testAsyncEntryAsyncWithPendingClusterToken";
+        FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(resourceName).setCount(10)
+            .setClusterMode(true).setClusterConfig(new ClusterFlowConfig().setFlowId(10086L))));
+        final CompletableFuture<TokenResult> token = new CompletableFuture<>();
+        ClusterTokenClient client = mock(ClusterTokenClient.class, withSettings().extraInterfaces(
+            AsyncTokenService.class));
+        when(((AsyncTokenService)client).requestTokenAsync(anyLong(), anyInt(), anyBoolean())).thenReturn(token);
+        final AtomicReference<String> checkThread = new AtomicReference<>();
+        StatisticSlotCallbackRegistry.addEntryCallback(resourceName, new ProcessorSlotEntryCallback<DefaultNode>() {
+            @Override
+            public void onPass(Context context, ResourceWrapper resourceWrapper, DefaultNode param, int count,
+                               Object... args) {
+                if (resourceName.equals(resourceWrapper.getName())) {
+                    checkThread.set(Thread.currentThread().getName());
+                }
+            }
+
+            @Override
+            public void onBlocked(BlockException ex, Context context, ResourceWrapper resourceWrapper,
+                                  DefaultNode param, int count, Object... args) {}
+        });
+        try (MockedStatic<ClusterStateManager> state = mockStatic(ClusterStateManager.class);
+             MockedStatic<TokenClientProvider> provider = mockStatic(TokenClientProvider.class)) {
+            state.when(ClusterStateManager::isClient).thenReturn(true);
+            provider.when(TokenClientProvider::getClient).thenReturn(client);
+
+            CompletableFuture<AsyncEntry> future = SphU.asyncEntryAsync(resourceName).toCompletableFuture();
+            assertFalse(future.isDone());
+
+            // The token arrives later in another thread, e.g. an I/O event loop.
+            Thread completer = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    token.complete(new TokenResult(TokenResultStatus.OK));
+                }
+            }, "token-completer");
+            completer.start();
+            completer.join();
+
+            AsyncEntry entry = future.get(1, TimeUnit.SECONDS);
+            assertTrue(checkThread.get().startsWith("sentinel-async-entry-task"));
+            entry.exit();
+        } finally {
+            StatisticSlotCallbackRegistry.removeEntryCallback(resourceName);
+        }
+    }
+
+    @Test
+    public void testAsyncEntryAsyncBlockedBeforeClusterToken() throws Exception {
+        final String resourceName = "testAsyncEntryAsyncBlockedBeforeClusterToken";
+        FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(resourceName).setCount(10)
+            .setClusterMode(true).setClusterConfig(new ClusterFlowConfig().setFlowId(10087L))));
+        AuthorityRule authorityRule = new AuthorityRule();
+        authorityRule.setResource(resourceName);
+        authorityRule.setStrategy(RuleConstant.AUTHORITY_BLACK);
+        authorityRule.setLimitApp("blockedApp");
+        AuthorityRuleManager.loadRules(Collections.singletonList(authorityRule));
+        ClusterTokenClient client = mock(ClusterTokenClient.class, withSettings().extraInterfaces(
+            AsyncTokenService.class));
+        try (MockedStatic<ClusterStateManager> state = mockStatic(ClusterStateManager.class);
+             MockedStatic<TokenClientProvider> provider = mockStatic(TokenClientProvider.class)) {
+            state.when(ClusterStateManager::isClient).thenReturn(true);
+            provider.when(TokenClientProvider::getClient).thenReturn(client);
+
+            ContextUtil.enter("testAsyncEntryAsyncBlockedBeforeClusterToken", "blockedApp");
+            CompletableFuture<AsyncEntry> future = SphU.asyncEntryAsync(resourceName).toCompletableFuture();
+            try {
+                future.get(1, TimeUnit.SECONDS);
+                fail("Should be blocked by the authority rule");
+            } catch (ExecutionException ex) {
+                assertTrue(BlockException.isBlockException(ex.getCause()));
+            }
+            // No token is consumed on the token server for the blocked entry.
+            verify((AsyncTokenService)client, never()).requestTokenAsync(anyLong(), anyInt(), anyBoolean());
+            verify(client, never()).requestToken(anyLong(), anyInt(), anyBoolean());
+        } finally {
+            AuthorityRuleManager.loadRules(null);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        FlowRuleManager.loadRules(null);
+        ContextUtil.exit();
+    }
 }
@@ -26,6 +26,56 @@ public class SentinelConfigTest {
         assertEquals(SentinelConfig.DEFAULT_TOTAL_METRIC_FILE_COUNT, SentinelConfig.totalMetricFileCount());
         assertEquals(SentinelConfig.DEFAULT_COLD_FACTOR, SentinelConfig.coldFactor());
         assertEquals(SentinelConfig.DEFAULT_STATISTIC_MAX_RT, SentinelConfig.statisticMaxRt());
+        assertEquals(SentinelConfig.DEFAULT_STATISTIC_BUCKET_TYPE, SentinelConfig.statisticBucketType());
+    }
+
+    @Test
+    public void testStatisticBucketType() {
+        try {
+            SentinelConfig.setConfig(SentinelConfig.STATISTIC_BUCKET_TYPE, "Padded_Array");
+            assertEquals(SentinelConfig.BUCKET_TYPE_PADDED_ARRAY, SentinelConfig.statisticBucketType());
+
+            SentinelConfig.setConfig(SentinelConfig.STATISTIC_BUCKET_TYPE, "foo");
+            assertEquals(SentinelConfig.DEFAULT_STATISTIC_BUCKET_TYPE, SentinelConfig.statisticBucketType());
+        } finally {
+            SentinelConfig.removeConfig(SentinelConfig.STATISTIC_BUCKET_TYPE);
+        }
+    }
+
+    @Test
+    public void testClockType() {
+        try {
+            assertEquals(SentinelConfig.CLOCK_TYPE_TICK, SentinelConfig.clockType());
+
+            SentinelConfig.setConfig(SentinelConfig.CLOCK_TYPE, " Nano ");
+            assertEquals(SentinelConfig.CLOCK_TYPE_NANO, SentinelConfig.clockType());
+
+            SentinelConfig.setConfig(SentinelConfig.CLOCK_TYPE, "foo");
+            assertEquals(SentinelConfig.DEFAULT_CLOCK_TYPE, SentinelConfig.clockType());
+        } finally {
+            SentinelConfig.removeConfig(SentinelConfig.CLOCK_TYPE);
+        }
+    }
+
+    @Test
+    public void testSystemStatusInterval() {
+        try {
+            assertEquals(SentinelConfig.DEFAULT_SYSTEM_STATUS_INTERVAL, SentinelConfig.systemStatusIntervalMs());
+            assertEquals(0, SentinelConfig.systemStatusSmoothingMs());
+
+            SentinelConfig.setConfig(SentinelConfig.SYSTEM_STATUS_INTERVAL, "100");
+            SentinelConfig.setConfig(SentinelConfig.SYSTEM_STATUS_SMOOTHING, "500");
+            assertEquals(100, SentinelConfig.systemStatusIntervalMs());
+            assertEquals(500, SentinelConfig.systemStatusSmoothingMs());
+
+            SentinelConfig.setConfig(SentinelConfig.SYSTEM_STATUS_INTERVAL, "1");
+            SentinelConfig.setConfig(SentinelConfig.SYSTEM_STATUS_SMOOTHING, "foo");
+            assertEquals(SentinelConfig.DEFAULT_SYSTEM_STATUS_INTERVAL, SentinelConfig.systemStatusIntervalMs());
+            assertEquals(0, SentinelConfig.systemStatusSmoothingMs());
+        } finally {
+            SentinelConfig.removeConfig(SentinelConfig.SYSTEM_STATUS_INTERVAL);
+            SentinelConfig.removeConfig(SentinelConfig.SYSTEM_STATUS_SMOOTHING);
+        }
     }
 
     //    add JVM parameter
@@ -15,7 +15,17 @@
  */
 package com.alibaba.csp.sentinel.context;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
 import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.SphU;
 
 import org.junit.After;
 import org.junit.Before;
@@ -139,4 +149,72 @@ public class ContextTest {
         });
         assertEquals(contextName, ContextUtil.getContext().getName());
     }
+
+    @Test
+    public void testWrapWithoutContext() {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+            }
+        };
+        assertSame(task, ContextUtil.wrap(task));
+    }
+
+    @Test
+    public void testWrapTaskInheritsContext() throws Exception {
+        final String contextName = "contextWrap";
+        final String origin = "originWrap";
+        ContextUtil.enter(contextName, origin);
+        Entry parentEntry = SphU.entry("testWrapTaskInheritsContext");
+        final Context parentContext = ContextUtil.getContext();
+
+        final AtomicReference<Context> taskContext = new AtomicReference<>();
+        Callable<Boolean> task = ContextUtil.wrap(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                Context context = ContextUtil.getContext();
+                taskContext.set(context);
+                Entry entry = SphU.entry("testWrapTaskInheritsContextChild");
+                entry.exit();
+                return context.getCurEntry() == null;
+            }
+        });
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            assertTrue(pool.submit(task).get());
+            // The context of the executing thread is restored.
+            assertNull(pool.submit(new Callable<Context>() {
+                @Override
+                public Context call() {
+                    return ContextUtil.getContext();
+                }
+            }).get());
+
+            final CountDownLatch latch = new CountDownLatch(1);
+            ContextUtil.wrap((Executor)pool).execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (contextName.equals(ContextUtil.getContext().getName())) {
+                        latch.countDown();
+                    }
+                }
+            });
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Context child = taskContext.get();
+        assertNotSame(parentContext, child);
+        assertEquals(contextName, child.getName());
+        assertEquals(origin, child.getOrigin());
+        assertSame(parentContext.getEntranceNode(), child.getEntranceNode());
+
+        // Entries of the task don't affect current context.
+        assertSame(parentEntry, ContextUtil.getContext().getCurEntry());
+        parentEntry.exit();
+        ContextUtil.exit();
+        assertNull(ContextUtil.getContext());
+    }
 }
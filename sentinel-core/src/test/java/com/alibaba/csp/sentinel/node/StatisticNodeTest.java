@@ -211,6 +211,28 @@ public class StatisticNodeTest {
      * now test the LongAdder is fast than AtomicInteger
      * and get the right statistic or not
      */
+    @Test
+    public void testLazyMinuteStatistics() {
+        StatisticNode node = new StatisticNode(true);
+        node.addPassRequest(2);
+        node.increaseBlockQps(1);
+        // Minute-level statistics is not allocated until the first minute-level read.
+        assertEquals(2, (long) node.passQps());
+        assertEquals(0, node.totalRequest());
+
+        node.addPassRequest(3);
+        node.increaseBlockQps(1);
+        node.addRtAndSuccess(10, 3);
+        assertEquals(4, node.totalRequest());
+        assertEquals(3, node.totalPass());
+        assertEquals(1, node.blockRequest());
+        assertEquals(3, node.totalSuccess());
+
+        ClusterNode clusterNode = new ClusterNode("testLazyMinuteStatistics");
+        clusterNode.addPassRequest(2);
+        assertEquals(2, clusterNode.totalPass());
+    }
+
     @Test
     public void testStatisticLongAdder() throws InterruptedException {
         AtomicInteger atomicInteger = new AtomicInteger(0);
@@ -34,4 +34,48 @@ public class MetricNodeTest {
         assertEquals(2, node.getConcurrency());
         assertEquals(1, node.getSuccessQps());
     }
+
+    @Test
+    public void testRtPercentilesInThinAndFatString() {
+        MetricNode node = new MetricNode();
+        node.setTimestamp(1564382218000L);
+        node.setResource("foo");
+        node.setPassQps(1);
+        node.setSuccessQps(1);
+        node.setRt(10);
+        node.setConcurrency(2);
+        node.setClassification(ResourceTypeConstants.COMMON_WEB);
+        node.setP50Rt(8).setP90Rt(15).setP99Rt(31).setP999Rt(63);
+
+        for (MetricNode parsed : new MetricNode[] {MetricNode.fromThinString(node.toThinString()),
+            MetricNode.fromFatString(node.toFatString().trim())}) {
+            assertEquals(ResourceTypeConstants.COMMON_WEB, parsed.getClassification());
+            assertEquals(2, parsed.getConcurrency());
+            assertEquals(8, parsed.getP50Rt());
+            assertEquals(15, parsed.getP90Rt());
+            assertEquals(31, parsed.getP99Rt());
+            assertEquals(63, parsed.getP999Rt());
+        }
+
+        // Percentiles are omitted when absent, which keeps the former format.
+        node.setP50Rt(0).setP90Rt(0).setP99Rt(0).setP999Rt(0);
+        assertEquals(10, node.toThinString().split("\\|").length);
+    }
+
+    @Test
+    public void testConcurrencyLimitInThinAndFatString() {
+        MetricNode node = new MetricNode();
+        node.setTimestamp(1564382218000L);
+        node.setResource("foo");
+        node.setPassQps(1);
+        node.setConcurrency(2);
+        node.setConcurrencyLimit(16);
+
+        for (MetricNode parsed : new MetricNode[] {MetricNode.fromThinString(node.toThinString()),
+            MetricNode.fromFatString(node.toFatString().trim())}) {
+            assertEquals(2, parsed.getConcurrency());
+            assertEquals(0, parsed.getP99Rt());
+            assertEquals(16, parsed.getConcurrencyLimit());
+        }
+    }
 }
@@ -0,0 +1,244 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slotchain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slots.DefaultSlotChainBuilder;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.util.function.BiConsumer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for skipping inactive slots in {@link DefaultProcessorSlotChain}.
+ */
+public class DefaultProcessorSlotChainTest {
+
+    private static final List<String> invoked = new ArrayList<>();
+    private static volatile boolean ruleActive = false;
+
+    private final ResourceWrapper resource = new StringResourceWrapper("testSlotChainSkipping", EntryType.IN);
+
+    @Before
+    public void setUp() {
+        invoked.clear();
+        ruleActive = false;
+        ActiveSlots.invalidate();
+    }
+
+    @After
+    public void tearDown() {
+        FlowRuleManager.loadRules(new ArrayList<FlowRule>());
+    }
+
+    @Test
+    public void testSkipInactiveSlots() throws Throwable {
+        DefaultProcessorSlotChain chain = new DefaultProcessorSlotChain();
+        chain.addLast(new PlainSlot());
+        chain.addLast(new LoggingSlot());
+        chain.addLast(new RuleSlot());
+        Context context = new Context(null, "testSkipInactiveSlots");
+
+        // Nothing could block after the logging slot, so it's skipped too.
+        chain.entry(context, resource, null, 1, false);
+        assertEquals(asList("plain"), invoked);
+
+        invoked.clear();
+        chain.exit(context, resource, 1);
+        assertEquals(asList("plain-exit"), invoked);
+        assertEquals(0, context.getInactiveSlots());
+
+        // Cached until rules change.
+        ruleActive = true;
+        invoked.clear();
+        chain.entry(context, resource, null, 1, false);
+        assertEquals(asList("plain"), invoked);
+
+        ActiveSlots.invalidate();
+        invoked.clear();
+        chain.entry(context, resource, null, 1, false);
+        assertEquals(asList("plain", "log", "rule"), invoked);
+
+        invoked.clear();
+        chain.exit(context, resource, 1);
+        assertEquals(asList("plain-exit", "log-exit", "rule-exit"), invoked);
+    }
+
+    @Test
+    public void testExitSkipsSameSlotsAsEntry() throws Throwable {
+        DefaultProcessorSlotChain chain = new DefaultProcessorSlotChain();
+        chain.addLast(new PlainSlot());
+        chain.addLast(new LoggingSlot());
+        chain.addLast(new RuleSlot());
+        Context context = new Context(null, "testExitSkipsSameSlotsAsEntry");
+
+        Entry entry = new TestEntry(resource);
+        context.setCurEntry(entry);
+        chain.entry(context, resource, null, 1, false);
+        assertEquals(asList("plain"), invoked);
+        // Each entry stamps the activity of the chain.
+        assertEquals(entry.getCreateTimestamp(), chain.getLastActiveTime());
+
+        // Rules change while the invocation is in progress.
+        ruleActive = true;
+        ActiveSlots.invalidate();
+        invoked.clear();
+        chain.exit(context, resource, 1);
+        assertEquals(asList("plain-exit"), invoked);
+
+        entry = new TestEntry(resource);
+        context.setCurEntry(entry);
+        invoked.clear();
+        chain.entry(context, resource, null, 1, false);
+        assertEquals(asList("plain", "log", "rule"), invoked);
+
+        ruleActive = false;
+        ActiveSlots.invalidate();
+        invoked.clear();
+        chain.exit(context, resource, 1);
+        assertEquals(asList("plain-exit", "log-exit", "rule-exit"), invoked);
+    }
+
+    @Test
+    public void testActiveSlotsOfDefaultChain() {
+        DefaultProcessorSlotChain chain = (DefaultProcessorSlotChain)new DefaultSlotChainBuilder().build();
+        long inactive = chain.getInactiveSlots(resource);
+        long flowBit = 0;
+        long statisticBit = 0;
+        for (AbstractLinkedProcessorSlot<?> slot = chain.getNext(); slot != null; slot = slot.getNext()) {
+            String name = slot.getClass().getSimpleName();
+            if ("FlowSlot".equals(name)) {
+                flowBit = ActiveSlots.bitOf(slot);
+            } else if ("StatisticSlot".equals(name)) {
+                statisticBit = ActiveSlots.bitOf(slot);
+            }
+        }
+        assertNotEquals(0, flowBit);
+        assertNotEquals(0, inactive & flowBit);
+        assertEquals(0, inactive & statisticBit);
+
+        FlowRule rule = new FlowRule(resource.getName()).setCount(10);
+        FlowRuleManager.loadRules(Collections.singletonList(rule));
+        inactive = chain.getInactiveSlots(resource);
+        assertEquals(0, inactive & flowBit);
+        assertEquals(0, inactive & statisticBit);
+    }
+
+    private static List<String> asList(String... values) {
+        List<String> list = new ArrayList<>();
+        Collections.addAll(list, values);
+        return list;
+    }
+
+    private static class TestEntry extends Entry {
+        TestEntry(ResourceWrapper resourceWrapper) {
+            super(resourceWrapper);
+        }
+
+        @Override
+        public void exit(int count, Object... args) {}
+
+        @Override
+        protected Entry trueExit(int count, Object... args) {
+            return null;
+        }
+
+        @Override
+        public Node getLastNode() {
+            return null;
+        }
+
+        @Override
+        public void whenTerminate(BiConsumer<Context, Entry> handler) {}
+    }
+
+    private static class PlainSlot extends AbstractLinkedProcessorSlot<Object> {
+        @Override
+        public void entry(Context context, ResourceWrapper resourceWrapper, Object param, int count,
+                          boolean prioritized, Object... args) throws Throwable {
+            invoked.add("plain");
+            fireEntry(context, resourceWrapper, param, count, prioritized, args);
+        }
+
+        @Override
+        public void exit(Context context, ResourceWrapper resourceWrapper, int count, Object... args) {
+            invoked.add("plain-exit");
+            fireExit(context, resourceWrapper, count, args);
+        }
+    }
+
+    private static class RuleSlot extends AbstractLinkedProcessorSlot<Object> implements SkippableSlot {
+        @Override
+        public void entry(Context context, ResourceWrapper resourceWrapper, Object param, int count,
+                          boolean prioritized, Object... args) throws Throwable {
+            invoked.add("rule");
+            fireEntry(context, resourceWrapper, param, count, prioritized, args);
+        }
+
+        @Override
+        public void exit(Context context, ResourceWrapper resourceWrapper, int count, Object... args) {
+            invoked.add("rule-exit");
+            fireExit(context, resourceWrapper, count, args);
+        }
+
+        @Override
+        public boolean isActive(ResourceWrapper resourceWrapper, boolean blockingDownstream) {
+            return ruleActive;
+        }
+
+        @Override
+        public boolean mayBlock() {
+            return true;
+        }
+    }
+
+    private static class LoggingSlot extends AbstractLinkedProcessorSlot<Object> implements SkippableSlot {
+        @Override
+        public void entry(Context context, ResourceWrapper resourceWrapper, Object param, int count,
+                          boolean prioritized, Object... args) throws Throwable {
+            invoked.add("log");
+            fireEntry(context, resourceWrapper, param, count, prioritized, args);
+        }
+
+        @Override
+        public void exit(Context context, ResourceWrapper resourceWrapper, int count, Object... args) {
+            invoked.add("log-exit");
+            fireExit(context, resourceWrapper, count, args);
+        }
+
+        @Override
+        public boolean isActive(ResourceWrapper resourceWrapper, boolean blockingDownstream) {
+            return blockingDownstream;
+        }
+
+        @Override
+        public boolean mayBlock() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slotchain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link SlotChainRegistry}.
+ */
+public class SlotChainRegistryTest extends AbstractTimeBasedTest {
+
+    private static final long IDLE_TTL = 60 * 1000;
+
+    private final ResourceWrapper resA = new StringResourceWrapper("testSlotChainRegistryA", EntryType.IN);
+    private final ResourceWrapper resB = new StringResourceWrapper("testSlotChainRegistryB", EntryType.IN);
+    private final ResourceWrapper resC = new StringResourceWrapper("testSlotChainRegistryC", EntryType.IN);
+
+    @After
+    public void tearDown() {
+        for (ResourceWrapper resource : new ResourceWrapper[] {resA, resB, resC}) {
+            ClusterBuilderSlot.removeClusterNode(resource);
+            for (Node node : Constants.ROOT.getChildList()) {
+                if (node instanceof DefaultNode && resource.equals(((DefaultNode)node).getId())) {
+                    Constants.ROOT.removeChild(node);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGetOrCreateWithinMaxSize() {
+        SlotChainRegistry registry = new SlotChainRegistry(2, 0);
+        ProcessorSlotChain chainA = registry.getOrCreate(resA);
+        assertNotNull(chainA);
+        assertSame(chainA, registry.getOrCreate(resA));
+        assertNotNull(registry.getOrCreate(resB));
+        assertEquals(2, registry.size());
+
+        // Eviction disabled: no chain for new resources once full.
+        assertNull(registry.getOrCreate(resC));
+        assertEquals(0, registry.evictIdle(Long.MAX_VALUE / 2));
+        assertSame(chainA, registry.getOrCreate(resA));
+    }
+
+    @Test
+    public void testEvictIdleChain() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 1000);
+            SlotChainRegistry registry = new SlotChainRegistry(10, IDLE_TTL);
+            registry.getOrCreate(resA);
+            registry.getOrCreate(resB);
+            ClusterNode clusterA = newNodes(resA);
+            ClusterNode clusterB = newNodes(resB);
+            clusterA.addPassRequest(1);
+            clusterB.addPassRequest(1);
+
+            sleep(mocked, 30 * 1000);
+            // Recent requests are still in the minute-level statistics.
+            assertEquals(0, registry.evictIdle(TimeUtil.currentTimeMillis()));
+
+            clusterB.addPassRequest(1);
+            clusterB.increaseThreadNum();
+            sleep(mocked, IDLE_TTL + 40 * 1000);
+            assertEquals(1, registry.evictIdle(TimeUtil.currentTimeMillis()));
+
+            assertEquals(1, registry.size());
+            assertNull(ClusterBuilderSlot.getClusterNode(resA.getName(), resA.getEntryType()));
+            assertFalse(hasNodeOf(Constants.ROOT, resA));
+            assertTrue(hasNodeOf(Constants.ROOT, resB));
+
+            // Resources in process are never evicted.
+            sleep(mocked, IDLE_TTL * 10);
+            assertEquals(0, registry.evictIdle(TimeUtil.currentTimeMillis()));
+            assertFalse(registry.evict(resB));
+
+            clusterB.decreaseThreadNum();
+            assertTrue(registry.evict(resB));
+            assertEquals(0, registry.size());
+            assertFalse(hasNodeOf(Constants.ROOT, resB));
+        }
+    }
+
+    @Test
+    public void testNoChainForNewResourceWhenFull() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 1000);
+            SlotChainRegistry registry = new SlotChainRegistry(2, IDLE_TTL);
+            ProcessorSlotChain chainA = registry.getOrCreate(resA);
+            sleep(mocked, 1000);
+            ProcessorSlotChain chainB = registry.getOrCreate(resB);
+
+            // New resources never evict existing chains on the entry path.
+            sleep(mocked, IDLE_TTL - 500);
+            assertNull(registry.getOrCreate(resC));
+            assertSame(chainA, registry.getOrCreate(resA));
+            assertSame(chainB, registry.getOrCreate(resB));
+
+            // Room is made by the eviction task.
+            assertEquals(1, registry.evictIdle(TimeUtil.currentTimeMillis()));
+            assertSame(chainB, registry.getOrCreate(resB));
+            assertNotNull(registry.getOrCreate(resC));
+            assertEquals(2, registry.size());
+        }
+    }
+
+    @Test
+    public void testActivityKeepsChainFromEviction() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 1000);
+            SlotChainRegistry registry = new SlotChainRegistry(10, IDLE_TTL);
+            ProcessorSlotChain chainA = registry.getOrCreate(resA);
+            registry.getOrCreate(resB);
+
+            sleep(mocked, IDLE_TTL - 1000);
+            chainA.markActive(TimeUtil.currentTimeMillis());
+
+            sleep(mocked, 2000);
+            assertEquals(1, registry.evictIdle(TimeUtil.currentTimeMillis()));
+            assertSame(chainA, registry.getOrCreate(resA));
+            assertFalse(registry.getChainMap().containsKey(resB));
+        }
+    }
+
+    @Test
+    public void testChainOfResourceWithRulesNotEvicted() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 1000);
+            FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(resA.getName()).setCount(10)));
+            SlotChainRegistry registry = new SlotChainRegistry(10, IDLE_TTL);
+            ProcessorSlotChain chainA = registry.getOrCreate(resA);
+            registry.getOrCreate(resB);
+
+            sleep(mocked, IDLE_TTL * 10);
+            assertEquals(1, registry.evictIdle(TimeUtil.currentTimeMillis()));
+            assertSame(chainA, registry.getOrCreate(resA));
+
+            FlowRuleManager.loadRules(new ArrayList<FlowRule>());
+            assertEquals(1, registry.evictIdle(TimeUtil.currentTimeMillis()));
+            assertEquals(0, registry.size());
+        } finally {
+            FlowRuleManager.loadRules(new ArrayList<FlowRule>());
+        }
+    }
+
+    @Test
+    public void testAcquiredChainNotEvictedBeforeRelease() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 1000);
+            SlotChainRegistry registry = new SlotChainRegistry(10, IDLE_TTL);
+            ProcessorSlotChain chainA = registry.acquire(resA);
+            assertNotNull(chainA);
+
+            // Picked up but not yet entered, so the resource is not in process.
+            sleep(mocked, IDLE_TTL * 10);
+            assertEquals(0, registry.evictIdle(TimeUtil.currentTimeMillis()));
+            assertFalse(registry.evict(resA));
+            assertSame(chainA, registry.getOrCreate(resA));
+
+            registry.release(chainA);
+            sleep(mocked, IDLE_TTL * 10);
+            assertTrue(registry.evict(resA));
+            assertEquals(0, registry.size());
+        }
+    }
+
+    @Test
+    public void testRetainFailsAfterEviction() {
+        SlotChainRegistry registry = new SlotChainRegistry(10, IDLE_TTL);
+        int version = registry.version();
+        ProcessorSlotChain chainA = registry.getOrCreate(resA);
+        assertTrue(registry.evict(resA));
+
+        // The chain was evicted after it's picked up, so it must be obtained again.
+        assertFalse(registry.retain(chainA, version));
+        ProcessorSlotChain newChainA = registry.acquire(resA);
+        assertNotSame(chainA, newChainA);
+        registry.release(newChainA);
+    }
+
+    @Test
+    public void testEvictLeastRecentlyActiveChain() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 1000);
+            SlotChainRegistry registry = new SlotChainRegistry(2, 0, true);
+            ProcessorSlotChain chainA = registry.getOrCreate(resA);
+            sleep(mocked, 1000);
+            registry.getOrCreate(resB);
+            sleep(mocked, 1000);
+            chainA.markActive(TimeUtil.currentTimeMillis());
+
+            assertNull(registry.getOrCreate(resC));
+            assertEquals(1, registry.evictLeastRecentlyActive());
+            assertSame(chainA, registry.getOrCreate(resA));
+            assertFalse(registry.getChainMap().containsKey(resB));
+            assertNotNull(registry.getOrCreate(resC));
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyActiveEvictionDisabledByDefault() {
+        SlotChainRegistry registry = new SlotChainRegistry(2, 0);
+        registry.getOrCreate(resA);
+        registry.getOrCreate(resB);
+
+        assertFalse(registry.isLruEnabled());
+        assertNull(registry.getOrCreate(resC));
+        assertEquals(0, registry.evictLeastRecentlyActive());
+        assertEquals(2, registry.size());
+    }
+
+    private static ClusterNode newNodes(ResourceWrapper resource) {
+        ClusterNode clusterNode = new ClusterNode(resource.getName(), resource.getResourceType());
+        ClusterBuilderSlot.getClusterNodeMap().put(resource, clusterNode);
+        DefaultNode node = new DefaultNode(resource, clusterNode);
+        Constants.ROOT.addChild(node);
+        return clusterNode;
+    }
+
+    private static boolean hasNodeOf(DefaultNode parent, ResourceWrapper resource) {
+        for (Node child : parent.getChildList()) {
+            if (child instanceof DefaultNode) {
+                DefaultNode node = (DefaultNode)child;
+                if (resource.equals(node.getId()) || hasNodeOf(node, resource)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
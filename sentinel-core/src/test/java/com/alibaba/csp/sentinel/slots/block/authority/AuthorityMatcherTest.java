@@ -0,0 +1,108 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.authority;
+
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link AuthorityMatcher}.
+ */
+public class AuthorityMatcherTest {
+
+    @Test
+    public void testExactMatch() {
+        AuthorityMatcher matcher = AuthorityMatcher.compile("appA,appB,,appC", false);
+        assertTrue(matcher.matches("appA"));
+        assertTrue(matcher.matches("appC"));
+        assertFalse(matcher.matches("app"));
+        assertFalse(matcher.matches("appA,appB"));
+        assertFalse(matcher.matches("appD"));
+    }
+
+    @Test
+    public void testPrefixMatch() {
+        AuthorityMatcher matcher = AuthorityMatcher.compile("appA,order-*,order-service-*,pay*", true);
+        assertTrue(matcher.matches("appA"));
+        assertTrue(matcher.matches("order-"));
+        assertTrue(matcher.matches("order-service-1"));
+        assertTrue(matcher.matches("order-web"));
+        assertTrue(matcher.matches("payment"));
+        assertTrue(matcher.matches("pay"));
+        assertFalse(matcher.matches("order"));
+        assertFalse(matcher.matches("pa"));
+        assertFalse(matcher.matches("appB"));
+        // Pattern is also matched literally.
+        assertTrue(matcher.matches("order-*"));
+    }
+
+    @Test
+    public void testWildcardMatch() {
+        AuthorityMatcher matcher = AuthorityMatcher.compile("appA,*", true);
+        assertTrue(matcher.matches("appA"));
+        assertTrue(matcher.matches("anything"));
+    }
+
+    @Test
+    public void testPatternMatchedLiterallyByDefault() {
+        AuthorityMatcher matcher = AuthorityMatcher.compile("appA,order-*,*", false);
+        assertTrue(matcher.matches("appA"));
+        assertTrue(matcher.matches("order-*"));
+        assertTrue(matcher.matches("*"));
+        // Existing lists are not widened.
+        assertFalse(matcher.matches("order-web"));
+        assertFalse(matcher.matches("anything"));
+    }
+
+    @Test
+    public void testLargeList() {
+        StringBuilder limitApp = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            limitApp.append("consumer-").append(i).append(',');
+            limitApp.append("group-").append(i).append("-*,");
+        }
+        AuthorityMatcher matcher = AuthorityMatcher.compile(limitApp.toString(), true);
+        assertTrue(matcher.matches("consumer-4999"));
+        assertTrue(matcher.matches("group-123-node-1"));
+        assertFalse(matcher.matches("consumer-5000"));
+        assertFalse(matcher.matches("group-5000-node-1"));
+    }
+
+    @Test
+    public void testMatcherOfRuleCompiledAgainWhenLimitAppChanges() {
+        AuthorityRule rule = new AuthorityRule()
+            .setResource("testMatcherOfRule")
+            .setLimitApp("appA")
+            .as(AuthorityRule.class)
+            .setStrategy(RuleConstant.AUTHORITY_WHITE);
+        AuthorityMatcher matcher = AuthorityRuleChecker.matcherOf(rule);
+        assertSame(matcher, AuthorityRuleChecker.matcherOf(rule));
+        assertTrue(matcher.matches("appA"));
+
+        rule.setLimitApp("appB");
+        assertNotSame(matcher, AuthorityRuleChecker.matcherOf(rule));
+        assertFalse(AuthorityRuleChecker.matcherOf(rule).matches("appA"));
+        assertTrue(AuthorityRuleChecker.matcherOf(rule).matches("appB"));
+
+        rule.setLimitApp("app*");
+        assertFalse(AuthorityRuleChecker.matcherOf(rule).matches("appA"));
+        rule.setPatternMatch(true);
+        assertTrue(AuthorityRuleChecker.matcherOf(rule).matches("appA"));
+    }
+}
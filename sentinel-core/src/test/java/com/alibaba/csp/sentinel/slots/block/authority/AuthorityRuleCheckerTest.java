@@ -52,6 +52,25 @@ public class AuthorityRuleCheckerTest {
             assertFalse(AuthorityRuleChecker.passCheck(ruleB, ContextUtil.getContext()));
             assertFalse(AuthorityRuleChecker.passCheck(ruleC, ContextUtil.getContext()));
             assertTrue(AuthorityRuleChecker.passCheck(ruleD, ContextUtil.getContext()));
+
+            AuthorityRule ruleE = new AuthorityRule()
+                .setResource(resourceName)
+                .setLimitApp("appX,app*")
+                .as(AuthorityRule.class)
+                .setStrategy(RuleConstant.AUTHORITY_BLACK);
+            // Items are matched exactly unless pattern matching is enabled.
+            assertTrue(AuthorityRuleChecker.passCheck(ruleE, ContextUtil.getContext()));
+            ruleE.setPatternMatch(true);
+            assertFalse(AuthorityRuleChecker.passCheck(ruleE, ContextUtil.getContext()));
+
+            AuthorityRule ruleF = new AuthorityRule()
+                .setResource(resourceName)
+                .setLimitApp("*")
+                .as(AuthorityRule.class)
+                .setStrategy(RuleConstant.AUTHORITY_WHITE);
+            assertFalse(AuthorityRuleChecker.passCheck(ruleF, ContextUtil.getContext()));
+            ruleF.setPatternMatch(true);
+            assertTrue(AuthorityRuleChecker.passCheck(ruleF, ContextUtil.getContext()));
         } finally {
             ContextUtil.exit();
         }
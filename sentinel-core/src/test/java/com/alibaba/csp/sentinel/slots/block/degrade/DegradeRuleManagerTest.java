@@ -100,5 +100,14 @@ public class DegradeRuleManagerTest {
         assertFalse(DegradeRuleManager.isValidRule(rule5));
         assertFalse(DegradeRuleManager.isValidRule(rule6));
         assertFalse(DegradeRuleManager.isValidRule(rule7));
+
+        DegradeRule rule8 = new DegradeRule("Sentinel")
+            .setCount(100)
+            .setGrade(RuleConstant.DEGRADE_GRADE_RT_PERCENTILE)
+            .setRtPercentile(101)
+            .setTimeWindow(10);
+        assertFalse(DegradeRuleManager.isValidRule(rule8));
+        assertFalse(DegradeRuleManager.isValidRule(rule8.setRtPercentile(0)));
+        assertTrue(DegradeRuleManager.isValidRule(rule8.setRtPercentile(99.9d)));
     }
 }
\ No newline at end of file
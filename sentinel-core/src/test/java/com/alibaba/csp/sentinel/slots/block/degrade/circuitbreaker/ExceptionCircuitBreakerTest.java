@@ -15,11 +15,14 @@
  */
 package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.alibaba.csp.sentinel.util.TimeUtil;
 import org.junit.After;
@@ -30,6 +33,7 @@ import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
 import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRuleManager;
+import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.CircuitBreaker.State;
 import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
 import org.mockito.MockedStatic;
 
@@ -46,6 +50,7 @@ public class ExceptionCircuitBreakerTest extends AbstractTimeBasedTest {
     @After
     public void tearDown() throws Exception {
         DegradeRuleManager.loadRules(new ArrayList<DegradeRule>());
+        EventObserverRegistry.getInstance().removeStateChangeObserver("testSteppedRecovery");
     }
 
     @Test
@@ -86,4 +91,114 @@ public class ExceptionCircuitBreakerTest extends AbstractTimeBasedTest {
             assertTrue(entryAndSleepFor(mocked, resource, 100));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testErrorCountResetInNewStatWindow() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 100_000);
+            String resource = "testErrorCountResetInNewStatWindow";
+            DegradeRule rule = new DegradeRule(resource)
+                    .setCount(2)
+                    .setGrade(RuleConstant.DEGRADE_GRADE_EXCEPTION_COUNT)
+                    .setStatIntervalMs(1000)
+                    .setTimeWindow(10)
+                    .setMinRequestAmount(1);
+            DegradeRuleManager.loadRules(Arrays.asList(rule));
+
+            assertTrue(entryWithErrorIfPresent(mocked, resource, new IllegalArgumentException()));
+            assertTrue(entryWithErrorIfPresent(mocked, resource, new IllegalArgumentException()));
+            assertTrue(entryAndSleepFor(mocked, resource, 10));
+
+            setCurrentMillis(mocked, 101_000);
+            // The totals of last window should not be counted.
+            assertTrue(entryWithErrorIfPresent(mocked, resource, new IllegalArgumentException()));
+            assertTrue(entryWithErrorIfPresent(mocked, resource, new IllegalArgumentException()));
+            assertTrue(entryWithErrorIfPresent(mocked, resource, new IllegalArgumentException())); // -> open
+            assertFalse(entryAndSleepFor(mocked, resource, 10));
+        }
+    }
+
+    @Test
+    public void testSteppedRecoveryToClose() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 100_000);
+            String resource = "testSteppedRecoveryToClose";
+            List<State> states = recordStateChanges();
+            DegradeRuleManager.loadRules(Arrays.asList(newSteppedRecoveryRule(resource)));
+
+            assertTrue(entryWithErrorIfPresent(mocked, resource, new IllegalArgumentException()));
+            assertTrue(entryWithErrorIfPresent(mocked, resource, new IllegalArgumentException())); // -> open
+            assertFalse(entryAndSleepFor(mocked, resource, 0));
+
+            setCurrentMillis(mocked, 101_100);
+            // Step 1: about half of the requests are permitted.
+            int passed = 0;
+            for (int i = 0; i < 200; i++) {
+                if (entryAndSleepFor(mocked, resource, 0)) {
+                    passed++;
+                }
+            }
+            assertTrue("passed: " + passed, passed > 40 && passed < 160);
+            assertEquals(State.HALF_OPEN, states.get(states.size() - 1));
+
+            setCurrentMillis(mocked, 102_200);
+            // Step 2: all the requests are permitted.
+            for (int i = 0; i < 20; i++) {
+                assertTrue(entryAndSleepFor(mocked, resource, 0));
+            }
+            assertEquals(State.HALF_OPEN, states.get(states.size() - 1));
+
+            setCurrentMillis(mocked, 103_300);
+            assertTrue(entryAndSleepFor(mocked, resource, 0));
+            assertEquals(Arrays.asList(State.OPEN, State.HALF_OPEN, State.CLOSED), states);
+        }
+    }
+
+    @Test
+    public void testSteppedRecoveryToOpen() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 100_000);
+            String resource = "testSteppedRecoveryToOpen";
+            List<State> states = recordStateChanges();
+            DegradeRuleManager.loadRules(Arrays.asList(newSteppedRecoveryRule(resource)));
+
+            assertTrue(entryWithErrorIfPresent(mocked, resource, new IllegalArgumentException()));
+            assertTrue(entryWithErrorIfPresent(mocked, resource, new IllegalArgumentException())); // -> open
+
+            setCurrentMillis(mocked, 101_100);
+            // Opens again once the error ratio of permitted requests exceeds the threshold.
+            int passed = 0;
+            for (int i = 0; i < 200 && passed < 2; i++) {
+                if (entryWithErrorIfPresent(mocked, resource, new IllegalArgumentException())) {
+                    passed++;
+                }
+            }
+            assertEquals(2, passed);
+            assertEquals(Arrays.asList(State.OPEN, State.HALF_OPEN, State.OPEN), states);
+            assertFalse(entryAndSleepFor(mocked, resource, 0));
+        }
+    }
+
+    private static DegradeRule newSteppedRecoveryRule(String resource) {
+        return new DegradeRule(resource)
+                .setCount(0.5d)
+                .setGrade(RuleConstant.DEGRADE_GRADE_EXCEPTION_RATIO)
+                .setStatIntervalMs(1000)
+                .setTimeWindow(1)
+                .setMinRequestAmount(2)
+                .setRecoverySteps(2)
+                .setRecoveryStepIntervalMs(1000);
+    }
+
+    private static List<State> recordStateChanges() {
+        final List<State> states = new CopyOnWriteArrayList<>();
+        EventObserverRegistry.getInstance().addStateChangeObserver("testSteppedRecovery",
+            new CircuitBreakerStateChangeObserver() {
+                @Override
+                public void onStateChange(State prevState, State newState, DegradeRule rule, Double snapshotValue) {
+                    states.add(newState);
+                }
+            });
+        return states;
+    }
+}
@@ -3,6 +3,7 @@ package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
 import com.alibaba.csp.sentinel.slots.block.RuleConstant;
 import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
 import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRuleManager;
+import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.CircuitBreaker.State;
 import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
 import com.alibaba.csp.sentinel.util.TimeUtil;
 import org.junit.After;
@@ -11,8 +12,12 @@ import org.junit.Test;
 import org.mockito.MockedStatic;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -29,6 +34,7 @@ public class ResponseTimeCircuitBreakerTest extends AbstractTimeBasedTest {
     @After
     public void tearDown() throws Exception {
         DegradeRuleManager.loadRules(new ArrayList<DegradeRule>());
+        EventObserverRegistry.getInstance().removeStateChangeObserver("testSteppedRecovery");
     }
 
     @Test
@@ -59,4 +65,136 @@ public class ResponseTimeCircuitBreakerTest extends AbstractTimeBasedTest {
         }
     }
 
+    @Test
+    public void testSlowCountResetInNewStatWindow() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 100_000);
+            String resource = "testSlowCountResetInNewStatWindow";
+            DegradeRule rule = new DegradeRule(resource)
+                    .setCount(10)
+                    .setGrade(RuleConstant.DEGRADE_GRADE_RT)
+                    .setMinRequestAmount(2)
+                    .setSlowRatioThreshold(0.5)
+                    .setStatIntervalMs(1000)
+                    .setTimeWindow(5);
+            DegradeRuleManager.loadRules(Collections.singletonList(rule));
+
+            assertTrue(entryAndSleepFor(mocked, resource, 20));
+            assertTrue(entryAndSleepFor(mocked, resource, 1));
+
+            setCurrentMillis(mocked, 101_000);
+            // The totals of last window should not be counted.
+            assertTrue(entryAndSleepFor(mocked, resource, 20));
+            assertTrue(entryAndSleepFor(mocked, resource, 1));
+            assertTrue(entryAndSleepFor(mocked, resource, 20)); // -> open
+            assertFalse(entryAndSleepFor(mocked, resource, 1));
+        }
+    }
+
+    @Test
+    public void testSteppedRecoveryToClose() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 100_000);
+            String resource = "testRtSteppedRecoveryToClose";
+            List<State> states = recordStateChanges();
+            DegradeRuleManager.loadRules(Collections.singletonList(newSteppedRecoveryRule(resource)));
+
+            assertTrue(entryAndSleepFor(mocked, resource, 20));
+            assertTrue(entryAndSleepFor(mocked, resource, 20)); // -> open
+            assertFalse(entryAndSleepFor(mocked, resource, 1));
+
+            setCurrentMillis(mocked, 101_100);
+            // Step 1: about half of the requests are permitted.
+            int passed = 0;
+            for (int i = 0; i < 200; i++) {
+                if (entryAndSleepFor(mocked, resource, 1)) {
+                    passed++;
+                }
+            }
+            assertTrue("passed: " + passed, passed > 40 && passed < 160);
+            assertEquals(State.HALF_OPEN, states.get(states.size() - 1));
+
+            setCurrentMillis(mocked, 102_200);
+            // Step 2: all the requests are permitted.
+            for (int i = 0; i < 20; i++) {
+                assertTrue(entryAndSleepFor(mocked, resource, 1));
+            }
+            assertEquals(State.HALF_OPEN, states.get(states.size() - 1));
+
+            setCurrentMillis(mocked, 103_300);
+            assertTrue(entryAndSleepFor(mocked, resource, 1));
+            assertEquals(Arrays.asList(State.OPEN, State.HALF_OPEN, State.CLOSED), states);
+        }
+    }
+
+    @Test
+    public void testSteppedRecoveryToOpen() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 100_000);
+            String resource = "testRtSteppedRecoveryToOpen";
+            List<State> states = recordStateChanges();
+            DegradeRuleManager.loadRules(Collections.singletonList(newSteppedRecoveryRule(resource)));
+
+            assertTrue(entryAndSleepFor(mocked, resource, 20));
+            assertTrue(entryAndSleepFor(mocked, resource, 20)); // -> open
+
+            setCurrentMillis(mocked, 101_100);
+            // Opens again once the slow ratio of permitted requests exceeds the threshold.
+            int passed = 0;
+            for (int i = 0; i < 200 && passed < 2; i++) {
+                if (entryAndSleepFor(mocked, resource, 20)) {
+                    passed++;
+                }
+            }
+            assertEquals(2, passed);
+            assertEquals(Arrays.asList(State.OPEN, State.HALF_OPEN, State.OPEN), states);
+            assertFalse(entryAndSleepFor(mocked, resource, 1));
+        }
+    }
+
+    @Test
+    public void testLateProbeNotResetRecoveryStep() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 100_000);
+            ResponseTimeCircuitBreaker cb = new ResponseTimeCircuitBreaker(
+                newSteppedRecoveryRule("testLateProbeNotResetRecoveryStep"));
+            cb.transformToOpen(1.0d);
+
+            setCurrentMillis(mocked, 101_100);
+            assertTrue(cb.tryPass(null)); // -> half-open
+            setCurrentMillis(mocked, 102_200);
+            assertTrue(cb.tryPass(null)); // -> step 2
+
+            // A thread that saw the open state before the transition loses it, and keeps current step.
+            assertFalse(cb.fromOpenToHalfOpen(null));
+            for (int i = 0; i < 20; i++) {
+                assertTrue(cb.tryPass(null));
+            }
+            assertEquals(State.HALF_OPEN, cb.currentState());
+        }
+    }
+
+    private static DegradeRule newSteppedRecoveryRule(String resource) {
+        return new DegradeRule(resource)
+                .setCount(10)
+                .setGrade(RuleConstant.DEGRADE_GRADE_RT)
+                .setSlowRatioThreshold(0.5)
+                .setStatIntervalMs(1000)
+                .setTimeWindow(1)
+                .setMinRequestAmount(2)
+                .setRecoverySteps(2)
+                .setRecoveryStepIntervalMs(1000);
+    }
+
+    private static List<State> recordStateChanges() {
+        final List<State> states = new CopyOnWriteArrayList<>();
+        EventObserverRegistry.getInstance().addStateChangeObserver("testSteppedRecovery",
+            new CircuitBreakerStateChangeObserver() {
+                @Override
+                public void onStateChange(State prevState, State newState, DegradeRule rule, Double snapshotValue) {
+                    states.add(newState);
+                }
+            });
+        return states;
+    }
 }
@@ -0,0 +1,216 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRuleManager;
+import com.alibaba.csp.sentinel.slots.block.degrade.circuitbreaker.CircuitBreaker.State;
+import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link ResponseTimePercentileCircuitBreaker}.
+ */
+public class ResponseTimePercentileCircuitBreakerTest extends AbstractTimeBasedTest {
+
+    private static final String OBSERVER_NAME = "testRtPercentileObserver";
+
+    @Before
+    public void setUp() {
+        DegradeRuleManager.loadRules(new ArrayList<DegradeRule>());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        DegradeRuleManager.loadRules(new ArrayList<DegradeRule>());
+        EventObserverRegistry.getInstance().removeStateChangeObserver(OBSERVER_NAME);
+    }
+
+    @Test
+    public void testOpenWhenPercentileExceedsThreshold() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 100_000);
+            String resource = "testOpenWhenPercentileExceedsThreshold";
+            DegradeRule rule = new DegradeRule(resource)
+                .setCount(50)
+                .setGrade(RuleConstant.DEGRADE_GRADE_RT_PERCENTILE)
+                .setRtPercentile(90)
+                .setMinRequestAmount(10)
+                .setStatIntervalMs(10_000)
+                .setTimeWindow(5);
+            DegradeRuleManager.loadRules(Collections.singletonList(rule));
+
+            final AtomicReference<Double> snapshot = new AtomicReference<>();
+            EventObserverRegistry.getInstance().addStateChangeObserver(OBSERVER_NAME,
+                new CircuitBreakerStateChangeObserver() {
+                    @Override
+                    public void onStateChange(State prevState, State newState, DegradeRule rule,
+                                              Double snapshotValue) {
+                        if (newState == State.OPEN) {
+                            snapshot.set(snapshotValue);
+                        }
+                    }
+                });
+
+            for (int i = 0; i < 9; i++) {
+                assertTrue(entryAndSleepFor(mocked, resource, 10));
+            }
+            // p90 of 10 requests is still 10 ms.
+            assertTrue(entryAndSleepFor(mocked, resource, 200));
+            assertNull(snapshot.get());
+
+            // p90 of 11 requests is 200 ms.
+            assertTrue(entryAndSleepFor(mocked, resource, 200));
+            assertFalse(entryAndSleepFor(mocked, resource, 10));
+            assertNotNull(snapshot.get());
+            assertEquals(200, snapshot.get(), 200 / 16.0);
+
+            sleep(mocked, 5000);
+            // Slow probe -> half-open -> open.
+            assertTrue(entryAndSleepFor(mocked, resource, 100));
+            assertFalse(entryAndSleepFor(mocked, resource, 10));
+
+            sleep(mocked, 5000);
+            // Fast probe -> half-open -> closed.
+            assertTrue(entryAndSleepFor(mocked, resource, 10));
+            assertTrue(entryAndSleepFor(mocked, resource, 200));
+            assertTrue(entryAndSleepFor(mocked, resource, 10));
+        }
+    }
+
+    @Test
+    public void testNotOpenBelowMinRequestAmount() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 100_000);
+            String resource = "testNotOpenBelowMinRequestAmount";
+            DegradeRule rule = new DegradeRule(resource)
+                .setCount(50)
+                .setGrade(RuleConstant.DEGRADE_GRADE_RT_PERCENTILE)
+                .setRtPercentile(99)
+                .setMinRequestAmount(5)
+                .setStatIntervalMs(10_000)
+                .setTimeWindow(5);
+            DegradeRuleManager.loadRules(Collections.singletonList(rule));
+
+            for (int i = 0; i < 4; i++) {
+                assertTrue(entryAndSleepFor(mocked, resource, 100));
+            }
+            assertTrue(entryAndSleepFor(mocked, resource, 100));
+            assertFalse(entryAndSleepFor(mocked, resource, 100));
+        }
+    }
+
+    @Test
+    public void testSteppedRecoveryToClose() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 100_000);
+            String resource = "testPercentileSteppedRecoveryToClose";
+            List<State> states = recordStateChanges();
+            DegradeRuleManager.loadRules(Collections.singletonList(newSteppedRecoveryRule(resource)));
+
+            assertTrue(entryAndSleepFor(mocked, resource, 200));
+            assertTrue(entryAndSleepFor(mocked, resource, 200)); // -> open
+            assertFalse(entryAndSleepFor(mocked, resource, 10));
+
+            setCurrentMillis(mocked, 102_100);
+            // Step 1: about half of the requests are permitted, with a fast p90.
+            int passed = 0;
+            for (int i = 0; i < 50; i++) {
+                if (entryAndSleepFor(mocked, resource, 10)) {
+                    passed++;
+                }
+            }
+            assertTrue("passed: " + passed, passed > 5 && passed < 45);
+            assertEquals(State.HALF_OPEN, states.get(states.size() - 1));
+
+            setCurrentMillis(mocked, 103_200);
+            // Step 2: all the requests are permitted.
+            for (int i = 0; i < 20; i++) {
+                assertTrue(entryAndSleepFor(mocked, resource, 10));
+            }
+            assertEquals(State.HALF_OPEN, states.get(states.size() - 1));
+
+            setCurrentMillis(mocked, 104_300);
+            assertTrue(entryAndSleepFor(mocked, resource, 10));
+            assertEquals(Arrays.asList(State.OPEN, State.HALF_OPEN, State.CLOSED), states);
+        }
+    }
+
+    @Test
+    public void testSteppedRecoveryToOpen() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            setCurrentMillis(mocked, 100_000);
+            String resource = "testPercentileSteppedRecoveryToOpen";
+            List<State> states = recordStateChanges();
+            DegradeRuleManager.loadRules(Collections.singletonList(newSteppedRecoveryRule(resource)));
+
+            assertTrue(entryAndSleepFor(mocked, resource, 200));
+            assertTrue(entryAndSleepFor(mocked, resource, 200)); // -> open
+
+            setCurrentMillis(mocked, 102_100);
+            // Opens again once the p90 of permitted requests exceeds the threshold.
+            int passed = 0;
+            for (int i = 0; i < 200 && passed < 2; i++) {
+                if (entryAndSleepFor(mocked, resource, 200)) {
+                    passed++;
+                }
+            }
+            assertEquals(2, passed);
+            assertEquals(Arrays.asList(State.OPEN, State.HALF_OPEN, State.OPEN), states);
+            assertFalse(entryAndSleepFor(mocked, resource, 10));
+        }
+    }
+
+    private static DegradeRule newSteppedRecoveryRule(String resource) {
+        return new DegradeRule(resource)
+            .setCount(50)
+            .setGrade(RuleConstant.DEGRADE_GRADE_RT_PERCENTILE)
+            .setRtPercentile(90)
+            .setMinRequestAmount(2)
+            .setStatIntervalMs(1000)
+            .setTimeWindow(1)
+            .setRecoverySteps(2)
+            .setRecoveryStepIntervalMs(1000);
+    }
+
+    private static List<State> recordStateChanges() {
+        final List<State> states = new CopyOnWriteArrayList<>();
+        EventObserverRegistry.getInstance().addStateChangeObserver(OBSERVER_NAME,
+            new CircuitBreakerStateChangeObserver() {
+                @Override
+                public void onStateChange(State prevState, State newState, DegradeRule rule,
+                                          Double snapshotValue) {
+                    states.add(newState);
+                }
+            });
+        return states;
+    }
+}
@@ -16,8 +16,11 @@
 package com.alibaba.csp.sentinel.slots.block.flow;
 
 import java.util.Arrays;
+import java.util.Collections;
 
 import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.cluster.TokenResult;
+import com.alibaba.csp.sentinel.cluster.TokenResultStatus;
 import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.node.ClusterNode;
 import com.alibaba.csp.sentinel.node.DefaultNode;
@@ -166,6 +169,26 @@ public class FlowRuleCheckerTest {
         assertTrue(checker.canPassCheck(rule, context, node, 1));
     }
 
+    @Test
+    public void testPassClusterCheckWithTokensRequestedAhead() {
+        FlowRule rule = new FlowRule("testPassClusterCheckWithTokensRequestedAhead").setCount(1)
+            .setClusterMode(true)
+            .setClusterConfig(new ClusterFlowConfig().setFlowId(101L).setFallbackToLocalWhenFail(false));
+        DefaultNode node = mock(DefaultNode.class);
+        Context context = mock(Context.class);
+        FlowRuleChecker checker = new FlowRuleChecker();
+
+        ClusterFlowTokens previous = ClusterFlowTokens.replace(ClusterFlowTokens.of(
+            Collections.singletonMap(101L, new TokenResult(TokenResultStatus.BLOCKED))));
+        try {
+            assertFalse(checker.canPassCheck(rule, context, node, 1));
+        } finally {
+            ClusterFlowTokens.replace(previous);
+        }
+        // Cluster flow control is not available, and fallback is disabled.
+        assertTrue(checker.canPassCheck(rule, context, node, 1));
+    }
+
     @Before
     public void setUp() throws Exception {
         FlowRuleManager.loadRules(null);
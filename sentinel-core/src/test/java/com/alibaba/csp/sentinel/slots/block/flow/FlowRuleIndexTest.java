@@ -0,0 +1,102 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link FlowRuleIndex}.
+ */
+public class FlowRuleIndexTest {
+
+    @After
+    public void tearDown() {
+        FlowRuleManager.loadRules(null);
+    }
+
+    @Test
+    public void testRulesForOrigin() {
+        FlowRule ruleA = newRule("res", "appA", 1);
+        FlowRule ruleB = newRule("res", "appB", 2);
+        FlowRule otherRule = newRule("res", RuleConstant.LIMIT_APP_OTHER, 3);
+        FlowRule defaultRule = new FlowRule("res").setCount(4);
+        FlowRule clusterRule = newRule("res", "appB", 5).setClusterMode(true);
+        FlowRuleIndex index = new FlowRuleIndex(Arrays.asList(ruleA, ruleB, otherRule, defaultRule, clusterRule));
+
+        assertEquals(5, index.size());
+        assertEquals(Arrays.asList(ruleA, defaultRule, clusterRule), index.rulesFor("appA"));
+        assertEquals(Arrays.asList(ruleB, defaultRule, clusterRule), index.rulesFor("appB"));
+        assertEquals(Arrays.asList(otherRule, defaultRule, clusterRule), index.rulesFor("appC"));
+        assertEquals(Arrays.asList(defaultRule, clusterRule), index.rulesFor(""));
+        assertEquals(Arrays.asList(defaultRule, clusterRule), index.rulesFor(null));
+        // Origin named as "other" is limited by other rules only if no rule limits it specifically.
+        assertEquals(Arrays.asList(defaultRule, clusterRule), index.rulesFor(RuleConstant.LIMIT_APP_OTHER));
+        assertEquals(Arrays.asList(defaultRule, clusterRule), index.rulesFor(RuleConstant.LIMIT_APP_DEFAULT));
+
+        assertFalse(index.isOtherOrigin("appA"));
+        assertTrue(index.isOtherOrigin("appC"));
+        assertFalse(index.isOtherOrigin(""));
+    }
+
+    @Test
+    public void testIndexRebuiltWhenRulesChange() {
+        String resource = "testIndexRebuiltWhenRulesChange";
+        FlowRule ruleA = newRule(resource, "appA", 1);
+        FlowRuleManager.loadRules(Collections.singletonList(ruleA));
+        FlowRuleIndex index = FlowRuleManager.getFlowRuleIndex(resource);
+        assertSame(index, FlowRuleManager.getFlowRuleIndex(resource));
+        assertEquals(Collections.singletonList(ruleA), index.rulesFor("appA"));
+        assertFalse(FlowRuleManager.isOtherOrigin("appA", resource));
+        assertTrue(FlowRuleManager.isOtherOrigin("appB", resource));
+
+        FlowRule ruleB = newRule(resource, "appB", 1);
+        FlowRuleManager.loadRules(Collections.singletonList(ruleB));
+        List<FlowRule> rules = FlowRuleManager.getFlowRuleIndex(resource).rulesFor("appA");
+        assertTrue(rules.isEmpty());
+        assertTrue(FlowRuleManager.isOtherOrigin("appA", resource));
+        assertFalse(FlowRuleManager.isOtherOrigin("appB", resource));
+
+        FlowRuleManager.loadRules(null);
+        assertSame(FlowRuleIndex.EMPTY, FlowRuleManager.getFlowRuleIndex(resource));
+    }
+
+    @Test
+    public void testIndexOfRegexRules() {
+        FlowRule rule = newRule("testIndexOfRegex.*", "appA", 1);
+        rule.setRegex(true);
+        FlowRuleManager.loadRules(Collections.singletonList(rule));
+
+        FlowRuleIndex index = FlowRuleManager.getFlowRuleIndex("testIndexOfRegexRules");
+        assertEquals(Collections.singletonList(rule), index.rulesFor("appA"));
+        assertSame(index, FlowRuleManager.getFlowRuleIndex("testIndexOfRegexRules"));
+        assertSame(FlowRuleIndex.EMPTY, FlowRuleManager.getFlowRuleIndex("foo"));
+    }
+
+    private static FlowRule newRule(String resource, String limitApp, double count) {
+        FlowRule rule = new FlowRule(resource).setCount(count);
+        rule.setLimitApp(limitApp);
+        return rule;
+    }
+}
@@ -15,14 +15,21 @@
  */
 package com.alibaba.csp.sentinel.slots.block.flow;
 
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+
+import org.junit.After;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 /**
  * @author Weihua
@@ -45,6 +52,11 @@ public class FlowRuleManagerTest {
 
     }
 
+    @After
+    public void tearDown() {
+        FlowRuleManager.loadRules(Collections.<FlowRule>emptyList());
+    }
+
     @Test
     public void testLoadAndGetRules() throws InterruptedException{
         FlowRuleManager.loadRules(STATIC_RULES_1);
@@ -76,4 +88,52 @@ public class FlowRuleManagerTest {
         }
         latchEnd.await(10, TimeUnit.SECONDS);
     }
+
+    @Test
+    public void testReloadKeepsControllerOfUnchangedRule() {
+        String resA = "testReloadKeepsControllerOfUnchangedRuleA";
+        String resB = "testReloadKeepsControllerOfUnchangedRuleB";
+        FlowRuleManager.loadRules(Arrays.asList(newWarmUpRule(resA, 10), newWarmUpRule(resB, 10)));
+        TrafficShapingController raterA = FlowRuleManager.getFlowRules(resA).get(0).getRater();
+        TrafficShapingController raterB = FlowRuleManager.getFlowRules(resB).get(0).getRater();
+
+        // Rules are compared by value, so new instances of unchanged rules keep their controllers.
+        FlowRuleManager.loadRules(Arrays.asList(newWarmUpRule(resA, 10), newWarmUpRule(resB, 20)));
+        assertSame(raterA, FlowRuleManager.getFlowRules(resA).get(0).getRater());
+        assertNotSame(raterB, FlowRuleManager.getFlowRules(resB).get(0).getRater());
+        assertSame(raterA, FlowRuleManager.getFlowRuleIndex(resA).get(0).getRater());
+
+        // Removed rules are not revived.
+        FlowRuleManager.loadRules(Collections.singletonList(newWarmUpRule(resB, 20)));
+        FlowRuleManager.loadRules(Arrays.asList(newWarmUpRule(resA, 10), newWarmUpRule(resB, 20)));
+        assertNotSame(raterA, FlowRuleManager.getFlowRules(resA).get(0).getRater());
+    }
+
+    @Test
+    public void testReloadRuleChangedInPlace() {
+        String resource = "testReloadRuleChangedInPlace";
+        FlowRuleManager.loadRules(Collections.singletonList(newWarmUpRule(resource, 10)));
+        TrafficShapingController rater = FlowRuleManager.getFlowRules(resource).get(0).getRater();
+
+        // The loaded rule is changed in place, and then loaded again with another rule.
+        List<FlowRule> rules = FlowRuleManager.getRules();
+        rules.get(0).setCount(20);
+        rules.add(newWarmUpRule(resource + "Other", 10));
+        FlowRuleManager.loadRules(rules);
+        TrafficShapingController newRater = FlowRuleManager.getFlowRules(resource).get(0).getRater();
+        assertNotSame(rater, newRater);
+        assertEquals(20, FlowRuleManager.getFlowRules(resource).get(0).getCount(), 0.01);
+
+        // Unchanged since the last load.
+        FlowRuleManager.loadRules(Collections.singletonList(newWarmUpRule(resource, 20)));
+        assertSame(newRater, FlowRuleManager.getFlowRules(resource).get(0).getRater());
+    }
+
+    private static FlowRule newWarmUpRule(String resource, double count) {
+        FlowRule rule = new FlowRule(resource);
+        rule.setCount(count);
+        rule.setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_WARM_UP);
+        rule.setWarmUpPeriodSec(10);
+        return rule;
+    }
 }
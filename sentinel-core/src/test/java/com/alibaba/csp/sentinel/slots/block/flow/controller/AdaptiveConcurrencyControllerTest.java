@@ -0,0 +1,239 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import java.util.Collections;
+import java.util.Map;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.node.StatisticNode;
+import com.alibaba.csp.sentinel.node.metric.MetricNode;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowException;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleUtil;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+import com.alibaba.csp.sentinel.util.clock.Clock;
+import com.alibaba.csp.sentinel.util.clock.ManualClock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test cases for {@link AdaptiveConcurrencyController}.
+ */
+public class AdaptiveConcurrencyControllerTest {
+
+    private Clock originClock;
+    private ManualClock clock;
+
+    @Before
+    public void setUp() {
+        originClock = TimeUtil.getClock();
+        clock = new ManualClock(System.currentTimeMillis());
+        TimeUtil.setClock(clock);
+    }
+
+    @After
+    public void tearDown() {
+        TimeUtil.setClock(originClock);
+        FlowRuleManager.loadRules(null);
+        ContextUtil.exit();
+    }
+
+    private static Node mockNode(double avgRt, double minRt, int curThreadNum) {
+        Node node = mock(Node.class);
+        when(node.successQps()).thenReturn(100d);
+        when(node.avgRt()).thenReturn(avgRt);
+        when(node.minRt()).thenReturn(minRt);
+        when(node.curThreadNum()).thenReturn(curThreadNum);
+        return node;
+    }
+
+    @Test
+    public void testLimitGrowsWhenRtIsStable() {
+        AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(10, 1, 100, 1);
+        Node node = mockNode(10, 10, 9);
+
+        assertTrue(controller.canPass(node, 1));
+        assertFalse(controller.canPass(node, 2));
+
+        // limit * 1.0 + sqrt(limit)
+        clock.advanceMillis(500);
+        assertTrue(controller.canPass(node, 2));
+        assertEquals(10 + Math.sqrt(10), controller.getEstimatedLimit(), 0.001);
+        verify(node).setConcurrencyLimit(13);
+
+        // Updated at most once per bucket.
+        clock.advanceMillis(100);
+        controller.canPass(node, 1);
+        assertEquals(10 + Math.sqrt(10), controller.getEstimatedLimit(), 0.001);
+    }
+
+    @Test
+    public void testLimitShrinksWhenRtRises() {
+        AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(50, 1, 100, 1);
+        // Gradient 1.5 * 10 / 40 is bounded to 0.5.
+        Node node = mockNode(40, 10, 40);
+
+        clock.advanceMillis(500);
+        assertFalse(controller.canPass(node, 1));
+        assertEquals(50 * 0.5 + Math.sqrt(50), controller.getEstimatedLimit(), 0.001);
+    }
+
+    @Test
+    public void testLimitShrinksUnderSustainedQueueing() {
+        AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(50, 1, 100, 1);
+        Node node = mockNode(10, 10, 40);
+        clock.advanceMillis(500);
+        controller.canPass(node, 1);
+        assertEquals(10, controller.getNoLoadRt(), 0.001);
+        double limit = controller.getEstimatedLimit();
+
+        // Requests keep queueing up, so even the minimal RT of the window rises.
+        when(node.avgRt()).thenReturn(40d);
+        when(node.minRt()).thenReturn(40d);
+        for (int i = 0; i < 5; i++) {
+            clock.advanceMillis(500);
+            controller.canPass(node, 1);
+        }
+        assertTrue(controller.getNoLoadRt() < 12);
+        assertTrue(controller.getEstimatedLimit() < limit);
+
+        // A lower minimal RT is taken at once.
+        when(node.minRt()).thenReturn(5d);
+        clock.advanceMillis(500);
+        controller.canPass(node, 1);
+        assertEquals(5, controller.getNoLoadRt(), 0.001);
+    }
+
+    @Test
+    public void testLimitClearedOnRelease() {
+        AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(10, 1, 100, 1);
+        StatisticNode node = new StatisticNode();
+        assertTrue(controller.canPass(node, 1));
+        assertEquals(10, node.concurrencyLimit());
+
+        controller.release();
+        assertEquals(0, node.concurrencyLimit());
+        controller.canPass(node, 1);
+        assertEquals(0, node.concurrencyLimit());
+    }
+
+    @Test
+    public void testLimitRecordedPerSecond() {
+        StatisticNode node = new StatisticNode();
+        clock.advanceMillis(1000 - clock.currentTimeMillis() % 1000);
+        long firstSecond = clock.currentTimeMillis();
+        node.addPassRequest(1);
+        node.setConcurrencyLimit(10);
+        clock.advanceMillis(1000);
+        node.addPassRequest(1);
+        node.setConcurrencyLimit(20);
+        clock.advanceMillis(1000);
+
+        Map<Long, MetricNode> metrics = node.metrics();
+        assertEquals(10, metrics.get(firstSecond).getConcurrencyLimit());
+        assertEquals(20, metrics.get(firstSecond + 1000).getConcurrencyLimit());
+    }
+
+    @Test
+    public void testLimitSmoothedAndBounded() {
+        AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(50, 45, 60, 0.5);
+        Node node = mockNode(40, 10, 50);
+
+        clock.advanceMillis(500);
+        controller.canPass(node, 1);
+        // (50 + 32.07) / 2 is bounded to 45.
+        assertEquals(45, controller.getEstimatedLimit(), 0.001);
+
+        when(node.avgRt()).thenReturn(10d);
+        for (int i = 0; i < 10; i++) {
+            clock.advanceMillis(500);
+            controller.canPass(node, 1);
+        }
+        assertEquals(60, controller.getEstimatedLimit(), 0.001);
+
+        assertEquals(5, new AdaptiveConcurrencyController(0, 5, 10, 0.2).getEstimatedLimit(), 0.001);
+    }
+
+    @Test
+    public void testLimitKeptWhenUnderusedOrIdle() {
+        AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(10, 1, 100, 1);
+        Node underused = mockNode(10, 10, 4);
+        clock.advanceMillis(500);
+        controller.canPass(underused, 1);
+        assertEquals(10, controller.getEstimatedLimit(), 0.001);
+
+        Node idle = mockNode(0, 5000, 9);
+        when(idle.successQps()).thenReturn(0d);
+        clock.advanceMillis(500);
+        controller.canPass(idle, 1);
+        assertEquals(10, controller.getEstimatedLimit(), 0.001);
+    }
+
+    @Test
+    public void testAdaptiveConcurrencyRuleValidation() {
+        FlowRule rule = new FlowRule("testAdaptiveConcurrencyRuleValidation").setCount(10)
+            .setGrade(RuleConstant.FLOW_GRADE_ADAPTIVE_CONCURRENCY);
+        assertTrue(FlowRuleUtil.isValidRule(rule));
+
+        assertFalse(FlowRuleUtil.isValidRule(rule.setMinConcurrency(0)));
+        assertFalse(FlowRuleUtil.isValidRule(rule.setMinConcurrency(10).setMaxConcurrency(5)));
+        assertFalse(FlowRuleUtil.isValidRule(rule.setMaxConcurrency(10).setConcurrencySmoothing(0)));
+        assertFalse(FlowRuleUtil.isValidRule(rule.setConcurrencySmoothing(1.5)));
+        assertTrue(FlowRuleUtil.isValidRule(rule.setConcurrencySmoothing(1)));
+        assertFalse(FlowRuleUtil.isValidRule(rule.setClusterMode(true)));
+    }
+
+    @Test
+    public void testAdaptiveConcurrencyRule() throws BlockException {
+        String resourceName = "testAdaptiveConcurrencyRule";
+        FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(resourceName).setCount(2)
+            .setGrade(RuleConstant.FLOW_GRADE_ADAPTIVE_CONCURRENCY)));
+
+        Entry e1 = SphU.entry(resourceName);
+        Entry e2 = SphU.entry(resourceName);
+        try {
+            SphU.entry(resourceName);
+            fail("should be blocked by the concurrency limit");
+        } catch (FlowException ex) {
+            assertEquals(RuleConstant.FLOW_GRADE_ADAPTIVE_CONCURRENCY, ex.getRule().getGrade());
+        } finally {
+            e2.exit();
+            e1.exit();
+        }
+        ClusterNode node = ClusterBuilderSlot.getClusterNode(resourceName);
+        assertEquals(2, node.concurrencyLimit());
+
+        // The limit is cleared once the rule is gone.
+        FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(resourceName).setCount(2)));
+        assertEquals(0, node.concurrencyLimit());
+    }
+}
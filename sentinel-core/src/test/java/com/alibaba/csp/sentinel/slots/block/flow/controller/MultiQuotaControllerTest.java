@@ -0,0 +1,216 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowQuota;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowQuotaException;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+import com.alibaba.csp.sentinel.util.clock.Clock;
+import com.alibaba.csp.sentinel.util.clock.ManualClock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Test cases for {@link MultiQuotaController}.
+ */
+public class MultiQuotaControllerTest {
+
+    private Clock originClock;
+    private ManualClock clock;
+
+    @Before
+    public void setUp() {
+        originClock = TimeUtil.getClock();
+        // Align to the minute, so that the buckets are predictable.
+        clock = new ManualClock(System.currentTimeMillis() / 60000 * 60000);
+        TimeUtil.setClock(clock);
+    }
+
+    @After
+    public void tearDown() {
+        TimeUtil.setClock(originClock);
+        FlowRuleManager.loadRules(null);
+        ContextUtil.exit();
+    }
+
+    @Test
+    public void testAllHorizonsChecked() {
+        FlowQuota perMinute = new FlowQuota(8, 60000).setSampleCount(6);
+        MultiQuotaController controller = new MultiQuotaController(5, Collections.singletonList(perMinute));
+        Node node = mock(Node.class);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(controller.canPass(node, 1));
+        }
+        assertFalse(controller.canPass(node, 1));
+        assertEquals(1000, controller.exceededQuota(1).getIntervalMs());
+
+        // The bucket of the first 100 ms is kept until it's all out of the second.
+        clock.advanceMillis(1000);
+        assertFalse(controller.canPass(node, 1));
+        clock.advanceMillis(100);
+        assertTrue(controller.canPass(node, 3));
+        // Still 2 left in current second, but the minute quota is used up.
+        assertFalse(controller.canPass(node, 1));
+        assertSame(perMinute, controller.exceededQuota(1));
+        assertEquals(8, controller.currentCount(1));
+
+        // The minute window slides by buckets of 10 seconds, and the first bucket is kept until 70 s.
+        clock.advanceMillis(58900);
+        assertSame(perMinute, controller.exceededQuota(1));
+        clock.advanceMillis(9999);
+        assertSame(perMinute, controller.exceededQuota(1));
+        clock.advanceMillis(1);
+        assertNull(controller.exceededQuota(1));
+        assertTrue(controller.canPass(node, 5));
+    }
+
+    @Test
+    public void testQuotaNeverExceededWithinInterval() {
+        FlowQuota perMinute = new FlowQuota(10, 60000).setSampleCount(6);
+        MultiQuotaController controller = new MultiQuotaController(100, Collections.singletonList(perMinute));
+        Node node = mock(Node.class);
+
+        // Used up at the end of the first bucket.
+        clock.advanceMillis(9999);
+        assertTrue(controller.canPass(node, 10));
+        // A minute after the first bucket starts, the quota is still used up within the last minute.
+        clock.advanceMillis(50001);
+        assertFalse(controller.canPass(node, 1));
+        clock.advanceMillis(9999);
+        assertFalse(controller.canPass(node, 1));
+        clock.advanceMillis(1);
+        assertTrue(controller.canPass(node, 10));
+        assertFalse(controller.canPass(node, 1));
+    }
+
+    @Test
+    public void testConcurrentCallersNotPassOverQuota() throws InterruptedException {
+        final FlowQuota perMinute = new FlowQuota(1000, 60000);
+        final MultiQuotaController controller = new MultiQuotaController(1000000,
+            Collections.singletonList(perMinute));
+        final Node node = mock(Node.class);
+        final AtomicInteger passed = new AtomicInteger();
+        int threadCount = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threadCount);
+        for (int t = 0; t < threadCount; t++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < 500; i++) {
+                            if (controller.canPass(node, 1)) {
+                                passed.incrementAndGet();
+                            }
+                        }
+                    } catch (InterruptedException ignored) {
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+        start.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue("passed: " + passed.get(), passed.get() <= 1000);
+        assertEquals(passed.get(), controller.currentCount(1));
+    }
+
+    @Test
+    public void testQuotaRuleValidation() {
+        FlowRule rule = new FlowRule("testQuotaRuleValidation").setCount(10)
+            .setQuotas(Arrays.asList(new FlowQuota(100, 60000), new FlowQuota(1000, 3600000)));
+        assertTrue(FlowRuleUtil.isValidRule(rule));
+
+        rule.setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_WARM_UP);
+        assertFalse(FlowRuleUtil.isValidRule(rule));
+        rule.setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_DEFAULT);
+
+        rule.setStrategy(RuleConstant.STRATEGY_RELATE).setRefResource("testQuotaRuleValidationRef");
+        assertFalse(FlowRuleUtil.isValidRule(rule));
+        rule.setStrategy(RuleConstant.STRATEGY_CHAIN).setRefResource("testQuotaRuleValidationEntrance");
+        assertTrue(FlowRuleUtil.isValidRule(rule));
+        rule.setStrategy(RuleConstant.STRATEGY_DIRECT).setRefResource(null);
+
+        rule.setQuotas(Collections.singletonList(new FlowQuota(100, 60000).setSampleCount(7)));
+        assertFalse(FlowRuleUtil.isValidRule(rule));
+        rule.setQuotas(Collections.singletonList(new FlowQuota(100, 0)));
+        assertFalse(FlowRuleUtil.isValidRule(rule));
+
+        rule.setQuotas(Collections.singletonList(new FlowQuota(100, 60000)))
+            .setGrade(RuleConstant.FLOW_GRADE_THREAD);
+        assertFalse(FlowRuleUtil.isValidRule(rule));
+    }
+
+    @Test
+    public void testQuotaRuleReportsBlockedHorizon() {
+        String resourceName = "testQuotaRuleReportsBlockedHorizon";
+        FlowQuota perMinute = new FlowQuota(3, 60000);
+        FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(resourceName).setCount(2)
+            .setQuotas(Collections.singletonList(perMinute))));
+
+        assertNull(entry(resourceName));
+        assertNull(entry(resourceName));
+        FlowQuotaException ex = entry(resourceName);
+        assertNotNull(ex);
+        assertEquals(1000, ex.getQuota().getIntervalMs());
+        assertEquals(resourceName, ex.getRule().getResource());
+
+        clock.advanceMillis(1100);
+        assertNull(entry(resourceName));
+        ex = entry(resourceName);
+        assertNotNull(ex);
+        assertEquals(perMinute, ex.getQuota());
+    }
+
+    private FlowQuotaException entry(String resourceName) {
+        Entry entry = null;
+        try {
+            entry = SphU.entry(resourceName);
+            return null;
+        } catch (FlowQuotaException ex) {
+            return ex;
+        } catch (BlockException ex) {
+            throw new AssertionError("unexpected block: " + ex);
+        } finally {
+            if (entry != null) {
+                entry.exit();
+            }
+        }
+    }
+}
@@ -15,9 +15,14 @@
  */
 package com.alibaba.csp.sentinel.slots.block.flow.controller;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.context.ContextUtil;
 import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.util.TimeUtil;
 
@@ -94,4 +99,58 @@ public class ThrottlingControllerTest {
             assertTrue(paceController.canPass(node, 0));
         }
     }
+
+    @Test
+    public void testTryReserveWithoutBlocking() {
+        ThrottlingController paceController = new ThrottlingController(500, 10d);
+
+        long start = TimeUtil.currentTimeMillis();
+        assertEquals(0, paceController.tryReserve(1));
+        long lastWait = 0;
+        for (int i = 0; i < 5; i++) {
+            long waitNs = paceController.tryReserve(1);
+            assertTrue(waitNs > lastWait);
+            assertTrue(waitNs <= TimeUnit.MILLISECONDS.toNanos(500));
+            lastWait = waitNs;
+        }
+        // The queue is full now.
+        assertEquals(ThrottlingController.REJECTED, paceController.tryReserve(1));
+        // The caller is never parked.
+        assertTrue(TimeUtil.currentTimeMillis() - start < 100);
+    }
+
+    @Test
+    public void testAcquireAsync() throws Exception {
+        ThrottlingController paceController = new ThrottlingController(100, 10d);
+
+        assertTrue(paceController.acquireAsync(1).toCompletableFuture().isDone());
+        long start = System.nanoTime();
+        CompletableFuture<Boolean> queued = paceController.acquireAsync(1).toCompletableFuture();
+        CompletableFuture<Boolean> rejected = paceController.acquireAsync(1).toCompletableFuture();
+        assertTrue(rejected.isDone());
+        assertFalse(rejected.get());
+
+        assertTrue(queued.get(1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    public void testDeferQueueingToEntry() throws Exception {
+        ThrottlingController paceController = new ThrottlingController(500, 10d);
+        Node node = mock(Node.class);
+
+        ContextUtil.enter("testDeferQueueingToEntry").setDeferQueueing(true);
+        Entry entry = SphU.entry("testDeferQueueingToEntry");
+        try {
+            long start = TimeUtil.currentTimeMillis();
+            assertTrue(paceController.canPass(node, 1));
+            assertEquals(0, entry.getQueueingDelayNanos());
+            assertTrue(paceController.canPass(node, 1));
+            assertTrue(entry.getQueueingDelayNanos() > 0);
+            assertTrue(TimeUtil.currentTimeMillis() - start < 50);
+        } finally {
+            entry.exit();
+            ContextUtil.exit();
+        }
+    }
 }
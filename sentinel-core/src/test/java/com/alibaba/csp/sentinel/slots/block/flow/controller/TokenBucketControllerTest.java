@@ -0,0 +1,126 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.controller;
+
+import java.util.Collections;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+import com.alibaba.csp.sentinel.util.clock.Clock;
+import com.alibaba.csp.sentinel.util.clock.ManualClock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Test cases for {@link TokenBucketController}.
+ */
+public class TokenBucketControllerTest {
+
+    private Clock originClock;
+    private ManualClock clock;
+
+    @Before
+    public void setUp() {
+        originClock = TimeUtil.getClock();
+        clock = new ManualClock(System.currentTimeMillis());
+        TimeUtil.setClock(clock);
+    }
+
+    @After
+    public void tearDown() {
+        TimeUtil.setClock(originClock);
+        FlowRuleManager.loadRules(null);
+        ContextUtil.exit();
+    }
+
+    @Test
+    public void testBurstCapacity() {
+        TokenBucketController controller = new TokenBucketController(10, 3);
+        Node node = mock(Node.class);
+
+        assertTrue(controller.canPass(node, 3));
+        assertFalse(controller.canPass(node, 1));
+        clock.advanceMillis(100);
+        assertTrue(controller.canPass(node, 1));
+        assertFalse(controller.canPass(node, 1));
+        assertTrue(controller.canPass(node, 0));
+    }
+
+    @Test
+    public void testDefaultCapacity() {
+        TokenBucketController controller = new TokenBucketController(2.5, 0);
+        assertEquals(3, controller.getBucket().getMaxTokenNum());
+
+        assertFalse(new TokenBucketController(0, 5).canPass(mock(Node.class), 1));
+    }
+
+    @Test
+    public void testTokenBucketFlowRule() {
+        String resourceName = "testTokenBucketFlowRule";
+        FlowRuleManager.loadRules(Collections.singletonList(new FlowRule(resourceName).setCount(10)
+            .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_TOKEN_BUCKET).setBurstCapacity(5)));
+
+        assertEquals(5, entryUntilBlocked(resourceName));
+        clock.advanceMillis(200);
+        assertEquals(2, entryUntilBlocked(resourceName));
+        clock.advanceMillis(5000);
+        assertEquals(5, entryUntilBlocked(resourceName));
+    }
+
+    @Test
+    public void testTokenBucketRuleValidation() {
+        FlowRule rule = new FlowRule("testTokenBucketRuleValidation").setCount(10)
+            .setControlBehavior(RuleConstant.CONTROL_BEHAVIOR_TOKEN_BUCKET).setBurstCapacity(5);
+        assertTrue(FlowRuleUtil.isValidRule(rule));
+        assertFalse(FlowRuleUtil.isValidRule(rule.setBurstCapacity(-1)));
+
+        rule.setBurstCapacity(5);
+        rule.setStrategy(RuleConstant.STRATEGY_RELATE).setRefResource("testTokenBucketRuleValidationRef");
+        assertFalse(FlowRuleUtil.isValidRule(rule));
+        rule.setStrategy(RuleConstant.STRATEGY_CHAIN).setRefResource("testTokenBucketRuleValidationEntrance");
+        assertTrue(FlowRuleUtil.isValidRule(rule));
+    }
+
+    private int entryUntilBlocked(String resourceName) {
+        int passed = 0;
+        while (true) {
+            Entry entry = null;
+            try {
+                entry = SphU.entry(resourceName);
+                passed++;
+            } catch (BlockException ex) {
+                return passed;
+            } finally {
+                if (entry != null) {
+                    entry.exit();
+                }
+            }
+        }
+    }
+}
@@ -15,9 +15,12 @@
  */
 package com.alibaba.csp.sentinel.slots.block.flow.controller;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.alibaba.csp.sentinel.util.TimeUtil;
@@ -64,4 +67,46 @@ public class WarmUpControllerTest extends AbstractTimeBasedTest {
             assertFalse(warmupController.canPass(node, 1));
         }
     }
+
+    @Test
+    public void testRefillAtMostOncePerSecond() {
+        try (MockedStatic<TimeUtil> mocked = super.mockTimeUtil()) {
+            WarmUpController warmupController = new WarmUpController(10, 10, 3);
+
+            setCurrentMillis(mocked, 100_000);
+
+            Node node = mock(Node.class);
+            when(node.passQps()).thenReturn(1d);
+            when(node.previousPassQps()).thenReturn(1d);
+
+            for (int i = 0; i < 10; i++) {
+                warmupController.canPass(node, 1);
+                sleep(mocked, 50);
+            }
+            verify(node, times(10)).passQps();
+            verify(node, times(1)).previousPassQps();
+
+            sleep(mocked, 500);
+            warmupController.canPass(node, 1);
+            verify(node, times(2)).previousPassQps();
+        }
+    }
+
+    @Test
+    public void testPrecomputedWarningQps() {
+        WarmUpController exact = new WarmUpController(10, 10, 3);
+        for (int aboveToken = 0; aboveToken <= 50; aboveToken++) {
+            double expected = Math.nextUp(1.0 / (aboveToken * exact.slope + 1.0 / exact.count));
+            assertEquals(expected, exact.warningQps(aboveToken), 0);
+        }
+
+        // The curve is sampled when the range above the warning line is large.
+        WarmUpController sampled = new WarmUpController(100000, 600, 3);
+        for (int aboveToken = 0; aboveToken <= 30000000; aboveToken += 997) {
+            double expected = Math.nextUp(1.0 / (aboveToken * sampled.slope + 1.0 / sampled.count));
+            double actual = sampled.warningQps(aboveToken);
+            assertTrue(actual <= expected);
+            assertTrue(actual >= expected * 0.99);
+        }
+    }
 }
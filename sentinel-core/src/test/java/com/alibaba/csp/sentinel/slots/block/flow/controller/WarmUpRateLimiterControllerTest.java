@@ -1,11 +1,16 @@
 package com.alibaba.csp.sentinel.slots.block.flow.controller;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.node.StatisticNode;
 import com.alibaba.csp.sentinel.slots.block.flow.controller.WarmUpRateLimiterController;
+import com.alibaba.csp.sentinel.util.TimeUtil;
 
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -50,4 +55,45 @@ public class WarmUpRateLimiterControllerTest {
 
         assertFalse(controller.canPass(node, 1));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testTryReserveWithoutBlocking() {
+        WarmUpRateLimiterController controller = new WarmUpRateLimiterController(10, 10, 1000, 3);
+
+        Node node = mock(Node.class);
+        when(node.previousPassQps()).thenReturn(0d);
+
+        long start = TimeUtil.currentTimeMillis();
+        assertEquals(0, controller.tryReserve(node, 1));
+        long lastWait = 0;
+        for (int i = 0; i < 3; i++) {
+            long waitNs = controller.tryReserve(node, 1);
+            // Still cold, so the interval is larger than the stable one (100 ms).
+            assertTrue(waitNs - lastWait > TimeUnit.MILLISECONDS.toNanos(200));
+            assertTrue(waitNs <= TimeUnit.MILLISECONDS.toNanos(1000));
+            lastWait = waitNs;
+        }
+        // The queue is full now.
+        assertEquals(ThrottlingController.REJECTED, controller.tryReserve(node, 1));
+        // The caller is never parked.
+        assertTrue(TimeUtil.currentTimeMillis() - start < 100);
+    }
+
+    @Test
+    public void testAcquireAsync() throws Exception {
+        WarmUpRateLimiterController controller = new WarmUpRateLimiterController(10, 10, 100, 3);
+
+        Node node = mock(Node.class);
+        when(node.previousPassQps()).thenReturn(100d);
+
+        assertTrue(controller.acquireAsync(node, 1).toCompletableFuture().isDone());
+        long start = System.nanoTime();
+        CompletableFuture<Boolean> queued = controller.acquireAsync(node, 1).toCompletableFuture();
+        CompletableFuture<Boolean> rejected = controller.acquireAsync(node, 1).toCompletableFuture();
+        assertTrue(rejected.isDone());
+        assertFalse(rejected.get());
+
+        assertTrue(queued.get(1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+}
@@ -18,6 +18,8 @@ package com.alibaba.csp.sentinel.slots.block.flow.tokenbucket;
 import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
 import com.alibaba.csp.sentinel.test.AbstractTimeBasedTest;
 import com.alibaba.csp.sentinel.util.TimeUtil;
+import com.alibaba.csp.sentinel.util.clock.Clock;
+import com.alibaba.csp.sentinel.util.clock.ManualClock;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -128,4 +130,83 @@ public class TokenBucketTest extends AbstractTimeBasedTest {
         }
     }
 
+    @Test
+    public void testForCasTokenBucket() {
+        Clock origin = TimeUtil.getClock();
+        ManualClock clock = new ManualClock(System.currentTimeMillis());
+        TimeUtil.setClock(clock);
+        try {
+            CasTokenBucket bucket = new CasTokenBucket(1, 2, 1000);
+            assertFalse(bucket.tryConsume(1));
+            clock.advanceMillis(1000);
+            assertTrue(bucket.tryConsume(1));
+            assertFalse(bucket.tryConsume(1));
+            assertFalse(bucket.tryConsume(3));
+
+            CasTokenBucket bucketFullStart = new CasTokenBucket(1, 2, true, 1000);
+            assertEquals(2, bucketFullStart.getCurrentTokenNum());
+            assertTrue(bucketFullStart.tryConsume(2));
+            assertFalse(bucketFullStart.tryConsume(1));
+            // Tokens are produced continuously, and never exceed the capacity.
+            clock.advanceMillis(500);
+            assertFalse(bucketFullStart.tryConsume(1));
+            clock.advanceMillis(500);
+            assertTrue(bucketFullStart.tryConsume(1));
+            clock.advanceMillis(10000);
+            assertEquals(2, bucketFullStart.getCurrentTokenNum());
+        } finally {
+            TimeUtil.setClock(origin);
+        }
+    }
+
+    @Test
+    public void testCasTokenBucketAccuracy() {
+        Clock origin = TimeUtil.getClock();
+        ManualClock clock = new ManualClock(System.currentTimeMillis());
+        TimeUtil.setClock(clock);
+        try {
+            // 33.3 tokens per second, which is not a divisor of the second.
+            CasTokenBucket bucket = new CasTokenBucket(100, 5, true, 3000);
+            long passed = 0;
+            for (int i = 0; i <= 30000; i++) {
+                if (bucket.tryConsume(1)) {
+                    passed++;
+                }
+                clock.advanceMillis(1);
+            }
+            // Full bucket at start, plus the tokens produced in 30 seconds.
+            assertEquals(5 + 1000, passed);
+        } finally {
+            TimeUtil.setClock(origin);
+        }
+    }
+
+    @Test
+    public void testCasTokenBucketUnderContention() throws InterruptedException {
+        Clock origin = TimeUtil.getClock();
+        TimeUtil.setClock(new ManualClock(System.currentTimeMillis()));
+        try {
+            final int n = 64;
+            final AtomicLong passNum = new AtomicLong();
+            final CountDownLatch countDownLatch = new CountDownLatch(n);
+            final CasTokenBucket bucket = new CasTokenBucket(5, 10, true, 1000);
+            for (int i = 0; i < n; i++) {
+                threadPoolExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int j = 0; j < 100; j++) {
+                            if (bucket.tryConsume(1)) {
+                                passNum.incrementAndGet();
+                            }
+                        }
+                        countDownLatch.countDown();
+                    }
+                });
+            }
+            countDownLatch.await();
+            assertEquals(10, passNum.longValue());
+        } finally {
+            TimeUtil.setClock(origin);
+        }
+    }
 }
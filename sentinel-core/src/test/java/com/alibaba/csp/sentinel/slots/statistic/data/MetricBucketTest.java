@@ -0,0 +1,90 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.data;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.slots.statistic.MetricEvent;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link MetricBucket}.
+ */
+public class MetricBucketTest {
+
+    private static final String[] BUCKET_TYPES = {SentinelConfig.BUCKET_TYPE_ADDER,
+        SentinelConfig.BUCKET_TYPE_ARRAY, SentinelConfig.BUCKET_TYPE_PADDED_ARRAY};
+
+    @Test
+    public void testAddAndReset() {
+        for (String type : BUCKET_TYPES) {
+            MetricBucket bucket = new MetricBucket(type);
+            bucket.addPass(3);
+            bucket.addBlock(2);
+            bucket.addSuccess(1);
+            bucket.addRT(20);
+            bucket.addRT(10);
+            bucket.add(MetricEvent.EXCEPTION, 4);
+
+            assertEquals(3, bucket.pass());
+            assertEquals(2, bucket.block());
+            assertEquals(1, bucket.success());
+            assertEquals(4, bucket.exception());
+            assertEquals(30, bucket.rt());
+            assertEquals(10, bucket.minRt());
+            assertEquals(0, bucket.occupiedPass());
+
+            MetricBucket copy = new MetricBucket(type).reset(bucket);
+            assertEquals(3, copy.pass());
+            assertEquals(30, copy.rt());
+
+            bucket.reset();
+            for (MetricEvent event : MetricEvent.values()) {
+                assertEquals(0, bucket.get(event));
+            }
+            assertEquals(SentinelConfig.statisticMaxRt(), bucket.minRt());
+        }
+    }
+
+    @Test
+    public void testConcurrentAdd() throws Exception {
+        final int nThreads = 8;
+        final int times = 10000;
+        for (String type : BUCKET_TYPES) {
+            final MetricBucket bucket = new MetricBucket(type);
+            Thread[] threads = new Thread[nThreads];
+            for (int i = 0; i < nThreads; i++) {
+                threads[i] = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int j = 0; j < times; j++) {
+                            bucket.addPass(1);
+                            bucket.addSuccess(1);
+                        }
+                    }
+                });
+                threads[i].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(nThreads * times, bucket.pass());
+            assertEquals(nThreads * times, bucket.success());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.statistic.data;
+
+import java.util.Arrays;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link RtHistogram}.
+ */
+public class RtHistogramTest {
+
+    @Test
+    public void testIndexAndHighestValue() {
+        int lastIndex = -1;
+        for (long v = 0; v <= 100000; v++) {
+            int index = RtHistogram.indexOf(v);
+            assertTrue(index == lastIndex || index == lastIndex + 1);
+            lastIndex = index;
+            long highest = RtHistogram.highestValueOf(index);
+            assertTrue(highest >= v);
+            // Relative error is bounded by the sub-bucket count.
+            assertTrue(highest - v <= v / RtHistogram.SUB_BUCKET_COUNT);
+        }
+    }
+
+    @Test
+    public void testValueAtPercentile() {
+        RtHistogram histogram = new RtHistogram(5000);
+        assertEquals(0, histogram.valueAtPercentile(99));
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        assertEquals(1000, histogram.count());
+        assertApproximately(500, histogram.valueAtPercentile(50));
+        assertApproximately(900, histogram.valueAtPercentile(90));
+        assertApproximately(990, histogram.valueAtPercentile(99));
+        assertApproximately(1000, histogram.valueAtPercentile(100));
+
+        // Values beyond the max are recorded as the max.
+        histogram.record(100000);
+        assertEquals(5000, histogram.valueAtPercentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.count());
+    }
+
+    @Test
+    public void testValueAtPercentileOfBuckets() {
+        MetricBucket b1 = new MetricBucket(SentinelConfig.BUCKET_TYPE_ARRAY, true);
+        MetricBucket b2 = new MetricBucket(SentinelConfig.BUCKET_TYPE_ARRAY, true);
+        MetricBucket b3 = new MetricBucket(SentinelConfig.BUCKET_TYPE_ARRAY, false);
+        for (int i = 0; i < 98; i++) {
+            b1.addRT(10);
+        }
+        b2.addRT(200);
+        b2.addRT(400);
+        b3.addRT(3000);
+
+        assertEquals(10, RtHistogram.valueAtPercentile(Arrays.asList(b1, b2, b3), 50));
+        assertApproximately(200, RtHistogram.valueAtPercentile(Arrays.asList(b1, b2, b3), 99));
+        assertApproximately(400, RtHistogram.valueAtPercentile(Arrays.asList(b1, b2, b3), 99.9));
+        assertEquals(0, RtHistogram.valueAtPercentile(Arrays.asList(b3), 99));
+    }
+
+    private static void assertApproximately(long expected, long actual) {
+        assertTrue("expected ~" + expected + " but was " + actual,
+            actual >= expected && actual <= expected + expected / RtHistogram.SUB_BUCKET_COUNT);
+    }
+}
@@ -23,9 +23,12 @@ import com.alibaba.csp.sentinel.node.metric.MetricNode;
 import com.alibaba.csp.sentinel.slots.statistic.MetricEvent;
 import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
 import com.alibaba.csp.sentinel.slots.statistic.data.MetricBucket;
+import com.alibaba.csp.sentinel.util.TimeUtil;
 import com.alibaba.csp.sentinel.util.function.Predicate;
 
 import org.junit.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.mock;
@@ -117,4 +120,34 @@ public class ArrayMetricTest {
         });
         assertEquals(0, metricNodes.size());
     }
+
+    @Test
+    public void testRunningSumConsistentWithDefaultMode() {
+        try (MockedStatic<TimeUtil> mocked = Mockito.mockStatic(TimeUtil.class)) {
+            int sampleCount = 4;
+            int intervalInMs = 1000;
+            ArrayMetric metric = new ArrayMetric(sampleCount, intervalInMs, false);
+            ArrayMetric runningMetric = new ArrayMetric(sampleCount, intervalInMs, false, true);
+
+            // Includes idle gaps longer than a bucket and longer than the whole interval.
+            long[] timeSteps = {0, 100, 260, 520, 530, 760, 1010, 1270, 1280, 2900, 2950, 3160, 3400, 3650};
+            for (int i = 0; i < timeSteps.length; i++) {
+                mocked.when(TimeUtil::currentTimeMillis).thenReturn(timeSteps[i] + 10000);
+                for (ArrayMetric m : Arrays.asList(metric, runningMetric)) {
+                    m.addPass(i + 1);
+                    m.addBlock(1);
+                    m.addSuccess(i % 3);
+                    m.addRT(i * 2 + 1);
+                }
+
+                assertEquals(metric.pass(), runningMetric.pass());
+                assertEquals(metric.block(), runningMetric.block());
+                assertEquals(metric.success(), runningMetric.success());
+                assertEquals(metric.rt(), runningMetric.rt());
+                assertEquals(metric.minRt(), runningMetric.minRt());
+                assertEquals(metric.maxSuccess(), runningMetric.maxSuccess());
+                assertEquals(metric.getSum(MetricEvent.EXCEPTION), runningMetric.getSum(MetricEvent.EXCEPTION));
+            }
+        }
+    }
 }
@@ -16,6 +16,7 @@
 package com.alibaba.csp.sentinel.slots.statistic.metric;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -146,6 +147,45 @@ public class BucketLeapArrayTest {
         assertEquals(nThreads, leapArray.currentWindow(time).value().pass());
     }
 
+    @Test
+    public void testMultiThreadResetDeprecatedWindow() throws Exception {
+        final long time = TimeUtil.currentTimeMillis();
+        final long nextTime = time + intervalInMs;
+        final int nThreads = 16;
+        final BucketLeapArray leapArray = new BucketLeapArray(sampleCount, intervalInMs);
+        final WindowWrap<MetricBucket> oldWindow = leapArray.currentWindow(time);
+        oldWindow.value().addPass(100);
+
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final CountDownLatch latch = new CountDownLatch(nThreads);
+        final Set<WindowWrap<MetricBucket>> windows = Collections.synchronizedSet(
+            new HashSet<WindowWrap<MetricBucket>>());
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException ignore) {
+                }
+                windows.add(leapArray.currentWindow(nextTime));
+                latch.countDown();
+            }
+        };
+
+        for (int i = 0; i < nThreads; i++) {
+            new Thread(task).start();
+        }
+        startLatch.countDown();
+        latch.await();
+
+        // The deprecated bucket should be reset exactly once and reused by all threads.
+        assertEquals(1, windows.size());
+        WindowWrap<MetricBucket> window = leapArray.currentWindow(nextTime);
+        assertSame(oldWindow, window);
+        assertEquals(nextTime - nextTime % windowLengthInMs, window.windowStart());
+        assertEquals(0, window.value().pass());
+    }
+
     @Test
     public void testGetPreviousWindow() {
         BucketLeapArray leapArray = new BucketLeapArray(sampleCount, intervalInMs);
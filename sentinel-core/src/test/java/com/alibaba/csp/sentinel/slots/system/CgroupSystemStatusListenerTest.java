@@ -0,0 +1,166 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.system;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.management.OperatingSystemMXBean;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test cases for {@link CgroupSystemStatusListener}, against fake cgroup and proc directories.
+ */
+public class CgroupSystemStatusListenerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File cgroupRoot;
+    private File procRoot;
+    private File podCgroup;
+
+    @Before
+    public void setUp() throws IOException {
+        cgroupRoot = folder.newFolder("cgroup");
+        procRoot = folder.newFolder("proc");
+        podCgroup = new File(cgroupRoot, "kubepods/pod1");
+        assertTrue(podCgroup.mkdirs());
+        write(new File(procRoot, "self/cgroup"), "0::/kubepods/pod1\n");
+    }
+
+    @Test
+    public void testSampleCgroupMetrics() throws IOException {
+        write(new File(podCgroup, "cpu.max"), "200000 100000\n");
+        write(new File(podCgroup, "cpu.stat"), cpuStat(1000000, 10, 0));
+        write(new File(podCgroup, "cpu.pressure"),
+            "some avg10=12.50 avg60=3.00 avg300=1.00 total=123456\nfull avg10=5.00 avg60=1.00 avg300=0.50 total=1234\n");
+        // Fall back to the system-wide pressure if absent in the cgroup.
+        write(new File(procRoot, "pressure/memory"),
+            "some avg10=3.00 avg60=1.00 avg300=0.00 total=100\nfull avg10=1.00 avg60=0.00 avg300=0.00 total=10\n");
+
+        CgroupSystemStatusListener listener = new CgroupSystemStatusListener(cgroupRoot.getPath(), procRoot.getPath());
+        assertEquals(2.0, listener.cpuLimit(), 0.001);
+
+        long start = TimeUnit.SECONDS.toNanos(100);
+        listener.sample(start);
+        assertEquals(0.125, listener.getCpuPressure(), 0.0001);
+        assertEquals(0.03, listener.getMemoryPressure(), 0.0001);
+        // No delta yet.
+        assertTrue(listener.getCpuThrottledRatio() < 0);
+
+        // 1 core of 2 used in a second, being throttled in 2 of 10 periods.
+        write(new File(podCgroup, "cpu.stat"), cpuStat(2000000, 20, 2));
+        listener.sample(start + TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0.2, listener.getCpuThrottledRatio(), 0.0001);
+
+        assertEquals(0.5, listener.computeCpuUsage(null), 0.0001);
+
+        // Throttled in every period: the ratio stays within [0, 1] whatever the quota.
+        write(new File(podCgroup, "cpu.stat"), cpuStat(4000000, 30, 12));
+        listener.sample(start + TimeUnit.SECONDS.toNanos(2));
+        assertEquals(1.0, listener.getCpuThrottledRatio(), 0.0001);
+    }
+
+    @Test
+    public void testCpuStatGone() throws IOException {
+        File cpuStat = new File(podCgroup, "cpu.stat");
+        write(cpuStat, cpuStat(1000000, 10, 0));
+        CgroupSystemStatusListener listener = new CgroupSystemStatusListener(cgroupRoot.getPath(), procRoot.getPath());
+        long start = TimeUnit.SECONDS.toNanos(100);
+        listener.sample(start);
+        write(cpuStat, cpuStat(2000000, 20, 5));
+        listener.sample(start + TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0.5, listener.getCpuThrottledRatio(), 0.0001);
+
+        // The readings are dropped, and the CPU usage falls back to JMX.
+        assertTrue(cpuStat.delete());
+        listener.sample(start + TimeUnit.SECONDS.toNanos(2));
+        assertTrue(listener.getCpuThrottledRatio() < 0);
+        OperatingSystemMXBean osBean = mock(OperatingSystemMXBean.class);
+        when(osBean.getSystemCpuLoad()).thenReturn(0.9);
+        when(osBean.getAvailableProcessors()).thenReturn(1);
+        assertEquals(0.9, listener.computeCpuUsage(osBean), 0.0001);
+    }
+
+    @Test
+    public void testCpuLimitWithoutQuota() throws IOException {
+        CgroupSystemStatusListener listener = new CgroupSystemStatusListener(cgroupRoot.getPath(), procRoot.getPath());
+        assertEquals(Runtime.getRuntime().availableProcessors(), listener.cpuLimit(), 0.001);
+
+        write(new File(podCgroup, "cpu.max"), "max 100000\n");
+        assertEquals(Runtime.getRuntime().availableProcessors(), listener.cpuLimit(), 0.001);
+    }
+
+    @Test
+    public void testUnavailableMetrics() throws IOException {
+        // Neither the cgroup nor the proc directories provide any metrics, e.g. not on Linux.
+        File emptyProc = folder.newFolder("empty-proc");
+        CgroupSystemStatusListener listener = new CgroupSystemStatusListener(cgroupRoot.getPath(), emptyProc.getPath());
+        listener.sample(TimeUnit.SECONDS.toNanos(100));
+        listener.sample(TimeUnit.SECONDS.toNanos(101));
+        assertTrue(listener.getCpuPressure() < 0);
+        assertTrue(listener.getMemoryPressure() < 0);
+        assertTrue(listener.getCpuThrottledRatio() < 0);
+
+        // CPU usage and load still come from JMX.
+        listener.run();
+        assertTrue(listener.getCpuPressure() < 0);
+    }
+
+    @Test
+    public void testResolveCgroupDir() throws IOException {
+        assertEquals(podCgroup, CgroupSystemStatusListener.resolveCgroupDir(cgroupRoot, procRoot));
+
+        // The path is invisible in the cgroup namespace of a container.
+        write(new File(procRoot, "self/cgroup"), "0::/\n");
+        assertEquals(cgroupRoot, CgroupSystemStatusListener.resolveCgroupDir(cgroupRoot, procRoot));
+        write(new File(procRoot, "self/cgroup"), "0::/not/exists\n");
+        assertEquals(cgroupRoot, CgroupSystemStatusListener.resolveCgroupDir(cgroupRoot, procRoot));
+    }
+
+    @Test
+    public void testParse() {
+        assertEquals(0.0153, CgroupSystemStatusListener.parseSomeAvg10(
+            "some avg10=1.53 avg60=0.87 avg300=0.24 total=3148727\n"), 0.00001);
+        assertEquals(-1, CgroupSystemStatusListener.parseSomeAvg10("full avg10=1.53\n"), 0.00001);
+        assertEquals(42, CgroupSystemStatusListener.parseKeyValue("usage_usec 1\nthrottled_usec 42\n",
+            "throttled_usec"));
+        assertEquals(-1, CgroupSystemStatusListener.parseKeyValue("usage_usec 1\n", "throttled_usec"));
+    }
+
+    private static String cpuStat(long usageUsec, long periods, long throttledPeriods) {
+        return "usage_usec " + usageUsec + "\nuser_usec " + usageUsec / 2 + "\nsystem_usec " + usageUsec / 2
+            + "\nnr_periods " + periods + "\nnr_throttled " + throttledPeriods + "\nthrottled_usec "
+            + throttledPeriods * 100000 + "\n";
+    }
+
+    private static void write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
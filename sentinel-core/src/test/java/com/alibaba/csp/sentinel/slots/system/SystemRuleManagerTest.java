@@ -100,6 +100,98 @@ public class SystemRuleManagerTest {
         assertTrue("The entry should be blocked under SystemRule maxCpuUsage=0", blocked);
     }
 
+    @Test
+    public void testCheckCpuPressureAndThrottledRatio() throws Exception {
+        SystemRule rule1 = new SystemRule();
+        rule1.setHighestCpuPressure(0.2d);
+        SystemRule rule2 = new SystemRule();
+        rule2.setHighestCpuThrottledRatio(0.5d);
+        SystemRule rule3 = new SystemRule();
+        rule3.setHighestCpuPressure(1.5d);
+        SystemRuleManager.loadRules(Arrays.asList(rule3, rule1, rule2));
+        assertEquals(2, SystemRuleManager.getRules().size());
+        assertEquals(0.2d, SystemRuleManager.getCpuPressureThreshold(), 0.01);
+        assertEquals(0.5d, SystemRuleManager.getCpuThrottledRatioThreshold(), 0.01);
+
+        SystemStatusListener originListener = SystemRuleManager.getSystemStatusListener();
+        SystemStatusListener listener = new SystemStatusListener() {
+            @Override
+            public void run() {
+            }
+        };
+        SystemRuleManager.setSystemStatusListener(listener);
+        StringResourceWrapper resourceWrapper = new StringResourceWrapper("testCheckCpuPressure", EntryType.IN);
+        try {
+            // Unavailable metrics never block.
+            SystemRuleManager.checkSystem(resourceWrapper, 1);
+
+            listener.currentCpuPressure = 0.1;
+            listener.currentCpuThrottledRatio = 0.1;
+            SystemRuleManager.checkSystem(resourceWrapper, 1);
+
+            listener.currentCpuPressure = 0.3;
+            assertEquals("cpuPressure", checkSystemBlocked(resourceWrapper));
+
+            listener.currentCpuPressure = 0.1;
+            listener.currentCpuThrottledRatio = 0.6;
+            assertEquals("cpuThrottled", checkSystemBlocked(resourceWrapper));
+        } finally {
+            SystemRuleManager.setSystemStatusListener(originListener);
+        }
+    }
+
+    @Test
+    public void testCheckSmoothedRt() throws Exception {
+        SystemRule rule = new SystemRule();
+        rule.setAvgRt(10);
+        SystemRuleManager.loadRules(Collections.singletonList(rule));
+
+        SystemStatusListener originListener = SystemRuleManager.getSystemStatusListener();
+        SystemStatusListener listener = new SystemStatusListener() {
+            @Override
+            public void run() {
+            }
+        };
+        listener.setSmoothingFactor(0.5);
+        SystemRuleManager.setSystemStatusListener(listener);
+        // The listener gets the configured smoothing factor, like the default one.
+        assertEquals(originListener.getSmoothingFactor(), listener.getSmoothingFactor(), 1e-9);
+        listener.setSmoothingFactor(0.5);
+        StringResourceWrapper resourceWrapper = new StringResourceWrapper("testCheckSmoothedRt", EntryType.IN);
+        try {
+            listener.currentAvgRt = 5;
+            SystemRuleManager.checkSystem(resourceWrapper, 1);
+            assertEquals(5, SystemRuleManager.getCurrentAvgRt(), 0.01);
+
+            listener.currentAvgRt = 20;
+            assertEquals("rt", checkSystemBlocked(resourceWrapper));
+        } finally {
+            SystemRuleManager.setSystemStatusListener(originListener);
+        }
+    }
+
+    @Test
+    public void testSmoothingFactor() {
+        assertEquals(1, SystemRuleManager.smoothingFactor(100, 0), 0.0001);
+        assertEquals(1 - Math.exp(-1), SystemRuleManager.smoothingFactor(100, 100), 0.0001);
+        // Same time constant with different intervals.
+        double perSecond = SystemRuleManager.smoothingFactor(1000, 2000);
+        double per100Ms = SystemRuleManager.smoothingFactor(100, 2000);
+        assertEquals(perSecond, 1 - Math.pow(1 - per100Ms, 10), 0.0001);
+    }
+
+    private static String checkSystemBlocked(StringResourceWrapper resourceWrapper) {
+        try {
+            SystemRuleManager.checkSystem(resourceWrapper, 1);
+        } catch (SystemBlockException ex) {
+            return ex.getLimitType();
+        } catch (BlockException ex) {
+            fail("unexpected block: " + ex);
+        }
+        fail("should be blocked");
+        return null;
+    }
+
     @Before
     public void setUp() throws Exception {
         SystemRuleManager.loadRules(new ArrayList<SystemRule>());
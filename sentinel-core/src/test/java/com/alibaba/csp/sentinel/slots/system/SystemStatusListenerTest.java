@@ -0,0 +1,72 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.system;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link SystemStatusListener}.
+ */
+public class SystemStatusListenerTest {
+
+    @Test
+    public void testSmooth() {
+        SystemStatusListener listener = new SystemStatusListener();
+        assertEquals(20, listener.smooth(10, 20), 0.0001);
+
+        listener.setSmoothingFactor(0.25);
+        assertEquals(20, listener.smooth(-1, 20), 0.0001);
+        assertEquals(12.5, listener.smooth(10, 20), 0.0001);
+        assertEquals(7.5, listener.smooth(10, 0), 0.0001);
+        // Unavailable sample is kept as is.
+        assertEquals(-1, listener.smooth(10, -1), 0.0001);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSmoothingFactor() {
+        new SystemStatusListener().setSmoothingFactor(0);
+    }
+
+    @Test
+    public void testSampleInboundStatus() {
+        SystemStatusListener listener = new SystemStatusListener();
+        listener.run();
+        assertTrue(listener.getAvgRt() >= 0);
+        assertTrue(listener.getConcurrency() >= 0);
+        assertTrue(listener.getCpuUsage() >= 0);
+    }
+
+    @Test
+    public void testSystemStatusLogRateLimited() {
+        SystemStatusListener listener = new SystemStatusListener();
+        long now = System.currentTimeMillis();
+        assertTrue(listener.tryWriteSystemStatusLog(now));
+        assertFalse(listener.tryWriteSystemStatusLog(now + SystemStatusListener.LOG_INTERVAL_MS / 2));
+        assertTrue(listener.tryWriteSystemStatusLog(now + SystemStatusListener.LOG_INTERVAL_MS));
+    }
+
+    @Test
+    public void testAppendDecimal() {
+        assertEquals("1.2346", SystemStatusListener.appendDecimal(new StringBuilder(), 1.23456, 4).toString());
+        assertEquals("0.0500", SystemStatusListener.appendDecimal(new StringBuilder(), 0.05, 4).toString());
+        assertEquals("-2.50", SystemStatusListener.appendDecimal(new StringBuilder(), -2.5, 2).toString());
+        assertEquals("0.00", SystemStatusListener.appendDecimal(new StringBuilder(), -0.001, 2).toString());
+        assertEquals("3", SystemStatusListener.appendDecimal(new StringBuilder(), 3.2, 0).toString());
+        assertEquals("NaN", SystemStatusListener.appendDecimal(new StringBuilder(), Double.NaN, 2).toString());
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.util.clock;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.slots.statistic.data.MetricBucket;
+import com.alibaba.csp.sentinel.slots.statistic.metric.BucketLeapArray;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link ManualClock}.
+ */
+public class ManualClockTest {
+
+    @Test
+    public void testAdvance() {
+        ManualClock clock = new ManualClock(1000);
+        assertEquals(1000, clock.currentTimeMillis());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1000), clock.nanoTime());
+
+        clock.advance(1500, TimeUnit.MICROSECONDS);
+        assertEquals(1001, clock.currentTimeMillis());
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(1001500), clock.nanoTime());
+
+        clock.advanceMillis(-2);
+        assertEquals(999, clock.currentTimeMillis());
+
+        clock.setCurrentTimeMillis(5000);
+        assertEquals(5000, clock.currentTimeMillis());
+    }
+
+    @Test
+    public void testDriveTimeUtil() {
+        Clock origin = TimeUtil.getClock();
+        ManualClock clock = new ManualClock(10000);
+        TimeUtil.setClock(clock);
+        try {
+            BucketLeapArray leapArray = new BucketLeapArray(2, 1000);
+            leapArray.currentWindow().value().addPass(1);
+            clock.advanceMillis(500);
+            leapArray.currentWindow().value().addPass(2);
+            assertEquals(3, pass(leapArray));
+
+            clock.advanceMillis(500);
+            assertEquals(2, pass(leapArray));
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(11000), TimeUtil.nanoTime());
+        } finally {
+            TimeUtil.setClock(origin);
+        }
+    }
+
+    private long pass(BucketLeapArray leapArray) {
+        leapArray.currentWindow();
+        long pass = 0;
+        for (MetricBucket bucket : leapArray.values()) {
+            pass += bucket.pass();
+        }
+        return pass;
+    }
+}
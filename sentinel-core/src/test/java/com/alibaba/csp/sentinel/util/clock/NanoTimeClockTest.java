@@ -0,0 +1,79 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.util.clock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link NanoTimeClock}.
+ */
+public class NanoTimeClockTest {
+
+    @Test
+    public void testCloseToSystemTime() throws InterruptedException {
+        NanoTimeClock clock = new NanoTimeClock(10, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 5; i++) {
+            long before = System.currentTimeMillis();
+            long now = clock.currentTimeMillis();
+            long after = System.currentTimeMillis();
+            // Tolerate the rounding of both the anchor and the elapsed nanos.
+            assertTrue(now >= before - 1);
+            assertTrue(now <= after + 1);
+            Thread.sleep(7);
+        }
+    }
+
+    @Test
+    public void testMonotonicBetweenResync() {
+        NanoTimeClock clock = new NanoTimeClock(1, TimeUnit.MINUTES);
+        long last = clock.currentTimeMillis();
+        long lastNanos = clock.nanoTime();
+        for (int i = 0; i < 100000; i++) {
+            long now = clock.currentTimeMillis();
+            long nanos = clock.nanoTime();
+            assertTrue(now >= last);
+            assertTrue(nanos >= lastNanos);
+            last = now;
+            lastNanos = nanos;
+        }
+    }
+
+    @Test
+    public void testNeverGoesBackwardsOnResync() throws InterruptedException {
+        final AtomicLong wallTime = new AtomicLong(1_000_000L);
+        NanoTimeClock clock = new NanoTimeClock(1, TimeUnit.MILLISECONDS, wallTime::get);
+        Thread.sleep(5);
+        long before = clock.currentTimeMillis();
+        assertTrue(before >= 1_000_000L);
+
+        // The system time is set back by an hour.
+        wallTime.addAndGet(-TimeUnit.HOURS.toMillis(1));
+        Thread.sleep(5);
+        long after = clock.currentTimeMillis();
+        assertTrue(after >= before);
+        assertTrue(after < 1_000_000L + TimeUnit.MINUTES.toMillis(1));
+
+        // Forward adjustments are followed on the next resync.
+        wallTime.set(5_000_000L);
+        Thread.sleep(5);
+        assertEquals(5_000_000L, clock.currentTimeMillis());
+    }
+}
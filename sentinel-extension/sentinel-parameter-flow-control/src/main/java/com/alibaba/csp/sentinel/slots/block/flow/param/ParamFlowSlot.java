@@ -19,6 +19,7 @@ import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.SkippableSlot;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.spi.Spi;
 
@@ -32,7 +33,7 @@ import java.util.List;
  * @since 0.2.0
  */
 @Spi(order = -3000)
-public class ParamFlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
+public class ParamFlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> implements SkippableSlot {
 
     @Override
     public void entry(Context context, ResourceWrapper resourceWrapper, DefaultNode node, int count,
@@ -92,4 +93,14 @@ public class ParamFlowSlot extends AbstractLinkedProcessorSlot<DefaultNode> {
             }
         }
     }
+
+    @Override
+    public boolean isActive(ResourceWrapper resourceWrapper, boolean blockingDownstream) {
+        return ParamFlowRuleManager.hasRules(resourceWrapper.getName());
+    }
+
+    @Override
+    public boolean mayBlock() {
+        return true;
+    }
 }
@@ -118,6 +118,15 @@ public class SendMetricCommandHandler implements CommandHandler<String> {
             MetricNode usageNode = toNode(usage, time, Constants.CPU_USAGE_RESOURCE_NAME);
             list.add(usageNode);
         }
+        // Only available with cgroup v2 and PSI.
+        double cpuPressure = SystemRuleManager.getCurrentCpuPressure();
+        if (cpuPressure >= 0) {
+            list.add(toNode(cpuPressure, time, Constants.CPU_PRESSURE_RESOURCE_NAME));
+        }
+        double cpuThrottledRatio = SystemRuleManager.getCurrentCpuThrottledRatio();
+        if (cpuThrottledRatio >= 0) {
+            list.add(toNode(cpuThrottledRatio, time, Constants.CPU_THROTTLED_RESOURCE_NAME));
+        }
     }
 
     /**